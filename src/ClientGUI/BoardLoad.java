@@ -18,7 +18,6 @@ public class BoardLoad extends JFileChooser {
 	 */
 	public BoardLoad(ClientFrame cf) {
 		super.setCurrentDirectory(new File(".\\src\\resources"));
-		System.out.println(this.getCurrentDirectory());
 		int returnVal = this.showOpenDialog(this);
 		if (returnVal == JFileChooser.OPEN_DIALOG) {
 			file = this.getSelectedFile();
@@ -26,7 +25,6 @@ public class BoardLoad extends JFileChooser {
 			cf.setFocusableWindowState(true);
 			this.setVisible(false);
 			cf.pack();
-			System.out.println("REPAINT");
 			cf.setFocusable(true);
 			cf.requestFocusInWindow();
 		} else if (returnVal == JFileChooser.CANCEL_OPTION) {
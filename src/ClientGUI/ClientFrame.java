@@ -116,6 +116,6 @@ public class ClientFrame extends JFrame{
 		pause.replaceBoard(board);
 		restart.replaceFile(file);
 		keyAct.replaceBoard(board);
-		pingball.replaceBoard(board);
+		pingball.replaceBoard(board,file);
 	}
 }
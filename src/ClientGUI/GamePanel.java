@@ -2,10 +2,14 @@ package ClientGUI;
 
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 
 import javax.swing.JPanel;
+import javax.swing.Timer;
 
 import pingBall.Board;
+import pingBall.BoardStateDecoder;
+import pingBall.RenderPipeline;
 
 public class GamePanel extends JPanel {
 
@@ -14,6 +18,9 @@ public class GamePanel extends JPanel {
 	 */
 	private static final long serialVersionUID = 1L;
 	private Board board = new Board();
+	private transient BoardStateDecoder decoder = null;
+	private transient RenderPipeline pipeline = null;
+	private Timer renderTimer = null;
 	/**
 	 * empty constructor. Draws an empty board with a 20 by 20 rectangle.
 	 */
@@ -22,7 +29,14 @@ public class GamePanel extends JPanel {
 
 	@Override
 	public void paintComponent(Graphics g) {
-		board.drawBoard((Graphics2D) g);
+		if (decoder != null) {
+			decoder.drawBoard((Graphics2D) g);
+		} else if (pipeline != null) {
+			board.drawGadgets((Graphics2D) g);
+			pipeline.drawBalls((Graphics2D) g, System.nanoTime());
+		} else {
+			board.drawBoard((Graphics2D) g);
+		}
 	}
 
 	/**
@@ -33,9 +47,59 @@ public class GamePanel extends JPanel {
 	 */
 	public void addBoard(Board board) {
 		this.board = board;
+		this.decoder = null;
 
 	}
 
+	/**
+	 * 
+	 * @param decoder
+	 *            a decoder of a remote board's state stream. Until another board
+	 *            is added, the Game Panel paints the state held by this decoder
+	 *            instead of a local board.
+	 */
+	public void addStateDecoder(BoardStateDecoder decoder) {
+		this.decoder = decoder;
+	}
+
+	/**
+	 * 
+	 * @param pipeline
+	 *            the snapshots of the simulated board's balls. From now on the
+	 *            Game Panel paints itself renderRate times a second, drawing the
+	 *            balls from pipeline rather than from the board, and repainting
+	 *            only the region the last snapshots changed.
+	 * @param renderRate
+	 *            number of paints per second, independent of the board's update
+	 *            frequency; must be positive
+	 */
+	public void setRenderPipeline(RenderPipeline pipeline, int renderRate) {
+		if (renderRate <= 0) {
+			throw new IllegalArgumentException("render rate must be positive: " + renderRate);
+		}
+		this.pipeline = pipeline;
+		if (renderTimer != null) {
+			renderTimer.stop();
+		}
+		renderTimer = new Timer(Math.max(1, 1000 / renderRate), e -> repaintChanges());
+		renderTimer.start();
+	}
+
+	/**
+	 * Repaints what changed since the last paint: all of a remote board's state,
+	 * or the region of the local board its render pipeline reports, if any.
+	 */
+	private void repaintChanges() {
+		if (decoder != null) {
+			repaint();
+			return;
+		}
+		Rectangle dirty = pipeline.getDirtyRegion();
+		if (dirty != null) {
+			repaint(dirty);
+		}
+	}
+
 	/**
 	 * 
 	 * @return the board that the game panel is painting
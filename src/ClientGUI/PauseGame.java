@@ -30,11 +30,12 @@ public class PauseGame implements ActionListener {
 	@Override
 	public void actionPerformed(ActionEvent e) {
 		
-		if (!board.isPaused()){
-			this.board.pause();
+		// the board only pauses at its next update, but the button changes now
+		if (this.pause.getText().equals("Pause")){
+			this.board.post(board::pause);
 			this.pause.setText("Play");}
 		else{
-			this.board.unPause();
+			this.board.post(board::unPause);
 			this.pause.setText("Pause");
 		}
 		cf.requestFocusInWindow();
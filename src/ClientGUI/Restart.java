@@ -6,6 +6,8 @@ import java.io.File;
 import java.io.IOException;
 
 import pingBall.Board;
+import pingBall.EventLog;
+import pingBall.EventLog.Category;
 /**
  * Is the action listener responsible when the board should be restarted
  * @author mashk_000
@@ -27,8 +29,10 @@ public class Restart implements ActionListener {
 		public void actionPerformed(ActionEvent arg0) {
 			try {
 				Board board= new Board(file);
-				System.out.println("file");
-				board.print();
+				EventLog log = EventLog.shared();
+				if (log.isEnabled(Category.board)) {
+					log.log(Category.board, "restarted " + file + "\n" + board.toASCII());
+				}
 				cf.addBoard(board,file);
 				cf.requestFocusInWindow();
 			} catch (IOException e) {
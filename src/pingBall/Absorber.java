@@ -139,9 +139,12 @@ public class Absorber implements Gadget{
 
     @Override
     public void trigger() {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
         for (Gadget gadget: this.triggeredGadgets){
             gadget.doAction();
         }
+        event.commit(this, this.triggeredGadgets.size());
     }
 
     @Override
@@ -172,6 +175,11 @@ public class Absorber implements Gadget{
 
     }
 
+    @Override
+    public void clearTriggeredList() {
+        triggeredGadgets.clear();
+    }
+
     @Override
     /**
      * @return false. Not a portal
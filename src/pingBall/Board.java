@@ -1,7 +1,9 @@
 package pingBall;
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 import java.awt.font.TextLayout;
 import java.io.BufferedReader;
 import java.io.File;
@@ -11,9 +13,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList; 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import ClientGUI.ClientFrame;
 import physics.*;
@@ -33,10 +40,22 @@ public class Board {
     //  Each gadget's origin must be between (0,0) and (19,19)
     //  mu and mu2 must be non-negative values
     //  update frequency must be a positive value
+    //Thread Safety Argument:
+    //  A board is confined to the thread updating it: every other thread changes it by
+    //  posting a command (see post), which update() runs on that thread before simulating,
+    //  so the balls, gadgets and connections are plain unsynchronized collections.
+    //  The thread painting the board never reads them: drawGadgets draws from staticLayerState,
+    //  an immutable copy of the gadgets and connections that the updating thread publishes
+    //  after every change to them, and the only gadgets that change once on a board, the
+    //  flippers, publish their position through a volatile field. The static layer image
+    //  is only used by the painting thread.
+    //  commands is a concurrent queue; updateFrequency, isPaused, staticLayerState and
+    //  profiler are volatile so other threads can read them, and the profiler is threadsafe.
     private String boardName; //Name of the board
     private List<Gadget> standardGadgets = new ArrayList<Gadget>();
-    private List<Ball> ballGadgets = Collections.synchronizedList(new CopyOnWriteArrayList<Ball>(new ArrayList<Ball>())); 
-    private final int updateFrequency = 50; //Measured in milliseconds
+    private List<Ball> ballGadgets = new ArrayList<Ball>();
+    public static final int DEFAULT_UPDATE_FREQUENCY = 50; //Measured in milliseconds
+    private volatile int updateFrequency = DEFAULT_UPDATE_FREQUENCY; //Length of a time step in milliseconds
     private double boardGravity; //Measures in L/sec^2
     private double mu; //per second
     private double mu2; //per L
@@ -58,13 +77,69 @@ public class Board {
     private List<Portal> portalsOnBoard = new ArrayList<Portal>();
     //A map where each key is a ball leaving this board through a boundary to another board
     //Each corresponding value is the direction the ball is leaving through
-    private Map<Ball, direction> ballsLeavingBoard = Collections.synchronizedMap(new HashMap<Ball,direction>());
+    private Map<Ball, direction> ballsLeavingBoard = new HashMap<Ball,direction>();
     
     //Map where key is the keyboard key, and the values are the lists of gadgets triggered by this key
     private Map<String, List<Gadget>> keyUpTriggeredGadgets = new HashMap<String, List<Gadget>>();
     private Map<String, List<Gadget>> keyDownTriggeredGadgets = new HashMap<String, List<Gadget>>();
+    //The same bindings by key code, compiled once the board is loaded; read by the thread handling keys
+    private volatile KeyBindings keyBindings = KeyBindings.EMPTY;
     
-    private boolean isPaused = false;
+    //Where the gadgets of a board loaded from a file came from, to apply edits of the file (see
+    //applyEdits): each gadget and its declaration, by gadget name, in file order, and the fire,
+    //keyup and keydown lines in file order. Declarations and lines have their whitespace normalized.
+    private Map<String, Gadget> gadgetsByName = new LinkedHashMap<String, Gadget>();
+    private Map<String, String> gadgetDeclarations = new LinkedHashMap<String, String>();
+    private List<String> bindingLines = new ArrayList<String>();
+    //The name of a gadget in its declaration
+    private static final Pattern DECLARED_NAME = Pattern.compile("\\bname\\s*=\\s*([^\\s=]+)");
+    //Time from a key press or release reaching the board to the flippers it triggers moving
+    private final LatencyHistogram inputLatencies = new LatencyHistogram();
+    //System.nanoTime() of the arrival of the key events that triggered flippers since the last
+    //update, the first pendingInputs of them; only used by the thread updating the board
+    private long[] pendingInputStamps = new long[8];
+    private int pendingInputs = 0;
+    
+    private volatile boolean isPaused = false;
+    
+    //Records what the gadgets cost while profiling, or null if not profiling
+    private volatile GadgetProfiler profiler = null;
+    
+    //Changes posted by other threads and not run yet, run at the start of every update
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<Runnable>();
+    
+    //Messages received from the server and not applied yet, drained at the start of every update,
+    //or null if this board is not played in client-server mode
+    private Inbox inbox = null;
+    
+    //Image of everything drawGadgets draws except the flippers, which are the only gadgets that move:
+    //the background, the wall labels and the other gadgets. Only used by the thread painting the board.
+    //It is redrawn when the version of staticLayerState, which every change to the connections or
+    //gadgets bumps, differs from the version it was drawn at, or when it is painted with another font.
+    private BufferedImage staticLayer = null;
+    private int staticLayerDrawnVersion = -1;
+    private Font staticLayerFont = null;
+    private volatile StaticLayerState staticLayerState = new StaticLayerState(0,
+            Collections.<Gadget>emptyList(), Collections.<direction, String>emptyMap());
+    
+    /**
+     * What drawGadgets draws, as of one change to the gadgets or connections of a board:
+     * published by the thread updating the board for the thread painting it
+     */
+    private static final class StaticLayerState {
+        //AF: the gadgets and the names of the boards connected to each wall at version
+        //RI: gadgets and connections are unmodifiable and not shared with the board
+        //Thread Safety Argument: immutable
+        private final int version;
+        private final List<Gadget> gadgets;
+        private final Map<direction, String> connections;
+
+        StaticLayerState(int version, List<Gadget> gadgets, Map<direction, String> connections) {
+            this.version = version;
+            this.gadgets = gadgets;
+            this.connections = connections;
+        }
+    }
     
    
 
@@ -93,6 +168,7 @@ public class Board {
                 portalsOnBoard.add(p);
             }
         }
+        publishStaticLayer();
         checkRep();
     }
     
@@ -121,6 +197,7 @@ public class Board {
         while(buffReader.ready()) {
             String line = buffReader.readLine();
             line = line.trim(); //Remove whitespace at start and end
+            int gadgetsBefore = standardGadgets.size();
             if (line.startsWith("#") || line.startsWith("\n") || line.startsWith("\r\n") || line.matches("[\\s]+") || line.equals("")) {
                 //Ignore line, it's a comment or empty line
             }
@@ -294,9 +371,112 @@ public class Board {
                 buffReader.close();
                 throw new RuntimeException("Couldn't read file correctly");
             }   
+            if (standardGadgets.size() > gadgetsBefore) {
+                String key = declarationKey(line);
+                gadgetsByName.put(key, standardGadgets.get(standardGadgets.size() - 1));
+                gadgetDeclarations.put(key, normalize(line));
+            } else if (line.startsWith("fire") || line.startsWith("keyup") || line.startsWith("keydown")) {
+                bindingLines.add(normalize(line));
+            }
         }
         buffReader.close();
+        keyBindings = new KeyBindings(keyDownTriggeredGadgets, keyUpTriggeredGadgets);
+        publishStaticLayer();
+        checkRep();
+    }
+
+    /**
+     * @param line a line of a board file
+     * @return line with runs of whitespace replaced by one space, so declarations differing
+     *         only in whitespace are equal
+     */
+    private static String normalize(String line) {
+        return line.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * @param line the declaration of a gadget in a board file
+     * @return the gadget's name, or the normalized declaration if it names none
+     */
+    private static String declarationKey(String line) {
+        Matcher name = DECLARED_NAME.matcher(line);
+        return name.find() ? name.group(1) : normalize(line);
+    }
+
+    /**
+     * Applies the edits made to the file this board was loaded from, as parsed into
+     * edited: gadgets whose declaration did not change stay as they are, moving flippers
+     * and absorbed balls included; the others are added, replaced or removed. The triggers
+     * and key bindings are rebuilt from the edited file. Balls, connections, the name and
+     * the physical constants of this board are kept. Only touches the gadgets that changed,
+     * and the bindings if any did. Must be run by the thread updating the board (see post).
+     * @param edited the board loaded from the edited file
+     * @return true if any gadget or binding changed
+     */
+    boolean applyEdits(Board edited) {
+        Map<String, Gadget> gadgets = new LinkedHashMap<String, Gadget>();
+        boolean gadgetsChanged = !edited.gadgetDeclarations.keySet().equals(gadgetDeclarations.keySet());
+        for (Map.Entry<String, String> declaration : edited.gadgetDeclarations.entrySet()) {
+            String key = declaration.getKey();
+            Gadget gadget = gadgetsByName.get(key);
+            if (gadget == null || !declaration.getValue().equals(gadgetDeclarations.get(key))) {
+                gadget = edited.gadgetsByName.get(key);
+                if (gadget.isPortal()) {
+                    gadget = ((Portal) gadget).onBoard(this); // portals send their balls to their board
+                }
+                gadgetsChanged = true;
+            }
+            gadgets.put(key, gadget);
+        }
+        if (!gadgetsChanged && edited.bindingLines.equals(bindingLines)) {
+            return false;
+        }
+        if (gadgetsChanged) {
+            // gadgets not declared in the file, added with addGadgetToBoard, stay
+            Map<Gadget, Boolean> declared = new IdentityHashMap<Gadget, Boolean>();
+            for (Gadget gadget : gadgetsByName.values()) {
+                declared.put(gadget, true);
+            }
+            List<Gadget> added = new ArrayList<Gadget>();
+            for (Gadget gadget : standardGadgets) {
+                if (!declared.containsKey(gadget)) {
+                    added.add(gadget);
+                }
+            }
+            standardGadgets = new ArrayList<Gadget>(gadgets.values());
+            standardGadgets.addAll(added);
+            portalsOnBoard = new ArrayList<Portal>();
+            for (Gadget gadget : standardGadgets) {
+                if (gadget.isPortal()) {
+                    portalsOnBoard.add((Portal) gadget);
+                }
+            }
+            publishStaticLayer();
+        }
+        for (Gadget gadget : gadgets.values()) {
+            gadget.clearTriggeredList();
+        }
+        Map<String, List<Gadget>> keyUp = new HashMap<String, List<Gadget>>();
+        Map<String, List<Gadget>> keyDown = new HashMap<String, List<Gadget>>();
+        for (String line : edited.bindingLines) {
+            if (line.startsWith("fire")) {
+                Map<String, String> fireInfo = fireFromString(line);
+                gadgets.get(fireInfo.get("trigger")).addToTriggeredList(gadgets.get(fireInfo.get("action")));
+            } else {
+                Map<String, String> keyActionInfo = keyActionFromString(line);
+                Map<String, List<Gadget>> bindings = line.startsWith("keyup") ? keyUp : keyDown;
+                bindings.putIfAbsent(keyActionInfo.get("key"), new ArrayList<Gadget>());
+                bindings.get(keyActionInfo.get("key")).add(gadgets.get(keyActionInfo.get("action")));
+            }
+        }
+        keyUpTriggeredGadgets = keyUp;
+        keyDownTriggeredGadgets = keyDown;
+        keyBindings = new KeyBindings(keyDown, keyUp);
+        gadgetsByName = gadgets;
+        gadgetDeclarations = edited.gadgetDeclarations;
+        bindingLines = edited.bindingLines;
         checkRep();
+        return true;
     }
 
     /**
@@ -327,6 +507,7 @@ public class Board {
                 portalsOnBoard.add(p);
             }
         }
+        publishStaticLayer();
         checkRep();
     }
     
@@ -352,6 +533,38 @@ public class Board {
     	return mu2;
     }
     
+    /**
+     * @return an unmodifiable view of the gadgets on this board, not including the outer walls or balls
+     */
+    public List<Gadget> getGadgets() {
+        return Collections.unmodifiableList(standardGadgets);
+    }
+
+    /**
+     * @return a copy of the list of balls currently on this board, including balls held by absorbers
+     */
+    public List<Ball> getBalls() {
+        return new ArrayList<Ball>(ballGadgets);
+    }
+
+    /**
+     * @return the names of the portals on this board, in the order they were added
+     */
+    public List<String> getPortalNames() {
+        List<String> names = new ArrayList<String>();
+        for (Portal portal : portalsOnBoard) {
+            names.add(portal.getName());
+        }
+        return names;
+    }
+
+    /**
+     * @return a copy of the map from each connected wall to the name of the board connected on that side
+     */
+    public Map<direction, String> getConnections() {
+        return new HashMap<direction, String>(directionBoard);
+    }
+
     /**
      * gadgets triggered when a key is released
      * @return a map where key is the keyboard key, and the values are the lists of gadgets triggered by this key
@@ -368,6 +581,103 @@ public class Board {
         return keyDownTriggeredGadgets;
     }
     
+    /**
+     * Triggers the gadgets bound to a key being pressed, at the start of the next update
+     * (see post). Can be called by any thread.
+     * @param keyCode KeyEvent code of the key
+     * @param arrivalNanos System.nanoTime() when the key event arrived, to measure the
+     *                     latency of the flippers it triggers (see getInputLatencies)
+     */
+    public void keyPressed(int keyCode, long arrivalNanos) {
+        Gadget[] gadgets = keyBindings.onPress(keyCode);
+        if (gadgets.length > 0) {
+            post(() -> trigger(gadgets, arrivalNanos));
+        }
+    }
+
+    /**
+     * Triggers the gadgets bound to a key being released, as keyPressed does
+     * @param keyCode KeyEvent code of the key
+     * @param arrivalNanos System.nanoTime() when the key event arrived
+     */
+    public void keyReleased(int keyCode, long arrivalNanos) {
+        Gadget[] gadgets = keyBindings.onRelease(keyCode);
+        if (gadgets.length > 0) {
+            post(() -> trigger(gadgets, arrivalNanos));
+        }
+    }
+
+    /**
+     * Triggers gadgets for a key event, remembering its arrival if it moves a flipper
+     */
+    private void trigger(Gadget[] gadgets, long arrivalNanos) {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
+        boolean flipper = false;
+        for (Gadget gadget : gadgets) {
+            gadget.doAction();
+            flipper |= isFlipper(gadget);
+        }
+        event.commit(null, gadgets.length);
+        if (flipper) {
+            if (pendingInputs == pendingInputStamps.length) {
+                pendingInputStamps = Arrays.copyOf(pendingInputStamps, 2 * pendingInputs);
+            }
+            pendingInputStamps[pendingInputs++] = arrivalNanos;
+        }
+    }
+
+    /**
+     * @return the time from key events reaching this board to the end of the update that
+     *         first moved the flippers they triggered
+     */
+    public LatencyHistogram getInputLatencies() {
+        return inputLatencies;
+    }
+
+    /**
+     * Starts or stops profiling the gadgets of this board
+     * @param profiler records the timeUntilCollision queries and collisions of every gadget
+     *                 from the next update on, or null to stop profiling
+     */
+    public void setProfiler(GadgetProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the profiler recording the gadgets of this board, or null if not profiling
+     */
+    public GadgetProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return the name of each gadget loaded from the board file
+     */
+    Map<Gadget, String> getGadgetNames() {
+        Map<Gadget, String> names = new IdentityHashMap<Gadget, String>();
+        for (Map.Entry<String, Gadget> entry : gadgetsByName.entrySet()) {
+            names.put(entry.getValue(), entry.getKey());
+        }
+        return names;
+    }
+
+    /**
+     * @param gadget a gadget of this board
+     * @param ball a ball on this board
+     * @return gadget.timeUntilCollision(ball), timed by the profiler if there is one
+     */
+    private double timeUntilCollision(Gadget gadget, Ball ball) {
+        GadgetProfiler profiler = this.profiler;
+        if (profiler == null) {
+            return gadget.timeUntilCollision(ball);
+        }
+        long start = System.nanoTime();
+        double time = gadget.timeUntilCollision(ball);
+        profiler.recordQuery(gadget, System.nanoTime() - start);
+        return time;
+    }
+
     /**
      * 
      * Connect another board with this board.
@@ -379,6 +689,7 @@ public class Board {
     public void addConnection(direction d, String name)
     {
         directionBoard.put(d, name);
+        publishStaticLayer();
         if (d.toString().equals("left"))
         {
             outer.setInvisLeft(true);
@@ -404,6 +715,7 @@ public class Board {
      */
     public void removeConnection(direction d) {
         directionBoard.remove(d);
+        publishStaticLayer();
         if (d.toString().equals("left"))
         {
             outer.setInvisLeft(false);
@@ -465,8 +777,8 @@ public class Board {
         double minTime = Double.MAX_VALUE;
         // First check collision with gadgets
         for (Gadget gadget:standardGadgets) {
-            if (gadget.timeUntilCollision(ball)<minTime)
-                minTime = gadget.timeUntilCollision(ball);
+            if (timeUntilCollision(gadget, ball)<minTime)
+                minTime = timeUntilCollision(gadget, ball);
         }
         // Then collisions with other balls
         for (Ball otherBall:ballGadgets) {
@@ -475,8 +787,8 @@ public class Board {
                     minTime = otherBall.timeUntilCollision(ball);
         }
         //Then collisions with outer wall
-        if (outer.timeUntilCollision(ball)<minTime){
-            minTime = outer.timeUntilCollision(ball);
+        if (timeUntilCollision(outer, ball)<minTime){
+            minTime = timeUntilCollision(outer, ball);
         }
         return minTime;
     }
@@ -491,6 +803,21 @@ public class Board {
      * found on the board.)
      */
     public boolean ballExitingPortal(String portalName, Vect ballVelocity)
+    {
+        return ballExitingPortal(portalName, ballVelocity, 0);
+    }
+
+    /**
+     * Creates a new ball with velocity ballVelocity at the portal on this board
+     * specified by portalName, for a ball that entered the other portal transitSeconds ago.
+     * The ball is moved forward by transitSeconds as described in addBall(Ball, double).
+     * @param portalName name of the portal on this board
+     * @param ballVelocity exit velocity of a ball from the portal
+     * @param transitSeconds time since the ball entered the other portal, in seconds; requires >= 0
+     * @return true if the ball was successfully created, false otherwise (portal wasn't
+     * found on the board.)
+     */
+    public boolean ballExitingPortal(String portalName, Vect ballVelocity, double transitSeconds)
     {
         boolean containsPortal = false;
        
@@ -504,6 +831,7 @@ public class Board {
        
                 Ball b = new Ball(newPos.x(), newPos.y(), ballVelocity);
                 ballGadgets.add(b);
+                advanceBall(b, transitSeconds);
                 break;
             }
         }
@@ -543,6 +871,87 @@ public class Board {
         checkRep();
     }
 
+    /**
+     * Adds a ball that left another board transitSeconds ago, as if it had entered this
+     * board back then: once added as in addBall(Ball), the ball is moved forward by
+     * transitSeconds, bouncing off gadgets and walls, so it does not stall while in transit.
+     * @param b the ball, at its entry position
+     * @param transitSeconds time since the ball left the other board, in seconds; requires >= 0
+     */
+    public void addBall(Ball b, double transitSeconds)
+    {
+        addBall(b);
+        if (ballGadgets.contains(b)) {
+            advanceBall(b, transitSeconds);
+        }
+        checkRep();
+    }
+
+    /**
+     * Moves a single ball on this board forward in time, the way update() would, while
+     * every other ball and gadget stays where it is. Stops early if the ball leaves the
+     * board or is captured by a gadget.
+     * @param ball a ball on this board
+     * @param seconds time to move the ball forward by, in seconds
+     */
+    private void advanceBall(Ball ball, double seconds)
+    {
+        if (isPaused) {
+            return;
+        }
+        double remaining = seconds;
+        while (remaining > epsilon && ballGadgets.contains(ball) && !isHeldByGadget(ball)) {
+            double timestep = Math.min(updateFrequency/1000.0, remaining);
+            //First friction, then gravity, as in updateBallGravityFriction
+            double frictionCoefficient = 1-mu*timestep-mu2*ball.getVelocity().length()*timestep;
+            ball.setVelocity(ball.getVelocity().times(frictionCoefficient).plus(new Vect(0, boardGravity).times(timestep)));
+            double timeLeft = timestep;
+            double collisionTime = minTimeUntilCollision(ball);
+            while (timeLeft > collisionTime && collisionTime > epsilon && ballGadgets.contains(ball)) {
+                moveBallUnlessOutOfBounds(ball, collisionTime-precisionCorrectionValue);
+                if (ballGadgets.contains(ball)) {
+                    updateBallVelocityIfCollision(ball);
+                }
+                timeLeft -= collisionTime-precisionCorrectionValue;
+                collisionTime = minTimeUntilCollision(ball);
+            }
+            if (ballGadgets.contains(ball)) {
+                moveBallUnlessOutOfBounds(ball, timeLeft);
+            }
+            remaining -= timestep;
+        }
+    }
+
+    /**
+     * Moves ball for time, after handing it to setVelocityIfGoingOutOfBounds if it would
+     * end up outside of the board
+     * @param ball a ball on this board
+     * @param time time to move the ball for, in seconds
+     */
+    private void moveBallUnlessOutOfBounds(Ball ball, double time)
+    {
+        Ball testBall = new Ball(ball.getPosition().x(), ball.getPosition().y(), ball.getVelocity());
+        testBall.updatePosition(time, outer);
+        setVelocityIfGoingOutOfBounds(testBall.getPosition().x(), testBall.getPosition().y(), ball);
+        if (ballGadgets.contains(ball)) {
+            ball.updatePosition(time, outer);
+        }
+    }
+
+    /**
+     * @param ball a ball
+     * @return true if ball is held by a gadget, like an absorber
+     */
+    private boolean isHeldByGadget(Ball ball)
+    {
+        for (Gadget gadget : standardGadgets) {
+            if (gadget.getBallList().contains(ball)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * removes a specific ball from the board
      * @param ball
@@ -585,6 +994,7 @@ public class Board {
      */
     public void addGadgetToBoard(Gadget g) {
         standardGadgets.add(g);
+        publishStaticLayer();
         if(g.isPortal())
         {
             Portal p = (Portal) g;
@@ -621,12 +1031,12 @@ public class Board {
         double minTime = Double.MAX_VALUE;
         // First check collision with gadgets
         for (Gadget gadget:standardGadgets) {
-            if (gadget.timeUntilCollision(ball)<minTime) {
-                minTime = gadget.timeUntilCollision(ball);
+            if (timeUntilCollision(gadget, ball)<minTime) {
+                minTime = timeUntilCollision(gadget, ball);
                 firstGadget = gadget;
             }
         }
-        if (outer.timeUntilCollision(ball)<minTime){
+        if (timeUntilCollision(outer, ball)<minTime){
             firstGadget = outer;
         }
         checkRep();
@@ -657,6 +1067,13 @@ public class Board {
      * Prints an ASCII representation of the board to the console
      */
     public void print() {
+        System.out.print(toASCII());
+    }
+
+    /**
+     * @return an ASCII representation of the board, one line per row, each ending with a newline
+     */
+    public String toASCII() {
         //First clear the board
         for (int i = 0; i<22; i++)
             for (int j = 0; j<22; j++)
@@ -765,12 +1182,13 @@ public class Board {
             }
         }
         //Actual printing
+        StringBuilder ascii = new StringBuilder();
         for (int i = 0; i<boardRepresentation.length; i++){
             for (int j = 0; j<boardRepresentation[0].length; j++)
-                System.out.print(boardRepresentation[i][j]);
-            System.out.print("\n");
+                ascii.append(boardRepresentation[i][j]);
+            ascii.append("\n");
         }
-
+        return ascii.toString();
     }
 
     /**
@@ -778,6 +1196,7 @@ public class Board {
      * @param ball the ball to update velocities for
      */
     public void updateBallVelocityIfCollision(Ball ball) {
+        String gadgetType = null;
         Gadget firstGadget = firstGadgetCollidedWith(ball);
         double ballTime;
         if (ballGadgets.size() == 0){
@@ -787,9 +1206,13 @@ public class Board {
             ballTime = firstBall.timeUntilCollision(ball);
         }
 
-        double gadgetTime = firstGadget.timeUntilCollision(ball);
+        double gadgetTime = timeUntilCollision(firstGadget, ball);
 
         if (gadgetTime<=ballTime) {
+            GadgetProfiler profiler = this.profiler;
+            if (profiler != null) {
+                profiler.recordHit(firstGadget);
+            }
             if (firstGadget.isPortal()) {
                 Portal p = (Portal)firstGadget;
                 if (p.isLinkedToAnotherBoard()) {
@@ -807,27 +1230,103 @@ public class Board {
                 }
             } else
                 firstGadget.collision(ball);
+            gadgetType = firstGadget.getClass().getSimpleName();
         }
         else if (ballGadgets.size()>0) {
             Ball firstBall = firstBallCollidedWith(ball);
             firstBall.collision(ball);
+            gadgetType = "Ball";
+        }
+        if (gadgetType != null) {
+            FlightEvents.collision(boardName, gadgetType, ball);
         }
         checkRep();
     }
 
 
+    /**
+     * @return the version of the static layer (see drawGadgets), which changes whenever
+     *         the connections or gadgets of the board do
+     */
+    int getStaticLayerVersion() {
+        return staticLayerState.version;
+    }
+
+    /**
+     * Publishes the gadgets and connections of this board for the thread painting it
+     * (see drawGadgets), as the next version of the static layer. Must be called by the
+     * thread updating the board after every change to them.
+     */
+    private void publishStaticLayer() {
+        staticLayerState = new StaticLayerState(staticLayerState.version + 1,
+                Collections.unmodifiableList(new ArrayList<Gadget>(standardGadgets)),
+                Collections.unmodifiableMap(new HashMap<direction, String>(directionBoard)));
+    }
+
+    /**
+     * Sets the inbox of messages from the server, which every update first drains
+     * @param inbox messages received from the server, or null for none
+     */
+    void setInbox(Inbox inbox) {
+        this.inbox = inbox;
+    }
+
+    /**
+     * Asks the thread updating this board to run command at the start of its next update,
+     * even if the board is paused. Any other thread changing the board, like the Swing
+     * thread handling keys and buttons, must do so through this method, since the
+     * board is not synchronized; commands posted by a thread run in the order it posted them.
+     * @param command the change to make to this board
+     */
+    public void post(Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * Runs the commands posted since the last update, in order
+     */
+    private void runCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    /**
+     * @return the balls on this board now, in an array that later removals of balls
+     *         from the board do not change, to loop over while balls may leave
+     */
+    private Ball[] currentBalls() {
+        return ballGadgets.toArray(new Ball[ballGadgets.size()]);
+    }
+
     /**
      * This will be called at every time step and
-     * update the board accordingly
+     * update the board accordingly, after running the commands posted by other
+     * threads and applying the messages received from the server since the last
+     * update, if any
      */
     public void update() {
+        runCommands();
+        if (inbox != null) {
+            inbox.drain();
+        }
         if(isPaused){
+            pendingInputs = 0; // flippers triggered while paused only move once unpaused
         	return;
         }
+        FlightEvents.Tick tick = new FlightEvents.Tick();
+        tick.begin();
+        int subSteps = 0;
         
         for (Gadget gadget: standardGadgets){
             gadget.updatePosition(updateFrequency/1000.0); //Updates any moving gadgets in the board (like flippers)
         }
+        long now = System.nanoTime();
+        for (int i = 0; i < pendingInputs; i++) {
+            inputLatencies.record(now - pendingInputStamps[i]);
+        }
+        pendingInputs = 0;
 
         updateBallGravityFriction(); //Apply friction and gravity
         double minBallCollisionTime = Double.MAX_VALUE;
@@ -839,7 +1338,7 @@ public class Board {
         }
         //No collision in the next time step
         if (minBallCollisionTime> updateFrequency/1000.0) {
-            for (Ball ball: ballGadgets) {
+            for (Ball ball: currentBalls()) {
                 //Check if ball will go out of bounds just in case
                 Ball testBall = new Ball(ball.getPosition().x(), ball.getPosition().y(), ball.getVelocity());
                 testBall.updatePosition(updateFrequency/1000.0, outer);
@@ -851,6 +1350,7 @@ public class Board {
             }
         } else { //There will be a collision in the next time step
             while (timeUntilTimestepEnds>minBallCollisionTime && minBallCollisionTime>epsilon) { //Loop while there will be a collision in the time remaining in the time step
+                subSteps++;
                 List<Ball> collidingBalls = new ArrayList<Ball>();
                 //Find the ball that collides in minBallCollisionTime
                 for (Ball ball: ballGadgets) {
@@ -858,7 +1358,7 @@ public class Board {
                         collidingBalls.add(ball);
                     }
                 }
-                for (Ball ball: ballGadgets) {
+                for (Ball ball: currentBalls()) {
                     //Check if ball will go out of bounds just in case
                     Ball testBall = new Ball(ball.getPosition().x(), ball.getPosition().y(), ball.getVelocity());
                     testBall.updatePosition(minBallCollisionTime-precisionCorrectionValue, outer);
@@ -879,7 +1379,7 @@ public class Board {
                 }
             }
             //And finally, update everything to account for time left in time step
-            for (Ball ball: ballGadgets) {
+            for (Ball ball: currentBalls()) {
                 //And just in case, test if ball will somehow get outside of the board
                 Ball testBall = new Ball(ball.getPosition().x(), ball.getPosition().y(), ball.getVelocity());
                 testBall.updatePosition(timeUntilTimestepEnds, outer);
@@ -889,6 +1389,13 @@ public class Board {
                 ball.updatePosition(timeUntilTimestepEnds, outer);
             }
         }
+        if (tick.shouldCommit()) {
+            tick.board = boardName;
+            tick.timeStep = updateFrequency;
+            tick.balls = ballGadgets.size();
+            tick.subSteps = subSteps;
+            tick.commit();
+        }
         checkRep();
        // print();
     }
@@ -948,6 +1455,18 @@ public class Board {
     public int getUpdateFrequency() {
         return updateFrequency;
     }
+    /**
+     * Sets the length of the time step every update simulates, and so how often the board
+     * should be updated; independent of how often it is painted (see RenderPipeline)
+     * @param milliseconds the new update frequency of the board in milliseconds
+     * @throws IllegalArgumentException if milliseconds is not positive
+     */
+    public void setUpdateFrequency(int milliseconds) {
+        if (milliseconds <= 0) {
+            throw new IllegalArgumentException("update frequency must be positive: " + milliseconds);
+        }
+        updateFrequency = milliseconds;
+    }
     /**
      * Takes an input string of the form:
      * board name=NAME gravity=FLOAT friction1=FLOAT friction2=FLOAT
@@ -1316,60 +1835,115 @@ public class Board {
         assert(updateFrequency>0);
     }
     /**
-     * 
+     * Must be called by the thread updating the board, or while it is not being updated;
+     * a board being played is painted from a RenderPipeline instead, with drawGadgets.
      * @param g2 draws the board on g2.
      */
 	public void drawBoard(Graphics2D g2) {
+		drawGadgets(g2);
+		for (Ball ball: ballGadgets){
+			g2.setColor(Color.RED);
+			
+			ball.drawShape(g2);
+		}
+	}
+	
+	/**
+	 * Draws the board without its balls, which a RenderPipeline draws instead. Everything
+	 * but the flippers is drawn from a cached image, redrawn only after the connections
+	 * or gadgets of the board change. Draws the gadgets and connections last published by
+	 * the thread updating the board, so may be called by any one other thread while it runs.
+	 * @param g2 the graphics to draw on
+	 */
+	public void drawGadgets(Graphics2D g2) {
+		StaticLayerState state = staticLayerState;
+		int version = state.version;
+		if (staticLayer == null || staticLayerDrawnVersion != version || !g2.getFont().equals(staticLayerFont)) {
+			final int boardWidth=20;
+			// one pixel wider and taller than the board, for the right and bottom edges of its border
+			staticLayer = g2.getDeviceConfiguration().createCompatibleImage(boardWidth*ClientFrame.L+1,
+					boardWidth*ClientFrame.L+1);
+			Graphics2D layer = staticLayer.createGraphics();
+			layer.setFont(g2.getFont());
+			layer.setRenderingHints(g2.getRenderingHints());
+			drawBackground(layer, state.connections);
+			for (Gadget g: state.gadgets){
+				if (!isFlipper(g)) {
+					layer.setColor(Color.WHITE);
+					g.drawShape(layer);
+				}
+			}
+			layer.dispose();
+			staticLayerDrawnVersion = version;
+			staticLayerFont = g2.getFont();
+		}
+		g2.drawImage(staticLayer, 0, 0, null);
+		for (Gadget g: state.gadgets){
+			if (isFlipper(g)) {
+				g2.setColor(Color.WHITE);
+				g.drawShape(g2);
+			}
+		}
+	}
+	
+	/**
+	 * @param g a gadget of this board
+	 * @return true if g is a flipper, which moves, so is not part of the static layer
+	 */
+	private static boolean isFlipper(Gadget g) {
+		return g instanceof LeftFlipper || g instanceof RightFlipper;
+	}
+	
+	/**
+	 * Draws the empty playing area, its border, and the names of the boards connected to each wall.
+	 * @param g2 the graphics to draw on
+	 * @param connections map from each connected wall to the name of the board on that side
+	 */
+	static void drawBackground(Graphics2D g2, Map<direction, String> connections) {
 		final int textSize=12;
 		final int edgeBuffer=25;
+		final int boardWidth=20;
 		//Rectangle boardEdges= new Rectangle(0,0,400,400);
 		g2.setColor(Color.BLACK);
 		
-		g2.fillRect(0,0,this.boardWitdth*ClientFrame.L,this.boardWitdth*ClientFrame.L);
+		g2.fillRect(0,0,boardWidth*ClientFrame.L,boardWidth*ClientFrame.L);
 		
 		g2.setColor(Color.RED);
-		g2.draw(new Rectangle(0, 0 ,this.boardWitdth*ClientFrame.L, this.boardWitdth*ClientFrame.L));
+		g2.draw(new Rectangle(0, 0 ,boardWidth*ClientFrame.L, boardWidth*ClientFrame.L));
 		g2.setColor(Color.WHITE);
-		String topWall=directionBoard.get(direction.top);
-		String bottomWall= directionBoard.get(direction.bottom);
-		String leftWall= directionBoard.get(direction.left);
-		String rightWall= directionBoard.get(direction.right);
+		String topWall=connections.get(direction.top);
+		String bottomWall= connections.get(direction.bottom);
+		String leftWall= connections.get(direction.left);
+		String rightWall= connections.get(direction.right);
 		if (topWall!=null){
 		g2.drawString(topWall,edgeBuffer , textSize);}
 		if (bottomWall!=null){
-		g2.drawString(directionBoard.get(direction.bottom),edgeBuffer, this.boardWitdth*ClientFrame.L);}
+		g2.drawString(bottomWall,edgeBuffer, boardWidth*ClientFrame.L);}
 		if(leftWall!=null){
-			for (int i=0; i<leftWall.length();i++){
-				g2.drawString(Character.toString(leftWall.charAt(i)),0,edgeBuffer+textSize*i);
+			char[] letters = leftWall.toCharArray();
+			for (int i=0; i<letters.length;i++){
+				g2.drawChars(letters,i,1,0,edgeBuffer+textSize*i);
 			}
 		}
 		if(rightWall!=null){
-			for (int i=0; i<rightWall.length();i++){
-				g2.drawString(Character.toString(rightWall.charAt(i)),this.boardWitdth*ClientFrame.L-textSize,edgeBuffer+textSize*i);
+			char[] letters = rightWall.toCharArray();
+			for (int i=0; i<letters.length;i++){
+				g2.drawChars(letters,i,1,boardWidth*ClientFrame.L-textSize,edgeBuffer+textSize*i);
 			}
 		}
-		
-		for (Gadget g: standardGadgets){
-			
-			g2.setColor(Color.WHITE);
-			g.drawShape(g2);
-		}
-		for (Ball ball: ballGadgets){
-			g2.setColor(Color.RED);
-			
-			ball.drawShape(g2);
-		}
 	}
 	
 	/**
-	 * pauses the board so that the gameboard does not update
+	 * pauses the board so that the gameboard does not update.
+	 * Other threads than the one updating the board must post this (see post).
 	 */
 	public void pause(){
 	    isPaused = true;
 	}
 	
 	/**
-     * unpauses the board so that the gameboard does update
+     * unpauses the board so that the gameboard does update.
+     * Other threads than the one updating the board must post this (see post).
      */
 	public void unPause(){
         isPaused = false;
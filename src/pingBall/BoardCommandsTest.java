@@ -0,0 +1,53 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import pingBall.Board.direction;
+import physics.Vect;
+
+public class BoardCommandsTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. commands posted: none, one, several, by another thread
+    //   2. board: paused, playing
+    //   3. balls leaving through a wall during an update: none, some
+    //  Commands are checked to run at the start of the next update, in order, and
+    //  balls leaving mid-update to be removed without disturbing the others.
+
+    @Test // commands run at the next update, in order, even while paused, and only once
+    public void testOrder() throws InterruptedException {
+        Board board = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(), 0, 0, 0);
+        List<Integer> run = new ArrayList<Integer>();
+        board.post(() -> run.add(1));
+        board.post(board::pause);
+        Thread poster = new Thread(() -> board.post(() -> run.add(2)));
+        poster.start();
+        poster.join();
+        assertTrue(run.isEmpty());
+        board.update();
+        assertEquals(Arrays.asList(1, 2), run);
+        assertTrue(board.isPaused());
+        board.post(board::unPause);
+        board.update();
+        assertFalse(board.isPaused());
+        assertEquals(2, run.size());
+    }
+
+    @Test // a ball leaving through a connected wall mid-update does not disturb the others
+    public void testBallsLeaving() {
+        Ball leaving = new Ball(19.5, 10, new Vect(20, 0));
+        Ball staying = new Ball(5, 10, new Vect(1, 0));
+        Board board = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(Arrays.asList(leaving, staying)), 0, 0, 0);
+        board.post(() -> board.addConnection(direction.right, "B"));
+        board.update();
+        assertEquals(Arrays.asList(staying), board.getBalls());
+        assertEquals(5.05, staying.getPosition().x(), 1e-9);
+        assertEquals(direction.right, board.ballsTravelingToDifferentBoardsThroughWalls().get(leaving));
+    }
+}
@@ -0,0 +1,333 @@
+package pingBall;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import pingBall.EventLog.Category;
+
+/**
+ * The PingballServer's end of the connection to one board's client. Messages are
+ * buffered and written to the socket with one flush per send, so several messages for
+ * the same board cost a single write. The connection also keeps track of when the
+ * client was last heard from and of how long a send has been blocked, so the server
+ * can tell a dead connection from a live one.
+ * Besides sending Strings, the server can copy the bytes of a routed message straight
+ * into the buffer (see begin, append and end), and flush once for a whole batch.
+ * The connection also holds the names of the portals the board announced, so the server
+ * can bounce a ball sent to a portal the board lacks without a round trip to the board.
+ */
+class BoardConnection {
+    //AF:
+    //  Represents the connection to a board's client over socket; buffer[0..buffered)
+    //  holds the bytes of messages not written to out yet.
+    //RI:
+    //  0 <= buffered <= buffer.length
+    //  whenever lock is not held, buffer[0..buffered) is a sequence of whole messages,
+    //  each ending with '\n', and writingSince is 0
+    //  portals is null until the board announces its portals, then holds the UTF-8
+    //  bytes of their names
+    //Thread Safety Argument:
+    //  buffer, buffered and out are only used while holding lock, so messages sent by
+    //  different threads are never interleaved. lock is a ReentrantLock rather than a monitor so a virtual thread
+    //  blocked writing to a slow client does not pin its carrier thread.
+    //  lastRead and writingSince are volatile, so the thread checking heartbeats sees
+    //  the latest values without taking lock. portals is volatile and its arrays are
+    //  never changed once set, so routing threads read it without taking lock. metrics is
+    //  thread safe.
+
+    /** Size of the buffer of messages not written yet */
+    static final int BUFFER_SIZE = 8192;
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final ServerMetrics metrics;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int buffered = 0;
+    private final Lock lock = new ReentrantLock();
+    //System.nanoTime() when the client was last heard from
+    private volatile long lastRead = System.nanoTime();
+    //System.nanoTime() when the send in progress started, or 0 if none is
+    private volatile long writingSince = 0;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile byte[][] portals = null;
+
+    /**
+     * @param socket connected socket of the board's client
+     * @throws IOException if the socket's output stream cannot be opened
+     */
+    BoardConnection(Socket socket) throws IOException {
+        this(socket, new ServerMetrics());
+    }
+
+    /**
+     * @param socket connected socket of the board's client
+     * @param metrics where writes that fail are counted
+     * @throws IOException if the socket's output stream cannot be opened
+     */
+    BoardConnection(Socket socket, ServerMetrics metrics) throws IOException {
+        this(socket, socket.getOutputStream(), metrics);
+    }
+
+    /**
+     * @param socket socket of the board's client
+     * @param out stream messages are written to
+     */
+    BoardConnection(Socket socket, OutputStream out) {
+        this(socket, out, new ServerMetrics());
+    }
+
+    /**
+     * @param socket socket of the board's client
+     * @param out stream messages are written to
+     * @param metrics where writes that fail are counted
+     */
+    BoardConnection(Socket socket, OutputStream out, ServerMetrics metrics) {
+        this.socket = socket;
+        this.out = out;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the socket of the board's client
+     */
+    Socket getSocket() {
+        return socket;
+    }
+
+    /**
+     * Records that a message was just received from the board's client
+     */
+    void touch() {
+        lastRead = System.nanoTime();
+    }
+
+    /**
+     * @param now current System.nanoTime()
+     * @return nanoseconds since the board's client was last heard from
+     */
+    long getReadIdleNanos(long now) {
+        return now - lastRead;
+    }
+
+    /**
+     * @param now current System.nanoTime()
+     * @return nanoseconds the send in progress has been blocked for, or 0 if no send is in progress
+     */
+    long getWriteBlockedNanos(long now) {
+        long since = writingSince;
+        return since == 0 ? 0 : now - since;
+    }
+
+    /**
+     * Records the portals the board has, replacing those it announced before
+     * @param names names of the board's portals
+     */
+    void setPortals(Collection<String> names) {
+        byte[][] bytes = new byte[names.size()][];
+        int i = 0;
+        for (String name : names) {
+            bytes[i++] = name.getBytes(StandardCharsets.UTF_8);
+        }
+        portals = bytes;
+    }
+
+    /**
+     * @return the number of portals the board announced, or -1 if it has not announced them
+     */
+    int getPortalCount() {
+        byte[][] names = portals;
+        return names == null ? -1 : names.length;
+    }
+
+    /**
+     * @param name name of a portal
+     * @return true if the board announced its portals and name is not one of them; false
+     *         if it has the portal, or has not announced its portals
+     */
+    boolean lacksPortal(String name) {
+        byte[][] names = portals;
+        if (names == null) {
+            return false;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        for (byte[] portal : names) {
+            if (Arrays.equals(portal, bytes)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param in reader whose current message holds a portal name
+     * @param from index of the first byte of the name
+     * @param to index after the last byte of the name
+     * @return lacksPortal of the name, without decoding it
+     */
+    boolean lacksPortal(MessageReader in, int from, int to) {
+        byte[][] names = portals;
+        if (names == null) {
+            return false;
+        }
+        for (byte[] portal : names) {
+            if (in.regionEquals(from, to, portal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends one message to the board, unless a send is already in progress
+     * @param message a single line message
+     * @return false if a send is in progress or the connection is broken
+     */
+    boolean trySend(String message) {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            return send(message);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the connection, so the thread reading from it sees the board disconnect
+     * @return true if this call closed the connection, false if it was already closed
+     */
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            EventLog.shared().log(Category.connection, "Sorry, unable to close a board's connection: "
+                    + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Sends one message to the board
+     * @param message a single line message
+     * @return false if the connection is broken
+     */
+    boolean send(String message) {
+        return send(Collections.singletonList(message));
+    }
+
+    /**
+     * Sends messages to the board, in order, with a single flush
+     * @param messages single line messages
+     * @return false if the connection is broken
+     */
+    boolean send(List<String> messages) {
+        begin();
+        try {
+            for (String message : messages) {
+                byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+                append(bytes, 0, bytes.length);
+                append(NEWLINE, 0, 1);
+            }
+            writeBuffer();
+            return true;
+        } catch (IOException e) {
+            writeFailed(e);
+            return false;
+        } finally {
+            end();
+        }
+    }
+
+    private static final byte[] NEWLINE = { '\n' };
+
+    /**
+     * Starts writing messages byte by byte: waits until no other thread is sending to
+     * the board. Every call must be followed by a call to end() from the same thread,
+     * and the bytes appended in between must be whole messages, each ending with '\n'.
+     */
+    void begin() {
+        lock.lock();
+        writingSince = System.nanoTime();
+    }
+
+    /**
+     * Appends bytes of a message to the buffer, writing out what is buffered first if
+     * they do not fit. Requires the caller to be between begin() and end().
+     * @param bytes array holding the bytes
+     * @param offset index of the first byte in bytes
+     * @param length number of bytes
+     * @throws IOException if the connection is broken
+     */
+    void append(byte[] bytes, int offset, int length) throws IOException {
+        if (buffered + length > buffer.length) {
+            int pending = buffered;
+            buffered = 0; // also if the write fails, so no part of a message is left behind
+            out.write(buffer, 0, pending);
+            if (length > buffer.length) {
+                out.write(bytes, offset, length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, buffered, length);
+        buffered += length;
+    }
+
+    /**
+     * Writes out and flushes everything buffered. Requires the caller to be between begin() and end().
+     * @throws IOException if the connection is broken
+     */
+    void writeBuffer() throws IOException {
+        int pending = buffered;
+        buffered = 0;
+        out.write(buffer, 0, pending);
+        out.flush();
+    }
+
+    /**
+     * Ends writing messages byte by byte, as started by begin(). Bytes still buffered are
+     * sent by the next flush.
+     */
+    void end() {
+        writingSince = 0;
+        lock.unlock();
+    }
+
+    /**
+     * Logs and counts a write that failed; the messages it held are dropped
+     */
+    private void writeFailed(IOException e) {
+        metrics.writeFailed();
+        EventLog.shared().log(Category.connection, "Sorry, unable to write to a board's connection: "
+                + e.getMessage());
+    }
+
+    /**
+     * Writes out and flushes every message buffered
+     * @return false if the connection is broken
+     */
+    boolean flush() {
+        begin();
+        try {
+            writeBuffer();
+            return true;
+        } catch (IOException e) {
+            writeFailed(e);
+            return false;
+        } finally {
+            end();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import ClientGUI.ClientFrame;
+
+public class BoardDrawingTest {
+    // Testing strategy
+    //  Board.drawGadgets, drawing from its cached static layer, is compared pixel by
+    //  pixel with drawing every gadget directly, partition on:
+    //   1. draws since the last change: first draw, unchanged, after addConnection,
+    //      after removeConnection, after addGadgetToBoard
+    //   2. flippers: at rest, rotated since the last draw
+    //   3. painting thread: the thread changing the board, another thread while it changes
+
+    private static final int SIZE = 20 * ClientFrame.L + 1;
+
+    private static Board board(Gadget flipper) {
+        List<Gadget> gadgets = new ArrayList<Gadget>(Arrays.asList(Gadget.squareBumper(2, 2),
+                Gadget.circleBumper(5, 5), Gadget.triangleBumper(8, 2), flipper));
+        return new Board(gadgets, new ArrayList<Ball>(), 0, 0, 0);
+    }
+
+    /** @return the pixels drawGadgets draws */
+    private static int[] cached(Board board) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        board.drawGadgets(g2);
+        g2.dispose();
+        return image.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+    }
+
+    /** @return the pixels of the background and every gadget, drawn without a cache */
+    private static int[] direct(Board board, List<Gadget> gadgets) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        Board.drawBackground(g2, board.getConnections());
+        for (Gadget gadget : gadgets) {
+            g2.setColor(Color.WHITE);
+            gadget.drawShape(g2);
+        }
+        g2.dispose();
+        return image.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+    }
+
+    @Test // the cached layer draws what drawing every gadget draws, also after changes
+    public void testSameAsDirect() {
+        Gadget flipper = Gadget.leftFlipper(12, 12);
+        Board board = board(flipper);
+        List<Gadget> gadgets = new ArrayList<Gadget>(board.getGadgets());
+        assertArrayEquals(direct(board, gadgets), cached(board));
+        assertArrayEquals(direct(board, gadgets), cached(board));
+
+        board.addConnection(Board.direction.left, "Neighbor");
+        board.addConnection(Board.direction.top, "Above");
+        assertArrayEquals(direct(board, gadgets), cached(board));
+        board.removeConnection(Board.direction.left);
+        assertArrayEquals(direct(board, gadgets), cached(board));
+
+        Gadget absorber = Gadget.absorber(0, 18, 20, 1);
+        board.addGadgetToBoard(absorber);
+        gadgets.add(absorber);
+        assertArrayEquals(direct(board, gadgets), cached(board));
+    }
+
+    @Test // flippers are drawn where they are now
+    public void testFlipperMoves() {
+        Gadget flipper = Gadget.leftFlipper(12, 12);
+        Board board = board(flipper);
+        int[] atRest = cached(board);
+        flipper.doAction();
+        flipper.updatePosition(0.02);
+        int[] rotated = cached(board);
+        assertFalse(Arrays.equals(atRest, rotated));
+        assertArrayEquals(direct(board, board.getGadgets()), rotated);
+    }
+
+    @Test // another thread can paint while the board's gadgets and connections change
+    public void testPaintedWhileChanged() throws InterruptedException {
+        Board board = board(Gadget.leftFlipper(12, 12));
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread painter = new Thread(() -> {
+            try {
+                for (int i = 0; i < 200; i++) {
+                    cached(board);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        painter.start();
+        for (int i = 0; i < 200 && painter.isAlive(); i++) {
+            board.addGadgetToBoard(Gadget.squareBumper(i % 20, 10 + i / 20 % 4));
+            board.addConnection(Board.direction.right, "Board" + i);
+            board.removeConnection(Board.direction.right);
+        }
+        painter.join();
+        assertNull(failure.get());
+        assertArrayEquals(direct(board, board.getGadgets()), cached(board));
+    }
+}
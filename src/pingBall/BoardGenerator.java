@@ -0,0 +1,365 @@
+package pingBall;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Generates board files, in the grammar read by Board(File), big enough to load the
+ * engine: boards with a chosen density of bumpers, number of balls and flippers, number
+ * of actions triggered by every bumper, and portals linking the boards of a workload in
+ * a ring, together with a topology file (see Topology) joining them in a grid or torus.
+ * Generation is deterministic: the same workload and seed always give the same files.
+ * The standard workloads (see STANDARD) are checked in under src/resources/corpus, as
+ * the common workload for performance testing; main regenerates them.
+ */
+public class BoardGenerator {
+
+    /** Directory the standard corpus is checked in to */
+    public static final String CORPUS_DIRECTORY = "src/resources/corpus";
+    /** Seed the standard corpus is generated with */
+    public static final long CORPUS_SEED = 6005;
+
+    private static final int SIZE = 20;
+    private static final int FLIPPER_SIZE = 2;
+    private static final int ABSORBER_WIDTH = 4;
+    // most attempts at finding a free place for one gadget before the board counts as full
+    private static final int PLACEMENT_ATTEMPTS = 1000;
+    private static final int MAXIMUM_SPEED = 15;
+    private static final String[] KEYS = { "a", "s", "d", "f", "g", "h", "j", "k", "l", "q", "w", "e",
+            "r", "t", "y", "u", "i", "o", "p", "z", "x", "c", "v", "b", "n", "m" };
+    private static final int[] ORIENTATIONS = { 0, 90, 180, 270 };
+
+    /** The parameters of one generated workload */
+    public static class Workload {
+        private final String name;
+        private final int boards;
+        private final int columns;
+        private final boolean torus;
+        private final double density;
+        private final int balls;
+        private final int flippers;
+        private final int fanOut;
+        private final int portals;
+
+        /**
+         * @param name name of the workload; its boards are named NAME-I, for I from 0, or
+         *             NAME if there is only one
+         * @param boards number of boards, at least 1
+         * @param columns number of columns the boards are laid out in, at least 1
+         * @param torus true to join the boards at the end of each row and column to
+         *              those at its start too
+         * @param density fraction of the cells of each board covered by bumpers, 0 to 1
+         * @param balls number of balls on each board
+         * @param flippers number of flippers on each board
+         * @param fanOut number of flippers or absorbers each bumper triggers
+         * @param portals number of portals on each board, each linked to the portal of
+         *                the same name on the next board of the workload, or the next
+         *                portal of the same board if there is only one
+         * @throws IllegalArgumentException if a parameter is out of range
+         */
+        public Workload(String name, int boards, int columns, boolean torus, double density, int balls,
+                int flippers, int fanOut, int portals) {
+            if (boards < 1 || columns < 1 || density < 0 || density > 1 || balls < 0 || flippers < 0
+                    || fanOut < 0 || portals < 0 || !name.matches("[A-Za-z0-9_]+")) {
+                throw new IllegalArgumentException("invalid workload " + name);
+            }
+            this.name = name;
+            this.boards = boards;
+            this.columns = columns;
+            this.torus = torus;
+            this.density = density;
+            this.balls = balls;
+            this.flippers = flippers;
+            this.fanOut = fanOut;
+            this.portals = portals;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param index index of a board of the workload
+         * @return the name of the board
+         */
+        public String boardName(int index) {
+            return boards == 1 ? name : name + "-" + index;
+        }
+    }
+
+    /** The standard workloads of the corpus */
+    public static final List<Workload> STANDARD = Collections.unmodifiableList(Arrays.asList(
+            // many gadgets to collide with, and triggers firing all the time
+            new Workload("dense", 1, 1, false, 0.30, 40, 8, 3, 0),
+            // many balls colliding with each other
+            new Workload("crowded", 1, 1, false, 0.05, 150, 2, 1, 0),
+            // many moving flippers, each triggered by many bumpers
+            new Workload("flippers", 1, 1, false, 0.10, 20, 24, 6, 0),
+            // balls crossing walls and portals between boards
+            new Workload("grid3x3", 9, 3, false, 0.15, 10, 4, 2, 2),
+            new Workload("torus4x4", 16, 4, true, 0.10, 8, 2, 1, 4)));
+
+    private final long seed;
+
+    /**
+     * @param seed seed of the generated layouts
+     */
+    public BoardGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates one board of a workload
+     * @param workload the workload
+     * @param index index of the board in the workload, from 0
+     * @return the lines of the board's file
+     */
+    public List<String> board(Workload workload, int index) {
+        Random random = new Random(seed * 31 + workload.name.hashCode() * 31 + index);
+        boolean[][] taken = new boolean[SIZE][SIZE];
+        List<String> lines = new ArrayList<String>();
+        List<String> actions = new ArrayList<String>();
+        lines.add("# generated by BoardGenerator: " + describe(workload));
+        lines.add("board name=" + workload.boardName(index) + " gravity=25.0 friction1=0.025 friction2=0.025");
+
+        // an absorber in the bottom left corner, shooting back what it catches
+        take(taken, 0, SIZE - 1, ABSORBER_WIDTH, 1);
+        lines.add("absorber name=Abs x=0 y=" + (SIZE - 1) + " width=" + ABSORBER_WIDTH + " height=1");
+        actions.add("Abs");
+
+        List<String> flippers = new ArrayList<String>();
+        for (int i = 0; i < workload.flippers; i++) {
+            int[] cell = place(taken, random, FLIPPER_SIZE);
+            if (cell == null) {
+                break;
+            }
+            String name = "Flip" + i;
+            lines.add((i % 2 == 0 ? "leftFlipper" : "rightFlipper") + " name=" + name + " x=" + cell[0]
+                    + " y=" + cell[1] + " orientation=" + ORIENTATIONS[random.nextInt(ORIENTATIONS.length)]);
+            flippers.add(name);
+            actions.add(name);
+        }
+
+        for (int i = 0; i < workload.portals; i++) {
+            int[] cell = place(taken, random, 1);
+            if (cell == null) {
+                break;
+            }
+            String target = workload.boards == 1 ? " otherPortal=Portal" + ((i + 1) % workload.portals)
+                    : " otherBoard=" + workload.boardName((index + 1) % workload.boards) + " otherPortal=Portal" + i;
+            lines.add("portal name=Portal" + i + " x=" + cell[0] + " y=" + cell[1] + target);
+        }
+
+        List<String> bumpers = new ArrayList<String>();
+        // leave a free cell for every ball
+        int free = SIZE * SIZE - count(taken) - workload.balls;
+        int wanted = Math.min(free, (int) Math.round(workload.density * SIZE * SIZE));
+        for (int i = 0; i < wanted; i++) {
+            int[] cell = place(taken, random, 1);
+            if (cell == null) {
+                break;
+            }
+            String name = "Bumper" + i;
+            String position = " name=" + name + " x=" + cell[0] + " y=" + cell[1];
+            switch (random.nextInt(3)) {
+            case 0:
+                lines.add("squareBumper" + position);
+                break;
+            case 1:
+                lines.add("circleBumper" + position);
+                break;
+            default:
+                lines.add("triangleBumper" + position + " orientation="
+                        + ORIENTATIONS[random.nextInt(ORIENTATIONS.length)]);
+            }
+            bumpers.add(name);
+        }
+
+        for (int i = 0; i < workload.balls; i++) {
+            int[] cell = place(taken, random, 1);
+            if (cell == null) {
+                break;
+            }
+            lines.add("ball name=Ball" + i + " x=" + cell[0] + ".5 y=" + cell[1] + ".5 xVelocity="
+                    + (random.nextInt(2 * MAXIMUM_SPEED + 1) - MAXIMUM_SPEED) + " yVelocity="
+                    + (random.nextInt(2 * MAXIMUM_SPEED + 1) - MAXIMUM_SPEED));
+        }
+
+        lines.add("fire trigger=Abs action=Abs");
+        int fanOut = Math.min(workload.fanOut, actions.size());
+        for (String bumper : bumpers) {
+            List<String> targets = new ArrayList<String>(actions);
+            Collections.shuffle(targets, random);
+            for (String action : targets.subList(0, fanOut)) {
+                lines.add("fire trigger=" + bumper + " action=" + action);
+            }
+        }
+        for (int i = 0; i < flippers.size(); i++) {
+            String key = KEYS[i % KEYS.length];
+            lines.add("keydown key=" + key + " action=" + flippers.get(i));
+            lines.add("keyup key=" + key + " action=" + flippers.get(i));
+        }
+        return lines;
+    }
+
+    /**
+     * @param workload a workload
+     * @return the lines of the topology file joining its boards, or an empty list if it
+     *         has only one board
+     */
+    public List<String> topology(Workload workload) {
+        if (workload.boards == 1) {
+            return Collections.emptyList();
+        }
+        StringBuilder layout = new StringBuilder(workload.torus ? "torus " : "grid ").append(workload.columns);
+        for (int i = 0; i < workload.boards; i++) {
+            layout.append(' ').append(workload.boardName(i));
+        }
+        return Arrays.asList("# generated by BoardGenerator: " + describe(workload), layout.toString());
+    }
+
+    /**
+     * Writes the files of a workload: a NAME.pb file per board, named after the board,
+     * and NAME.topology if there are several boards
+     * @param workload the workload
+     * @param directory directory to write the files to; must exist
+     * @throws IOException if a file cannot be written
+     */
+    public void write(Workload workload, File directory) throws IOException {
+        for (int i = 0; i < workload.boards; i++) {
+            Files.write(new File(directory, workload.boardName(i) + ".pb").toPath(), board(workload, i),
+                    StandardCharsets.UTF_8);
+        }
+        if (workload.boards > 1) {
+            Files.write(new File(directory, workload.name + ".topology").toPath(), topology(workload),
+                    StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String describe(Workload workload) {
+        return workload.name + ", " + workload.boards + (workload.boards == 1 ? " board" : " boards") + ", density " + workload.density + ", "
+                + workload.balls + " balls, " + workload.flippers + " flippers, fan-out " + workload.fanOut
+                + ", " + workload.portals + " portals";
+    }
+
+    /**
+     * Picks a free, randomly placed square of cells and marks it taken
+     * @return the column and row of its top left cell, or null if none was found
+     */
+    private static int[] place(boolean[][] taken, Random random, int size) {
+        for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+            int x = random.nextInt(SIZE - size + 1);
+            int y = random.nextInt(SIZE - size + 1);
+            if (isFree(taken, x, y, size, size)) {
+                take(taken, x, y, size, size);
+                return new int[] { x, y };
+            }
+        }
+        return null;
+    }
+
+    private static boolean isFree(boolean[][] taken, int x, int y, int width, int height) {
+        for (int i = x; i < x + width; i++) {
+            for (int j = y; j < y + height; j++) {
+                if (taken[i][j]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void take(boolean[][] taken, int x, int y, int width, int height) {
+        for (int i = x; i < x + width; i++) {
+            for (int j = y; j < y + height; j++) {
+                taken[i][j] = true;
+            }
+        }
+    }
+
+    private static int count(boolean[][] taken) {
+        int count = 0;
+        for (boolean[] column : taken) {
+            for (boolean cell : column) {
+                if (cell) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the standard corpus, or a single workload.
+     * Usage: BoardGenerator [--out DIR] [--seed S]
+     *          [--workload NAME BOARDS COLUMNS DENSITY BALLS FLIPPERS FANOUT PORTALS [--torus]]
+     * DIR is the directory to write to, CORPUS_DIRECTORY by default.
+     * S is the seed, CORPUS_SEED by default.
+     * --workload writes the workload described instead of the standard ones, with
+     * parameters as in Workload.
+     *
+     * @param args arguments as described
+     */
+    public static void main(String[] args) {
+        File directory = new File(CORPUS_DIRECTORY);
+        long seed = CORPUS_SEED;
+        List<Workload> workloads = STANDARD;
+        boolean torus = false;
+        String[] custom = null;
+        Queue<String> arguments = new LinkedList<String>(Arrays.asList(args));
+        try {
+            while ( ! arguments.isEmpty()) {
+                String flag = arguments.remove();
+                try {
+                    if (flag.equals("--out")) {
+                        directory = new File(arguments.remove());
+                    } else if (flag.equals("--seed")) {
+                        seed = Long.parseLong(arguments.remove());
+                    } else if (flag.equals("--torus")) {
+                        torus = true;
+                    } else if (flag.equals("--workload")) {
+                        custom = new String[8];
+                        for (int i = 0; i < custom.length; i++) {
+                            custom[i] = arguments.remove();
+                        }
+                    } else {
+                        throw new IllegalArgumentException("unknown option: \"" + flag + "\"");
+                    }
+                } catch (NoSuchElementException nsee) {
+                    throw new IllegalArgumentException("missing argument for " + flag);
+                }
+            }
+            if (custom != null) {
+                workloads = Arrays.asList(new Workload(custom[0], Integer.parseInt(custom[1]),
+                        Integer.parseInt(custom[2]), torus, Double.parseDouble(custom[3]),
+                        Integer.parseInt(custom[4]), Integer.parseInt(custom[5]), Integer.parseInt(custom[6]),
+                        Integer.parseInt(custom[7])));
+            }
+        } catch (IllegalArgumentException iae) {
+            System.err.println(iae.getMessage());
+            System.err.println("Usage: BoardGenerator [--out DIR] [--seed S] "
+                    + "[--workload NAME BOARDS COLUMNS DENSITY BALLS FLIPPERS FANOUT PORTALS [--torus]]");
+            return;
+        }
+        BoardGenerator generator = new BoardGenerator(seed);
+        try {
+            directory.mkdirs();
+            for (Workload workload : workloads) {
+                generator.write(workload, directory);
+                System.out.println("wrote " + describe(workload) + " to " + directory);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
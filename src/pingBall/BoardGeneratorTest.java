@@ -0,0 +1,107 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+import pingBall.BoardGenerator.Workload;
+
+public class BoardGeneratorTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. boards in the workload: one, several in a grid, several in a torus
+    //   2. parameters: none of a kind (no balls, flippers, portals or triggers), many,
+    //      more than fit on the board
+    //   3. seed: same, different
+    //  Generated boards are loaded with Board(File), and topologies with Topology.parse.
+    //  The checked-in corpus must be what the generator makes of the standard workloads.
+
+    private static Board load(List<String> lines) throws IOException {
+        File file = File.createTempFile("generated", ".pb");
+        try {
+            Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+            return new Board(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test // boards parse, with the gadgets and balls asked for
+    public void testBoard() throws IOException {
+        Workload workload = new Workload("test", 1, 1, false, 0.25, 30, 6, 2, 3);
+        BoardGenerator generator = new BoardGenerator(1);
+        List<String> lines = generator.board(workload, 0);
+        Board board = load(lines);
+        assertEquals("test", board.getBoardName());
+        assertEquals(30, board.getBalls().size());
+        // the absorber, the flippers, the portals and the bumpers
+        assertEquals(1 + 6 + 3 + 100, board.getGadgets().size());
+        assertEquals(6, board.getKeyDownGadgets().size());
+        int fires = 0;
+        for (String line : lines) {
+            if (line.startsWith("fire")) {
+                fires++;
+            }
+        }
+        assertEquals(1 + 100 * 2, fires);
+        assertEquals(lines, new BoardGenerator(1).board(workload, 0));
+        assertNotEquals(lines, new BoardGenerator(2).board(workload, 0));
+    }
+
+    @Test // empty and overfull boards still parse; several boards are joined and linked
+    public void testLimitsAndTopology() throws IOException {
+        BoardGenerator generator = new BoardGenerator(1);
+        Board empty = load(generator.board(new Workload("empty", 1, 1, false, 0, 0, 0, 5, 0), 0));
+        assertEquals(1, empty.getGadgets().size());
+        assertEquals(0, empty.getBalls().size());
+        Board full = load(generator.board(new Workload("full", 1, 1, false, 1, 50, 10, 1, 0), 0));
+        assertEquals(50, full.getBalls().size());
+        assertTrue(full.getGadgets().size() <= 20 * 20);
+
+        Workload grid = new Workload("grid", 4, 2, false, 0.1, 1, 1, 1, 1);
+        Topology topology = Topology.parse(generator.topology(grid));
+        assertEquals(4, topology.getJoins().size() / 2);
+        assertTrue(generator.board(grid, 3).contains("portal name=Portal0 x=" + portalX(generator.board(grid, 3))
+                + " otherBoard=grid-0 otherPortal=Portal0"));
+        assertTrue(generator.topology(new Workload("one", 1, 1, true, 0, 0, 0, 0, 0)).isEmpty());
+    }
+
+    private static String portalX(List<String> lines) {
+        for (String line : lines) {
+            if (line.startsWith("portal")) {
+                return line.substring(line.indexOf("x=") + 2, line.indexOf(" otherBoard"));
+            }
+        }
+        return null;
+    }
+
+    @Test // the checked-in corpus is up to date, and every file of it loads
+    public void testCorpus() throws IOException {
+        BoardGenerator generator = new BoardGenerator(BoardGenerator.CORPUS_SEED);
+        File directory = new File(BoardGenerator.CORPUS_DIRECTORY);
+        for (Workload workload : BoardGenerator.STANDARD) {
+            int boards = 0;
+            for (; new File(directory, workload.boardName(boards) + ".pb").exists(); boards++) {
+                File file = new File(directory, workload.boardName(boards) + ".pb");
+                assertEquals(generator.board(workload, boards), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+                assertEquals(workload.boardName(boards), new Board(file).getBoardName());
+                if (workload.boardName(boards).equals(workload.getName())) {
+                    boards++;
+                    break;
+                }
+            }
+            assertTrue(boards > 0);
+            File topology = new File(directory, workload.getName() + ".topology");
+            if (topology.exists()) {
+                assertEquals(generator.topology(workload), Files.readAllLines(topology.toPath(), StandardCharsets.UTF_8));
+                assertEquals(boards, Topology.parse(topology).getBoards().size());
+            }
+        }
+    }
+}
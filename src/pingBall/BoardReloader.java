@@ -0,0 +1,124 @@
+package pingBall;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads a board while it is played whenever the file it was loaded from changes.
+ * A watcher thread waits for the file to be written, parses it once the writes settle,
+ * and posts the difference to the board (see Board.applyEdits), so the gadgets, triggers
+ * and key bindings follow the file while the balls and connections stay. Parsing happens
+ * on the watcher thread; the simulation only applies what changed.
+ * A file that does not parse is reported and left until it is written again.
+ */
+public class BoardReloader {
+    //AF:
+    //  Represents the reloading of board from file, in the directory watched by watcher,
+    //  until closed.
+    //RI:
+    //  file's directory is registered with watcher
+    //Thread Safety Argument:
+    //  The board is only changed through its command mailbox. watcher is only used by the
+    //  watcher thread, except for close(), which WatchService allows from any thread;
+    //  closed is volatile.
+
+    /** Milliseconds without further writes to the file before it is reloaded */
+    static final long SETTLE_MILLIS = 100;
+
+    private final File file;
+    private final Board board;
+    private final WatchService watcher;
+    private final Thread thread;
+    private volatile boolean closed = false;
+
+    /**
+     * Starts reloading board from file
+     * @param file the file board was loaded from
+     * @param board the board being played
+     * @throws IOException if the file's directory cannot be watched
+     */
+    public BoardReloader(File file, Board board) throws IOException {
+        this.file = file.getAbsoluteFile();
+        this.board = board;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        Path directory = this.file.getParentFile().toPath();
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(new Runnable() {
+            public void run() {
+                watch();
+            }
+        }, "board-reloader-" + file.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits for the file to change, then reloads it, until closed
+     */
+    private void watch() {
+        try {
+            while (!closed) {
+                if (changed(watcher.take())) {
+                    // editors often write a file in several steps; wait for the last one
+                    WatchKey key;
+                    while ((key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                        changed(key);
+                    }
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    /**
+     * @param key a key signalled by watcher; reset, so it keeps signalling
+     * @return true if one of its events is about the file
+     */
+    private boolean changed(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object name = event.context();
+            if (name instanceof Path && ((Path) name).toString().equals(file.getName())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Parses the file and posts its edits to the board
+     */
+    void reload() {
+        Board edited;
+        try {
+            edited = new Board(file);
+        } catch (IOException | RuntimeException e) {
+            EventLog.shared().log(EventLog.Category.board, "Sorry, unable to reload " + file.getName() + ": " + e.getMessage());
+            return;
+        }
+        board.post(() -> board.applyEdits(edited));
+    }
+
+    /**
+     * Stops reloading the board
+     */
+    public void close() {
+        closed = true;
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import pingBall.Board.direction;
+import physics.Vect;
+
+public class BoardReloaderTest {
+    // Testing strategy
+    //  Board.applyEdits, partition on:
+    //   1. gadgets: unchanged, moved, added, removed, only whitespace changed
+    //   2. bindings: unchanged, fire line changed, key binding changed
+    //   3. state kept: balls, connections, flipper position
+    //  BoardReloader, partition on:
+    //   1. file written: valid board, board that does not parse
+
+    private static final String BOARD = "board name=Edited gravity=0.0\n"
+            + "squareBumper name=Square x=1 y=1\n"
+            + "circleBumper name=Circle x=5 y=5\n"
+            + "leftFlipper name=Flip x=10 y=10 orientation=0\n"
+            + "absorber name=Abs x=0 y=18 width=20 height=2\n"
+            + "fire trigger=Square action=Flip\n"
+            + "keydown key=a action=Flip\n";
+
+    private static File write(File file, String text) throws IOException {
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static Gadget gadgetAt(Board board, double x, double y) {
+        for (Gadget gadget : board.getGadgets()) {
+            if (gadget.getPosition().equals(new Vect(x, y))) {
+                return gadget;
+            }
+        }
+        return null;
+    }
+
+    @Test // only changed gadgets are replaced; balls, connections and moving flippers stay
+    public void testApplyEdits() throws IOException {
+        File file = write(File.createTempFile("edited", ".pb"), BOARD);
+        try {
+            Board board = new Board(file);
+            Ball ball = new Ball(15, 5, new Vect(0, 0));
+            board.addBall(ball);
+            board.addConnection(direction.top, "Above");
+            Gadget square = gadgetAt(board, 1, 1);
+            LeftFlipper flipper = (LeftFlipper) gadgetAt(board, 10, 10);
+            flipper.doAction();
+            flipper.updatePosition(0.02);
+            Vect flipped = flipper.getLineSegment().p2();
+
+            assertFalse(board.applyEdits(new Board(write(file, BOARD.replace("x=1 y=1", "x=1   y=1")))));
+            assertTrue(board.applyEdits(new Board(write(file, BOARD.replace("circleBumper name=Circle x=5 y=5",
+                    "circleBumper name=Circle x=6 y=5\ntriangleBumper name=Tri x=7 y=7 orientation=90")
+                    .replace("key=a", "key=b")))));
+
+            assertSame(square, gadgetAt(board, 1, 1));
+            assertSame(flipper, gadgetAt(board, 10, 10));
+            assertEquals(flipped, flipper.getLineSegment().p2());
+            assertNull(gadgetAt(board, 5, 5));
+            assertNotNull(gadgetAt(board, 6, 5));
+            assertNotNull(gadgetAt(board, 7, 7));
+            assertEquals(5, board.getGadgets().size());
+            assertTrue(board.getBalls().contains(ball));
+            assertEquals("Above", board.getConnection(direction.top));
+            assertEquals(0, new KeyBindings(board.getKeyDownGadgets(), board.getKeyUpGadgets())
+                    .onPress(KeyEvent.VK_A).length);
+            assertSame(flipper, board.getKeyDownGadgets().get("b").get(0));
+
+            assertTrue(board.applyEdits(new Board(write(file, BOARD.replace("fire trigger=Square action=Flip\n", "")
+                    .replace("circleBumper name=Circle x=5 y=5\n", "")))));
+            assertEquals(3, board.getGadgets().size());
+            assertSame(square, gadgetAt(board, 1, 1));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test // edits saved to the file reach the board at an update; broken edits do not
+    public void testWatch() throws IOException, InterruptedException {
+        File file = write(File.createTempFile("watched", ".pb"), BOARD);
+        Board board = new Board(file);
+        BoardReloader reloader = new BoardReloader(file, board);
+        try {
+            write(file, "board name=Edited gravity=0.0\nsquareBumper name=Broken x=1\n");
+            write(file, BOARD.replace("x=5 y=5", "x=8 y=8"));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (gadgetAt(board, 8, 8) == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+                board.update();
+            }
+            assertNotNull(gadgetAt(board, 8, 8));
+            assertNull(gadgetAt(board, 5, 5));
+        } finally {
+            reloader.close();
+            file.delete();
+        }
+    }
+}
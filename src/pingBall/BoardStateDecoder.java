@@ -0,0 +1,256 @@
+package pingBall;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ClientGUI.ClientFrame;
+import physics.Vect;
+
+/**
+ * Receiving end of a state stream produced by BoardStateEncoder. Keeps a render-only
+ * model of a remote board that is rebuilt by every keyframe and patched by every delta,
+ * and can draw that model the same way Board.drawBoard draws a live board.
+ * Deltas received before the first keyframe are ignored.
+ */
+public class BoardStateDecoder {
+    //AF:
+    //  Represents the last known state of the board named boardName, as of frame tick.
+    //  staticGadgets are the gadgets that never change, flippers maps a flipper id to
+    //  {pivot x, pivot y, length, angle in degrees}, absorbers maps an absorber id to the
+    //  number of balls it holds and balls maps a ball id to {x, y, xVel, yVel}.
+    //RI:
+    //  if hasKeyframe is false, every map and list is empty
+    //  precision and anglePrecision are positive
+    //Thread Safety Argument:
+    //  Frames are decoded on a network thread while draw() is called on the Swing
+    //  event thread, so every public method is synchronized on this decoder.
+
+    private static final double BALL_RADIUS = 0.25;
+    private static final int PORTAL_DIAMETER = 5; //in pixels, as drawn by Portal
+
+    private String boardName = "";
+    private long tick = 0;
+    private boolean hasKeyframe = false;
+    private double precision = BoardStateEncoder.DEFAULT_PRECISION;
+    private double anglePrecision = BoardStateEncoder.DEFAULT_ANGLE_PRECISION;
+    private final List<Gadget> staticGadgets = new ArrayList<Gadget>();
+    private final List<double[]> portals = new ArrayList<double[]>();
+    private final Map<Integer, double[]> flippers = new HashMap<Integer, double[]>();
+    private final Map<Integer, Integer> absorbers = new HashMap<Integer, Integer>();
+    private final Map<Integer, double[]> balls = new HashMap<Integer, double[]>();
+    private final Map<Board.direction, String> connections = new HashMap<Board.direction, String>();
+
+    /**
+     * Applies a frame to this decoder's model of the board.
+     * @param frame a keyframe or delta as described in BoardStateEncoder
+     * @return true if the frame was applied, false if it was a delta received before any keyframe
+     * @throws IllegalArgumentException if frame is not a valid state frame
+     */
+    public synchronized boolean decode(String frame) {
+        String[] tokens = frame.trim().split(" +");
+        if (tokens.length < 4 || !tokens[0].equals("state")) {
+            throw new IllegalArgumentException("not a state frame: " + frame);
+        }
+        int firstRecord;
+        try {
+            if (tokens[2].equals("key")) {
+                if (tokens.length < 6) {
+                    throw new IllegalArgumentException("keyframe missing precision: " + frame);
+                }
+                clear();
+                boardName = tokens[1];
+                precision = Double.parseDouble(tokens[4]);
+                anglePrecision = Double.parseDouble(tokens[5]);
+                hasKeyframe = true;
+                firstRecord = 6;
+            } else if (tokens[2].equals("delta")) {
+                if (!hasKeyframe || !tokens[1].equals(boardName)) {
+                    return false;
+                }
+                firstRecord = 4;
+            } else {
+                throw new IllegalArgumentException("unknown frame type: " + tokens[2]);
+            }
+            tick = Long.parseLong(tokens[3]);
+            for (int i = firstRecord; i < tokens.length; i++) {
+                applyRecord(tokens[i].split(","));
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("unable to parse frame: " + frame, e);
+        }
+        checkRep();
+        return true;
+    }
+
+    /**
+     * Applies a single record of a frame
+     * @param fields the comma separated fields of the record
+     */
+    private void applyRecord(String[] fields) {
+        String type = fields[0];
+        if (type.equals("b")) {
+            balls.put(Integer.parseInt(fields[1]), new double[] {
+                    value(fields[2]), value(fields[3]), value(fields[4]), value(fields[5]) });
+        } else if (type.equals("x")) {
+            balls.remove(Integer.parseInt(fields[1]));
+        } else if (type.equals("f")) {
+            double[] flipper = flippers.get(Integer.parseInt(fields[1]));
+            if (flipper != null) {
+                flipper[3] = Long.parseLong(fields[2]) * anglePrecision;
+            }
+        } else if (type.equals("a")) {
+            absorbers.put(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+        } else if (type.equals("cn")) {
+            connections.put(Board.direction.valueOf(fields[1]), fields[2]);
+        } else if (type.equals("dc")) {
+            connections.remove(Board.direction.valueOf(fields[1]));
+        } else if (type.equals("sq")) {
+            staticGadgets.add(Gadget.squareBumper(value(fields[1]), value(fields[2])));
+        } else if (type.equals("ci")) {
+            staticGadgets.add(Gadget.circleBumper(value(fields[1]), value(fields[2])));
+        } else if (type.equals("tr")) {
+            staticGadgets.add(Gadget.triangleBumper(value(fields[1]), value(fields[2]), Double.parseDouble(fields[3])));
+        } else if (type.equals("po")) {
+            portals.add(new double[] { value(fields[1]), value(fields[2]) });
+        } else if (type.equals("fl")) {
+            flippers.put(Integer.parseInt(fields[1]), new double[] {
+                    value(fields[2]), value(fields[3]), value(fields[4]), 0.0 });
+        } else if (type.equals("ab")) {
+            staticGadgets.add(Gadget.absorber(value(fields[2]), value(fields[3]),
+                    (int) Math.round(value(fields[4])), (int) Math.round(value(fields[5]))));
+            absorbers.put(Integer.parseInt(fields[1]), 0);
+        } else {
+            throw new IllegalArgumentException("unknown record: " + type);
+        }
+    }
+
+    /**
+     * Draws the last known state of the board, in the same way as Board.drawBoard
+     * @param g2 the graphics to draw on
+     */
+    public synchronized void drawBoard(Graphics2D g2) {
+        int c = ClientFrame.L; // multiplier for pixels
+        Board.drawBackground(g2, connections);
+        g2.setColor(Color.WHITE);
+        for (Gadget gadget : staticGadgets) {
+            gadget.drawShape(g2);
+        }
+        for (double[] flipper : flippers.values()) {
+            double radians = Math.toRadians(flipper[3]);
+            double endX = flipper[0] + flipper[2] * Math.cos(radians);
+            double endY = flipper[1] + flipper[2] * Math.sin(radians);
+            g2.draw(new Line2D.Double(c * flipper[0], c * flipper[1], c * endX, c * endY));
+        }
+        g2.setColor(Color.ORANGE);
+        for (double[] portal : portals) {
+            g2.draw(new Ellipse2D.Double(c * portal[0], c * portal[1], PORTAL_DIAMETER, PORTAL_DIAMETER));
+        }
+        g2.setColor(Color.RED);
+        for (double[] ball : balls.values()) {
+            g2.draw(new Ellipse2D.Double(c * ball[0], c * ball[1], c * BALL_RADIUS, c * BALL_RADIUS));
+        }
+    }
+
+    /**
+     * @return the name of the board being decoded, or the empty string if no keyframe was received
+     */
+    public synchronized String getBoardName() {
+        return boardName;
+    }
+
+    /**
+     * @return the tick of the last frame applied
+     */
+    public synchronized long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return true if a keyframe has been applied
+     */
+    public synchronized boolean hasKeyframe() {
+        return hasKeyframe;
+    }
+
+    /**
+     * @return a map from each ball id to the last known position of that ball
+     */
+    public synchronized Map<Integer, Vect> getBallPositions() {
+        Map<Integer, Vect> positions = new HashMap<Integer, Vect>();
+        for (Map.Entry<Integer, double[]> entry : balls.entrySet()) {
+            positions.put(entry.getKey(), new Vect(entry.getValue()[0], entry.getValue()[1]));
+        }
+        return positions;
+    }
+
+    /**
+     * @return a map from each ball id to the last known velocity of that ball
+     */
+    public synchronized Map<Integer, Vect> getBallVelocities() {
+        Map<Integer, Vect> velocities = new HashMap<Integer, Vect>();
+        for (Map.Entry<Integer, double[]> entry : balls.entrySet()) {
+            velocities.put(entry.getKey(), new Vect(entry.getValue()[2], entry.getValue()[3]));
+        }
+        return velocities;
+    }
+
+    /**
+     * @return a map from each flipper id to the last known angle of that flipper, in degrees
+     */
+    public synchronized Map<Integer, Double> getFlipperAngles() {
+        Map<Integer, Double> angles = new HashMap<Integer, Double>();
+        for (Map.Entry<Integer, double[]> entry : flippers.entrySet()) {
+            angles.put(entry.getKey(), entry.getValue()[3]);
+        }
+        return angles;
+    }
+
+    /**
+     * @return a map from each absorber id to the number of balls it holds
+     */
+    public synchronized Map<Integer, Integer> getAbsorberContents() {
+        return Collections.unmodifiableMap(new HashMap<Integer, Integer>(absorbers));
+    }
+
+    /**
+     * @return a map from each connected wall to the name of the board connected on that side
+     */
+    public synchronized Map<Board.direction, String> getConnections() {
+        return new HashMap<Board.direction, String>(connections);
+    }
+
+    /**
+     * @param quantized a quantized value from a frame
+     * @return the actual value, in L or L/sec
+     */
+    private double value(String quantized) {
+        return Long.parseLong(quantized) * precision;
+    }
+
+    /**
+     * Forgets everything known about the board
+     */
+    private void clear() {
+        staticGadgets.clear();
+        portals.clear();
+        flippers.clear();
+        absorbers.clear();
+        balls.clear();
+        connections.clear();
+    }
+
+    /**
+     * Checks to make sure rep invariant holds true
+     */
+    private void checkRep() {
+        assert(precision > 0 && anglePrecision > 0);
+        assert(hasKeyframe || (balls.isEmpty() && flippers.isEmpty() && staticGadgets.isEmpty()));
+    }
+}
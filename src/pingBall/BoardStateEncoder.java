@@ -0,0 +1,264 @@
+package pingBall;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import physics.LineSegment;
+import physics.Vect;
+
+/**
+ * Encodes the state of a Board as a stream of single line frames that can be sent to
+ * thin render clients (see BoardStateDecoder). The first frame is a keyframe containing
+ * every gadget and connection of the board; each frame after that is a delta containing
+ * only the balls, flippers, absorbers and connections that changed since the previous frame.
+ *
+ * Frames are of the form:
+ * "state BOARDNAME key TICK PRECISION ANGLEPRECISION RECORD*"
+ * "state BOARDNAME delta TICK RECORD*"
+ * where each RECORD is a comma separated list of fields with no whitespace:
+ *      sq,X,Y              square bumper (keyframe only)
+ *      ci,X,Y              circle bumper (keyframe only)
+ *      tr,X,Y,ORIENTATION  triangle bumper (keyframe only)
+ *      po,X,Y              portal (keyframe only)
+ *      fl,ID,PX,PY,LENGTH  flipper with its pivot (keyframe only)
+ *      ab,ID,X,Y,W,H       absorber (keyframe only)
+ *      f,ID,ANGLE          flipper ID now points at ANGLE
+ *      a,ID,COUNT          absorber ID now holds COUNT balls
+ *      b,ID,X,Y,XVEL,YVEL  ball ID is at (X,Y) with velocity (XVEL,YVEL)
+ *      x,ID                ball ID has left the board
+ *      cn,DIRECTION,NAME   board NAME is connected on the DIRECTION wall
+ *      dc,DIRECTION        the DIRECTION wall is no longer connected
+ * Every number except ORIENTATION and the flipper/absorber/ball ids is an integer, which
+ * is multiplied by PRECISION (in L, or L/sec for velocities) or ANGLEPRECISION (in degrees
+ * for flipper angles) to obtain the actual value.
+ */
+public class BoardStateEncoder {
+    //AF:
+    //  Represents the sending end of a state stream for board. lastBalls, lastFlippers,
+    //  lastAbsorbers and lastConnections are the quantized values the receiving end
+    //  has been sent so far.
+    //RI:
+    //  precision and anglePrecision are positive
+    //  every value in ballIds is a key of lastBalls, and vice versa
+    //Thread Safety Argument:
+    //  Every public method is synchronized on this encoder. The board itself is only
+    //  observed, so frames should be generated on the thread that updates the board.
+
+    /** Default quantization step of positions and velocities, in L. */
+    public static final double DEFAULT_PRECISION = 0.01;
+    /** Default quantization step of flipper angles, in degrees. */
+    public static final double DEFAULT_ANGLE_PRECISION = 1.0;
+
+    private final Board board;
+    private final double precision;
+    private final double anglePrecision;
+    private final Map<Ball, Integer> ballIds = new IdentityHashMap<Ball, Integer>();
+    private final Map<Integer, long[]> lastBalls = new HashMap<Integer, long[]>();
+    private final Map<Gadget, Integer> gadgetIds = new IdentityHashMap<Gadget, Integer>();
+    private final Map<Integer, Long> lastFlippers = new HashMap<Integer, Long>();
+    private final Map<Integer, Integer> lastAbsorbers = new HashMap<Integer, Integer>();
+    private final Map<Board.direction, String> lastConnections = new HashMap<Board.direction, String>();
+    private int nextBallId = 0;
+    private long tick = 0;
+
+    /**
+     * Creates an encoder for board using the default precisions
+     * @param board the board whose state is streamed
+     */
+    public BoardStateEncoder(Board board) {
+        this(board, DEFAULT_PRECISION, DEFAULT_ANGLE_PRECISION);
+    }
+
+    /**
+     * Creates an encoder for board
+     * @param board the board whose state is streamed
+     * @param precision quantization step of positions and velocities in L, must be positive
+     * @param anglePrecision quantization step of flipper angles in degrees, must be positive
+     */
+    public BoardStateEncoder(Board board, double precision, double anglePrecision) {
+        if (!(precision > 0) || !(anglePrecision > 0)) {
+            throw new IllegalArgumentException("precision must be positive");
+        }
+        this.board = board;
+        this.precision = precision;
+        this.anglePrecision = anglePrecision;
+        checkRep();
+    }
+
+    /**
+     * Generates a keyframe containing the full state of the board, and makes it the
+     * baseline that subsequent deltas are computed against.
+     * @return a keyframe of the form described above
+     */
+    public synchronized String keyframe() {
+        tick++;
+        ballIds.clear();
+        lastBalls.clear();
+        gadgetIds.clear();
+        lastFlippers.clear();
+        lastAbsorbers.clear();
+        lastConnections.clear();
+        StringBuilder frame = new StringBuilder();
+        frame.append("state ").append(board.getBoardName()).append(" key ").append(tick)
+                .append(' ').append(precision).append(' ').append(anglePrecision);
+        int gadgetId = 0;
+        for (Gadget gadget : board.getGadgets()) {
+            Vect position = gadget.getPosition();
+            if (gadget instanceof SquareBumper) {
+                frame.append(" sq,").append(quantize(position.x())).append(',').append(quantize(position.y()));
+            } else if (gadget instanceof CircleBumper) {
+                frame.append(" ci,").append(quantize(position.x())).append(',').append(quantize(position.y()));
+            } else if (gadget instanceof TriangleBumper) {
+                frame.append(" tr,").append(quantize(position.x())).append(',').append(quantize(position.y()))
+                        .append(',').append((int) ((TriangleBumper) gadget).getOrientation());
+            } else if (gadget instanceof Portal) {
+                frame.append(" po,").append(quantize(position.x())).append(',').append(quantize(position.y()));
+            } else if (gadget instanceof LeftFlipper || gadget instanceof RightFlipper) {
+                LineSegment segment = flipperSegment(gadget);
+                frame.append(" fl,").append(gadgetId).append(',').append(quantize(segment.p1().x()))
+                        .append(',').append(quantize(segment.p1().y())).append(',').append(quantize(segment.length()));
+                gadgetIds.put(gadget, gadgetId++);
+            } else if (gadget instanceof Absorber) {
+                Absorber absorber = (Absorber) gadget;
+                frame.append(" ab,").append(gadgetId).append(',').append(quantize(position.x()))
+                        .append(',').append(quantize(position.y())).append(',').append(quantize(absorber.getWidth()))
+                        .append(',').append(quantize(absorber.getHeight()));
+                gadgetIds.put(gadget, gadgetId++);
+            }
+        }
+        appendChanges(frame);
+        checkRep();
+        return frame.toString();
+    }
+
+    /**
+     * Generates a delta containing every change to the balls, flippers, absorbers and
+     * connections of the board since the last frame generated by this encoder.
+     * If no keyframe has been generated yet, a keyframe is generated instead.
+     * @return a delta of the form described above; it contains no records if nothing changed
+     */
+    public synchronized String delta() {
+        if (tick == 0) {
+            return keyframe();
+        }
+        tick++;
+        StringBuilder frame = new StringBuilder();
+        frame.append("state ").append(board.getBoardName()).append(" delta ").append(tick);
+        appendChanges(frame);
+        checkRep();
+        return frame.toString();
+    }
+
+    /**
+     * @return the number of frames generated so far
+     */
+    public synchronized long getTick() {
+        return tick;
+    }
+
+    /**
+     * Appends a record for every dynamic element whose quantized value differs from the
+     * last value sent, and remembers the new values
+     * @param frame the frame to append records to
+     */
+    private void appendChanges(StringBuilder frame) {
+        for (Map.Entry<Gadget, Integer> entry : gadgetIds.entrySet()) {
+            Gadget gadget = entry.getKey();
+            int id = entry.getValue();
+            if (gadget instanceof Absorber) {
+                int count = gadget.getBallList().size();
+                Integer last = lastAbsorbers.put(id, count);
+                if (last == null || last != count) {
+                    frame.append(" a,").append(id).append(',').append(count);
+                }
+            } else {
+                LineSegment segment = flipperSegment(gadget);
+                double degrees = Math.toDegrees(Math.atan2(segment.p2().y() - segment.p1().y(),
+                        segment.p2().x() - segment.p1().x()));
+                long angle = Math.round(degrees / anglePrecision);
+                Long last = lastFlippers.put(id, angle);
+                if (last == null || last != angle) {
+                    frame.append(" f,").append(id).append(',').append(angle);
+                }
+            }
+        }
+
+        Set<Integer> present = new HashSet<Integer>();
+        for (Ball ball : board.getBalls()) {
+            Integer id = ballIds.get(ball);
+            if (id == null) {
+                id = nextBallId++;
+                ballIds.put(ball, id);
+            }
+            present.add(id);
+            long[] quantized = new long[] {
+                    quantize(ball.getPosition().x()), quantize(ball.getPosition().y()),
+                    quantize(ball.getVelocity().x()), quantize(ball.getVelocity().y()) };
+            long[] last = lastBalls.get(id);
+            if (last == null || last[0] != quantized[0] || last[1] != quantized[1]
+                    || last[2] != quantized[2] || last[3] != quantized[3]) {
+                lastBalls.put(id, quantized);
+                frame.append(" b,").append(id).append(',').append(quantized[0]).append(',').append(quantized[1])
+                        .append(',').append(quantized[2]).append(',').append(quantized[3]);
+            }
+        }
+        if (present.size() < ballIds.size()) {
+            List<Ball> departed = new ArrayList<Ball>();
+            for (Map.Entry<Ball, Integer> entry : ballIds.entrySet()) {
+                if (!present.contains(entry.getValue())) {
+                    departed.add(entry.getKey());
+                }
+            }
+            for (Ball ball : departed) {
+                int id = ballIds.remove(ball);
+                lastBalls.remove(id);
+                frame.append(" x,").append(id);
+            }
+        }
+
+        Map<Board.direction, String> connections = board.getConnections();
+        for (Board.direction d : Board.direction.values()) {
+            String name = connections.get(d);
+            String last = lastConnections.get(d);
+            if (name != null && !name.equals(last)) {
+                lastConnections.put(d, name);
+                frame.append(" cn,").append(d).append(',').append(name);
+            } else if (name == null && last != null) {
+                lastConnections.remove(d);
+                frame.append(" dc,").append(d);
+            }
+        }
+    }
+
+    /**
+     * @param gadget a LeftFlipper or RightFlipper
+     * @return the segment currently covered by the flipper
+     */
+    private static LineSegment flipperSegment(Gadget gadget) {
+        if (gadget instanceof LeftFlipper) {
+            return ((LeftFlipper) gadget).getLineSegment();
+        }
+        return ((RightFlipper) gadget).getLineSegment();
+    }
+
+    /**
+     * @param value a position, length or velocity in L
+     * @return value as an integer multiple of precision
+     */
+    private long quantize(double value) {
+        return Math.round(value / precision);
+    }
+
+    /**
+     * Checks to make sure rep invariant holds true
+     */
+    private void checkRep() {
+        assert(precision > 0 && anglePrecision > 0);
+        assert(ballIds.size() == lastBalls.size());
+    }
+}
@@ -0,0 +1,140 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import physics.Vect;
+
+public class BoardStateStreamTest {
+    // Testing strategy
+    //  Encode boards with BoardStateEncoder and decode them with BoardStateDecoder, partitioning on:
+    //   1. frame type: keyframe, delta with changes, delta without changes
+    //   2. element changed: ball moved, ball removed, ball added, flipper rotated, connection added/removed
+    //   3. order of frames: delta before any keyframe, delta after keyframe
+    //  Decoded values are compared to the board within the quantization precision.
+
+    private static final double precision = 0.01;
+
+    private static Board makeBoard() {
+        List<Gadget> gadgets = new ArrayList<Gadget>();
+        gadgets.add(Gadget.squareBumper(1.0, 1.0));
+        gadgets.add(Gadget.circleBumper(5.0, 5.0));
+        gadgets.add(Gadget.triangleBumper(7.0, 7.0, 90.0));
+        gadgets.add(Gadget.leftFlipper(10.0, 10.0));
+        gadgets.add(Gadget.absorber(0.0, 18.0, 20, 1));
+        List<Ball> balls = new ArrayList<Ball>(Arrays.asList(
+                new Ball(3.0, 3.0, new Vect(1.0, 0.0)), new Ball(15.0, 3.0, new Vect(0.0, 0.0))));
+        Board board = new Board(gadgets, balls, 0, 0, 0);
+        board.setBoardName("streamed");
+        return board;
+    }
+
+    @Test // keyframe reproduces balls, flippers, absorbers and connections
+    public void testKeyframeRoundTrip() {
+        Board board = makeBoard();
+        board.addConnection(Board.direction.left, "neighbor");
+        BoardStateEncoder encoder = new BoardStateEncoder(board, precision, 1.0);
+        BoardStateDecoder decoder = new BoardStateDecoder();
+
+        assertTrue(decoder.decode(encoder.keyframe()));
+        assertEquals("streamed", decoder.getBoardName());
+        assertEquals(2, decoder.getBallPositions().size());
+        assertEquals(1, decoder.getFlipperAngles().size());
+        assertEquals(90.0, decoder.getFlipperAngles().values().iterator().next(), 1.0);
+        assertEquals(1, decoder.getAbsorberContents().size());
+        assertEquals("neighbor", decoder.getConnections().get(Board.direction.left));
+        for (Vect position : decoder.getBallPositions().values()) {
+            assertTrue(position.minus(new Vect(3.0, 3.0)).length() < precision
+                    || position.minus(new Vect(15.0, 3.0)).length() < precision);
+        }
+    }
+
+    @Test // a delta of an unchanged board has no records
+    public void testDeltaWithoutChanges() {
+        Board board = makeBoard();
+        BoardStateEncoder encoder = new BoardStateEncoder(board, precision, 1.0);
+        encoder.keyframe();
+        String delta = encoder.delta();
+        assertEquals("state streamed delta 2", delta);
+    }
+
+    @Test // only the moving ball is sent after a tick
+    public void testDeltaOnlyContainsMovedBall() {
+        Board board = makeBoard();
+        BoardStateEncoder encoder = new BoardStateEncoder(board, precision, 1.0);
+        BoardStateDecoder decoder = new BoardStateDecoder();
+        decoder.decode(encoder.keyframe());
+        board.update();
+        String delta = encoder.delta();
+        assertEquals(1, delta.split(" b,").length - 1);
+
+        assertTrue(decoder.decode(delta));
+        for (Ball ball : board.getBalls()) {
+            boolean found = false;
+            for (Vect position : decoder.getBallPositions().values()) {
+                if (position.minus(ball.getPosition()).length() < precision) {
+                    found = true;
+                }
+            }
+            assertTrue(found);
+        }
+    }
+
+    @Test // removed balls and connection changes are reflected by deltas
+    public void testDeltaRemovalsAndConnections() {
+        Board board = makeBoard();
+        BoardStateEncoder encoder = new BoardStateEncoder(board, precision, 1.0);
+        BoardStateDecoder decoder = new BoardStateDecoder();
+        decoder.decode(encoder.keyframe());
+
+        board.removeBall(board.getBalls().get(0));
+        board.addConnection(Board.direction.top, "above");
+        decoder.decode(encoder.delta());
+        assertEquals(1, decoder.getBallPositions().size());
+        assertEquals("above", decoder.getConnections().get(Board.direction.top));
+
+        board.removeConnection(Board.direction.top);
+        board.addBall(new Ball(4.0, 4.0, new Vect(0.0, 0.0)));
+        decoder.decode(encoder.delta());
+        assertEquals(2, decoder.getBallPositions().size());
+        assertFalse(decoder.getConnections().containsKey(Board.direction.top));
+    }
+
+    @Test // flipper rotation is sent as a new angle
+    public void testFlipperDelta() {
+        Board board = makeBoard();
+        BoardStateEncoder encoder = new BoardStateEncoder(board, precision, 1.0);
+        BoardStateDecoder decoder = new BoardStateDecoder();
+        decoder.decode(encoder.keyframe());
+        for (Gadget gadget : board.getGadgets()) {
+            if (gadget instanceof LeftFlipper) {
+                gadget.doAction();
+            }
+        }
+        board.update();
+        String delta = encoder.delta();
+        assertTrue(delta.contains(" f,"));
+        decoder.decode(delta);
+        Map<Integer, Double> angles = decoder.getFlipperAngles();
+        assertNotEquals(90.0, angles.values().iterator().next());
+    }
+
+    @Test // deltas are ignored until a keyframe arrives
+    public void testDeltaBeforeKeyframe() {
+        BoardStateDecoder decoder = new BoardStateDecoder();
+        assertFalse(decoder.decode("state streamed delta 5 b,0,100,100,0,0"));
+        assertFalse(decoder.hasKeyframe());
+        assertTrue(decoder.getBallPositions().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidFrame() {
+        new BoardStateDecoder().decode("ball 1 2 3 4");
+    }
+}
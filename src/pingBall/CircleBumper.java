@@ -80,9 +80,12 @@ class CircleBumper implements Gadget{
      */
     @Override
     public void trigger() {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
         for (Gadget gadget: this.triggeredGadgets){
             gadget.doAction();
         }
+        event.commit(this, this.triggeredGadgets.size());
 
     }
     /*
@@ -115,6 +118,11 @@ class CircleBumper implements Gadget{
         triggeredGadgets.add(gadget);
 
     }
+
+    @Override
+    public void clearTriggeredList() {
+        triggeredGadgets.clear();
+    }
     @Override
     /**
      * @return false. Not a portal
@@ -0,0 +1,377 @@
+package pingBall;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A log of what the client and server do that never blocks the thread logging: events
+ * are put in a lock-free ring buffer and written by a background writer thread. If the
+ * ring is full, the event is dropped and counted, and the writer reports how many were
+ * dropped. Each category of event can be sampled, so only one in N of its events is
+ * logged, or turned off.
+ * The log is written as text, one line per event: "HH:mm:ss.SSS CATEGORY MESSAGE", or in
+ * a compact binary form that decode turns back into the same text.
+ *
+ * The shared log (see shared) is configured by system properties:
+ *   pingball.log=FILE                      writes to FILE instead of standard output
+ *   pingball.log.format=binary             writes the binary form
+ *   pingball.log.sample=CATEGORY:N,...     logs one in N events of CATEGORY, none if N is 0
+ */
+public class EventLog {
+    //AF:
+    //  Represents the events logged and not written yet: those claimed at positions head
+    //  to tail-1 of the ring, slot (position & mask) holding the event at position. Events
+    //  are written to out, as text or in binary, in the order they were claimed.
+    //RI:
+    //  head <= tail <= head + capacity; capacity is a power of two, mask == capacity - 1
+    //  sequences[i] == p + 1 once the event at position p is published in slot i, and
+    //  sequences[i] == p + capacity once the writer freed it for position p + capacity
+    //Thread Safety Argument:
+    //  Loggers claim a position with a compare-and-set on tail, fill its slot, then
+    //  publish it with an ordered write of its sequence, which the writer reads before
+    //  the slot; the writer frees the slot the same way. So a slot is only ever used by
+    //  one thread at a time, without locks. head, out and the formatter are confined to
+    //  the writer thread. Sampling rates and counters are atomic.
+
+    /**
+     * The categories of events, each sampled separately:
+     * connection: boards, viewers and nodes connecting and disconnecting
+     * routing: requests that could not be routed
+     * session: sessions suspended, resumed and expired
+     * peer: links between nodes of a federation
+     * client: the client's connection to the server
+     * board: boards loaded and restarted
+     * log: events of the log itself, such as events dropped
+     */
+    public enum Category{connection, routing, session, peer, client, board, log};
+
+    /** Default number of events the ring holds */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    /** First bytes of a binary log */
+    static final byte[] MAGIC = "PBLG1".getBytes(StandardCharsets.US_ASCII);
+    /** Time the writer sleeps when there is nothing to write, in milliseconds */
+    private static final long IDLE_MILLIS = 5;
+
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static EventLog shared = null;
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final long[] times;
+    private final Category[] categories;
+    private final String[] messages;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0;
+    //Number of events written and flushed, read by flush
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicIntegerArray sampling = new AtomicIntegerArray(Category.values().length);
+    private final AtomicLongArray seen = new AtomicLongArray(Category.values().length);
+    private final AtomicLong dropped = new AtomicLong();
+    private long droppedReported = 0;
+    private final OutputStream out;
+    private final boolean closeOut;
+    private final DataOutputStream binary;
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    /**
+     * Starts a log writing to out
+     * @param out stream to write the log to; closed when the log is closed, unless it is
+     *            standard output or standard error
+     * @param binary true to write the binary form, false to write text
+     * @param capacity most events waiting to be written, a power of two
+     * @throws IllegalArgumentException if capacity is not a positive power of two
+     */
+    public EventLog(OutputStream out, boolean binary, int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.times = new long[capacity];
+        this.categories = new Category[capacity];
+        this.messages = new String[capacity];
+        for (Category category : Category.values()) {
+            sampling.set(category.ordinal(), 1);
+        }
+        this.out = new BufferedOutputStream(out);
+        this.closeOut = out != System.out && out != System.err;
+        this.binary = binary ? new DataOutputStream(this.out) : null;
+        if (binary) {
+            try {
+                this.binary.write(MAGIC);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        this.writer = new Thread(this::write, "pingball-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * @return the log shared by the client and server, configured by the system properties
+     *         described above, and flushed when the program exits
+     */
+    public static synchronized EventLog shared() {
+        if (shared == null) {
+            OutputStream out = System.out;
+            String file = System.getProperty("pingball.log");
+            if (file != null) {
+                try {
+                    out = new FileOutputStream(file, true);
+                } catch (IOException e) {
+                    System.err.println("Sorry, unable to open log " + file + ", logging to standard output");
+                }
+            }
+            boolean binary = "binary".equals(System.getProperty("pingball.log.format"));
+            EventLog log = new EventLog(out, binary, DEFAULT_CAPACITY);
+            String sample = System.getProperty("pingball.log.sample");
+            if (sample != null) {
+                for (String setting : sample.split(",")) {
+                    String[] categoryRate = setting.trim().split(":");
+                    try {
+                        log.setSampling(Category.valueOf(categoryRate[0]), Integer.parseInt(categoryRate[1]));
+                    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                        System.err.println("Sorry, invalid log sampling, must be CATEGORY:N: " + setting);
+                    }
+                }
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(log::close, "pingball-log-close"));
+            shared = log;
+        }
+        return shared;
+    }
+
+    /**
+     * Sets how many of the events of a category are logged
+     * @param category the category
+     * @param everyNth log one in everyNth events of category, or none if 0
+     * @throws IllegalArgumentException if everyNth is negative
+     */
+    public void setSampling(Category category, int everyNth) {
+        if (everyNth < 0) {
+            throw new IllegalArgumentException("sampling must not be negative: " + everyNth);
+        }
+        sampling.set(category.ordinal(), everyNth);
+    }
+
+    /**
+     * @param category a category
+     * @return false if no event of category is logged, so building its messages can be skipped
+     */
+    public boolean isEnabled(Category category) {
+        return sampling.get(category.ordinal()) > 0;
+    }
+
+    /**
+     * Logs an event, unless it is sampled out or the ring is full. Never blocks.
+     * @param category the event's category
+     * @param message what happened, on one or more lines
+     * @return true if the event will be written
+     */
+    public boolean log(Category category, String message) {
+        int everyNth = sampling.get(category.ordinal());
+        if (everyNth == 0 || closed) {
+            return false;
+        }
+        if (everyNth > 1 && seen.getAndIncrement(category.ordinal()) % everyNth != 0) {
+            return false;
+        }
+        long position = tail.get();
+        while (true) {
+            long available = sequences.get((int) position & mask) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                dropped.incrementAndGet(); // full: the writer has not freed this slot yet
+                return false;
+            } else {
+                position = tail.get(); // claimed by another thread in the meantime
+            }
+        }
+        int slot = (int) position & mask;
+        times[slot] = System.currentTimeMillis();
+        categories[slot] = category;
+        messages[slot] = message;
+        sequences.lazySet(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * @return the number of events dropped because the ring was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Waits until every event logged before this call is written and flushed
+     * @param timeoutMillis longest time to wait, in milliseconds
+     * @return false if the events were not all written in time
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written.get() < target) {
+            if (System.nanoTime() > deadline || !writer.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Writes the events waiting in the ring, then stops the writer and closes the stream
+     */
+    public void close() {
+        flush(1000);
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes events as they are published, until closed
+     */
+    private void write() {
+        try {
+            while (true) {
+                boolean wrote = false;
+                for (int slot = (int) head & mask; sequences.get(slot) == head + 1; slot = (int) head & mask) {
+                    writeEvent(times[slot], categories[slot], messages[slot]);
+                    messages[slot] = null;
+                    sequences.lazySet(slot, head + mask + 1);
+                    head++;
+                    wrote = true;
+                }
+                long droppedNow = dropped.get();
+                if (droppedNow != droppedReported) {
+                    writeEvent(System.currentTimeMillis(), Category.log,
+                            (droppedNow - droppedReported) + " events dropped, the log was full");
+                    droppedReported = droppedNow;
+                    wrote = true;
+                }
+                if (wrote) {
+                    out.flush();
+                    written.set(head);
+                } else if (closed) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(IDLE_MILLIS));
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                if (closeOut) {
+                    out.close();
+                } else {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Writes one event to out, as text or in binary
+     */
+    private void writeEvent(long time, Category category, String message) throws IOException {
+        if (binary != null) {
+            byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            binary.writeLong(time);
+            binary.writeByte(category.ordinal());
+            binary.writeInt(bytes.length);
+            binary.write(bytes);
+        } else {
+            out.write(format(time, category, message).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * @return the text line of an event, ending with a newline
+     */
+    private static String format(long time, Category category, String message) {
+        return TIME.format(Instant.ofEpochMilli(time)) + " " + category + " " + message + "\n";
+    }
+
+    /**
+     * Turns a binary log back into text
+     * @param in the binary log
+     * @param out where to print the text
+     * @throws IOException if in cannot be read or is not a binary log
+     */
+    public static void decode(InputStream in, PrintStream out) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("not a binary pingball log");
+        }
+        Category[] values = Category.values();
+        while (true) {
+            long time;
+            try {
+                time = data.readLong();
+            } catch (EOFException e) {
+                return;
+            }
+            int category = data.readUnsignedByte();
+            byte[] bytes = new byte[data.readInt()];
+            data.readFully(bytes);
+            if (category >= values.length) {
+                throw new IOException("unknown category " + category);
+            }
+            out.print(format(time, values[category], new String(bytes, StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Prints a binary log as text.
+     * Usage: EventLog FILE
+     * @param args the file of the binary log
+     * @throws IOException if the file cannot be read or is not a binary log
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: EventLog FILE");
+            return;
+        }
+        try (InputStream in = new FileInputStream(args[0])) {
+            decode(in, System.out);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import pingBall.EventLog.Category;
+
+public class EventLogTest {
+    // Testing strategy
+    //  EventLog, partition on:
+    //   1. format: text, binary decoded
+    //   2. sampling of a category: every event, one in N, off
+    //   3. ring: room left, full while the writer is blocked
+    //   4. loggers: one thread, several threads at once
+    //   5. capacity: power of two, not a power of two
+
+    private static final String TIME = "\\d\\d:\\d\\d:\\d\\d\\.\\d\\d\\d ";
+
+    /** A stream whose writes block until it is released */
+    private static class BlockingStream extends ByteArrayOutputStream {
+        final CountDownLatch release = new CountDownLatch(1);
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            super.write(b, off, len);
+        }
+    }
+
+    private static String[] lines(ByteArrayOutputStream out) {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test // one line per event, in order, with time and category; binary decodes to the same
+    public void testFormats() throws IOException {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        EventLog textLog = new EventLog(text, false, 8);
+        EventLog binaryLog = new EventLog(binary, true, 8);
+        for (EventLog log : new EventLog[] { textLog, binaryLog }) {
+            assertTrue(log.log(Category.connection, "A connected"));
+            assertTrue(log.log(Category.board, "loaded\nrows"));
+            log.close();
+        }
+        String[] lines = lines(text);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0], lines[0].matches(TIME + "connection A connected"));
+        assertTrue(lines[1], lines[1].matches(TIME + "board loaded"));
+        assertEquals("rows", lines[2]);
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        EventLog.decode(new ByteArrayInputStream(binary.toByteArray()), new PrintStream(decoded, true, "UTF-8"));
+        String[] decodedLines = lines(decoded);
+        assertEquals(3, decodedLines.length);
+        assertTrue(decodedLines[0], decodedLines[0].matches(TIME + "connection A connected"));
+        assertTrue(decodedLines[1], decodedLines[1].matches(TIME + "board loaded"));
+        assertEquals("rows", decodedLines[2]);
+        try {
+            EventLog.decode(new ByteArrayInputStream(text.toByteArray()), new PrintStream(decoded));
+            fail("text is not a binary log");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    @Test // sampled categories log one in N events, turned off ones none
+    public void testSampling() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventLog log = new EventLog(out, false, 16);
+        log.setSampling(Category.routing, 3);
+        log.setSampling(Category.peer, 0);
+        assertTrue(log.isEnabled(Category.routing));
+        assertFalse(log.isEnabled(Category.peer));
+        int logged = 0;
+        for (int i = 0; i < 9; i++) {
+            if (log.log(Category.routing, "routed " + i)) {
+                logged++;
+            }
+            assertFalse(log.log(Category.peer, "linked"));
+        }
+        assertEquals(3, logged);
+        log.close();
+        assertEquals(3, lines(out).length);
+        assertTrue(lines(out)[1].endsWith("routing routed 3"));
+    }
+
+    @Test // a full ring drops events instead of blocking, and the drops are reported
+    public void testFull() throws InterruptedException {
+        BlockingStream out = new BlockingStream();
+        EventLog log = new EventLog(out, false, 4);
+        log.log(Category.client, "first");
+        assertFalse(log.flush(50)); // the writer is blocked writing it
+        int logged = 0;
+        for (int i = 0; i < 10; i++) {
+            if (log.log(Category.client, "event " + i)) {
+                logged++;
+            }
+        }
+        assertEquals(4, logged);
+        assertEquals(6, log.getDropped());
+        out.release.countDown();
+        assertTrue(log.flush(5000));
+        log.close();
+        String[] lines = lines(out);
+        assertEquals(6, lines.length);
+        assertTrue(lines[5], lines[5].endsWith("log 6 events dropped, the log was full"));
+    }
+
+    @Test // events logged by several threads at once are each written once
+    public void testConcurrent() throws InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EventLog log = new EventLog(out, false, 1 << 13);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    assertTrue(log.log(Category.routing, thread + "-" + i));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        log.close();
+        Set<String> events = new HashSet<String>();
+        for (String line : lines(out)) {
+            events.add(line.substring(line.lastIndexOf(' ') + 1));
+        }
+        assertEquals(4000, events.size());
+        assertEquals(0, log.getDropped());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityNotPowerOfTwo() {
+        new EventLog(new ByteArrayOutputStream(), false, 12);
+    }
+}
@@ -0,0 +1,147 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import pingBall.ServerHarness.TestClient;
+
+public class FederationTest {
+    // Testing strategy
+    //  Two federated PingballServers run in this process on loopback ports, with boards
+    //  simulated by sockets speaking the board protocol.
+    //  Partition on:
+    //   1. message routed: ball, portal, connect, disconnect
+    //   2. boards: on the same node, on different nodes
+    //   3. node where the join is typed: owner of both, owner of one
+    //   4. failures: board disconnects, duplicate board name, node goes away
+    //   5. linking node: a peer, not a peer, with the federation's secret, with another secret
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer node1;
+    private PingballServer node2;
+
+    @Before
+    public void setUp() throws IOException {
+        node1 = harness.serve(harness.newServer("n1"));
+        node2 = harness.serve(harness.newServer("n2"));
+        node1.addPeer("n2", "localhost", node2.getPort());
+        node2.addPeer("n1", "localhost", node1.getPort());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    /** Connects A to node1 and B to node2, and waits until both nodes know both */
+    private TestClient[] connectAcrossNodes() throws IOException, InterruptedException {
+        TestClient a = harness.board(node1, "A");
+        TestClient b = harness.board(node2, "B");
+        await(() -> node1.getRouting().isKnown("B") && node2.getRouting().isKnown("A")
+                && node1.getRouting().isConnected("A") && node2.getRouting().isConnected("B"));
+        return new TestClient[] { a, b };
+    }
+
+    @Test // join typed on the owner of one board, then a ball passes between nodes
+    public void testJoinAndBallAcrossNodes() throws IOException, InterruptedException {
+        TestClient[] boards = connectAcrossNodes();
+        assertEquals("n2", node1.getRouting().getNode("B"));
+
+        node1.handleUserInput("h A B");
+        assertEquals("connect right B", boards[0].in.readLine());
+        assertEquals("connect left A", boards[1].in.readLine());
+
+        boards[0].out.println("ball 19.9 10.0 3.0 1.0 B right");
+        assertEquals("ball 0.26 10.0 3.0 1.0 left", boards[1].in.readLine());
+        boards[1].out.println("ball 0.1 5.0 -3.0 0.0 A left");
+        assertEquals("ball 19.74 5.0 -3.0 0.0 right", boards[0].in.readLine());
+    }
+
+    @Test // a portal message reaches a board on the other node
+    public void testPortalAcrossNodes() throws IOException, InterruptedException {
+        TestClient[] boards = connectAcrossNodes();
+        boards[0].out.println("portal A p1 B p2 1.0 2.0");
+        assertEquals("portal A p1 B p2 1.0 2.0", boards[1].in.readLine());
+    }
+
+    @Test // the owner of a disconnecting board tells its neighbor on the other node
+    public void testDisconnectAcrossNodes() throws IOException, InterruptedException {
+        TestClient[] boards = connectAcrossNodes();
+        node2.handleUserInput("v A B");
+        assertEquals("connect bottom B", boards[0].in.readLine());
+        assertEquals("connect top A", boards[1].in.readLine());
+
+        boards[1].socket.close();
+        assertEquals("disconnect bottom", boards[0].in.readLine());
+        await(() -> !node1.getRouting().isKnown("B"));
+        assertNull(node1.getRouting().getNeighbor("A", PingballServer.Direction.bottom));
+    }
+
+    @Test // a board name already connected to another node is refused
+    public void testDuplicateNameAcrossNodes() throws IOException, InterruptedException {
+        connectAcrossNodes();
+        TestClient duplicate = harness.board(node2, "A");
+        assertNull(duplicate.in.readLine());
+        assertEquals("n1", node2.getRouting().getNode("A"));
+    }
+
+    @Test // when a node goes away its boards are forgotten and joins to them disconnected
+    public void testNodeLost() throws IOException, InterruptedException {
+        TestClient[] boards = connectAcrossNodes();
+        node1.handleUserInput("h A B");
+        assertEquals("connect right B", boards[0].in.readLine());
+
+        node2.close();
+        assertEquals("disconnect right", boards[0].in.readLine());
+        assertFalse(node1.getRouting().isKnown("B"));
+    }
+
+    /**
+     * Links to server as a node, sending firstLine and then lines
+     * @return the link, which the server closes if it refuses it
+     */
+    private TestClient link(PingballServer server, String firstLine, String... lines) throws IOException {
+        TestClient link = harness.connect(server, firstLine);
+        for (String line : lines) {
+            link.out.println(line);
+        }
+        return link;
+    }
+
+    @Test // a node that is not a peer cannot take boards over or send them messages
+    public void testUnknownNodeRefused() throws IOException, InterruptedException {
+        TestClient a = harness.board(node1, "A");
+        TestClient c = harness.board(node1, "C");
+        await(() -> node1.getRouting().isConnected("A") && node1.getRouting().isConnected("C"));
+        TestClient refused = link(node1, "node n0", "dir add A n0", "deliver A ball 1.0 1.0 0.0 0.0");
+        assertNull(refused.in.readLine());
+        assertTrue(node1.getRouting().isConnected("A"));
+        node1.handleUserInput("h A C");
+        assertEquals("connect right C", a.in.readLine());
+        assertEquals("connect left A", c.in.readLine());
+    }
+
+    @Test // with a shared secret, only links presenting it are accepted
+    public void testPeerSecret() throws IOException, InterruptedException {
+        PingballServer node3 = harness.serve(harness.newServer("n3"));
+        PingballServer node4 = harness.serve(harness.newServer("n4"));
+        node3.setPeerSecret("s3cret");
+        node4.setPeerSecret("s3cret");
+        node3.addPeer("n4", "localhost", node4.getPort());
+        node4.addPeer("n3", "localhost", node3.getPort());
+        harness.board(node3, "A");
+        await(() -> node4.getRouting().isKnown("A"));
+
+        TestClient refused = link(node3, "node n4 guess", "dir add A n0");
+        assertNull(refused.in.readLine());
+        refused = link(node3, "node n4", "dir add A n0");
+        assertNull(refused.in.readLine());
+        assertTrue(node3.getRouting().isConnected("A"));
+    }
+}
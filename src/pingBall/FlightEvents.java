@@ -0,0 +1,226 @@
+package pingBall;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events of the game, so board updates, collisions, hand-offs and
+ * routing can be lined up against the GC and CPU samples of the same recording.
+ * Every event type is named "pingball.TYPE", is off unless a recording's settings turn it on,
+ * and can be turned on by itself; src/resources/pingball.jfc turns them all on, e.g.
+ *     java -XX:StartFlightRecording:settings=default,settings=src/resources/pingball.jfc,filename=game.jfr ...
+ * Without a recording, or with an event type turned off, an event costs no more than
+ * creating it, which the JIT usually removes. The events of the paths that must not
+ * allocate, collisions and routing, are only created once they are known to be recorded
+ * (see collision and route).
+ */
+public final class FlightEvents {
+
+    // Whether a recording records Collision and Route events; refreshed whenever a recording
+    // starts or stops, so the hot paths read a field instead of creating an event to ask it
+    private static volatile boolean collisionEnabled;
+    private static volatile boolean routeEnabled;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                refresh();
+            }
+        });
+        refresh();
+    }
+
+    private FlightEvents() {
+        // only holds the event types
+    }
+
+    private static void refresh() {
+        collisionEnabled = new Collision().isEnabled();
+        routeEnabled = new Route().isEnabled();
+    }
+
+    /**
+     * Records a Collision event, if collisions are recorded; otherwise allocates nothing
+     * @param board name of the board
+     * @param gadgetType type of the gadget collided with, or "Ball"
+     * @param ball the ball whose velocity was changed
+     */
+    static void collision(String board, String gadgetType, Ball ball) {
+        if (collisionEnabled) {
+            Collision event = new Collision();
+            if (event.shouldCommit()) {
+                event.board = board;
+                event.gadgetType = gadgetType;
+                event.x = ball.getPosition().x();
+                event.y = ball.getPosition().y();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Records a Route event, if routing is recorded; otherwise allocates nothing
+     * @param kind "ball" or "portal"
+     * @param toBoard the board the request was routed to
+     * @param inPlace whether the request was routed without decoding it
+     * @param nanos time taken to route the request, in nanoseconds
+     */
+    static void route(String kind, String toBoard, boolean inPlace, long nanos) {
+        if (routeEnabled) {
+            Route event = new Route();
+            if (event.shouldCommit()) {
+                event.kind = kind;
+                event.toBoard = toBoard;
+                event.inPlace = inPlace;
+                event.routeTime = nanos;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * An update of a board that was not paused
+     */
+    @Name("pingball.Tick")
+    @Label("Board Update")
+    @Category("Pingball")
+    @Description("An update of a board: the time step simulated and the sub-steps it was split into at collisions")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class Tick extends Event {
+        @Label("Board")
+        public String board;
+
+        @Label("Time Step")
+        @Timespan(Timespan.MILLISECONDS)
+        public long timeStep;
+
+        @Label("Balls")
+        public int balls;
+
+        @Label("Sub-steps")
+        @Description("Number of times the time step was split to resolve collisions")
+        public int subSteps;
+    }
+
+    /**
+     * A ball's velocity being changed by the gadget or ball it collided with
+     */
+    @Name("pingball.Collision")
+    @Label("Collision")
+    @Category("Pingball")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class Collision extends Event {
+        @Label("Board")
+        public String board;
+
+        @Label("Gadget Type")
+        @Description("Type of the gadget collided with, or Ball for a collision between balls")
+        public String gadgetType;
+
+        @Label("X")
+        public double x;
+
+        @Label("Y")
+        public double y;
+    }
+
+    /**
+     * A ball leaving this board for another board, or arriving from one,
+     * through a wall or a portal
+     */
+    @Name("pingball.Handoff")
+    @Label("Hand-off")
+    @Category("Pingball")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class Handoff extends Event {
+        @Label("Board")
+        public String board;
+
+        @Label("Other Board")
+        public String otherBoard;
+
+        @Label("Through")
+        @Description("wall or portal")
+        public String through;
+
+        @Label("Inbound")
+        public boolean inbound;
+
+        @Label("Transit Time")
+        @Description("Time the ball spent between the boards, for an inbound ball sent with its time")
+        @Timespan(Timespan.MILLISECONDS)
+        public long transit;
+    }
+
+    /**
+     * A request from a board routed by the server to the board it is for. Committed once
+     * routed (see route), so the time taken is a field rather than the event's duration.
+     */
+    @Name("pingball.Route")
+    @Label("Route")
+    @Category("Pingball")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class Route extends Event {
+        @Label("Kind")
+        @Description("ball or portal")
+        public String kind;
+
+        @Label("To Board")
+        public String toBoard;
+
+        @Label("In Place")
+        @Description("Whether the request was routed without decoding it (see InPlaceRouter)")
+        public boolean inPlace;
+
+        @Label("Route Time")
+        @Description("Time taken to route the request")
+        @Timespan(Timespan.NANOSECONDS)
+        public long routeTime;
+    }
+
+    /**
+     * A gadget triggering the gadgets whose actions it is bound to, or a key
+     * triggering the gadgets bound to it
+     */
+    @Name("pingball.Trigger")
+    @Label("Trigger Cascade")
+    @Category("Pingball")
+    @StackTrace(false)
+    @Enabled(false)
+    public static class Trigger extends Event {
+        @Label("Source")
+        @Description("Type of the triggering gadget, or Key")
+        public String source;
+
+        @Label("Actions")
+        @Description("Number of gadget actions triggered")
+        public int actions;
+
+        /**
+         * Ends the event and commits it, if its type is recorded and something was triggered
+         * @param source the triggering gadget, or null for a key
+         * @param actions number of gadget actions triggered
+         */
+        public void commit(Gadget source, int actions) {
+            if (actions > 0 && shouldCommit()) {
+                this.source = source == null ? "Key" : source.getClass().getSimpleName();
+                this.actions = actions;
+                commit();
+            }
+        }
+    }
+}
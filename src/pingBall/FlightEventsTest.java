@@ -0,0 +1,97 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+public class FlightEventsTest {
+    // Testing strategy
+    //  FlightEvents, partition on:
+    //   1. event type: enabled, disabled
+    //   2. event: tick, collision, trigger from a key, trigger from a gadget with nothing bound,
+    //      route
+    //   3. recording: started before the event, stopped before it
+    //  Hand-off events are committed the same way, on the client path covered by its own tests.
+
+    /**
+     * Records the events of updates of board
+     * @param board the board to update
+     * @param updates number of updates
+     * @param enabled names of the event types to record
+     * @return number of events recorded, by event type name
+     */
+    private static Map<String, Integer> record(Board board, int updates, String... enabled) throws IOException {
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        Path file = File.createTempFile("events", ".jfr").toPath();
+        try (Recording recording = new Recording()) {
+            for (String name : enabled) {
+                recording.enable(name);
+            }
+            recording.start();
+            board.keyPressed(KeyEvent.VK_L, System.nanoTime());
+            for (int i = 0; i < updates; i++) {
+                board.update();
+            }
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            for (RecordedEvent event : events) {
+                String name = event.getEventType().getName();
+                if (name.equals("pingball.Trigger")) {
+                    assertEquals("Key", event.getString("source"));
+                    assertEquals(1, event.getInt("actions"));
+                }
+                Integer count = counts.get(name);
+                counts.put(name, count == null ? 1 : count + 1);
+            }
+        } finally {
+            file.toFile().delete();
+        }
+        return counts;
+    }
+
+    @Test // enabled types are recorded once per tick, key trigger and collision; the others are off
+    public void testToggled() throws IOException {
+        Board board = new Board(new File("src/resources/keyboardFlippers.pb"));
+        Map<String, Integer> counts = record(board, 40, "pingball.Tick", "pingball.Trigger", "pingball.Collision");
+        assertEquals(Integer.valueOf(40), counts.get("pingball.Tick"));
+        assertEquals(Integer.valueOf(1), counts.get("pingball.Trigger"));
+        assertNotNull(counts.get("pingball.Collision"));
+
+        counts = record(board, 10, "pingball.Trigger");
+        assertNull(counts.get("pingball.Tick"));
+        assertNull(counts.get("pingball.Collision"));
+        assertEquals(Integer.valueOf(1), counts.get("pingball.Trigger"));
+    }
+
+    @Test // a route is only recorded while a recording of its type runs, with the time it took
+    public void testRoute() throws IOException {
+        Path file = File.createTempFile("events", ".jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("pingball.Route");
+            recording.start();
+            FlightEvents.route("ball", "B", true, 1234);
+            recording.stop();
+            FlightEvents.route("ball", "C", true, 1);
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size());
+            assertEquals("B", events.get(0).getString("toBoard"));
+            assertEquals(1234, events.get(0).getDuration("routeTime").toNanos());
+        } finally {
+            file.toFile().delete();
+        }
+    }
+}
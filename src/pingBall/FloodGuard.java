@@ -0,0 +1,144 @@
+package pingBall;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import pingBall.PingballServer.FloodAction;
+
+/**
+ * The rate limits of the requests of one board's connection, so a buggy or malicious
+ * client cannot flood the server or its neighbors:
+ *   board: the messages the board sends, of any kind
+ *   edge: the balls and portal balls the board sends to each other board
+ *   destination: the balls and portal balls sent to each board by all boards together,
+ *                shared by the guards of every connection
+ * A message over a limit is dropped, delayed until it is within the limit, or makes the
+ * server disconnect the board, as the server is configured (see PingballServer.FloodAction).
+ * The balls another node of the federation delivers to the boards of this node are
+ * checked against their destination budgets by a guard of the peer's link, which always
+ * drops them, since the link's thread reads every message the peer sends.
+ * Within the limits, checking a message costs a compare-and-set per limit.
+ */
+class FloodGuard {
+    //AF:
+    //  Represents the limits of the requests of one board: board limits all of its
+    //  messages, edges maps each board it sent balls to to the limiters of that edge
+    //  and of that board's destination budget; a null limiter is no limit. known is the
+    //  routing table edges was last pruned against (see admitBall). tripped is true once a message over
+    //  a limit asked for the board to be disconnected.
+    //RI:
+    //  every board in edges is known to known
+    //Thread Safety Argument:
+    //  Not thread safe: a guard is only used by the thread handling its connection or link. The
+    //  limiters are thread safe (see RateLimiter), and destinations is a concurrent map.
+
+    /**
+     * The limits a message can be over, for the metrics
+     */
+    enum Limit{board, edge, destination};
+
+    /** A guard that limits nothing */
+    static final FloodGuard NONE = new FloodGuard(0, 0, 0, FloodAction.drop, null, null);
+
+    private final RateLimiter board;
+    private final double edgeRate;
+    private final double ballBudget;
+    private final FloodAction action;
+    private final Map<String, RateLimiter> destinations;
+    private final ServerMetrics metrics;
+    private final Map<String, RateLimiter[]> edges = new HashMap<String, RateLimiter[]>();
+    private RoutingTable known = RoutingTable.EMPTY;
+    private boolean tripped = false;
+
+    /**
+     * @param boardRate messages per second the board may send, or 0 for no limit
+     * @param edgeRate balls per second the board may send to each other board, or 0 for no limit
+     * @param ballBudget balls per second each board may be sent by all boards together,
+     *                   or 0 for no limit
+     * @param action what to do with a message over a limit
+     * @param destinations the limiters of the balls sent to each board, shared by the
+     *                     guards of every connection, which add them as boards are sent to;
+     *                     the server removes a board's limiter once the board is gone
+     * @param metrics where the messages over a limit are counted
+     */
+    FloodGuard(double boardRate, double edgeRate, double ballBudget, FloodAction action,
+            Map<String, RateLimiter> destinations, ServerMetrics metrics) {
+        this.board = boardRate > 0 ? new RateLimiter(boardRate) : null;
+        this.edgeRate = edgeRate;
+        this.ballBudget = ballBudget;
+        this.action = action;
+        this.destinations = destinations;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Checks a message received from the board against its limit
+     * @return true if the message is to be handled, false if it is to be dropped
+     */
+    boolean admitMessage() {
+        return board == null || admit(board, Limit.board);
+    }
+
+    /**
+     * Checks a ball or portal ball sent to a board against the limits of its edge and
+     * of the board's destination budget. Whenever table is a newer routing table than
+     * the last one, the limiters of the boards it no longer knows, or whose destination
+     * limiter the server removed, are forgotten, so those kept are bounded by the boards
+     * there are, and a board that leaves and comes back is not held to a stale budget.
+     * @param to the board the ball is for, known to table
+     * @param table the current routing table
+     * @return true if the ball is to be routed, false if it is to be dropped
+     */
+    boolean admitBall(String to, RoutingTable table) {
+        if (this == NONE) {
+            return true;
+        }
+        if (table != known) {
+            edges.entrySet().removeIf(edge -> !table.isKnown(edge.getKey())
+                    || (edge.getValue()[1] != null && edge.getValue()[1] != destinations.get(edge.getKey())));
+            known = table;
+        }
+        RateLimiter[] limiters = edges.get(to);
+        if (limiters == null) {
+            limiters = new RateLimiter[] {
+                    edgeRate > 0 ? new RateLimiter(edgeRate) : null,
+                    ballBudget > 0 ? destinations.computeIfAbsent(to, board -> new RateLimiter(ballBudget)) : null };
+            edges.put(to, limiters);
+        }
+        return (limiters[0] == null || admit(limiters[0], Limit.edge))
+                && (limiters[1] == null || admit(limiters[1], Limit.destination));
+    }
+
+    /**
+     * @return true once a message over a limit asked for the board to be disconnected
+     */
+    boolean isTripped() {
+        return tripped;
+    }
+
+    /**
+     * Takes a token from limiter, or acts on the message being over limit
+     * @return true if the message is to be handled
+     */
+    private boolean admit(RateLimiter limiter, Limit limit) {
+        long wait = limiter.tryAcquire();
+        if (wait == 0) {
+            return true;
+        }
+        metrics.limited(limit);
+        switch (action) {
+        case delay:
+            do {
+                LockSupport.parkNanos(wait);
+                wait = limiter.tryAcquire();
+            } while (wait > 0);
+            return true;
+        case disconnect:
+            tripped = true;
+            return false;
+        default:
+            return false;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pingBall.FloodGuard.Limit;
+import pingBall.PingballServer.FloodAction;
+import pingBall.ServerHarness.TestClient;
+
+public class FloodGuardTest {
+    // Testing strategy
+    //  RateLimiter, partition on:
+    //   1. tokens: within the burst, burst used up
+    //   2. rate: positive, not positive
+    //  FloodGuard, partition on:
+    //   1. action: drop, delay, disconnect
+    //   2. limit: board, edge, destination, none
+    //   3. board sent to: known, gone, gone and back with a new destination limiter
+    //  Server, partition on:
+    //   1. ball over the edge limit: routed in place, decoded
+    //   2. action: drop, disconnect
+    //   3. balls delivered by a peer node: within the destination budget, over it
+    //   4. action, for balls delivered by a peer node: disconnect, delay
+    //  The server is run in this process, and boards are simulated by loopback sockets.
+
+    private static final RoutingTable KNOWN = RoutingTable.EMPTY.withRemoteBoard("B", "n2")
+            .withRemoteBoard("C", "n2");
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer server;
+
+    private void startServer(double boardRate, double edgeRate, double ballBudget, FloodAction action)
+            throws IOException {
+        server = harness.newServer();
+        server.setRateLimits(boardRate, edgeRate, ballBudget, action);
+        harness.serve(server);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    @Test // a full bucket allows a burst of a second's worth, then makes callers wait
+    public void testRateLimiter() {
+        RateLimiter limiter = new RateLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire());
+        }
+        long wait = limiter.tryAcquire();
+        assertTrue(wait > 0 && wait <= 100000000L);
+        try {
+            new RateLimiter(0);
+            fail("a rate must be positive");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test // messages over a limit are dropped and counted; NONE limits nothing
+    public void testDrop() {
+        ServerMetrics metrics = new ServerMetrics();
+        FloodGuard guard = new FloodGuard(3, 0, 2, FloodAction.drop,
+                new ConcurrentHashMap<String, RateLimiter>(), metrics);
+        int admitted = 0;
+        for (int i = 0; i < 5; i++) {
+            if (guard.admitMessage()) {
+                admitted++;
+            }
+        }
+        assertEquals(3, admitted);
+        assertEquals(2, metrics.getLimited(Limit.board));
+        assertTrue(guard.admitBall("B", KNOWN));
+        assertTrue(guard.admitBall("C", KNOWN));
+        assertTrue(guard.admitBall("B", KNOWN));
+        assertFalse(guard.admitBall("B", KNOWN));
+        assertEquals(1, metrics.getLimited(Limit.destination));
+        assertEquals(0, metrics.getLimited(Limit.edge));
+        assertFalse(guard.isTripped());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(FloodGuard.NONE.admitMessage());
+            assertTrue(FloodGuard.NONE.admitBall("B", KNOWN));
+        }
+    }
+
+    @Test // the destination budget is shared by every guard; delay waits for a token
+    public void testDelay() {
+        ServerMetrics metrics = new ServerMetrics();
+        ConcurrentHashMap<String, RateLimiter> destinations = new ConcurrentHashMap<String, RateLimiter>();
+        FloodGuard first = new FloodGuard(0, 0, 20, FloodAction.delay, destinations, metrics);
+        FloodGuard second = new FloodGuard(0, 0, 20, FloodAction.delay, destinations, metrics);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(first.admitBall("B", KNOWN));
+            assertTrue(second.admitBall("B", KNOWN));
+        }
+        long start = System.nanoTime();
+        assertTrue(first.admitBall("B", KNOWN));
+        assertTrue(System.nanoTime() - start >= 25000000L);
+        assertEquals(1, metrics.getLimited(Limit.destination));
+    }
+
+    @Test // the limiters of a board that is gone are forgotten, so it comes back with fresh ones
+    public void testForgetsGoneBoards() {
+        ServerMetrics metrics = new ServerMetrics();
+        ConcurrentHashMap<String, RateLimiter> destinations = new ConcurrentHashMap<String, RateLimiter>();
+        FloodGuard guard = new FloodGuard(0, 2, 2, FloodAction.drop, destinations, metrics);
+        assertTrue(guard.admitBall("B", KNOWN));
+        assertTrue(guard.admitBall("B", KNOWN));
+        assertFalse(guard.admitBall("B", KNOWN));
+
+        RoutingTable gone = KNOWN.withoutBoard("B");
+        destinations.remove("B"); // as the server does once B is gone
+        assertTrue(guard.admitBall("C", gone));
+        RoutingTable back = gone.withRemoteBoard("B", "n3");
+        assertTrue(guard.admitBall("B", back));
+        assertTrue(guard.admitBall("B", back));
+        assertFalse(guard.admitBall("B", back));
+
+        // C leaves and comes back without this guard seeing a table it is gone from
+        assertTrue(guard.admitBall("C", back));
+        destinations.remove("C");
+        RoutingTable again = back.withoutBoard("C").withRemoteBoard("C", "n2");
+        assertTrue(guard.admitBall("C", again));
+        assertTrue(guard.admitBall("C", again));
+        assertFalse(guard.admitBall("C", again));
+        assertEquals(2, destinations.size());
+    }
+
+    @Test // balls over the edge limit are dropped on both routing paths
+    public void testServerDrops() throws IOException, InterruptedException {
+        startServer(0, 2, 0, FloodAction.drop);
+        TestClient a = harness.board(server, "A");
+        TestClient b = harness.board(server, "B");
+        await(() -> server.getConnectedBoardCount() == 2);
+        server.handleUserInput("h A B");
+        assertEquals("connect right B", a.in.readLine());
+        assertEquals("connect left A", b.in.readLine());
+
+        a.out.println("ball 19.8 5.0 1.0 0.0 B right 0"); // routed in place
+        a.out.println("ball 19.8 6.0 1.0 0.0 B right"); // decoded
+        a.out.println("ball 19.8 7.0 1.0 0.0 B right 0");
+        a.out.println("ball 19.8 8.0 1.0 0.0 B right");
+        a.out.println("ball 19.8 9.0 1.0 0.0 C right"); // C is not known, so not limited here
+        await(() -> server.getMetrics().contains("pingball_rate_limited_messages_total{limit=\"edge\"} 2\n"));
+        assertEquals("ball 0.26 5.0 1.0 0.0 left 0", b.in.readLine());
+        assertEquals("ball 0.26 6.0 1.0 0.0 left", b.in.readLine());
+        assertTrue(server.getMetrics().contains("pingball_rate_limited_messages_total{limit=\"board\"} 0\n"));
+    }
+
+    @Test // a board over its limit is disconnected, as if it had quit
+    public void testServerDisconnects() throws IOException, InterruptedException {
+        startServer(5, 0, 0, FloodAction.disconnect);
+        TestClient a = harness.board(server, "A");
+        await(() -> server.getConnectedBoardCount() == 1);
+        for (int i = 0; i < 10; i++) {
+            a.out.println("pong");
+        }
+        assertNull(a.in.readLine());
+        await(() -> server.getConnectedBoardCount() == 0);
+        assertTrue(server.getMetrics().contains("pingball_rate_limited_messages_total{limit=\"board\"} 1\n"));
+    }
+
+    @Test // balls a peer node delivers count against the destination budget, and never disconnect the peer
+    public void testPeerDeliveries() throws IOException, InterruptedException {
+        checkPeerDeliveries(FloodAction.disconnect);
+    }
+
+    @Test // balls a peer node delivers over the destination budget are dropped, not delayed
+    public void testPeerDeliveriesNotDelayed() throws IOException, InterruptedException {
+        checkPeerDeliveries(FloodAction.delay);
+    }
+
+    private void checkPeerDeliveries(FloodAction action) throws IOException, InterruptedException {
+        startServer(0, 0, 2, action);
+        server.addPeer("n2", "localhost", 1); // its link never connects; n2 links in below
+        TestClient b = harness.board(server, "B");
+        await(() -> server.getConnectedBoardCount() == 1);
+
+        TestClient peer = harness.connect(server, "node n2");
+        for (int i = 0; i < 5; i++) {
+            peer.out.println("deliver B ball 0.26 " + i + ".0 1.0 0.0");
+        }
+        peer.out.println("deliver B disconnect left");
+        assertEquals("ball 0.26 0.0 1.0 0.0", b.in.readLine());
+        assertEquals("ball 0.26 1.0 1.0 0.0", b.in.readLine());
+        assertEquals("disconnect left", b.in.readLine());
+        assertTrue(server.getMetrics().contains("pingball_rate_limited_messages_total{limit=\"destination\"} 3\n"));
+    }
+}
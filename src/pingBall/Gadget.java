@@ -351,6 +351,11 @@ public interface Gadget {
     
     public void addToTriggeredList(Gadget gadget);
 
+    /**
+     * Empties this gadget's list of triggered objects, so it triggers nothing
+     */
+    public void clearTriggeredList();
+
     /**
      * @return 2D array ASCII representation of gadget
      */
@@ -0,0 +1,251 @@
+package pingBall;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import physics.Vect;
+
+/**
+ * Profiles what the gadgets of a board cost the simulation: for each gadget, the number of
+ * timeUntilCollision queries a board made, the time spent in them, and the number of balls
+ * that collided with it. The cost can be reported as a table of gadgets ranked by time, or
+ * as a heatmap of the 20x20 board, in text or as an image, where the time of each gadget is
+ * spread over the cells it covers.
+ * Enable it with Board.setProfiler; a board without a profiler times nothing.
+ */
+public class GadgetProfiler {
+    //AF:
+    //  Represents the queries and collisions recorded for each gadget in stats since the last reset.
+    //RI:
+    //  every Stats in stats has queries >= 0, nanos >= 0 and hits >= 0
+    //Thread Safety Argument:
+    //  stats is only accessed in synchronized methods, and Stats objects never leave them:
+    //  reports copy their values.
+
+    /** Cells along each side of the heatmap, the size of a board */
+    public static final int CELLS = 20;
+    /** Pixels along each side of a cell in the heatmap image */
+    static final int CELL_PIXELS = 16;
+    /** Characters of the text heatmap, from no time to the most time in a cell */
+    static final String SHADES = " .:-=+*#%@";
+
+    private final Map<Gadget, Stats> stats = new IdentityHashMap<Gadget, Stats>();
+
+    private static class Stats {
+        long queries = 0;
+        long nanos = 0;
+        long hits = 0;
+    }
+
+    /**
+     * The cost recorded for one gadget
+     */
+    public static class Entry {
+        public final Gadget gadget;
+        public final long queries;
+        public final long nanos;
+        public final long hits;
+
+        private Entry(Gadget gadget, Stats stats) {
+            this.gadget = gadget;
+            this.queries = stats.queries;
+            this.nanos = stats.nanos;
+            this.hits = stats.hits;
+        }
+    }
+
+    private Stats statsOf(Gadget gadget) {
+        Stats s = stats.get(gadget);
+        if (s == null) {
+            s = new Stats();
+            stats.put(gadget, s);
+        }
+        return s;
+    }
+
+    /**
+     * Records a timeUntilCollision query on gadget
+     * @param gadget the gadget queried
+     * @param nanos the time the query took, in nanoseconds
+     */
+    public synchronized void recordQuery(Gadget gadget, long nanos) {
+        Stats s = statsOf(gadget);
+        s.queries++;
+        s.nanos += Math.max(0, nanos);
+    }
+
+    /**
+     * Records a ball colliding with gadget
+     * @param gadget the gadget collided with
+     */
+    public synchronized void recordHit(Gadget gadget) {
+        statsOf(gadget).hits++;
+    }
+
+    /**
+     * Forgets everything recorded so far
+     */
+    public synchronized void reset() {
+        stats.clear();
+    }
+
+    /**
+     * @return the cost recorded for each gadget, the most time first
+     */
+    public synchronized List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (Map.Entry<Gadget, Stats> e : stats.entrySet()) {
+            entries.add(new Entry(e.getKey(), e.getValue()));
+        }
+        Collections.sort(entries, (a, b) -> Long.compare(b.nanos, a.nanos));
+        return entries;
+    }
+
+    /**
+     * @param names names of the gadgets, shown in the table; gadgets without a name are shown
+     *              by their type and position
+     * @return a table of the gadgets ranked by the time spent querying them, with their
+     *         queries, time, share of the time, average time per query and collisions
+     */
+    public String table(Map<Gadget, String> names) {
+        List<Entry> entries = getEntries();
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.nanos;
+        }
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%4s  %-24s %-15s %10s %10s %6s %9s %8s%n",
+                "rank", "gadget", "type", "queries", "time (ms)", "share", "ns/query", "hits"));
+        int rank = 1;
+        for (Entry entry : entries) {
+            String name = names.get(entry.gadget);
+            if (name == null) {
+                Vect p = entry.gadget.getPosition();
+                name = "(" + (int) p.x() + "," + (int) p.y() + ")";
+            }
+            table.append(String.format("%4d  %-24s %-15s %10d %10.3f %5.1f%% %9d %8d%n",
+                    rank++, name, entry.gadget.getClass().getSimpleName(), entry.queries,
+                    entry.nanos / 1e6, total == 0 ? 0.0 : 100.0 * entry.nanos / total,
+                    entry.queries == 0 ? 0 : entry.nanos / entry.queries, entry.hits));
+        }
+        return table.toString();
+    }
+
+    /**
+     * @return the time spent querying gadgets, in nanoseconds, by cell of the board: the time of
+     *         each gadget is spread evenly over the cells it covers, heatmap[y][x] being the cell
+     *         whose top left corner is (x, y). The outer walls cover no cell; they only
+     *         appear in the table.
+     */
+    public double[][] heatmap() {
+        double[][] heatmap = new double[CELLS][CELLS];
+        for (Entry entry : getEntries()) {
+            Gadget gadget = entry.gadget;
+            if (gadget instanceof OuterWall) {
+                continue;
+            }
+            int width = 1;
+            int height = 1;
+            if (gadget instanceof Absorber) {
+                width = ((Absorber) gadget).getWidth();
+                height = ((Absorber) gadget).getHeight();
+            } else if (gadget instanceof LeftFlipper || gadget instanceof RightFlipper) {
+                width = 2;
+                height = 2;
+            }
+            Vect p = gadget.getPosition();
+            int left = Math.max(0, (int) p.x());
+            int top = Math.max(0, (int) p.y());
+            int right = Math.min(CELLS, (int) p.x() + width);
+            int bottom = Math.min(CELLS, (int) p.y() + height);
+            if (right <= left || bottom <= top) {
+                continue;
+            }
+            double share = (double) entry.nanos / ((right - left) * (bottom - top));
+            for (int y = top; y < bottom; y++) {
+                for (int x = left; x < right; x++) {
+                    heatmap[y][x] += share;
+                }
+            }
+        }
+        return heatmap;
+    }
+
+    /**
+     * @param heatmap a heatmap, as returned by heatmap()
+     * @return the largest value of heatmap
+     */
+    private static double max(double[][] heatmap) {
+        double max = 0;
+        for (double[] row : heatmap) {
+            for (double cell : row) {
+                max = Math.max(max, cell);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return the heatmap as CELLS lines of CELLS characters between borders, each cell shaded
+     *         with SHADES relative to the cell with the most time
+     */
+    public String heatmapText() {
+        double[][] heatmap = heatmap();
+        double max = max(heatmap);
+        StringBuilder text = new StringBuilder();
+        String border = "+" + new String(new char[CELLS]).replace('\0', '-') + "+" + String.format("%n");
+        text.append(border);
+        for (double[] row : heatmap) {
+            text.append('|');
+            for (double cell : row) {
+                int shade = max == 0 ? 0 : (int) Math.ceil(cell / max * (SHADES.length() - 1));
+                text.append(SHADES.charAt(shade));
+            }
+            text.append('|').append(String.format("%n"));
+        }
+        text.append(border);
+        return text.toString();
+    }
+
+    /**
+     * @return the heatmap as an image of CELL_PIXELS square cells, from black for no time
+     *         through red to yellow for the cell with the most time
+     */
+    public BufferedImage heatmapImage() {
+        double[][] heatmap = heatmap();
+        double max = max(heatmap);
+        BufferedImage image = new BufferedImage(CELLS * CELL_PIXELS, CELLS * CELL_PIXELS, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < CELLS; y++) {
+            for (int x = 0; x < CELLS; x++) {
+                float heat = max == 0 ? 0 : (float) (heatmap[y][x] / max);
+                int rgb = new Color(Math.min(1f, 2 * heat), Math.max(0f, 2 * heat - 1), 0f).getRGB();
+                for (int py = 0; py < CELL_PIXELS; py++) {
+                    for (int px = 0; px < CELL_PIXELS; px++) {
+                        image.setRGB(x * CELL_PIXELS + px, y * CELL_PIXELS + py, rgb);
+                    }
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Writes the heatmap image as a PNG
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeHeatmap(File file) throws IOException {
+        if (!ImageIO.write(heatmapImage(), "png", file)) {
+            throw new IOException("no PNG writer available");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import physics.Vect;
+
+public class GadgetProfilerTest {
+    // Testing strategy
+    //  GadgetProfiler, partition on:
+    //   1. gadgets recorded: none, one, several
+    //   2. gadget footprint: 1x1, flipper, absorber, partly off the board, outer wall
+    //   3. report: table, text heatmap, image, after reset
+    //  Board profiling, partition on:
+    //   1. profiler: none, set
+    //   2. ball: hits a gadget, hits nothing
+
+    @Test // nothing recorded: empty table, blank heatmap
+    public void testEmpty() {
+        GadgetProfiler profiler = new GadgetProfiler();
+        assertEquals(0, profiler.getEntries().size());
+        assertEquals(0.0, profiler.heatmap()[0][0], 0);
+        assertFalse(profiler.heatmapText().contains("@"));
+        assertEquals(GadgetProfiler.CELLS * GadgetProfiler.CELL_PIXELS, profiler.heatmapImage().getWidth());
+    }
+
+    @Test // entries are ranked by time; time is spread over the cells a gadget covers
+    public void testRankedHeatmap() {
+        GadgetProfiler profiler = new GadgetProfiler();
+        Gadget square = new SquareBumper(1.0, 1.0, new ArrayList<Gadget>());
+        Gadget flipper = new LeftFlipper(10, 10);
+        Absorber absorber = new Absorber(0, 18, 20, 2, new ArrayList<Gadget>());
+        Gadget wall = new OuterWall(false, false, false, false);
+        profiler.recordQuery(square, 100);
+        profiler.recordHit(square);
+        profiler.recordQuery(flipper, 400);
+        profiler.recordQuery(absorber, 4000);
+        profiler.recordQuery(wall, 50);
+
+        List<GadgetProfiler.Entry> entries = profiler.getEntries();
+        assertEquals(4, entries.size());
+        assertSame(absorber, entries.get(0).gadget);
+        assertSame(flipper, entries.get(1).gadget);
+        assertSame(square, entries.get(2).gadget);
+        assertEquals(1, entries.get(2).hits);
+        assertEquals(1, entries.get(2).queries);
+
+        double[][] heatmap = profiler.heatmap();
+        assertEquals(100.0, heatmap[1][1], 0.001);
+        assertEquals(100.0, heatmap[11][11], 0.001);
+        assertEquals(0.0, heatmap[12][12], 0.001);
+        assertEquals(100.0, heatmap[19][0], 0.001);
+        assertEquals(0.0, heatmap[0][0], 0.001);
+
+        String table = profiler.table(Collections.singletonMap(square, "Square"));
+        assertTrue(table.contains("Square"));
+        assertTrue(table.contains("Absorber"));
+        assertTrue(table.indexOf("Absorber") < table.indexOf("Square"));
+
+        String text = profiler.heatmapText();
+        assertEquals(GadgetProfiler.CELLS + 2, text.split("\\R").length);
+        assertTrue(text.contains("@"));
+
+        profiler.reset();
+        assertEquals(0, profiler.getEntries().size());
+    }
+
+    @Test // a profiled board counts the queries of every gadget and the gadgets hit
+    public void testBoard() throws IOException {
+        List<Gadget> gadgets = new ArrayList<Gadget>();
+        Gadget square = new SquareBumper(5.0, 10.0, new ArrayList<Gadget>());
+        Gadget far = new SquareBumper(15.0, 1.0, new ArrayList<Gadget>());
+        gadgets.add(square);
+        gadgets.add(far);
+        Board board = new Board(gadgets, new ArrayList<Ball>());
+        board.update(); // nothing recorded without a profiler
+
+        GadgetProfiler profiler = new GadgetProfiler();
+        board.setProfiler(profiler);
+        assertSame(profiler, board.getProfiler());
+        board.addBall(new Ball(5.5, 8.5, new Vect(0, 20)));
+        for (int i = 0; i < 10; i++) {
+            board.update();
+        }
+        long squareHits = 0;
+        long farHits = -1;
+        for (GadgetProfiler.Entry entry : profiler.getEntries()) {
+            assertTrue(entry.queries > 0);
+            if (entry.gadget == square) {
+                squareHits = entry.hits;
+            } else if (entry.gadget == far) {
+                farHits = entry.hits;
+            }
+        }
+        assertTrue(squareHits > 0);
+        assertEquals(0, farHits);
+
+        File png = File.createTempFile("heatmap", ".png");
+        try {
+            profiler.writeHeatmap(png);
+            BufferedImage image = ImageIO.read(png);
+            assertEquals(GadgetProfiler.CELLS * GadgetProfiler.CELL_PIXELS, image.getHeight());
+        } finally {
+            png.delete();
+        }
+    }
+}
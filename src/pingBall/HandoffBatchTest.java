@@ -0,0 +1,103 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import pingBall.ServerHarness.TestClient;
+
+public class HandoffBatchTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. hand-offs in a tick: 1, >1
+    //   2. destinations in a batch: one board, several boards
+    //   3. messages per send on a BoardConnection: 1, >1
+    //  The server is run in this process, with boards simulated by loopback sockets.
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer server;
+
+    /** Counts the flushes of the bytes written to it */
+    private static class FlushCountingStream extends ByteArrayOutputStream {
+        int flushes = 0;
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = harness.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    @Test // a lone hand-off is sent as is, several as a batch frame
+    public void testEncodeHandoffs() {
+        assertEquals("ball 1 2 3 4 B right\n",
+                Pingball.encodeHandoffs(Arrays.asList("ball 1 2 3 4 B right")));
+        assertEquals("batch 2\nball 1 2 3 4 B right\nportal A p B q 1 2\n",
+                Pingball.encodeHandoffs(Arrays.asList("ball 1 2 3 4 B right", "portal A p B q 1 2")));
+    }
+
+    @Test // every message of a send reaches the stream with one flush
+    public void testConnectionSendsWithOneFlush() {
+        FlushCountingStream out = new FlushCountingStream();
+        BoardConnection connection = new BoardConnection(new Socket(), out);
+        assertTrue(connection.send(Arrays.asList("ball 1 2 3 4", "ball 5 6 7 8", "disconnect left")));
+        assertEquals(1, out.flushes);
+        assertEquals("ball 1 2 3 4\nball 5 6 7 8\ndisconnect left\n", out.toString());
+        assertTrue(connection.send("connect left B"));
+        assertEquals(2, out.flushes);
+    }
+
+    @Test // a batch frame is routed to every board it names, in order
+    public void testBatchToSeveralBoards() throws IOException, InterruptedException {
+        TestClient a = harness.board(server, "A");
+        TestClient b = harness.board(server, "B");
+        TestClient c = harness.board(server, "C");
+        await(() -> server.getConnectedBoardCount() == 3);
+        server.handleUserInput("h A B");
+        server.handleUserInput("v A C");
+        assertEquals("connect right B", a.in.readLine());
+        assertEquals("connect bottom C", a.in.readLine());
+        assertEquals("connect left A", b.in.readLine());
+        assertEquals("connect top A", c.in.readLine());
+
+        a.out.print(Pingball.encodeHandoffs(Arrays.asList(
+                "ball 19.9 1.0 1.0 0.0 B right",
+                "ball 3.0 19.9 0.0 1.0 C bottom",
+                "ball 19.9 2.0 1.0 0.0 B right")));
+        a.out.flush();
+        assertEquals("ball 0.26 1.0 1.0 0.0 left", b.in.readLine());
+        assertEquals("ball 0.26 2.0 1.0 0.0 left", b.in.readLine());
+        assertEquals("ball 3.0 0.26 0.0 1.0 top", c.in.readLine());
+    }
+
+    @Test // the sender's timestamp is passed on to the receiving board
+    public void testTimestampPassedOn() throws IOException, InterruptedException {
+        TestClient a = harness.board(server, "A");
+        TestClient b = harness.board(server, "B");
+        await(() -> server.getConnectedBoardCount() == 2);
+        server.handleUserInput("h A B");
+        assertEquals("connect right B", a.in.readLine());
+        assertEquals("connect left A", b.in.readLine());
+
+        a.out.println("ball 19.9 1.0 1.0 0.0 B right 1234");
+        assertEquals("ball 0.26 1.0 1.0 0.0 left 1234", b.in.readLine());
+        a.out.println("portal A p Z q 1.0 2.0 1234");
+        assertEquals("portal Z q A p 1.0 2.0 1234", a.in.readLine());
+    }
+}
@@ -0,0 +1,119 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import physics.Vect;
+
+public class HandoffLatencyTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. transit time: 0, > 0, longer than the compensation limit, negative (clock skew)
+    //   2. path of the ball while in transit: straight, bouncing off a wall
+    //   3. hand-off: ball through a wall, ball through a portal
+    //   4. wall the ball enters through: given, where the server puts balls for it, elsewhere;
+    //      not given
+    //  Boards have no gravity and no friction so the expected positions are exact.
+
+    private static final double EPSILON = 0.01;
+
+    /** @return a board with no gadgets, gravity or friction, named B and joined to A on its left */
+    private static Board emptyBoard() {
+        Board board = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(), 0, 0, 0);
+        board.setBoardName("B");
+        board.addConnection(Board.direction.left, "A");
+        return board;
+    }
+
+    private static Vect onlyBallPosition(Board board) {
+        List<Ball> balls = board.getBalls();
+        assertEquals(1, balls.size());
+        return balls.get(0).getPosition();
+    }
+
+    @Test // no transit time leaves the ball where the server put it
+    public void testNoTransit() {
+        Board board = emptyBoard();
+        board.addBall(new Ball(0.26, 10, new Vect(10, 0)), 0);
+        assertEquals(0.26, onlyBallPosition(board).x(), EPSILON);
+    }
+
+    @Test // the ball moves in a straight line for the transit time
+    public void testStraightTransit() {
+        Board board = emptyBoard();
+        board.addBall(new Ball(0.26, 10, new Vect(10, 0)), 0.5);
+        assertEquals(5.26, onlyBallPosition(board).x(), EPSILON);
+        assertEquals(10, onlyBallPosition(board).y(), EPSILON);
+    }
+
+    @Test // the ball bounces off the far wall while in transit
+    public void testBouncingTransit() {
+        Board board = emptyBoard();
+        board.addBall(new Ball(0.26, 10, new Vect(20, 0)), 1.5);
+        // 19.49L to the right wall, then back for the remaining 0.5255s
+        assertEquals(9.24, onlyBallPosition(board).x(), 0.3);
+        assertTrue(board.getBalls().get(0).getVelocity().x() < 0);
+    }
+
+    @Test // a stamped ball is advanced and its latency recorded on the edge it came through
+    public void testStampedBallThroughWall() {
+        Pingball pingball = new Pingball();
+        Board board = emptyBoard();
+        pingball.replaceBoard(board);
+        pingball.handleRequest("ball 0.26 10.0 10.0 0.0 left " + (System.currentTimeMillis() - 200));
+        assertTrue(onlyBallPosition(board).x() > 2);
+        Map<String, LatencyHistogram> latencies = pingball.getHandoffLatencies();
+        assertEquals(1, latencies.get("A->B").getCount());
+        assertTrue(latencies.get("A->B").getMax() >= 200_000_000L);
+    }
+
+    @Test // the edge is the one of the wall the server says the ball enters through, wherever it is
+    public void testEdgeFromWall() {
+        Pingball pingball = new Pingball();
+        Board board = emptyBoard();
+        board.addConnection(Board.direction.top, "C");
+        pingball.replaceBoard(board);
+        pingball.handleRequest("ball 0.3 10.0 10.0 0.0 left " + System.currentTimeMillis());
+        pingball.handleRequest("ball 0.26 0.26 10.0 1.0 top " + System.currentTimeMillis());
+        pingball.handleRequest("ball 0.26 10.0 10.0 0.0 right " + System.currentTimeMillis()); // nothing joined there
+        pingball.handleRequest("ball 0.26 12.0 10.0 0.0 " + System.currentTimeMillis()); // wall not given
+        Map<String, LatencyHistogram> latencies = pingball.getHandoffLatencies();
+        assertEquals(1, latencies.get("A->B").getCount());
+        assertEquals(1, latencies.get("C->B").getCount());
+        assertEquals(2, latencies.size());
+        assertEquals(4, board.getBalls().size());
+    }
+
+    @Test // a stamp from a clock running ahead is not compensated for
+    public void testClockSkew() {
+        Pingball pingball = new Pingball();
+        Board board = emptyBoard();
+        pingball.replaceBoard(board);
+        pingball.handleRequest("ball 0.26 10.0 10.0 0.0 " + (System.currentTimeMillis() + 60_000));
+        assertEquals(0.26, onlyBallPosition(board).x(), EPSILON);
+    }
+
+    @Test // a very old stamp is compensated for at most the compensation limit
+    public void testLongTransitClamped() {
+        Pingball pingball = new Pingball();
+        Board board = emptyBoard();
+        pingball.replaceBoard(board);
+        pingball.handleRequest("ball 0.26 10.0 10.0 0.0 " + (System.currentTimeMillis() - 60_000));
+        assertEquals(5.26, onlyBallPosition(board).x(), EPSILON);
+    }
+
+    @Test // an unstamped ball is added as before and not recorded
+    public void testUnstampedBall() {
+        Pingball pingball = new Pingball();
+        Board board = emptyBoard();
+        pingball.replaceBoard(board);
+        pingball.handleRequest("ball 0.26 10.0 10.0 0.0");
+        assertEquals(0.26, onlyBallPosition(board).x(), EPSILON);
+        assertTrue(pingball.getHandoffLatencies().isEmpty());
+    }
+}
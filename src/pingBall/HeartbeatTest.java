@@ -0,0 +1,109 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pingBall.ServerHarness.TestClient;
+
+public class HeartbeatTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. board: answers heartbeats, silent for less than the read timeout, silent for longer
+    //   2. evicted board: joined to no board, joined to a board
+    //   3. send on a BoardConnection: none in progress, blocked
+    //  The server is run in this process with short heartbeat settings, and boards are
+    //  simulated by loopback sockets.
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer server;
+
+    /** A stream whose writes block until it is released */
+    private static class BlockingStream extends OutputStream {
+        final CountDownLatch release = new CountDownLatch(1);
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private void startServer(long interval, long readTimeout) throws IOException {
+        server = harness.newServer();
+        server.setHeartbeat(interval, readTimeout, readTimeout);
+        harness.serve(server);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    @Test // a board answering heartbeats stays connected and live
+    public void testAnsweringBoardStays() throws IOException, InterruptedException {
+        startServer(50, 300);
+        TestClient a = harness.board(server, "A");
+        for (int i = 0; i < 10; i++) {
+            assertEquals("ping", a.in.readLine());
+            a.out.println("pong");
+        }
+        assertTrue(server.getRouting().isConnected("A"));
+        assertEquals(0, server.getIdleConnectionCount());
+        assertEquals(1, server.getLiveConnectionCount());
+        assertEquals(0, server.getEvictedConnectionCount());
+    }
+
+    @Test // a board silent for less than the read timeout is idle, not evicted
+    public void testSilentBoardIdle() throws IOException, InterruptedException {
+        startServer(50, ServerHarness.TIMEOUT * 2);
+        harness.board(server, "A");
+        await(() -> server.getConnectedBoardCount() == 1);
+        await(() -> server.getIdleConnectionCount() == 1);
+        assertEquals(0, server.getLiveConnectionCount());
+        assertEquals(0, server.getEvictedConnectionCount());
+    }
+
+    @Test // a silent board is evicted, and its neighbor told it disconnected
+    public void testSilentBoardEvicted() throws IOException, InterruptedException {
+        startServer(50, 300);
+        harness.board(server, "A");
+        TestClient b = harness.board(server, "B");
+        await(() -> server.getConnectedBoardCount() == 2);
+        server.handleUserInput("h A B");
+        assertEquals("connect left A", b.readMessage());
+
+        // B keeps answering while A stays silent
+        assertEquals("disconnect left", b.readMessage());
+        await(() -> !server.getRouting().isKnown("A"));
+        assertTrue(server.getRouting().isConnected("B"));
+        // the eviction is counted once the connection is closed, which may be after B hears of it
+        await(() -> server.getEvictedConnectionCount() > 0);
+        assertEquals(1, server.getEvictedConnectionCount());
+    }
+
+    @Test // a blocked send is measured, and heartbeats do not queue behind it
+    public void testBlockedWrite() throws InterruptedException {
+        BlockingStream stream = new BlockingStream();
+        BoardConnection connection = new BoardConnection(new Socket(), stream);
+        assertEquals(0, connection.getWriteBlockedNanos(System.nanoTime()));
+        Thread sender = new Thread(() -> connection.send(new String(new char[10000])));
+        sender.start();
+        await(() -> connection.getWriteBlockedNanos(System.nanoTime()) > 0);
+        assertFalse(connection.trySend("ping"));
+
+        stream.release.countDown();
+        sender.join();
+        assertEquals(0, connection.getWriteBlockedNanos(System.nanoTime()));
+        assertTrue(connection.trySend("ping"));
+    }
+}
@@ -0,0 +1,235 @@
+package pingBall;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import pingBall.EventLog.Category;
+
+/**
+ * Routes the requests of one board's connection where they landed in its MessageReader:
+ * a ball request is rewritten, and a portal request copied, byte by byte into the
+ * outgoing buffer of the board it is for, without decoding it into Strings.
+ * Only the requests whose board is connected to this node and attached, and not known
+ * to lack the portal a portal request is for (see BoardConnection.lacksPortal), are
+ * routed this way; the rest, and anything not a well-formed request, are left to the
+ * PingballServer's String path (see PingballServer.handleRequestFromBoardSocket), whose
+ * output this matches byte for byte.
+ * Balls over a rate limit of the connection's FloodGuard are dropped here, like on the
+ * String path.
+ */
+class InPlaceRouter {
+    //AF:
+    //  Represents the routing of the requests of one connection; unflushed are the
+    //  connections messages were appended to since the last flush.
+    //RI:
+    //  unflushed holds no connection twice
+    //Thread Safety Argument:
+    //  Not thread safe: a router is only used by the thread handling its connection.
+    //  The connections it writes to are thread safe (see BoardConnection), sessions
+    //  is a concurrent map, and metrics is thread safe. guard is confined to the same thread.
+
+    private static final byte[] BALL = bytes("ball");
+    private static final byte[] PORTAL = bytes("portal");
+    private static final byte[] TOP = bytes("top");
+    private static final byte[] BOTTOM = bytes("bottom");
+    private static final byte[] LEFT = bytes("left");
+    private static final byte[] RIGHT = bytes("right");
+    // coordinates of a ball entering next to the far and near walls, as in PingballServer.routeRequest
+    private static final byte[] FAR = bytes("19.74");
+    private static final byte[] NEAR = bytes("0.26");
+    private static final byte[] SPACE = bytes(" ");
+    private static final byte[] NEWLINE = bytes("\n");
+    /** Most fields of a request routed in place: the seven of a ball or portal, and a time */
+    private static final int MAX_FIELDS = 8;
+
+    private final Map<String, Session> sessions;
+    private final Map<String, LongAdder> edges;
+    private final ServerMetrics metrics;
+    private final FloodGuard guard;
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final List<BoardConnection> unflushed = new ArrayList<BoardConnection>();
+    //Name of the board of the connection last looked up by attachedConnection, for the flight recording
+    private String routedBoard = null;
+
+    /**
+     * @param sessions the server's sessions, keyed by board name
+     */
+    InPlaceRouter(Map<String, Session> sessions) {
+        this(sessions, null, new ServerMetrics(), FloodGuard.NONE);
+    }
+
+    /**
+     * @param sessions the server's sessions, keyed by board name
+     * @param edges counters of the requests of the board whose requests are routed (see
+     *              ServerMetrics.edgesFrom), or null if not known
+     * @param metrics where the requests routed are counted
+     * @param guard rate limits of the connection's requests
+     */
+    InPlaceRouter(Map<String, Session> sessions, Map<String, LongAdder> edges, ServerMetrics metrics,
+            FloodGuard guard) {
+        this.sessions = sessions;
+        this.edges = edges;
+        this.metrics = metrics;
+        this.guard = guard;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Routes the current message of in, if it can be routed in place
+     * @param in reader whose current message is a request from a board
+     * @param table routing snapshot to look the board the request is for up in
+     * @param flush true to flush the message to its board now, false to leave it buffered
+     *              until flush() is called
+     * @return true if the request was routed, or dropped for being over a rate limit;
+     *         false if it must be routed as a String
+     */
+    boolean route(MessageReader in, RoutingTable table, boolean flush) {
+        long start = System.nanoTime();
+        int fields = in.split(starts, ends);
+        if (fields != 7 && (fields != 8 || starts[7] == ends[7])) {
+            return false;
+        }
+        BoardConnection connection;
+        if (in.regionEquals(starts[0], ends[0], BALL)) {
+            byte[] x = null;
+            byte[] y = null;
+            byte[] entryWall;
+            if (in.regionEquals(starts[6], ends[6], TOP)) {
+                y = FAR;
+                entryWall = BOTTOM;
+            } else if (in.regionEquals(starts[6], ends[6], BOTTOM)) {
+                y = NEAR;
+                entryWall = TOP;
+            } else if (in.regionEquals(starts[6], ends[6], LEFT)) {
+                x = FAR;
+                entryWall = RIGHT;
+            } else if (in.regionEquals(starts[6], ends[6], RIGHT)) {
+                x = NEAR;
+                entryWall = LEFT;
+            } else {
+                return false;
+            }
+            connection = attachedConnection(in, table, starts[5], ends[5]);
+            if (connection == null) {
+                return false;
+            }
+            if (!guard.admitBall(routedBoard, table)) {
+                return true;
+            }
+            connection.begin();
+            try {
+                in.copyTo(starts[0], ends[0], connection);
+                appendField(in, 1, x, connection);
+                appendField(in, 2, y, connection);
+                connection.append(SPACE, 0, 1);
+                in.copyTo(starts[3], ends[4], connection);
+                connection.append(SPACE, 0, 1);
+                connection.append(entryWall, 0, entryWall.length);
+                if (fields == 8) {
+                    appendField(in, 7, null, connection);
+                }
+                connection.append(NEWLINE, 0, 1);
+                if (flush) {
+                    connection.writeBuffer();
+                }
+            } catch (IOException e) {
+                writeFailed(e);
+            } finally {
+                connection.end();
+            }
+        } else if (in.regionEquals(starts[0], ends[0], PORTAL)) {
+            connection = attachedConnection(in, table, starts[3], ends[3]);
+            if (connection == null || connection.lacksPortal(in, starts[4], ends[4])) {
+                return false; // a ball for a portal the board lacks is bounced on the String path
+            }
+            if (!guard.admitBall(routedBoard, table)) {
+                return true;
+            }
+            connection.begin();
+            try {
+                in.copyTo(0, in.length(), connection);
+                connection.append(NEWLINE, 0, 1);
+                if (flush) {
+                    connection.writeBuffer();
+                }
+            } catch (IOException e) {
+                writeFailed(e);
+            } finally {
+                connection.end();
+            }
+        } else {
+            return false;
+        }
+        if (!flush && !unflushed.contains(connection)) {
+            unflushed.add(connection);
+        }
+        long nanos = System.nanoTime() - start;
+        metrics.routed(edges, routedBoard, nanos, true);
+        boolean ball = in.regionEquals(starts[0], ends[0], BALL);
+        if (!ball) {
+            metrics.portal(false);
+        }
+        FlightEvents.route(ball ? "ball" : "portal", routedBoard, true, nanos);
+        return true;
+    }
+
+    /**
+     * Appends a space and a field of the current message, or bytes in its place
+     * @param field index of the field in the current message
+     * @param replacement bytes to append instead of the field, or null to copy the field
+     */
+    private void appendField(MessageReader in, int field, byte[] replacement, BoardConnection connection)
+            throws IOException {
+        connection.append(SPACE, 0, 1);
+        if (replacement == null) {
+            in.copyTo(starts[field], ends[field], connection);
+        } else {
+            connection.append(replacement, 0, replacement.length);
+        }
+    }
+
+    /**
+     * Logs and counts a write to the connection of the board routedBoard that failed
+     */
+    private void writeFailed(IOException e) {
+        metrics.writeFailed();
+        EventLog.shared().log(Category.routing, "Sorry, unable to write to board " + routedBoard + ": "
+                + e.getMessage());
+    }
+
+    /**
+     * @return the connection of the board named by the bytes from from to to of in's
+     *         current message, or null if it is not connected to this node or its session
+     *         is holding its messages
+     */
+    private BoardConnection attachedConnection(MessageReader in, RoutingTable table, int from, int to) {
+        String board = table.findConnected(in, from, to);
+        routedBoard = board;
+        if (board == null) {
+            return null;
+        }
+        Session session = sessions.get(board);
+        if (session != null && !session.isAttached()) {
+            return null;
+        }
+        return table.getConnection(board);
+    }
+
+    /**
+     * Flushes every connection messages were left buffered in by route
+     */
+    void flush() {
+        for (BoardConnection connection : unflushed) {
+            connection.flush();
+        }
+        unflushed.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package pingBall;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import pingBall.Board.direction;
+
+/**
+ * The messages a Pingball client received from the server and has not applied to its
+ * board yet. The thread receiving from the server decodes each message into a slot of
+ * a fixed ring (see claim and publish), and the game loop applies them all at the start
+ * of each update (see drain), so neither thread ever waits for the other's lock and no
+ * message allocates a slot of its own.
+ * There must be at most one thread claiming and publishing at a time, and at most one
+ * thread draining at a time.
+ */
+class Inbox {
+    //AF:
+    //  Represents the messages in slots from head to tail, exclusive, in the order they
+    //  were received; the message at position p is slots[p & (CAPACITY - 1)].
+    //RI:
+    //  0 <= tail - head <= CAPACITY
+    //Thread Safety Argument:
+    //  Single producer, single consumer: only the producer writes tail and the slot at
+    //  tail, and only the consumer writes head and reads the slots before tail. tail is
+    //  published with a release store after its slot is filled, and head after its slot
+    //  is applied, so neither thread sees a slot the other is still using.
+
+    /** Most messages waiting to be applied; a receiver finding the inbox full waits */
+    static final int CAPACITY = 1024;
+    // nanoseconds a receiver waits before looking at a full inbox again
+    private static final long FULL_WAIT = 100_000;
+
+    /** The kinds of message the server sends a board, as described in Pingball.handleRequest */
+    enum Kind {connect, disconnect, ball, portal, keyframe, unwatched, session, ping};
+
+    /**
+     * A slot holding one decoded message. Only the fields of its kind are meaningful;
+     * the others are left from whatever message the slot held before.
+     */
+    static class Event {
+        Kind kind;
+        /** wall of a connect or disconnect message, or wall a ball message enters through, null if not given */
+        direction wall;
+        /** board joined by a connect message, or token of a session message */
+        String name;
+        /** position of a ball message */
+        double x, y;
+        /** velocity of a ball or portal message */
+        double xVel, yVel;
+        /** true if the ball or portal message carries the time the ball was sent */
+        boolean hasTime;
+        /** time the ball was sent, in milliseconds since the epoch */
+        long time;
+        /** boards and portals of a portal message */
+        String otherBoard, otherPortal, thisBoard, thisPortal;
+    }
+
+    /** What is done with each message when the inbox is drained */
+    interface Handler {
+        /**
+         * @param event message to apply; must not be kept after returning, since its slot is reused
+         */
+        void handle(Event event);
+    }
+
+    private final Event[] slots = new Event[CAPACITY];
+    private final AtomicLong head = new AtomicLong(0);
+    private final AtomicLong tail = new AtomicLong(0);
+    private final Handler handler;
+
+    /**
+     * @param handler what is done with each message, on the thread draining the inbox
+     */
+    Inbox(Handler handler) {
+        this.handler = handler;
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Event();
+        }
+    }
+
+    /**
+     * Gets the slot of the next message, waiting until there is one free. The message is
+     * only added by publish(); claiming again before that returns the same slot.
+     * @return the slot to decode the next message into
+     */
+    Event claim() {
+        long next = tail.get();
+        while (next - head.get() == CAPACITY) {
+            LockSupport.parkNanos(FULL_WAIT);
+        }
+        return slots[(int) (next & (CAPACITY - 1))];
+    }
+
+    /**
+     * Adds the message decoded into the slot returned by claim()
+     */
+    void publish() {
+        tail.lazySet(tail.get() + 1);
+    }
+
+    /**
+     * Applies every message published before this call, in order, on this thread
+     * @return the number of messages applied
+     */
+    int drain() {
+        long first = head.get();
+        long last = tail.get();
+        for (long next = first; next < last; next++) {
+            try {
+                handler.handle(slots[(int) (next & (CAPACITY - 1))]);
+            } finally {
+                head.lazySet(next + 1);
+            }
+        }
+        return (int) (last - first);
+    }
+
+    /**
+     * @return the number of messages waiting to be applied
+     */
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+}
@@ -0,0 +1,81 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import pingBall.Inbox.Event;
+import pingBall.Inbox.Kind;
+
+public class InboxTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. messages waiting: none, some, more than CAPACITY over time (slots reused)
+    //   2. producer: same thread as the consumer, another thread
+    //   3. drained by: drain(), Board.update()
+
+    @Test // messages are applied in order, and claiming twice without publishing reuses the slot
+    public void testOrder() {
+        List<Long> applied = new ArrayList<Long>();
+        Inbox inbox = new Inbox(event -> applied.add(event.time));
+        assertEquals(0, inbox.drain());
+        for (long i = 0; i < 3 * Inbox.CAPACITY; i++) {
+            assertSame(inbox.claim(), inbox.claim());
+            inbox.claim().time = i;
+            inbox.publish();
+            if (inbox.size() == Inbox.CAPACITY) {
+                assertEquals(Inbox.CAPACITY, inbox.drain());
+            }
+        }
+        assertEquals(3 * Inbox.CAPACITY, applied.size());
+        for (int i = 0; i < applied.size(); i++) {
+            assertEquals(i, (long) applied.get(i));
+        }
+    }
+
+    @Test // a receiving thread waits for the consumer when the inbox is full
+    public void testConcurrent() throws InterruptedException {
+        int messages = 20 * Inbox.CAPACITY;
+        List<Long> applied = new ArrayList<Long>();
+        Inbox inbox = new Inbox(event -> applied.add(event.time));
+        Thread receiver = new Thread(() -> {
+            for (long i = 0; i < messages; i++) {
+                inbox.claim().time = i;
+                inbox.publish();
+            }
+        });
+        receiver.setDaemon(true);
+        receiver.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (applied.size() < messages) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            inbox.drain();
+        }
+        for (int i = 0; i < messages; i++) {
+            assertEquals(i, (long) applied.get(i));
+        }
+    }
+
+    @Test // a board drains its inbox at the start of every update, also while paused
+    public void testBoardUpdate() {
+        List<Kind> applied = new ArrayList<Kind>();
+        Inbox inbox = new Inbox(event -> applied.add(event.kind));
+        Board board = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(), 0, 0, 0);
+        board.setInbox(inbox);
+        Event event = inbox.claim();
+        event.kind = Kind.ping;
+        inbox.publish();
+        board.update();
+        assertEquals(1, applied.size());
+        board.update();
+        assertEquals(1, applied.size());
+        board.pause();
+        inbox.claim().kind = Kind.unwatched;
+        inbox.publish();
+        board.update();
+        assertEquals(Kind.unwatched, applied.get(1));
+    }
+}
@@ -0,0 +1,145 @@
+package pingBall;
+
+import java.awt.event.KeyEvent;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The keyup and keydown bindings of a board, compiled when it is loaded into tables
+ * indexed by KeyEvent key code, so handling a key is an array lookup rather than a
+ * lookup of the key's name in a map of names.
+ */
+public class KeyBindings {
+    //AF:
+    //  Represents bindings where pressing the key with code c triggers the gadgets
+    //  keyDown[c], in order, and releasing it the gadgets keyUp[c]
+    //RI:
+    //  keyDown.length == keyUp.length == KEY_CODES_SIZE, and no element is null
+    //Thread Safety Argument:
+    //  Immutable: the tables are filled by the constructor and never changed or shared.
+    //  The gadgets themselves are only triggered by the thread updating their board.
+
+    // names of keys in board files, and their codes. Courtesy of 6.005 given code.
+    private static final Map<String, Integer> KEY_CODES;
+    static {
+        Map<String, Integer> codes = new HashMap<String, Integer>();
+        codes.put("a", KeyEvent.VK_A);
+        codes.put("b", KeyEvent.VK_B);
+        codes.put("c", KeyEvent.VK_C);
+        codes.put("d", KeyEvent.VK_D);
+        codes.put("e", KeyEvent.VK_E);
+        codes.put("f", KeyEvent.VK_F);
+        codes.put("g", KeyEvent.VK_G);
+        codes.put("h", KeyEvent.VK_H);
+        codes.put("i", KeyEvent.VK_I);
+        codes.put("j", KeyEvent.VK_J);
+        codes.put("k", KeyEvent.VK_K);
+        codes.put("l", KeyEvent.VK_L);
+        codes.put("m", KeyEvent.VK_M);
+        codes.put("n", KeyEvent.VK_N);
+        codes.put("o", KeyEvent.VK_O);
+        codes.put("p", KeyEvent.VK_P);
+        codes.put("q", KeyEvent.VK_Q);
+        codes.put("r", KeyEvent.VK_R);
+        codes.put("s", KeyEvent.VK_S);
+        codes.put("t", KeyEvent.VK_T);
+        codes.put("u", KeyEvent.VK_U);
+        codes.put("v", KeyEvent.VK_V);
+        codes.put("w", KeyEvent.VK_W);
+        codes.put("x", KeyEvent.VK_X);
+        codes.put("y", KeyEvent.VK_Y);
+        codes.put("z", KeyEvent.VK_Z);
+        codes.put("0", KeyEvent.VK_0);
+        codes.put("1", KeyEvent.VK_1);
+        codes.put("2", KeyEvent.VK_2);
+        codes.put("3", KeyEvent.VK_3);
+        codes.put("4", KeyEvent.VK_4);
+        codes.put("5", KeyEvent.VK_5);
+        codes.put("6", KeyEvent.VK_6);
+        codes.put("7", KeyEvent.VK_7);
+        codes.put("8", KeyEvent.VK_8);
+        codes.put("9", KeyEvent.VK_9);
+        codes.put("shift", KeyEvent.VK_SHIFT);
+        codes.put("ctrl", KeyEvent.VK_CONTROL);
+        codes.put("alt", KeyEvent.VK_ALT);
+        codes.put("meta", KeyEvent.VK_META);
+        codes.put("space", KeyEvent.VK_SPACE);
+        codes.put("left", KeyEvent.VK_LEFT);
+        codes.put("right", KeyEvent.VK_RIGHT);
+        codes.put("up", KeyEvent.VK_UP);
+        codes.put("down", KeyEvent.VK_DOWN);
+        codes.put("minus", KeyEvent.VK_MINUS);
+        codes.put("equals", KeyEvent.VK_EQUALS);
+        codes.put("backspace", KeyEvent.VK_BACK_SPACE);
+        codes.put("openbracket", KeyEvent.VK_OPEN_BRACKET);
+        codes.put("closebracket", KeyEvent.VK_CLOSE_BRACKET);
+        codes.put("backslash", KeyEvent.VK_BACK_SLASH);
+        codes.put("semicolon", KeyEvent.VK_SEMICOLON);
+        codes.put("quote", KeyEvent.VK_QUOTE);
+        codes.put("enter", KeyEvent.VK_ENTER);
+        codes.put("comma", KeyEvent.VK_COMMA);
+        codes.put("period", KeyEvent.VK_PERIOD);
+        codes.put("slash", KeyEvent.VK_SLASH);
+        KEY_CODES = Collections.unmodifiableMap(codes);
+    }
+    // one more than the largest key code named
+    private static final int KEY_CODES_SIZE = Collections.max(KEY_CODES.values()) + 1;
+    private static final Gadget[] NONE = new Gadget[0];
+
+    /** Bindings with no keys bound */
+    public static final KeyBindings EMPTY = new KeyBindings(
+            Collections.<String, List<Gadget>>emptyMap(), Collections.<String, List<Gadget>>emptyMap());
+
+    private final Gadget[][] keyDown = new Gadget[KEY_CODES_SIZE][];
+    private final Gadget[][] keyUp = new Gadget[KEY_CODES_SIZE][];
+
+    /**
+     * Compiles bindings
+     * @param keyDownGadgets gadgets triggered when each key is pressed, keyed by key name
+     * @param keyUpGadgets gadgets triggered when each key is released, keyed by key name.
+     *                     Names that are not names of keys bind nothing.
+     */
+    public KeyBindings(Map<String, List<Gadget>> keyDownGadgets, Map<String, List<Gadget>> keyUpGadgets) {
+        compile(keyDownGadgets, keyDown);
+        compile(keyUpGadgets, keyUp);
+    }
+
+    private static void compile(Map<String, List<Gadget>> gadgets, Gadget[][] table) {
+        for (int code = 0; code < table.length; code++) {
+            table[code] = NONE;
+        }
+        for (Map.Entry<String, List<Gadget>> binding : gadgets.entrySet()) {
+            Integer code = KEY_CODES.get(binding.getKey());
+            if (code != null) {
+                table[code] = binding.getValue().toArray(new Gadget[binding.getValue().size()]);
+            }
+        }
+    }
+
+    /**
+     * @param keyCode a KeyEvent key code
+     * @return the gadgets pressing the key triggers, in order; must not be modified
+     */
+    Gadget[] onPress(int keyCode) {
+        return keyCode >= 0 && keyCode < keyDown.length ? keyDown[keyCode] : NONE;
+    }
+
+    /**
+     * @param keyCode a KeyEvent key code
+     * @return the gadgets releasing the key triggers, in order; must not be modified
+     */
+    Gadget[] onRelease(int keyCode) {
+        return keyCode >= 0 && keyCode < keyUp.length ? keyUp[keyCode] : NONE;
+    }
+
+    /**
+     * @param name name of a key in a board file, like "a" or "space"
+     * @return its KeyEvent key code, or -1 if there is no key by that name
+     */
+    public static int keyCode(String name) {
+        Integer code = KEY_CODES.get(name);
+        return code == null ? -1 : code;
+    }
+}
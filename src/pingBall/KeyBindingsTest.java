@@ -0,0 +1,70 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import physics.Vect;
+
+public class KeyBindingsTest {
+    // Testing strategy
+    //  KeyBindings, partition on:
+    //   1. key: bound on press, bound on release, unbound, not a named key, code out of range
+    //   2. gadgets bound to a key: none, one, several
+    //  Board key handling, partition on:
+    //   1. gadget triggered: flipper, none
+    //   2. board: playing, paused
+    //  Latencies are checked to be recorded once per key event that moved a flipper.
+
+    @Test // bindings are looked up by key code, in the order they were bound
+    public void testTables() {
+        Gadget a = new SquareBumper(1.0, 1.0, new ArrayList<Gadget>());
+        Gadget b = new SquareBumper(2.0, 2.0, new ArrayList<Gadget>());
+        Map<String, List<Gadget>> down = Collections.singletonMap("space", Arrays.asList(a, b));
+        Map<String, List<Gadget>> up = Collections.singletonMap("nokey", Arrays.asList(a));
+        KeyBindings bindings = new KeyBindings(down, up);
+        assertArrayEquals(new Gadget[] { a, b }, bindings.onPress(KeyEvent.VK_SPACE));
+        assertEquals(0, bindings.onRelease(KeyEvent.VK_SPACE).length);
+        assertEquals(0, bindings.onPress(KeyEvent.VK_A).length);
+        assertEquals(0, bindings.onPress(-1).length);
+        assertEquals(0, bindings.onPress(100000).length);
+        assertEquals(KeyEvent.VK_QUOTE, KeyBindings.keyCode("quote"));
+        assertEquals(-1, KeyBindings.keyCode("nokey"));
+    }
+
+    @Test // a key moves its flipper at the next update, which records the latency once
+    public void testBoardLatency() throws IOException {
+        Board board = new Board(new File("src/resources/keyboardFlippers.pb"));
+        LeftFlipper flipper = null;
+        for (Gadget gadget : board.getGadgets()) {
+            if (gadget instanceof LeftFlipper) {
+                flipper = (LeftFlipper) gadget;
+            }
+        }
+        Vect before = flipper.getLineSegment().p2();
+        board.keyPressed(KeyEvent.VK_L, System.nanoTime());
+        board.keyReleased(KeyEvent.VK_L, System.nanoTime()); // only bound on press
+        board.keyPressed(KeyEvent.VK_Q, System.nanoTime()); // unbound
+        assertEquals(before, flipper.getLineSegment().p2());
+        board.update();
+        assertNotEquals(before, flipper.getLineSegment().p2());
+        assertEquals(1, board.getInputLatencies().getCount());
+        board.update();
+        assertEquals(1, board.getInputLatencies().getCount());
+
+        board.post(board::pause);
+        board.update();
+        board.keyReleased(KeyEvent.VK_R, System.nanoTime());
+        board.update();
+        assertEquals(1, board.getInputLatencies().getCount());
+    }
+}
@@ -0,0 +1,164 @@
+package pingBall;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies measured in nanoseconds. Values are counted in
+ * log-linear buckets: each power of two is split into 8 equal buckets, so any reported
+ * percentile is at most 12.5% above the true value. Recording never allocates, so it can
+ * be used on the routing and simulation hot paths.
+ */
+public class LatencyHistogram {
+    //AF:
+    //  counts[i] is the number of recorded values v with indexOf(v) == i; total, sum and
+    //  max are the number, sum and maximum of all recorded values.
+    //RI:
+    //  total is the sum of all counts
+    //Thread Safety Argument:
+    //  All fields are atomics that are only updated with atomic operations. Readers may
+    //  observe a recording that is only partially applied, which at worst skews a report by one value.
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency
+     * @param nanos the latency in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @return the number of latencies recorded
+     */
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * @return the sum of all latencies recorded, in nanoseconds
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * @return the largest latency recorded, in nanoseconds, or 0 if none was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the latencies recorded, in nanoseconds, or 0 if none was recorded
+     */
+    public double getMean() {
+        long count = total.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return an upper bound of the latency at percentile, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * @param nanos a latency in nanoseconds
+     * @return the number of recorded latencies that are at most nanos, rounded to the bucket containing nanos
+     */
+    public long getCountAtOrBelow(long nanos) {
+        int last = indexOf(Math.max(0, nanos));
+        long seen = 0;
+        for (int i = 0; i <= last; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    /**
+     * Forgets every recorded latency
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * @return a one line summary of the histogram in microseconds
+     */
+    @Override
+    public String toString() {
+        return "count=" + getCount()
+                + " mean=" + micros((long) getMean())
+                + " p50=" + micros(getPercentile(50))
+                + " p90=" + micros(getPercentile(90))
+                + " p99=" + micros(getPercentile(99))
+                + " max=" + micros(getMax()) + "us";
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * @param value a non-negative value
+     * @return the bucket that value is counted in
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @param index a bucket
+     * @return the largest value counted in bucket index
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
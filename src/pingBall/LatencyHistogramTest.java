@@ -0,0 +1,61 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. values recorded: none, small (< 8ns, exact buckets), large, negative
+    //   2. percentile asked: 0 < p < 100, 100
+    //  Reported percentiles must be upper bounds within 12.5% of the true value.
+
+    @Test // nothing recorded reports zeros
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+
+    @Test // small values are counted exactly, negative values as 0
+    public void testSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(7);
+        assertEquals(3, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(30));
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(7, histogram.getPercentile(100));
+        assertEquals(2, histogram.getCountAtOrBelow(3));
+    }
+
+    @Test // large values are reported within the bucket error, and never above the maximum
+    public void testLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        long p50 = histogram.getPercentile(50);
+        assertTrue(p50 >= 500000 && p50 <= 500000 * 1.125);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p99 >= 990000 && p99 <= 990000 * 1.125);
+        assertEquals(1000000, histogram.getPercentile(100));
+        assertEquals(500500.0, histogram.getMean(), 0.001);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test // every value falls in the bucket whose bounds contain it
+    public void testBucketBounds() {
+        for (long value : new long[] { 0, 1, 8, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE / 3 }) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.upperBound(index));
+            assertTrue(index == 0 || value > LatencyHistogram.upperBound(index - 1));
+        }
+    }
+}
@@ -17,7 +17,8 @@ import physics.*;
  * Action: Rotates 90 degrees within the 2L by 2L bounding box
  */
 public class LeftFlipper implements Gadget{
-    private LineSegment lineSegment;
+    //Volatile so the thread painting the board draws the latest position (see Board.drawGadgets)
+    private volatile LineSegment lineSegment;
     private double angularVelocity = 0.0;
     private double orientation = 0.0;
     private final List<Gadget> triggeredGadgets = new ArrayList<>();
@@ -258,6 +259,13 @@ public class LeftFlipper implements Gadget{
         return position;
     }
 
+    /**
+     * @return the segment currently covered by the flipper, where p1() is the pivot
+     */
+    LineSegment getLineSegment() {
+        return lineSegment;
+    }
+
     /**
      * Sets angular velocity of flipper, to - 1080 degrees per second (from positive y axis to positive x axis) if it was vertical.
      * 1080 degrees per second if it was horizontal (positive x axis to positive y axis)
@@ -304,9 +312,12 @@ public class LeftFlipper implements Gadget{
      */
     @Override
     public void trigger() {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
         for (Gadget gadget: this.triggeredGadgets){
             gadget.doAction();
         }
+        event.commit(this, this.triggeredGadgets.size());
     }
 
     /**
@@ -425,6 +436,11 @@ public class LeftFlipper implements Gadget{
         triggeredGadgets.add(gadget);
 
     }
+
+    @Override
+    public void clearTriggeredList() {
+        triggeredGadgets.clear();
+    }
     @Override
     /**
      * @return false. Not a portal
@@ -446,7 +462,8 @@ public class LeftFlipper implements Gadget{
         
         int c = ClientFrame.L; // multiplier for pixels
         
-        g.draw(new Line2D.Double(c*this.lineSegment.p1().x(), c*this.lineSegment.p1().y(), c*this.lineSegment.p2().x(), c*this.lineSegment.p2().y()));
+        LineSegment segment = this.lineSegment;
+        g.draw(new Line2D.Double(c*segment.p1().x(), c*segment.p1().y(), c*segment.p2().x(), c*segment.p2().y()));
         
     }
 
@@ -0,0 +1,296 @@
+package pingBall;
+
+import java.nio.charset.StandardCharsets;
+
+import pingBall.Board.direction;
+import pingBall.Inbox.Event;
+import pingBall.Inbox.Kind;
+
+/**
+ * Decodes the messages the server sends a board, as described in Pingball.handleRequest,
+ * from where they landed in a MessageReader into Inbox events, without allocating.
+ * Numbers are parsed from the bytes. Names of boards and portals are looked up in a
+ * cache of the names decoded before, so only the first message naming something
+ * allocates a String for it.
+ * Decimal numbers of up to 18 significant digits, between about 1e-22 and 1e16, are
+ * parsed exactly in place, which covers the velocities Double.toString prints; any other
+ * number is passed to Double.parseDouble, which gives the same result at the cost of a String.
+ */
+class MessageDecoder {
+    //AF:
+    //  Represents a decoder whose cache maps the UTF-8 bytes of names[i] to names[i]
+    //  for every non-null names[i]
+    //RI:
+    //  names.length == nameBytes.length, a power of two
+    //  cached <= names.length / 2
+    //  nameBytes[i] is the UTF-8 encoding of names[i], each stored at or after the slot
+    //  its hash maps to, with no empty slot in between
+    //Thread Safety Argument:
+    //  Not thread safe: a decoder is only used by one thread at a time.
+
+    /** Most names cached; names decoded once the cache is full allocate every time */
+    static final int NAME_CACHE_SIZE = 256;
+    /** Most fields of a message: those of a portal message and its time */
+    private static final int MAX_FIELDS = 8;
+    // 2^53: integers up to this are exact doubles
+    private static final long EXACT_MANTISSA = 1L << 53;
+    // digits are parsed in place while the mantissa is at most this, so up to 18 of them fit in a long
+    private static final long MAXIMUM_MANTISSA = 99999999999999999L;
+    // powers of ten exact as doubles
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+    // 5^k for k up to 22, each below 2^52
+    private static final long[] POWERS_OF_FIVE = new long[POWERS_OF_TEN.length];
+    static {
+        POWERS_OF_FIVE[0] = 1;
+        for (int k = 1; k < POWERS_OF_FIVE.length; k++) {
+            POWERS_OF_FIVE[k] = POWERS_OF_FIVE[k - 1] * 5;
+        }
+    }
+
+    private static final byte[] CONNECT = bytes("connect");
+    private static final byte[] DISCONNECT = bytes("disconnect");
+    private static final byte[] BALL = bytes("ball");
+    private static final byte[] PORTAL = bytes("portal");
+    private static final byte[] KEYFRAME = bytes("keyframe");
+    private static final byte[] UNWATCHED = bytes("unwatched");
+    private static final byte[] SESSION = bytes("session");
+    private static final byte[] PING = bytes("ping");
+    private static final byte[][] WALLS = new byte[direction.values().length][];
+    static {
+        for (direction wall : direction.values()) {
+            WALLS[wall.ordinal()] = bytes(wall.name());
+        }
+    }
+
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final String[] names = new String[2 * NAME_CACHE_SIZE];
+    private final byte[][] nameBytes = new byte[2 * NAME_CACHE_SIZE][];
+    private int cached = 0;
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the current message of in
+     * @param in reader whose current message was sent by the server
+     * @param event slot to decode the message into
+     * @return false if the message is not one described in Pingball.handleRequest, in
+     *         which case event is left in an unspecified state
+     */
+    boolean decode(MessageReader in, Event event) {
+        int fields = in.split(starts, ends);
+        if (fields < 1) {
+            return false;
+        }
+        try {
+            if (in.regionEquals(starts[0], ends[0], BALL) && fields >= 5) {
+                event.kind = Kind.ball;
+                event.x = parseDouble(in, 1);
+                event.y = parseDouble(in, 2);
+                event.xVel = parseDouble(in, 3);
+                event.yVel = parseDouble(in, 4);
+                event.wall = fields > 5 ? findWall(in, 5) : null;
+                parseTime(in, fields, event.wall == null ? 5 : 6, event);
+            } else if (in.regionEquals(starts[0], ends[0], PORTAL) && fields >= 7) {
+                event.kind = Kind.portal;
+                event.otherBoard = name(in, 1);
+                event.otherPortal = name(in, 2);
+                event.thisBoard = name(in, 3);
+                event.thisPortal = name(in, 4);
+                event.xVel = parseDouble(in, 5);
+                event.yVel = parseDouble(in, 6);
+                parseTime(in, fields, 7, event);
+            } else if (in.regionEquals(starts[0], ends[0], CONNECT) && fields >= 3) {
+                event.kind = Kind.connect;
+                event.wall = wall(in, 1);
+                event.name = name(in, 2);
+            } else if (in.regionEquals(starts[0], ends[0], DISCONNECT) && fields >= 2) {
+                event.kind = Kind.disconnect;
+                event.wall = wall(in, 1);
+            } else if (in.regionEquals(starts[0], ends[0], KEYFRAME)) {
+                event.kind = Kind.keyframe;
+            } else if (in.regionEquals(starts[0], ends[0], UNWATCHED)) {
+                event.kind = Kind.unwatched;
+            } else if (in.regionEquals(starts[0], ends[0], SESSION) && fields >= 2) {
+                event.kind = Kind.session;
+                event.name = in.regionToString(starts[1], ends[1]); // once per connection, not worth caching
+            } else if (in.regionEquals(starts[0], ends[0], PING)) {
+                event.kind = Kind.ping;
+            } else {
+                return false;
+            }
+        } catch (NumberFormatException nfe) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sets the time of event from the field at index time, if there is one
+     */
+    private void parseTime(MessageReader in, int fields, int time, Event event) {
+        event.hasTime = fields > time;
+        if (event.hasTime) {
+            event.time = parseLong(in, time);
+        }
+    }
+
+    /**
+     * @return the wall named by the field at index field
+     * @throws NumberFormatException if it does not name a wall
+     */
+    private direction wall(MessageReader in, int field) {
+        direction wall = findWall(in, field);
+        if (wall == null) {
+            throw new NumberFormatException("not a wall");
+        }
+        return wall;
+    }
+
+    /**
+     * @return the wall named by the field at index field, or null if it does not name one
+     */
+    private direction findWall(MessageReader in, int field) {
+        for (direction wall : direction.values()) {
+            if (in.regionEquals(starts[field], ends[field], WALLS[wall.ordinal()])) {
+                return wall;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the field at index field, taken from the cache of names if it is there, and
+     *         added to it otherwise, unless the cache is full
+     */
+    private String name(MessageReader in, int field) {
+        int from = starts[field];
+        int to = ends[field];
+        int mask = names.length - 1;
+        int slot = in.hash(from, to) & mask;
+        while (names[slot] != null) {
+            if (in.regionEquals(from, to, nameBytes[slot])) {
+                return names[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        String name = in.regionToString(from, to);
+        if (cached < NAME_CACHE_SIZE) {
+            names[slot] = name;
+            nameBytes[slot] = bytes(name);
+            cached++;
+        }
+        return name;
+    }
+
+    /**
+     * @return the field at index field, as a decimal integer
+     * @throws NumberFormatException if it is not one that fits in a long
+     */
+    private long parseLong(MessageReader in, int field) {
+        int i = starts[field];
+        int to = ends[field];
+        boolean negative = i < to && in.byteAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == to || to - i > 18) {
+            throw new NumberFormatException("not a time");
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = in.byteAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("not a time");
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @return the field at index field, as a double parsed as by Double.parseDouble
+     * @throws NumberFormatException if it is not a number
+     */
+    private double parseDouble(MessageReader in, int field) {
+        int i = starts[field];
+        int to = ends[field];
+        boolean negative = i < to && in.byteAt(i) == '-';
+        if (negative || (i < to && in.byteAt(i) == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean point = false;
+        for (; i < to; i++) {
+            byte b = in.byteAt(i);
+            if (b == '.' && !point) {
+                point = true;
+            } else if (b >= '0' && b <= '9' && mantissa <= MAXIMUM_MANTISSA) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits = true;
+                if (point) {
+                    exponent--;
+                }
+            } else {
+                break;
+            }
+        }
+        if (digits && i < to && (in.byteAt(i) == 'E' || in.byteAt(i) == 'e')) {
+            i++;
+            boolean negativeExponent = i < to && in.byteAt(i) == '-';
+            if (negativeExponent) {
+                i++;
+            }
+            int written = 0;
+            int start = i;
+            for (; i < to && i - start < 4 && in.byteAt(i) >= '0' && in.byteAt(i) <= '9'; i++) {
+                written = written * 10 + (in.byteAt(i) - '0');
+            }
+            if (i == start) {
+                i = -1; // no digits after E, leave it to Double.parseDouble
+            }
+            exponent += negativeExponent ? -written : written;
+        }
+        double value;
+        if (i != to || !digits || exponent < -22 || exponent > 22
+                || (mantissa > EXACT_MANTISSA && exponent >= 0)) {
+            // too many digits to be exact here, or not a plain decimal number
+            return Double.parseDouble(in.regionToString(starts[field], to));
+        } else if (mantissa <= EXACT_MANTISSA) {
+            // both operands are exact doubles, so the one rounding gives the nearest double
+            value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            value = divide(mantissa, -exponent);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @param mantissa a positive integer with more than 53 bits, at most MAXIMUM_MANTISSA
+     * @param k a power of ten, 1 to 22
+     * @return the double nearest to mantissa / 10^k, ties to even
+     */
+    private static double divide(long mantissa, int k) {
+        // mantissa / 10^k is mantissa / 5^k scaled by 2^-k. Long division by 5^k, which is
+        // below 2^52, yields at least 55 bits of the quotient; the remainder left over only
+        // decides the rounding, so it is folded into the lowest bit, two places below the
+        // 53 kept, and the conversion of the long to a double rounds as if it were all there.
+        long divisor = POWERS_OF_FIVE[k];
+        long quotient = mantissa / divisor;
+        long remainder = mantissa % divisor;
+        int shift = 0;
+        while (quotient < 1L << 54) {
+            int bits = Math.min(11, Long.numberOfLeadingZeros(quotient) - 1);
+            remainder <<= bits;
+            quotient = (quotient << bits) | (remainder / divisor);
+            remainder %= divisor;
+            shift += bits;
+        }
+        return Math.scalb((double) (remainder == 0 ? quotient : quotient | 1), -shift - k);
+    }
+}
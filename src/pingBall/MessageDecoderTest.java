@@ -0,0 +1,156 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import physics.Geometry;
+import physics.Vect;
+
+import pingBall.Inbox.Event;
+import pingBall.Inbox.Kind;
+
+public class MessageDecoderTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. kind of message: each of Inbox.Kind, unknown, missing fields
+    //   2. numbers: integer, decimal, exponent, negative, more than 53 bits of digits
+    //      (as in velocities printed by Double.toString), too many digits to parse in
+    //      place, not a number
+    //   3. time: present, absent
+    //   4. names: seen before, new
+    //  Doubles are compared with what Double.parseDouble makes of the same text.
+
+    private final MessageDecoder decoder = new MessageDecoder();
+
+    /** @return the event line decodes into, or null if it is invalid */
+    private Event decode(String line) throws IOException {
+        MessageReader in = new MessageReader(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)), 128);
+        assertTrue(in.next());
+        Event event = new Event();
+        return decoder.decode(in, event) ? event : null;
+    }
+
+    @Test // balls, with and without the wall they enter through and the time
+    public void testBall() throws IOException {
+        Event ball = decode("ball 19.74 1.5 -3.0E-4 7 1418000000123");
+        assertEquals(Kind.ball, ball.kind);
+        assertEquals(19.74, ball.x, 0);
+        assertEquals(1.5, ball.y, 0);
+        assertEquals(-3.0E-4, ball.xVel, 0);
+        assertEquals(7, ball.yVel, 0);
+        assertTrue(ball.hasTime);
+        assertEquals(1418000000123L, ball.time);
+        assertNull(ball.wall);
+        assertFalse(decode("ball 0.26 1 2 3").hasTime);
+
+        ball = decode("ball 19.74 1.5 -3.0E-4 7 right 1418000000123");
+        assertEquals(Board.direction.right, ball.wall);
+        assertEquals(1418000000123L, ball.time);
+        ball = decode("ball 0.26 1 2 3 top");
+        assertEquals(Board.direction.top, ball.wall);
+        assertFalse(ball.hasTime);
+    }
+
+    @Test // portals, whose names are cached
+    public void testPortal() throws IOException {
+        Event portal = decode("portal A p B q -1.25 0.5");
+        assertEquals(Kind.portal, portal.kind);
+        assertEquals("A", portal.otherBoard);
+        assertEquals("q", portal.thisPortal);
+        assertEquals(-1.25, portal.xVel, 0);
+        assertFalse(portal.hasTime);
+        String cached = portal.thisBoard;
+        assertSame(cached, decode("portal B q B p 1 2 3").otherBoard);
+    }
+
+    @Test // every other kind of message
+    public void testOthers() throws IOException {
+        Event connect = decode("connect left A");
+        assertEquals(Kind.connect, connect.kind);
+        assertEquals(Board.direction.left, connect.wall);
+        assertEquals("A", connect.name);
+        assertEquals(Board.direction.bottom, decode("disconnect bottom").wall);
+        assertEquals(Kind.keyframe, decode("keyframe").kind);
+        assertEquals(Kind.unwatched, decode("unwatched").kind);
+        assertEquals(Kind.ping, decode("ping").kind);
+        assertEquals("t-1", decode("session t-1").name);
+    }
+
+    @Test // invalid messages are refused
+    public void testInvalid() throws IOException {
+        for (String line : new String[] { "hello", "ball 1 2 3", "ball 1 x 3 4", "connect up A",
+                "ball 1 2 3 4 soon", "portal A p B q 1 2 3 4 5" }) {
+            assertTrue(line, decode(line) == null);
+        }
+    }
+
+    @Test // doubles are parsed exactly as by Double.parseDouble
+    public void testDoubles() throws IOException {
+        Random random = new Random(6005);
+        String[] texts = new String[1000];
+        for (int i = 0; i < texts.length; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12) - 6);
+            texts[i] = i % 2 == 0 ? Double.toString(value) : String.format("%.3f", value);
+        }
+        for (String text : texts) {
+            assertEquals(text, Double.parseDouble(text), decode("ball " + text + " 0 0 0").x, 0);
+        }
+        for (String text : new String[] { "0.1", "-0.0", "1e22", "1.5e-3", "123456789012345678", ".5", "2." }) {
+            assertEquals(text, Double.parseDouble(text), decode("ball " + text + " 0 0 0").x, 0);
+        }
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(decode("ball -0.0 0 0 0").x));
+    }
+
+    @Test // velocities as Double.toString prints them are parsed exactly, without allocating
+    public void testVelocities() throws IOException {
+        Random random = new Random(6005);
+        StringBuilder lines = new StringBuilder();
+        List<Double> velocities = new ArrayList<Double>();
+        for (int i = 0; i < 2000; i++) {
+            // a velocity after reflecting off a gadget at an arbitrary angle, as Board leaves it
+            Vect velocity = Geometry.reflectCircle(new Vect(0, 0), new Vect(random.nextDouble(), 1),
+                    new Vect(random.nextGaussian() * 20, random.nextGaussian() * 20));
+            velocities.add(velocity.x());
+            velocities.add(velocity.y());
+            lines.append("ball 0.26 5.0 ").append(velocity.x()).append(' ').append(velocity.y()).append('\n');
+        }
+        for (double velocity : new double[] { 0.1 + 0.2, -2.0 / 3, 1.0 / 3e5, 123456.78901234567, 4.9E-21 }) {
+            velocities.add(velocity);
+            velocities.add(-velocity);
+            lines.append("ball 0.26 5.0 ").append(velocity).append(' ').append(-velocity).append('\n');
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        for (int pass = 0; pass < 2; pass++) { // the first pass warms up, the second is measured
+            MessageReader in = new MessageReader(new ByteArrayInputStream(bytes));
+            Event event = new Event();
+            double[] decoded = new double[velocities.size()];
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < decoded.length; i += 2) {
+                assertTrue(in.next());
+                assertTrue(decoder.decode(in, event));
+                decoded[i] = event.xVel;
+                decoded[i + 1] = event.yVel;
+            }
+            allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+            for (int i = 0; i < decoded.length; i++) {
+                double velocity = velocities.get(i);
+                assertEquals(Double.toString(velocity), Double.parseDouble(Double.toString(velocity)), decoded[i], 0);
+            }
+            if (pass == 1) {
+                assertTrue(allocated + " bytes allocated", allocated < 1024);
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package pingBall;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the line-based messages of a connection into a ring of bytes, so a message can
+ * be examined and copied where it landed, without decoding it into a String. next()
+ * frames the next message; its bytes are then available until the following call.
+ * readLine() is the equivalent of BufferedReader.readLine() for messages that are
+ * handled as Strings.
+ */
+class MessageReader {
+    //AF:
+    //  Represents the bytes of in read so far, of which the ones from head to tail,
+    //  exclusive, have not been consumed yet. The byte at position p is
+    //  ring[p & (ring.length - 1)]. The current message is the bytes from lineStart to
+    //  lineEnd, exclusive, without its line terminator.
+    //RI:
+    //  ring.length is a power of two
+    //  head <= lineStart <= lineEnd <= nextHead <= scan <= tail, tail - head <= ring.length
+    //Thread Safety Argument:
+    //  Not thread safe: a MessageReader is only used by the thread handling its connection.
+
+    /** Default capacity of the ring, which is also the longest message that can be read */
+    static final int CAPACITY = 1 << 16;
+
+    private final InputStream in;
+    private final byte[] ring;
+    private final int mask;
+    private long head = 0;
+    private long tail = 0;
+    private long scan = 0;
+    private long lineStart = 0;
+    private long lineEnd = 0;
+    private long nextHead = 0;
+
+    /**
+     * @param in stream of line-based messages
+     */
+    MessageReader(InputStream in) {
+        this(in, CAPACITY);
+    }
+
+    /**
+     * @param in stream of line-based messages
+     * @param capacity capacity of the ring in bytes, must be a power of two
+     */
+    MessageReader(InputStream in, int capacity) {
+        this.in = in;
+        this.ring = new byte[capacity];
+        this.mask = capacity - 1;
+        checkRep();
+    }
+
+    /**
+     * Frames the next message, waiting until it has been received
+     * @return false if the stream ended with no message left
+     * @throws IOException if the stream breaks, or a message is longer than the ring
+     */
+    boolean next() throws IOException {
+        head = nextHead;
+        while (true) {
+            for (; scan < tail; scan++) {
+                if (ring[(int) (scan & mask)] == '\n') {
+                    frame(scan, scan + 1);
+                    scan++;
+                    return true;
+                }
+            }
+            int used = (int) (tail - head);
+            if (used == ring.length) {
+                throw new IOException("message longer than " + ring.length + " bytes");
+            }
+            int index = (int) (tail & mask);
+            int read = in.read(ring, index, Math.min(ring.length - index, ring.length - used));
+            if (read < 0) {
+                if (tail == head) {
+                    return false;
+                }
+                frame(tail, tail); // last message, without line terminator
+                return true;
+            }
+            tail += read;
+        }
+    }
+
+    /**
+     * Makes the bytes from head to end, without a trailing carriage return, the current message
+     * @param end position of the line terminator, or tail if there is none
+     * @param next position of the first byte after the message
+     */
+    private void frame(long end, long next) {
+        lineStart = head;
+        lineEnd = end;
+        if (lineEnd > lineStart && ring[(int) ((lineEnd - 1) & mask)] == '\r') {
+            lineEnd--;
+        }
+        nextHead = next;
+    }
+
+    /**
+     * Frames the next message, and decodes it
+     * @return the next message without its line terminator, or null if the stream ended
+     * @throws IOException if the stream breaks, or a message is longer than the ring
+     */
+    String readLine() throws IOException {
+        return next() ? lineToString() : null;
+    }
+
+    /**
+     * @return the number of bytes in the current message
+     */
+    int length() {
+        return (int) (lineEnd - lineStart);
+    }
+
+    /**
+     * @param i index in the current message, requires 0 <= i < length()
+     * @return the byte at index i of the current message
+     */
+    byte byteAt(int i) {
+        return ring[(int) ((lineStart + i) & mask)];
+    }
+
+    /**
+     * @param from index of the first byte in the current message
+     * @param to index after the last byte, requires from <= to <= length()
+     * @param bytes bytes to compare with
+     * @return true if the bytes from from to to of the current message are bytes
+     */
+    boolean regionEquals(int from, int to, byte[] bytes) {
+        if (to - from != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (byteAt(from + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param prefix bytes to look for
+     * @return true if the current message starts with prefix
+     */
+    boolean startsWith(byte[] prefix) {
+        return length() >= prefix.length && regionEquals(0, prefix.length, prefix);
+    }
+
+    /**
+     * @param from index of the first byte in the current message
+     * @param to index after the last byte, requires from <= to <= length()
+     * @return the hash of the bytes from from to to, as computed by hash(byte[])
+     */
+    int hash(int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + byteAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * @param bytes bytes to hash
+     * @return the hash of bytes, equal to hash(from, to) for a region holding the same bytes
+     */
+    static int hash(byte[] bytes) {
+        int hash = 0;
+        for (byte b : bytes) {
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    /**
+     * Splits the current message into fields separated by single spaces
+     * @param starts set to the index of the first byte of each field
+     * @param ends set to the index after the last byte of each field
+     * @return the number of fields, or -1 if there are more than starts.length
+     */
+    int split(int[] starts, int[] ends) {
+        int fields = 0;
+        int start = 0;
+        int length = length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || byteAt(i) == ' ') {
+                if (fields == starts.length) {
+                    return -1;
+                }
+                starts[fields] = start;
+                ends[fields] = i;
+                fields++;
+                start = i + 1;
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Copies bytes of the current message into a connection's outgoing buffer, which
+     * must be held by the caller (see BoardConnection.begin)
+     * @param from index of the first byte in the current message
+     * @param to index after the last byte, requires from <= to <= length()
+     * @param connection connection to append the bytes to
+     * @throws IOException if the connection breaks
+     */
+    void copyTo(int from, int to, BoardConnection connection) throws IOException {
+        int start = (int) ((lineStart + from) & mask);
+        int length = to - from;
+        int firstPart = Math.min(length, ring.length - start);
+        connection.append(ring, start, firstPart);
+        if (firstPart < length) {
+            connection.append(ring, 0, length - firstPart);
+        }
+    }
+
+    /**
+     * @return the current message, decoded as UTF-8
+     */
+    String lineToString() {
+        return regionToString(0, length());
+    }
+
+    /**
+     * @param from index of the first byte in the current message
+     * @param to index after the last byte, requires from <= to <= length()
+     * @return the bytes from from to to of the current message, decoded as UTF-8
+     */
+    String regionToString(int from, int to) {
+        int start = (int) ((lineStart + from) & mask);
+        int length = to - from;
+        if (start + length <= ring.length) {
+            return new String(ring, start, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = byteAt(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the stream
+     * @throws IOException if an error occurs closing it
+     */
+    void close() throws IOException {
+        in.close();
+    }
+
+    private void checkRep() {
+        assert Integer.bitCount(ring.length) == 1;
+        assert head <= lineStart && lineStart <= lineEnd && lineEnd <= nextHead && nextHead <= scan && scan <= tail;
+        assert tail - head <= ring.length;
+    }
+}
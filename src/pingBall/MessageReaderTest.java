@@ -0,0 +1,106 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Test;
+
+public class MessageReaderTest {
+    // Testing strategy
+    //  MessageReader, partition on:
+    //   1. line terminator: \n, \r\n, none at the end of the stream
+    //   2. position in the ring: contiguous, wrapping around its end
+    //   3. length: empty, fits, longer than the ring
+    //  InPlaceRouter, partition on:
+    //   1. request: ball through each wall, with and without time, portal, invalid, other
+    //   2. board the request is for: attached, suspended, not connected to this node
+    //   3. flush: at once, at the end of a batch
+    //  The router's output is compared with what PingballServer.routeRequest makes of
+    //  the same request.
+
+    private static MessageReader reader(String text, int capacity) {
+        return new MessageReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), capacity);
+    }
+
+    @Test // lines are framed with any terminator, also when they wrap around the ring
+    public void testLines() throws IOException {
+        MessageReader in = reader("abc\r\n\nball 1 2\nlast", 16);
+        assertEquals("abc", in.readLine());
+        assertEquals("", in.readLine());
+        assertTrue(in.next());
+        assertEquals(8, in.length());
+        assertEquals("ball 1 2", in.lineToString());
+        assertTrue(in.startsWith("ball".getBytes(StandardCharsets.UTF_8)));
+        int[] starts = new int[3];
+        int[] ends = new int[3];
+        assertEquals(3, in.split(starts, ends));
+        assertEquals(7, starts[2]);
+        assertEquals(-1, in.split(new int[2], new int[2]));
+        assertEquals(MessageReader.hash("1".getBytes(StandardCharsets.UTF_8)), in.hash(5, 6));
+        assertEquals("last", in.readLine());
+        assertNull(in.readLine());
+    }
+
+    @Test(expected = IOException.class) // a line longer than the ring is refused
+    public void testTooLong() throws IOException {
+        reader("123456789\n", 8).next();
+    }
+
+    /** Routes the lines of text from a board, returning what A receives */
+    private static String route(String text, Session session, boolean flush) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RoutingTable table = RoutingTable.EMPTY.withBoard("A", new BoardConnection(new Socket(), out));
+        ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<String, Session>();
+        if (session != null) {
+            sessions.put("A", session);
+        }
+        InPlaceRouter router = new InPlaceRouter(sessions);
+        MessageReader in = reader(text, 64);
+        StringBuilder refused = new StringBuilder();
+        while (in.next()) {
+            if (!router.route(in, table, flush)) {
+                refused.append(in.lineToString()).append('\n');
+            }
+        }
+        if (!flush) {
+            assertEquals("", out.toString("UTF-8"));
+            router.flush();
+        }
+        return out.toString("UTF-8") + "refused:" + refused;
+    }
+
+    @Test // balls are rewritten as by the String path, wrapping around a small ring
+    public void testBalls() throws IOException {
+        assertEquals("ball 1.5 19.74 -1.0 -2.0 bottom\nball 1.5 0.26 -1.0 2.0 top 17\n"
+                + "ball 19.74 1.5 -1.0 -2.0 right\nball 0.26 1.5 1.0 -2.0 left 1234567\nrefused:",
+                route("ball 1.5 0.1 -1.0 -2.0 A top\nball 1.5 19.9 -1.0 2.0 A bottom 17\n"
+                        + "ball 0.1 1.5 -1.0 -2.0 A left\nball 19.9 1.5 1.0 -2.0 A right 1234567\n", null, true));
+    }
+
+    @Test // portals are copied, and requests the router does not handle are refused
+    public void testPortalsAndRefused() throws IOException {
+        assertEquals("portal B p A q 1.0 2.0 5\nrefused:ball 1 2 3 4 B top\nball 1 2 3 4 A up\n"
+                + "portal A q C p 1.0 2.0\nstate 1 2\nball 1 2 3 4 A top 5 6\n",
+                route("portal B p A q 1.0 2.0 5\nball 1 2 3 4 B top\nball 1 2 3 4 A up\n"
+                        + "portal A q C p 1.0 2.0\nstate 1 2\nball 1 2 3 4 A top 5 6\n", null, true));
+    }
+
+    @Test // a batch is flushed once, and a suspended board's balls are left to its session
+    public void testBatchAndSession() throws IOException {
+        assertEquals("ball 1 19.74 3 4 bottom\nball 1 0.26 3 4 top\nrefused:",
+                route("ball 1 2 3 4 A top\nball 1 2 3 4 A bottom\n", new Session("t"), false));
+        Session suspended = new Session("t");
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        assertTrue(suspended.suspend(timer, 60000, () -> {}));
+        timer.shutdownNow();
+        assertEquals("refused:ball 1 2 3 4 A top\n", route("ball 1 2 3 4 A top\n", suspended, true));
+    }
+}
@@ -0,0 +1,156 @@
+package pingBall;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import pingBall.EventLog.Category;
+
+/**
+ * The messages a Pingball client is sending to the server and has not written yet. The
+ * game loop puts each tick's hand-offs, state frame and heartbeat answers in a slot of a
+ * fixed ring (see offer), and a writer thread writes everything offered since its last
+ * write with one flush, so the game loop never waits for the server to read. If the
+ * server stops reading for long enough to fill the ring, further messages are refused
+ * rather than waited for.
+ * There must be at most one thread offering at a time.
+ */
+class Outbox {
+    //AF:
+    //  Represents the messages in slots from head to tail, exclusive, in the order they
+    //  were offered; the message at position p is texts[p & (CAPACITY - 1)], followed by
+    //  a line terminator if lines[p & (CAPACITY - 1)]. closed is true once no more
+    //  messages are accepted; the writer then writes those left and closes connection.
+    //RI:
+    //  0 <= tail - head <= CAPACITY
+    //Thread Safety Argument:
+    //  Single producer, single consumer: only the producer writes tail and the slot at
+    //  tail, and only the writer thread writes head and reads the slots before tail. tail
+    //  is published with a release store after its slot is filled, and head after its slot
+    //  is written, so neither thread sees a slot the other is still using. out and
+    //  connection are confined to the writer thread, and closed is volatile.
+
+    /** Most messages waiting to be written; further messages are refused until some are */
+    static final int CAPACITY = 1024;
+
+    private final String[] texts = new String[CAPACITY];
+    private final boolean[] lines = new boolean[CAPACITY];
+    private final AtomicLong head = new AtomicLong(0);
+    private final AtomicLong tail = new AtomicLong(0);
+    private final Writer out;
+    private final Closeable connection;
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    /**
+     * Starts an outbox writing to out
+     * @param out stream of the connection to the server, written as UTF-8
+     * @param connection the connection itself, closed by the writer once the outbox is
+     *                   closed and emptied, or once a write fails
+     */
+    Outbox(OutputStream out, Closeable connection) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.connection = connection;
+        this.writer = new Thread(new Runnable() {
+            public void run() {
+                writeMessages();
+            }
+        }, "pingball-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Adds a message followed by a line terminator. Never blocks.
+     * @param line a single line message
+     * @return false if the message was refused because the outbox is full or closed
+     */
+    boolean offerLine(String line) {
+        return offer(line, true);
+    }
+
+    /**
+     * Adds text that already ends with its line terminator, such as a batch frame. Never blocks.
+     * @param text one or more messages, each followed by '\n'
+     * @return false if the text was refused because the outbox is full or closed
+     */
+    boolean offerText(String text) {
+        return offer(text, false);
+    }
+
+    private boolean offer(String text, boolean line) {
+        long next = tail.get();
+        if (closed || next - head.get() == CAPACITY) {
+            return false;
+        }
+        int slot = (int) (next & (CAPACITY - 1));
+        texts[slot] = text;
+        lines[slot] = line;
+        tail.lazySet(next + 1);
+        LockSupport.unpark(writer);
+        return true;
+    }
+
+    /**
+     * Refuses further messages. The writer writes the messages already offered, then
+     * closes the connection; this does not wait for it.
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * @return the number of messages waiting to be written
+     */
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Body of the writer thread: writes every message offered since the last write,
+     * then flushes once, and waits for more until the outbox is closed and empty.
+     */
+    private void writeMessages() {
+        try {
+            while (true) {
+                // closed is read before tail, so every message offered before close is written
+                boolean done = closed;
+                long first = head.get();
+                long last = tail.get();
+                if (first == last) {
+                    if (done) {
+                        return;
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+                for (long next = first; next < last; next++) {
+                    int slot = (int) (next & (CAPACITY - 1));
+                    out.write(texts[slot]);
+                    if (lines[slot]) {
+                        out.write('\n');
+                    }
+                    texts[slot] = null;
+                    head.lazySet(next + 1);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            EventLog.shared().log(Category.client, "Sorry, unable to write to the server: " + e.getMessage());
+        } finally {
+            closed = true;
+            try {
+                connection.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class OutboxTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. message: a line, text ending with its terminator, more than CAPACITY over time
+    //   2. stream: writing, blocked
+    //   3. outbox: open, closed with messages left, closed after a write failed
+
+    /** A stream whose writes block until it is released */
+    private static class BlockingStream extends ByteArrayOutputStream {
+        final CountDownLatch release = new CountDownLatch(1);
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            super.write(b, off, len);
+        }
+    }
+
+    @Test // messages are written in order, and the connection closed once those left are written
+    public void testOrder() throws InterruptedException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        CountDownLatch closed = new CountDownLatch(1);
+        Outbox outbox = new Outbox(stream, closed::countDown);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 3 * Outbox.CAPACITY; i++) {
+            while (!outbox.offerLine("ball " + i)) {
+                Thread.sleep(1);
+            }
+            expected.append("ball ").append(i).append('\n');
+        }
+        while (!outbox.offerText("batch 2\nball a\nball b\n")) {
+            Thread.sleep(1);
+        }
+        expected.append("batch 2\nball a\nball b\n");
+        while (!outbox.offerLine("quit")) {
+            Thread.sleep(1);
+        }
+        expected.append("quit\n");
+        outbox.close();
+        assertFalse(outbox.offerLine("pong"));
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertEquals(expected.toString(), new String(stream.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(0, outbox.size());
+    }
+
+    @Test // a full outbox refuses messages instead of waiting for a blocked stream
+    public void testBlockedStream() throws InterruptedException {
+        BlockingStream stream = new BlockingStream();
+        Outbox outbox = new Outbox(stream, () -> { });
+        assertTrue(outbox.offerLine("first"));
+        long start = System.nanoTime();
+        int offered = 1;
+        while (outbox.offerLine("ball " + offered)) {
+            offered++;
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertTrue(offered >= Outbox.CAPACITY);
+        assertEquals(Outbox.CAPACITY, outbox.size());
+
+        stream.release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!outbox.offerLine("pong")) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test // once a write fails, the connection is closed and further messages refused
+    public void testWriteFails() throws InterruptedException {
+        CountDownLatch closed = new CountDownLatch(1);
+        Outbox outbox = new Outbox(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("broken pipe");
+            }
+        }, closed::countDown);
+        outbox.offerLine("ball 1");
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertFalse(outbox.offerLine("ball 2"));
+    }
+}
@@ -251,6 +251,11 @@ public class OuterWall implements Gadget {
 
     }
 
+    @Override
+    public void clearTriggeredList() {
+        // Do nothing
+    }
+
     @Override
     /**
      * @return false. Not a portal
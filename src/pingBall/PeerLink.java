@@ -0,0 +1,184 @@
+package pingBall;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A persistent, one-way link from this PingballServer node to a peer node of the
+ * federation. Messages are queued by any thread and written by a single writer thread,
+ * which writes everything queued since its last write as one batch with one flush.
+ * While the peer is unreachable the writer keeps reconnecting; after every connection it
+ * first sends "node ID", where ID is this node's id, or "node ID SECRET" if the federation
+ * shares a secret (see PingballServer.setPeerSecret), followed by the lines given by
+ * handshake, so the peer can rebuild what it knows about this node.
+ */
+class PeerLink {
+    //AF:
+    //  Represents the link from node nodeId to node peerId, listening at host:port; queue
+    //  holds the messages not yet written to the peer, in the order they were sent.
+    //RI:
+    //  queue holds at most CAPACITY messages
+    //Thread Safety Argument:
+    //  queue is a thread safe BlockingQueue, and is the only state shared with the writer
+    //  thread besides the volatile closed flag and the atomic counters. The socket is
+    //  confined to the writer thread.
+
+    /** Most messages queued for a peer before further messages are dropped */
+    static final int CAPACITY = 1 << 16;
+    /** Time waited between attempts to connect to the peer, in milliseconds */
+    private static final int RECONNECT_DELAY = 500;
+
+    private final String nodeId;
+    private final String peerId;
+    private final String host;
+    private final int port;
+    private final String secret;
+    private final Supplier<List<String>> handshake;
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<String>(CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    /**
+     * Makes a link; it does not connect until start() is called.
+     * @param nodeId id of this node
+     * @param peerId id of the peer node
+     * @param host host name of the peer
+     * @param port port the peer's PingballServer listens on
+     * @param secret secret shared by the federation, or null if none
+     * @param handshake gives the lines to send after "node ID" on every connection
+     */
+    PeerLink(String nodeId, String peerId, String host, int port, String secret, Supplier<List<String>> handshake) {
+        this.nodeId = nodeId;
+        this.peerId = peerId;
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.handshake = handshake;
+        this.writer = new Thread(new Runnable() {
+            public void run() {
+                writeMessages();
+            }
+        }, "peer-link-" + peerId);
+        writer.setDaemon(true);
+    }
+
+    /**
+     * Starts connecting to the peer and writing the queued messages
+     */
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * @return the id of the peer node
+     */
+    String getPeerId() {
+        return peerId;
+    }
+
+    /**
+     * Queues a message for the peer. Never blocks.
+     * @param message a single line message
+     * @return false if the message was dropped because CAPACITY messages are already queued
+     */
+    boolean send(String message) {
+        if (queue.offer(message)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Queues the handshake lines again, for a peer that may have lost them, for example
+     * because it restarted before this link noticed the old connection was broken
+     */
+    void resync() {
+        for (String line : handshake.get()) {
+            send(line);
+        }
+    }
+
+    /**
+     * @return the number of messages queued and not written to the peer yet
+     */
+    int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of messages dropped because the queue was full
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of batches written to the peer
+     */
+    long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Stops the writer thread and closes the connection; queued messages are discarded
+     */
+    void close() {
+        closed = true;
+        writer.interrupt();
+    }
+
+    /**
+     * Body of the writer thread. A batch whose write fails is written again after
+     * reconnecting: the peer normally never received it, since a broken connection is
+     * only noticed once writes stop fitting in the socket buffer.
+     */
+    private void writeMessages() {
+        List<String> batch = new ArrayList<String>();
+        while (!closed) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(host, port), RECONNECT_DELAY);
+                socket.setTcpNoDelay(true);
+                Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                out.write("node " + nodeId + (secret == null ? "" : " " + secret) + "\n");
+                for (String line : handshake.get()) {
+                    out.write(line + "\n");
+                }
+                out.flush();
+                while (!closed) {
+                    if (batch.isEmpty()) {
+                        batch.add(queue.take());
+                        queue.drainTo(batch);
+                    }
+                    for (String message : batch) {
+                        out.write(message + "\n");
+                    }
+                    out.flush();
+                    batches.incrementAndGet();
+                    batch.clear();
+                }
+            } catch (IOException e) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
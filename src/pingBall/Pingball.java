@@ -3,16 +3,20 @@ package pingBall;
 import physics.*;
 import pingBall.Board.direction;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import ClientGUI.ClientFrame;
+import pingBall.EventLog.Category;
+import pingBall.Inbox.Event;
 
 public class Pingball {
     //AF: 
@@ -22,22 +26,72 @@ public class Pingball {
     //  Once a board is initialized, it should not be changed to a different board.
     //  portalSendBacks should be cleared at the end of every generateRequest() call
     //Thread Safety Argument:
-    //  There are three separate threads running in Pingball.java.
-    //  There are two mutable fields in Pingball.java
-    //  Any method/place where the threads mutate board or portalSendBacks
-    //  are synchronized on this Pingball object. In the few places where
+    //  There are two separate threads running in Pingball.java: the game loop,
+    //  which updates the board and sends its hand-offs and state to the server,
+    //  and the thread receiving messages from the server. The receiving thread
+    //  never takes the lock: it decodes each message into inbox, which the board
+    //  drains on the game loop at the start of every update (see apply).
+    //  The mutable fields board, portalSendBacks, outbox, sessionToken, announcedVersion and the
+    //  state stream fields (stateEncoder, streamState, keyframeRequested) are only used while
+    //  synchronized on this Pingball object. Messages to the server are only offered to
+    //  outbox, which never blocks, and written by its own writer thread, so the lock is
+    //  never held while waiting for the server to read. In the few places where
     //  other methods are using observer methods of board, they are only
-    //  observing immutable fields of board (updateFrequency and boardName).
+    //  observing boardName, which is immutable, and updateFrequency, which is volatile.
+    //  The game loop hands the balls to the Swing thread painting them through
+    //  renderPipeline, which is thread safe; tickMillis and renderRate are only set
+    //  before the game starts.
+    //  handoffLatencies is a ConcurrentHashMap of thread safe LatencyHistograms.
+    //  inbox has a single producer, the receiving thread, and a single consumer, the
+    //  game loop. requestDecoder is only used while synchronized on this Pingball object.
+    //  stopped is volatile, and only written by the thread connecting or disconnecting.
     private Board board;
     private static final int DEFAULT_PORT = 10987;
     private static final int MAXIMUM_PORT = 65535;
     private static List<String> portalSendBacks = new ArrayList<String>();
     private Socket serverSocket;
     private boolean isConnected = false;
+    private Outbox outbox;
+    //Token of this board's session on the server, sent when reconnecting to resume it
+    private String sessionToken = null;
+    //True once stopConnectionHandlerThreads was called, so a dropped connection is not reopened
+    private volatile boolean stopped = false;
+    //Milliseconds between attempts to reopen a dropped connection
+    private static final long RECONNECT_DELAY = 500;
+    //Encoder of the state stream sent to the server while viewers are watching this board
+    private BoardStateEncoder stateEncoder;
+    private boolean streamState = false;
+    private boolean keyframeRequested = false;
+    //Version of the board's gadgets and connections in the last frame of the state stream
+    //(see Board.getStaticLayerVersion); a keyframe is sent when it changes, as after a reload
+    private int streamedVersion = -1;
+    //Version of the board's gadgets and connections when its portals were last announced to
+    //the server (see Board.getStaticLayerVersion); they are announced again when it changes
+    private int announcedVersion = -1;
+    //Reloads the board when its file is edited, or null if it was not loaded from a file
+    private BoardReloader reloader = null;
+    //Longest transit time a ball entering this board is moved forward by, in milliseconds,
+    //so clocks that are out of sync cannot teleport balls across the board
+    private static final long MAXIMUM_TRANSIT_COMPENSATION = 500;
+    //Latency of the hand-offs received by this board, keyed by edge: "FROMBOARD->TOBOARD"
+    private final Map<String, LatencyHistogram> handoffLatencies = new ConcurrentHashMap<String, LatencyHistogram>();
+    //Messages received from the server, applied to the board at the start of each update
+    private final Inbox inbox = new Inbox(this::apply);
+    //Decoder of the messages passed to handleRequest
+    private final MessageDecoder requestDecoder = new MessageDecoder();
+    //Snapshots of the balls after each update, painted by the ClientFrame at renderRate
+    private final RenderPipeline renderPipeline = new RenderPipeline();
+    private int renderRate = RenderPipeline.DEFAULT_RENDER_RATE;
+    //Milliseconds simulated by each update, or 0 to keep the board's own
+    private int tickMillis = 0;
+    //Where the connection to the server and the boards loaded are logged, without blocking
+    private final EventLog log = EventLog.shared();
+    //Profiles the gadgets of the board played, or null if not profiling
+    private GadgetProfiler profiler = null;
 
     /**
      * Starts a pingball client with the given arguments.
-     * Usage: Pingball [--host HOST] [--port PORT] --file FILE
+     * Usage: Pingball [--host HOST] [--port PORT] [--tick MILLISECONDS] [--fps RATE] [--profile PREFIX] --file FILE
      * 
      * HOST is an optional hostname or IP address of the server to connect to. 
      * If no HOST is provided, then the client starts in single-machine play mode, as described above.
@@ -49,6 +103,14 @@ public class Pingball {
      * if HOST is not provided, FILE is an optional argument specifying a file pathname of the Pingball board 
      * that this client will run in Single-Machine mode. If file is not provided, a default board is used.
      * 
+     * MILLISECONDS is the time simulated by each update of the board, Board.DEFAULT_UPDATE_FREQUENCY
+     * by default, and RATE the number of times the board is painted per second,
+     * RenderPipeline.DEFAULT_RENDER_RATE by default. Both must be positive.
+     * 
+     * PREFIX turns on profiling of the board's gadgets (see GadgetProfiler): when the client exits,
+     * the gadgets ranked by cost and a text heatmap are written to PREFIX.txt and an image of the
+     * heatmap to PREFIX.png.
+     * 
      * @param args arguments as described
      * @throws IOException if FILE is not found
      */
@@ -71,6 +133,12 @@ public class Pingball {
                         if (port < 0 || port > MAXIMUM_PORT) {
                             throw new IllegalArgumentException("port " + port + " out of range");
                         }
+                    } else if (flag.equals("--tick")) {
+                        pingBall.setTickMillis(Integer.parseInt(arguments.remove()));
+                    } else if (flag.equals("--fps")) {
+                        pingBall.setRenderRate(Integer.parseInt(arguments.remove()));
+                    } else if (flag.equals("--profile")) {
+                        pingBall.profileTo(arguments.remove());
                     } else if (flag.equals("--file")) {
                         file = Optional.of(new File(arguments.remove()));
                         if ( ! file.get().isFile()) {
@@ -87,7 +155,7 @@ public class Pingball {
             }
         } catch (IllegalArgumentException iae) {
             System.err.println(iae.getMessage());
-            System.err.println("Usage: Pingball [--host HOST] [--port PORT] FILE");
+            System.err.println("Usage: Pingball [--host HOST] [--port PORT] [--tick MILLISECONDS] [--fps RATE] [--profile PREFIX] FILE");
             return;
         }
         try {
@@ -117,19 +185,23 @@ public class Pingball {
     public void startPingballClient(File file, String hostName, int port) throws IOException {
     	this.isConnected=true;
         board = new Board(file);
+        board.setInbox(inbox);
         ClientFrame cf= new ClientFrame(this);
         cf.addBoard(board,file);
+        startRendering(cf);
         cf.pack();
         cf.setVisible(true);
         startConnectionHandlerThreads(hostName, port);
         while(true) {
             try{
+                long tickStart = System.nanoTime();
                 synchronized (this) {
                 	cf.getBoard().update();
-                    cf.repaint();
-                    
+                    sendHandoffs();
+                    publishState();
+                    renderPipeline.publish(cf.getBoard());
                 }
-                Thread.sleep(cf.getBoard().getUpdateFrequency());
+                sleepRestOfTick(tickStart, cf.getBoard());
             }
             catch (InterruptedException e) {
                 break;
@@ -146,39 +218,35 @@ public class Pingball {
      * @throws IOException if socket is closed unexpectedly
      */
     public void startConnectionHandlerThreads(String hostName, int port) throws UnknownHostException, IOException{
-        System.out.println(hostName);
-        System.out.println(port);
+        log.log(Category.client, "connecting to " + hostName + ":" + port);
+        stopped = false;
         serverSocket= new Socket(hostName, port);
         
-        PrintWriter out = new PrintWriter(serverSocket.getOutputStream(), true);
-        BufferedReader in = new BufferedReader(new InputStreamReader(serverSocket.getInputStream()));
-        out.println("board "+board.getBoardName()); //Initial Message
+        Outbox out = new Outbox(serverSocket.getOutputStream(), serverSocket);
+        MessageReader in = new MessageReader(serverSocket.getInputStream());
+        synchronized (this) {
+            //Initial Message, with the session token when reconnecting
+            out.offerLine("board "+board.getBoardName()+(sessionToken == null ? "" : " "+sessionToken));
+            out.offerLine(announcePortals(board.getPortalNames()));
+            announcedVersion = board.getStaticLayerVersion();
+            outbox = out;
+            streamState = false;
+        }
         
         isConnected = true;
         
-        Thread senderThread = new Thread(new Runnable() {
-            public void run(){
-                try {
-                    while (isConnected){
-                        List<String> myRequests = generateRequest();
-                        for(String request: myRequests) {
-                            System.out.println(request);
-                            out.println(request);
-                        }
-                    }
-                } finally {
-                    out.close();
-                }
-
-            }
-        });
-        senderThread.start();
-        
+        // hand-offs are sent by the game loop, once per update (see sendHandoffs),
+        // and received messages are applied by it too, at the start of each update
         Thread recieverThread = new Thread(new Runnable() {
             public void run(){
+                MessageDecoder decoder = new MessageDecoder();
                 try {
-                    for(String line = in.readLine(); line != null; line = in.readLine()) {
-                        handleRequest(line);
+                    while (in.next()) {
+                        if (decoder.decode(in, inbox.claim())) {
+                            inbox.publish();
+                        } else {
+                            log.log(Category.client, "Sorry, unable to parse message from server: " + in.lineToString());
+                        }
                     }
 
                 } catch (IOException e) {
@@ -188,11 +256,13 @@ public class Pingball {
                 } finally {
                     try {
                         isConnected = false;
+                        out.close();
                         in.close();
                     } catch (IOException e) {
                         //if unable to close socket (ie. we closed it externally)
                         e.printStackTrace();
                     }
+                    reconnect(hostName, port);
                 }
             }
         });
@@ -200,21 +270,136 @@ public class Pingball {
     }
     
     /**
-     * disconnects from server by closing the socket and sending disconnect messages
-     * to the board
+     * Reopens a dropped connection to the server, every RECONNECT_DELAY milliseconds until
+     * it succeeds or stopConnectionHandlerThreads is called. The server resumes this board's
+     * session if the connection dropped less than its grace period ago, so the board keeps
+     * its joins and receives the balls sent to it in the meantime.
+     * @param hostName of server to connect to
+     * @param port of the server to connect to
+     */
+    private void reconnect(String hostName, int port) {
+        while (!stopped) {
+            try {
+                Thread.sleep(RECONNECT_DELAY);
+                if (!stopped) {
+                    startConnectionHandlerThreads(hostName, port);
+                }
+                return;
+            } catch (IOException e) {
+                log.log(Category.client, "Unable to reconnect to " + hostName + ":" + port + ", retrying");
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * disconnects from server by telling it this board quits, and sending disconnect
+     * messages to the board, which it applies at its next update. The socket is closed
+     * by the outbox's writer thread once "quit" is written, so this never waits for the server.
      */
     public void stopConnectionHandlerThreads() {
+        stopped = true;
+        Board disconnected;
+        synchronized (this) {
+            if (outbox != null) {
+                outbox.offerLine("quit");
+                outbox.close();
+            }
+            sessionToken = null;
+            disconnected = board;
+        }
+        disconnected.post(() -> {
+            for (direction wall : direction.values()) {
+                disconnected.removeConnection(wall);
+            }
+            disconnected.clearBalls();
+        });
+        isConnected = false;
+    }
+
+    /**
+     * Makes cf paint the board from the render pipeline, at the render rate
+     * @param cf the frame showing the board
+     */
+    private void startRendering(ClientFrame cf) {
+        cf.getGamePanel().setRenderPipeline(renderPipeline, renderRate);
+    }
+    
+    /**
+     * Sleeps until board's next update is due, so updates happen every update frequency
+     * however long each one takes
+     * @param tickStart System.nanoTime() when the update started
+     * @param board the board being updated
+     * @throws InterruptedException if interrupted while sleeping
+     */
+    private static void sleepRestOfTick(long tickStart, Board board) throws InterruptedException {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tickStart);
+        long remaining = board.getUpdateFrequency() - elapsedMillis;
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+    
+    /**
+     * Sets the time simulated by each update of the board, so the simulation runs at
+     * 1000 / milliseconds updates per second whatever the render rate. Must be called
+     * before the game starts.
+     * @param milliseconds time step in milliseconds
+     * @throws IllegalArgumentException if milliseconds is not positive
+     */
+    public void setTickMillis(int milliseconds) {
+        if (milliseconds <= 0) {
+            throw new IllegalArgumentException("tick must be positive: " + milliseconds);
+        }
+        tickMillis = milliseconds;
+    }
+    
+    /**
+     * Sets how many times a second the board is painted, whatever the update frequency.
+     * Must be called before the game starts.
+     * @param rate paints per second
+     * @throws IllegalArgumentException if rate is not positive
+     */
+    public void setRenderRate(int rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("render rate must be positive: " + rate);
+        }
+        renderRate = rate;
+    }
+
+    /**
+     * Profiles the gadgets of the board played, and writes the profile when the client exits:
+     * the gadgets ranked by cost and a text heatmap to prefix.txt, and the heatmap image to prefix.png.
+     * Must be called before the game starts.
+     * @param prefix path of the files to write, without extension
+     */
+    public void profileTo(String prefix) {
+        profiler = new GadgetProfiler();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeProfile(prefix), "profile-writer"));
+    }
+
+    /**
+     * Writes the profile of the board played
+     * @param prefix path of the files to write, without extension
+     */
+    private void writeProfile(String prefix) {
+        Board board;
+        synchronized (this) {
+            board = this.board;
+        }
+        Map<Gadget, String> names = board == null ? Collections.<Gadget, String>emptyMap() : board.getGadgetNames();
+        try (PrintWriter out = new PrintWriter(prefix + ".txt", "UTF-8")) {
+            out.print(profiler.table(names));
+            out.println();
+            out.print(profiler.heatmapText());
+        } catch (IOException e) {
+            System.err.println("Sorry, unable to write " + prefix + ".txt: " + e.getMessage());
+        }
         try {
-            serverSocket.close();
-            board.removeConnection(direction.bottom);
-            board.removeConnection(direction.top);
-            board.removeConnection(direction.left);
-            board.removeConnection(direction.right);
-            isConnected = false;
-            board.clearBalls();
+            profiler.writeHeatmap(new File(prefix + ".png"));
         } catch (IOException e) {
-            //if socket is already closed
-            e.printStackTrace();
+            System.err.println("Sorry, unable to write " + prefix + ".png: " + e.getMessage());
         }
     }
 
@@ -229,14 +414,18 @@ public class Pingball {
         board = new Board(file);
         ClientFrame cf= new ClientFrame(this);
         cf.addBoard(board,file);
+        startRendering(cf);
         cf.pack();
         cf.setVisible(true); 
         while(true) {
             try{
+                long tickStart = System.nanoTime();
                 board.update();
                 cf.getBoard().update();
-                cf.repaint();
-                Thread.sleep(cf.getBoard().getUpdateFrequency());
+                sendHandoffs();
+                publishState();
+                renderPipeline.publish(cf.getBoard());
+                sleepRestOfTick(tickStart, cf.getBoard());
             }
             catch (InterruptedException e) {
             }
@@ -249,20 +438,25 @@ public class Pingball {
     public void startPingballClient() {
 
     	File file= new File("src/resources/default.pb");
-    	System.out.println(file);
     	
         try {
 			board = new Board(file);
-			board.print();
+			if (log.isEnabled(Category.board)) {
+				log.log(Category.board, "loaded " + file + "\n" + board.toASCII());
+			}
         ClientFrame cf= new ClientFrame(this);
         cf.addBoard(board,file);
+        startRendering(cf);
         cf.pack();
         cf.setVisible(true);
         while(true) {
             try{
+                long tickStart = System.nanoTime();
                 cf.getBoard().update();
-                cf.repaint();
-                Thread.sleep(cf.getBoard().getUpdateFrequency());
+                sendHandoffs();
+                publishState();
+                renderPipeline.publish(cf.getBoard());
+                sleepRestOfTick(tickStart, cf.getBoard());
             }
             catch (InterruptedException e) {
             }
@@ -274,69 +468,233 @@ public class Pingball {
 
     /**
      * 
-     * Parses and handles messages sent from the server.
+     * Parses and handles a message sent from the server, at once. Messages received by
+     * the client are instead decoded into the inbox and applied at the start of the next
+     * update of the board (see apply).
      * Possible messages:
      * "connect DIRECTION BOARDNAME"
      *      Means the board with BOARDNAME is connected to this.board's DIRECTION side
      * "disconnect DIRECTION"
      *      Means that the board on this.board's DIRECTION side has disconnected
-     * "ball X' Y' XVEL YVEL"
-     *      Means that this.board should create a new ball with position (X', Y') and velocity (XVEL, YVEL)
-     * "portal OTHERBOARD OTHERPORTAL THISBOARD THISPORTAL XVEL YVEL"
+     * "ball X' Y' XVEL YVEL [WALL] [TIME]"
+     *      Means that this.board should create a new ball with position (X', Y') and velocity (XVEL, YVEL),
+     *      entering through its WALL side, which the server always gives (see PingballServer.routeRequest)
+     * "portal OTHERBOARD OTHERPORTAL THISBOARD THISPORTAL XVEL YVEL [TIME]"
      *      Means a ball was sent from portal OTHERPORTAL on board OTHERBOARD to portal THISPORTAL on this board
      *      with velocity (XVEL, YVEL)
+     * TIME is the time the ball left the other board, as described in generateRequest; the
+     * ball is then moved forward by the time it spent in transit (see Board.addBall(Ball, double)),
+     * and that time is recorded in the hand-off latencies of the edge it came through
+     * "keyframe"
+     *      Means that a viewer is watching this board, so its state should be streamed to
+     *      the server, starting with a keyframe
+     * "unwatched"
+     *      Means that no viewer is watching this board anymore, so its state should not be streamed
+     * "ping"
+     *      Is a heartbeat from the server, which is answered with "pong" so the server
+     *      knows this board is still connected
+     * "session TOKEN"
+     *      Gives the token of this board's session, sent back to the server when reconnecting
      * DIRECTION should be top, bottom, left, or right
      * THISBOARD should be board.getBoardName()
      * @param request the message sent by the server to handle
      */
     public synchronized void handleRequest(String request) {
-        
-        String[] splitLine = request.split(" ");
-        if (splitLine[0].equals("connect")) {
-            board.addConnection(Board.direction.valueOf(splitLine[1]), splitLine[2]);
-        }
-        else if (splitLine[0].equals("disconnect")) {
-            board.removeConnection(Board.direction.valueOf(splitLine[1]));
-        }
-        else if (splitLine[0].equals("ball")) {
-            double xPos = Double.parseDouble(splitLine[1]);
-            double yPos = Double.parseDouble(splitLine[2]);
-            double xVel = Double.parseDouble(splitLine[3]);
-            double yVel = Double.parseDouble(splitLine[4]);
-            board.addBall(new Ball(xPos, yPos, new Vect(xVel,yVel)));
-        }
-        else if (splitLine[0].equals("portal")) {
-            String otherBoard = splitLine[1];
-            String otherPortal = splitLine[2];
-            String thisBoard = splitLine[3];
-            String thisPortal = splitLine[4];
-            double xVel = Double.parseDouble(splitLine[5]);
-            double yVel = Double.parseDouble(splitLine[6]);
-            boolean portalExists = board.ballExitingPortal(thisPortal, new Vect(xVel,yVel));
-            if (!portalExists) {
-                portalSendBacks.add("portal "+thisBoard+" "+thisPortal+" "+otherBoard+" "+
-                        otherPortal+" "+xVel+" "+yVel);
+        byte[] bytes = request.getBytes(StandardCharsets.UTF_8);
+        MessageReader in = new MessageReader(new ByteArrayInputStream(bytes), Integer.highestOneBit(bytes.length + 1) * 2);
+        Event event = new Event();
+        try {
+            if (!in.next() || !requestDecoder.decode(in, event)) {
+                throw new IllegalArgumentException("unable to parse request");
             }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("unable to parse request", e);
         }
-        else
-            throw new IllegalArgumentException("unable to parse request");
+        apply(event);
+    }
+
+    /**
+     * Applies a message received from the server, as described in handleRequest.
+     * Called by the board draining its inbox at the start of each update.
+     * @param event the decoded message
+     */
+    private synchronized void apply(Event event) {
+        switch (event.kind) {
+        case connect:
+            board.addConnection(event.wall, event.name);
+            break;
+        case disconnect:
+            board.removeConnection(event.wall);
+            break;
+        case ball: {
+            String fromBoard = event.wall == null ? null : board.getConnection(event.wall);
+            double transitSeconds = 0;
+            if (event.hasTime) {
+                transitSeconds = transitSeconds(fromBoard, event.time);
+            }
+            board.addBall(new Ball(event.x, event.y, new Vect(event.xVel, event.yVel)), transitSeconds);
+            recordHandoff(fromBoard, "wall", true, transitSeconds);
+            break;
+        }
+        case portal: {
+            double transitSeconds = 0;
+            if (event.hasTime) {
+                transitSeconds = transitSeconds(event.otherBoard, event.time);
+            }
+            boolean portalExists = board.ballExitingPortal(event.thisPortal, new Vect(event.xVel, event.yVel),
+                    transitSeconds);
+            recordHandoff(event.otherBoard, "portal", true, transitSeconds);
+            if (!portalExists) { // the server did not know, so this board sends the ball back
+                portalSendBacks.add("portal "+event.thisBoard+" "+event.thisPortal+" "+event.otherBoard+" "+
+                        event.otherPortal+" "+event.xVel+" "+event.yVel+(event.hasTime ? " "+event.time : ""));
+            }
+            break;
+        }
+        case keyframe:
+            streamState = true;
+            keyframeRequested = true;
+            break;
+        case unwatched:
+            streamState = false;
+            break;
+        case session:
+            sessionToken = event.name;
+            break;
+        case ping:
+            if (outbox != null) {
+                outbox.offerLine("pong");
+            }
+            break;
+        }
+    }
+
+    /**
+     * Works out how long a ball handed off to this board was in transit, and records it
+     * in the hand-off latencies of the edge it came through, if that is known
+     * @param fromBoard name of the board the ball came from, or null if unknown
+     * @param sentMillis time the ball left fromBoard, in milliseconds since the epoch
+     * @return the time the ball should be moved forward by, in seconds: the time since
+     *         sentMillis, clamped between 0 and MAXIMUM_TRANSIT_COMPENSATION
+     */
+    private double transitSeconds(String fromBoard, long sentMillis) {
+        long transitMillis = System.currentTimeMillis() - sentMillis;
+        if (fromBoard != null) {
+            String edge = fromBoard + "->" + board.getBoardName();
+            LatencyHistogram latency = handoffLatencies.get(edge);
+            if (latency == null) {
+                handoffLatencies.putIfAbsent(edge, new LatencyHistogram());
+                latency = handoffLatencies.get(edge);
+            }
+            latency.record(TimeUnit.MILLISECONDS.toNanos(transitMillis));
+        }
+        return Math.min(Math.max(transitMillis, 0), MAXIMUM_TRANSIT_COMPENSATION) / 1000.0;
+    }
+    
+    /**
+     * @return the latency of the hand-offs received by this board, keyed by edge
+     *         "FROMBOARD->TOBOARD"; a ball is not recorded if the server did not say which
+     *         wall it entered through, or no board is joined to that wall anymore
+     */
+    public Map<String, LatencyHistogram> getHandoffLatencies() {
+        return Collections.unmodifiableMap(handoffLatencies);
+    }
+    
+    /**
+     * Queues every hand-off produced by the last board update for the server, as a
+     * single write: a lone message is sent as is, and several messages are sent as
+     * "batch N" followed by the N messages, each as described in generateRequest.
+     * If the board's portals may have changed since they were last announced, as after
+     * a reload, they are announced again first. If the server has stopped reading for
+     * so long that the outbox is full, the hand-offs are dropped.
+     * Should be called once per board update.
+     */
+    private synchronized void sendHandoffs() {
+        if (!isConnected || outbox == null) {
+            return;
+        }
+        if (board.getStaticLayerVersion() != announcedVersion
+                && outbox.offerLine(announcePortals(board.getPortalNames()))) {
+            announcedVersion = board.getStaticLayerVersion();
+        }
+        List<String> requests = generateRequest();
+        if (requests.isEmpty()) {
+            return;
+        }
+        if (!outbox.offerText(encodeHandoffs(requests))) {
+            log.log(Category.client, "Sorry, the server is not reading; dropped " + requests.size() + " hand-offs");
+        }
+    }
+    
+    /**
+     * @param portals names of the portals on this board
+     * @return the message announcing them to the server, "portals NAME...", so it can bounce
+     *         a ball sent to a portal this board lacks without sending it here first
+     */
+    static String announcePortals(List<String> portals) {
+        StringBuilder message = new StringBuilder("portals");
+        for (String portal : portals) {
+            message.append(' ').append(portal);
+        }
+        return message.toString();
+    }
+
+    /**
+     * @param requests messages as described in generateRequest, at least one
+     * @return the frame sending requests to the server, as described in sendHandoffs,
+     *         including its final line terminator
+     */
+    static String encodeHandoffs(List<String> requests) {
+        StringBuilder frame = new StringBuilder();
+        if (requests.size() > 1) {
+            frame.append("batch ").append(requests.size()).append('\n');
+        }
+        for (String request : requests) {
+            frame.append(request).append('\n');
+        }
+        return frame.toString();
+    }
+
+    /**
+     * Queues the next frame of this board's state stream for the server, if a viewer is
+     * watching this board. The first frame after the server asks for a keyframe, or after
+     * a frame the full outbox refused, is a keyframe, and every other frame is a delta,
+     * as described in BoardStateEncoder.
+     * Should be called once per board update.
+     */
+    private synchronized void publishState() {
+        if (!isConnected || !streamState || outbox == null) {
+            return;
+        }
+        if (stateEncoder == null) {
+            stateEncoder = new BoardStateEncoder(board);
+            keyframeRequested = true;
+        }
+        if (board.getStaticLayerVersion() != streamedVersion) {
+            streamedVersion = board.getStaticLayerVersion();
+            keyframeRequested = true;
+        }
+        keyframeRequested = !outbox.offerLine(keyframeRequested ? stateEncoder.keyframe() : stateEncoder.delta());
     }
 
     /**
      * Generates a list of messages of the form 
-     * "ball X Y XVEL YVEL BOARDNAME DIRECTION"
+     * "ball X Y XVEL YVEL BOARDNAME DIRECTION TIME"
      *  where X and Y are the position of a ball traveling to a different board
      *  XVEL and YVEL specify its velocity, BOARDNAME specified which board it's
      *  traveling into, and DIRECTION specifies the direction of the outerwall it is
      *  traveling out of.
      *  DIRECTION will be top, bottom, left, or right
      *  or of the form
-     *  "portal THISBOARD THISPORTAL OTHERBOARD OTHERPORTAL XVEL YVEL"
+     *  "portal THISBOARD THISPORTAL OTHERBOARD OTHERPORTAL XVEL YVEL TIME"
      *  where a ball is traveling through THISPORTAL in THISBOARD to OTHERPORTAL in OTHERBOARD
      *  with velocity (XVEL,YVEL)
+     *  TIME is the simulation time of this board when the ball left it: the wall clock
+     *  time of the last update, in milliseconds since the epoch. Clocks of machines
+     *  running connected boards are assumed to be kept in sync, e.g. by NTP.
      * @return A list of messages of the form specified above
      */
     public synchronized List<String> generateRequest() {
+        long time = System.currentTimeMillis();
         Map<Ball, direction> ballToDifferentBoardMap = board.ballsTravelingToDifferentBoardsThroughWalls();
         Map<Ball, Portal> ballThroughPortalMap = board.ballsLeavingThroughPortals();
         List<String> messagesToSend = new ArrayList<String>();
@@ -348,7 +706,8 @@ public class Pingball {
             double yVel = ball.getVelocity().y();
             String boardName = board.getConnection(ballToDifferentBoardMap.get(ball));
             String direction = ballToDifferentBoardMap.get(ball).toString();
-            messagesToSend.add("ball "+x+" "+y+" "+xVel+" "+yVel+" "+boardName+" "+direction);
+            messagesToSend.add("ball "+x+" "+y+" "+xVel+" "+yVel+" "+boardName+" "+direction+" "+time);
+            recordHandoff(boardName, "wall", false, 0);
         }
         Set<Ball> ballsThroughPortals = ballThroughPortalMap.keySet();
         for (Ball ball: ballsThroughPortals) {
@@ -359,7 +718,8 @@ public class Pingball {
             double xVel = ball.getVelocity().x();
             double yVel = ball.getVelocity().y();
             messagesToSend.add("portal "+thisBoard+" "+thisPortal.getName()+" "+otherBoard+" "+
-                    otherPortal+" "+xVel+" "+yVel);
+                    otherPortal+" "+xVel+" "+yVel+" "+time);
+            recordHandoff(otherBoard, "portal", false, 0);
         }
         for (String message: portalSendBacks) {
             messagesToSend.add(message);
@@ -369,6 +729,25 @@ public class Pingball {
         return messagesToSend;
     }
     
+    /**
+     * Records a ball passing between this board and another in the flight recording, if hand-offs are recorded
+     * @param otherBoard the board the ball was sent to or came from
+     * @param through "wall" or "portal"
+     * @param inbound true if the ball came to this board
+     * @param transitSeconds the time the ball spent between the boards, or 0 if not known
+     */
+    private void recordHandoff(String otherBoard, String through, boolean inbound, double transitSeconds) {
+        FlightEvents.Handoff event = new FlightEvents.Handoff();
+        if (event.shouldCommit()) {
+            event.board = board.getBoardName();
+            event.otherBoard = otherBoard;
+            event.through = through;
+            event.inbound = inbound;
+            event.transit = Math.round(transitSeconds * 1000);
+            event.commit();
+        }
+    }
+    
     /**
      * whether this pingball client is connected to a sever
      * @return boolean representing whether this pingball client is connected to a sever 
@@ -388,8 +767,44 @@ public class Pingball {
      * replaces the board used by this pingBall client
      * @param board to use as replacement
      */
-    public void replaceBoard(Board board){
+    public synchronized void replaceBoard(Board board){
+        if (this.board != null) {
+            this.board.setInbox(null);
+        }
+        board.setInbox(inbox);
+        if (tickMillis > 0) {
+            board.setUpdateFrequency(tickMillis);
+        }
+        if (profiler != null) {
+            // the profile is of the board played last
+            if (this.board != null) {
+                this.board.setProfiler(null);
+            }
+            profiler.reset();
+            board.setProfiler(profiler);
+        }
         this.board = board;
+        this.stateEncoder = null;
+        this.announcedVersion = -1;
+    }
+
+    /**
+     * Replaces the board, as replaceBoard(Board) does, and reloads it whenever file is
+     * edited, keeping its balls and connections (see BoardReloader)
+     * @param board the new board
+     * @param file the file board was loaded from
+     */
+    public synchronized void replaceBoard(Board board, File file) {
+        replaceBoard(board);
+        if (reloader != null) {
+            reloader.close();
+            reloader = null;
+        }
+        try {
+            reloader = new BoardReloader(file, board);
+        } catch (IOException e) {
+            log.log(Category.board, "Sorry, unable to watch " + file + " for edits: " + e.getMessage());
+        }
     }
 
 }
@@ -2,7 +2,22 @@ package pingBall;
 
 import java.io.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.sun.net.httpserver.HttpServer;
+
+import pingBall.EventLog.Category;
 
 
 public class PingballServer {
@@ -12,51 +27,158 @@ public class PingballServer {
      * or portal ball passing messages. The server returns messages to the client 
      * consisting of ball passing messages, portal passing messages, connect 
      * or disconnect messages
+     * 
+     * Several servers can be federated: each is a node with its own id, owns the
+     * boards connected to it, and links to the other nodes (its peers). Every node
+     * tells its peers which boards it owns, so each node knows where every board is;
+     * messages for a board owned by another node are forwarded over the PeerLink
+     * to that node. If two nodes accept a board with the same name, the node with
+     * the smaller id keeps it and the other disconnects its board.
+     * A node only accepts links from the nodes it was given as peers, and only from this
+     * machine unless the federation shares a secret (see setPeerSecret), which every link
+     * must then present: a link from a peer can disconnect, join and send messages to any
+     * board of this node.
+     * 
+     * Every heartbeat interval, the server sends "ping" to each board it owns, which
+     * the board answers with "pong". A board that has not been heard from for the read
+     * timeout, or that a send has been blocked on for the write timeout, is evicted: its
+     * connection is closed and it is unmapped like any board that disconnects.
+     * 
+     * Each board connected to the server is given a session token. When its connection
+     * drops without the board saying "quit", the board stays joined for a grace period,
+     * during which the balls sent to it are held (see Session). A client reconnecting with
+     * the board's name and token within the grace period gets its joins and the held balls
+     * back; otherwise the board is disconnected at the end of the grace period.
+     * 
+     * Each board announces the names of its portals when it connects and whenever they
+     * change. A ball sent to a portal is bounced back to the board it left at once if the
+     * board it was sent to is not connected, or is connected to this node and announced
+     * that it lacks the portal, rather than after a round trip to that board.
+     * 
+     * The requests of each board are rate limited (see FloodGuard): the messages it sends,
+     * the balls it sends to each other board, and the balls each board is sent by all boards
+     * together. A message over a limit is dropped, delayed, or makes the server disconnect
+     * the board that sent it, as set by setRateLimits.
      */
     
     /**
      * Thread safety argument:
      * 
-     * Only two fields are shared between arguments: boardSockets and boardMappings
-     * Both of these have synchronized wrappers thrown around them.
-     * Additionally, every time an observer is used before using the shared field
-     * (ie. checking to see if a socket exists before writing to it), the block of
-     * code using that field is synchronized on that field.
+     * The routing state shared between threads is the immutable RoutingTable in the
+     * volatile field routing. Routing a message reads the field once and uses that
+     * snapshot, without locking. Connecting, joining and disconnecting boards build a
+     * new snapshot and swap it in while holding routingLock, so no change is lost; the
+     * messages a change implies are written to sockets after routingLock is released.
+     * routingLock is a ReentrantLock rather than a monitor so that a virtual thread
+     * waiting for it does not pin its carrier thread.
+     * subscriptions is thread safe (see StateSubscriptions).
+     * peers and peerSockets are ConcurrentHashMaps, each PeerLink is thread safe, and
+     * peerSecret is volatile.
+     * The heartbeat settings are volatile, evictedConnections is atomic, and metrics is
+     * thread safe (see ServerMetrics), as is log (see EventLog). The metrics endpoint only
+     * reads snapshots. The thread checking heartbeats never blocks on a board: it only
+     * pings boards no other thread is sending to (see BoardConnection.trySend).
+     * sessions is a ConcurrentHashMap, and each Session is thread safe. A board's session
+     * is only added, replaced or removed while holding routingLock, along with the change
+     * of routing it goes with.
+     * The rate limit settings are volatile, and ballBudgets is a ConcurrentHashMap of
+     * thread safe RateLimiters; each FloodGuard is confined to its connection's thread.
      */
     
     /** Default server port. */
     private static final int DEFAULT_PORT = 10987;
     /** Maximum port number as defined by ServerSocket. */
     private static final int MAXIMUM_PORT = 65535;
+    /** Id of a server that is not federated with other servers */
+    private static final String DEFAULT_NODE = "local";
+    /** Default milliseconds between heartbeats */
+    private static final long DEFAULT_HEARTBEAT_INTERVAL = 2000;
+    /** Default milliseconds a board may go unheard from before it is evicted */
+    private static final long DEFAULT_READ_TIMEOUT = 10000;
+    /** Default milliseconds a send to a board may block before it is evicted */
+    private static final long DEFAULT_WRITE_TIMEOUT = 10000;
+    /** Default milliseconds a board that dropped its connection stays joined */
+    private static final long DEFAULT_SESSION_GRACE = 30000;
+    /** Default number of messages a board may send per second */
+    private static final double DEFAULT_BOARD_RATE = 2000;
+    /** Default number of balls a board may send to each other board per second */
+    private static final double DEFAULT_EDGE_RATE = 1000;
+    /** Default number of balls a board may be sent per second, by all boards together */
+    private static final double DEFAULT_BALL_BUDGET = 2000;
     
     /**
-     * Represents the sockets of the currently connected boards
-     * RI: Any board name can appear in the keys only once, and
-     * each socket can only be present in the values once
-     * AF: The keys are the strings corresponding to the Board Name of the board,
-     * and the value is a socket that connects the server to a pingball 
-     * client of that board
+     * The current routing state: the sockets of the connected boards, and
+     * which boards are joined to each side of each board (see RoutingTable).
+     * Only ever replaced while holding routingLock.
      */
-    private Map<String,Socket> boardSockets = Collections.synchronizedMap(new HashMap<String,Socket>());
+    private volatile RoutingTable routing = RoutingTable.EMPTY;
+    
+    /** Serializes changes to routing */
+    private final Lock routingLock = new ReentrantLock();
     
     /** Socket for receiving incoming connections. */
     private final ServerSocket serverSocket;
     
+    /** Kind of thread every connection and the console are handled on */
+    private final ThreadMode threadMode;
+    
+    /** Id of this node of the federation */
+    private final String nodeId;
+    
+    /** Links to the other nodes of the federation, keyed by node id */
+    private final Map<String, PeerLink> peers = new ConcurrentHashMap<String, PeerLink>();
+    
+    /** Current incoming connection from each other node, keyed by node id */
+    private final Map<String, Socket> peerSockets = new ConcurrentHashMap<String, Socket>();
+    
+    private volatile String peerSecret = null;
+    
     /**
-     * AF: Represents present boards and which boards are connected to 
-     * each side of the board. The keys of this map are the active boards
-     * on this server, and the values are maps where they keys are 
-     * directions, and the values are boards connected to the first board 
-     * in that direction.
-     * RI: All keys must exist in boardSockets, and the maps of the values 
-     * must contain four or less values (one for each direction). 
-     * ie: <board1, <left, board2>> is connected as:
-     * board2 <-> board1
+     * Viewers subscribed to the state streams of boards, keyed by board name.
+     * Thread safe: StateSubscriptions synchronizes internally.
      */
-    private Map<String,Map<Direction,String>> boardMappings = Collections.synchronizedMap(new HashMap<String,Map<Direction,String>>());
+    private final StateSubscriptions subscriptions = new StateSubscriptions(this::passMessageToBoardSocket, this::neighborsOf);
+    
+    /** Milliseconds between heartbeats, 0 if heartbeats are off */
+    private volatile long heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    /** Milliseconds a board may go unheard from before it is evicted */
+    private volatile long readTimeout = DEFAULT_READ_TIMEOUT;
+    /** Milliseconds a send to a board may block before it is evicted */
+    private volatile long writeTimeout = DEFAULT_WRITE_TIMEOUT;
+    /** Number of boards evicted since the server started */
+    private final AtomicLong evictedConnections = new AtomicLong();
+    /** Milliseconds a board that dropped its connection stays joined, 0 if sessions are off */
+    private volatile long sessionGrace = DEFAULT_SESSION_GRACE;
+    /** Session of every board connected to this node, keyed by board name */
+    private final Map<String, Session> sessions = new ConcurrentHashMap<String, Session>();
+    
+    private volatile double boardRate = DEFAULT_BOARD_RATE;
+    
+    private volatile double edgeRate = DEFAULT_EDGE_RATE;
+    
+    private volatile double ballBudget = DEFAULT_BALL_BUDGET;
+    
+    private volatile FloodAction floodAction = FloodAction.drop;
+    
+    /** The destination budget of each board known to the routing table that was sent balls */
+    private final Map<String, RateLimiter> ballBudgets = new ConcurrentHashMap<String, RateLimiter>();
+    /** Where what happens to boards, sessions and links is logged, without blocking */
+    private final EventLog log = EventLog.shared();
+    /** Messages routed and dropped, and the time taken to route them */
+    private final ServerMetrics metrics = new ServerMetrics();
+    /** Serves the metrics over HTTP, or null if the endpoint is not started */
+    private volatile HttpServer metricsServer = null;
+    
+    private volatile ServerSocket adminSocket = null;
+    /** Runs heartbeats and session expiries */
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pingball-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     /** Enum describing the four possible OuterWall positions */
-    private enum Direction{
+    enum Direction{
         top,
         bottom, 
         left, 
@@ -103,41 +225,160 @@ public class PingballServer {
      */
     private enum Orientation{horizontal, vertical};
     
+    /**
+     * enum describing the threads connections are handled on:
+     * platform: one operating system thread per connection
+     * virtual: one virtual thread per connection, which needs Java 21 or later
+     */
+    public enum ThreadMode{platform, virtual};
+    
+    /**
+     * enum describing what is done with a message from a board over a rate limit:
+     * drop: the message is dropped
+     * delay: the message is handled once it is within the limit, holding up the
+     *        board's later messages until then
+     * disconnect: the message is dropped and the board disconnected, as if it had quit
+     */
+    public enum FloodAction{drop, delay, disconnect};
+    
     /**
      * Starts a PingballServer with the given command line arguments.
-     * The only allowed arguments are --port PORTNUMBER, where 
+     * Usage: PingballServer [--port PORTNUMBER] [--threads MODE] [--node ID]
+     *                       [--peer PEERID=HOST:PORT]...
+     *                       [--heartbeat INTERVAL] [--read-timeout MILLIS] [--write-timeout MILLIS]
+     *                       [--session-grace MILLIS] [--metrics METRICSPORT] [--admin ADMINPORT]
+     *                       [--rate-limit RATE] [--edge-limit RATE] [--ball-budget RATE]
+     *                       [--flood-action ACTION]
      * PORTNUMBER is the desired portnumber. Must be less than
      * 65535. If no port number is specified, the the default
      * port number is 10987 
+     * MODE is platform (the default) to handle each client on its own
+     * platform thread, or virtual to handle each client on a virtual thread
+     * ID is the id of this server in a federation, and each --peer gives
+     * the id, host and port of another server of the federation. Every
+     * server of a federation must be given every other one as a peer.
+     * Links from peers are only accepted from this machine, unless the environment
+     * variable PINGBALL_PEER_SECRET gives a secret shared by every server of the
+     * federation (see setPeerSecret).
+     * INTERVAL is the number of milliseconds between heartbeats, 2000 by default, or 0
+     * to turn heartbeats off. A board is evicted when it has not been heard from for
+     * --read-timeout milliseconds, or a send to it has blocked for --write-timeout
+     * milliseconds; both are 10000 by default.
+     * --session-grace is the number of milliseconds a board whose connection dropped stays
+     * joined, waiting for its client to reconnect, 30000 by default, or 0 to turn sessions off.
+     * METRICSPORT is a port to serve the server's metrics on over HTTP, at /metrics, only to
+     * this machine (see startMetrics). The metrics are not served by default.
+     * ADMINPORT is a port to accept administration tools on, only from this machine (see
+     * startAdmin). There is no administration port by default.
+     * --rate-limit is the number of messages a board may send per second, 2000 by default;
+     * --edge-limit the number of balls a board may send to each other board per second,
+     * 1000 by default; --ball-budget the number of balls a board may be sent per second
+     * by all boards together, 2000 by default. A RATE of 0 turns that limit off.
+     * ACTION is what is done with a message over a limit: drop (the default), delay or
+     * disconnect (see FloodAction).
      * 
      * @param args
      */
     public static void main(String[] args) {
-        PingballServer pingballServer;
-        try {
-            Queue<String> arguments = new LinkedList<String>(Arrays.asList(args));
-            
-            if (arguments.size() > 0){
-                String flag = arguments.remove();
-                
+        int portNum = DEFAULT_PORT;
+        ThreadMode threadMode = ThreadMode.platform;
+        String nodeId = DEFAULT_NODE;
+        List<String[]> peerArguments = new ArrayList<String[]>();
+        long heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+        long readTimeout = DEFAULT_READ_TIMEOUT;
+        long writeTimeout = DEFAULT_WRITE_TIMEOUT;
+        long sessionGrace = DEFAULT_SESSION_GRACE;
+        int metricsPort = -1;
+        int adminPort = -1;
+        double boardRate = DEFAULT_BOARD_RATE;
+        double edgeRate = DEFAULT_EDGE_RATE;
+        double ballBudget = DEFAULT_BALL_BUDGET;
+        FloodAction floodAction = FloodAction.drop;
+        Queue<String> arguments = new LinkedList<String>(Arrays.asList(args));
+        while (arguments.size() > 0){
+            String flag = arguments.remove();
+            try {
                 if (flag.equals("--port")){
-                    int portNum =Integer.parseInt(arguments.remove());
-                    if (portNum<MAXIMUM_PORT){
-                        pingballServer = new PingballServer(portNum);
-                    }
-                    else{
+                    portNum = Integer.parseInt(arguments.remove());
+                    if (portNum >= MAXIMUM_PORT){
                         String errorMsg = "Port number too high, must be less than "+ MAXIMUM_PORT+", was "+portNum;
                         System.out.println(errorMsg);
                         throw new UnsupportedOperationException(errorMsg);
                     }
+                } else if (flag.equals("--threads")){
+                    threadMode = ThreadMode.valueOf(arguments.remove());
+                } else if (flag.equals("--node")){
+                    nodeId = arguments.remove();
+                } else if (flag.equals("--peer")){
+                    String[] peer = arguments.remove().split("[=:]");
+                    if (peer.length != 3){
+                        throw new IllegalArgumentException();
+                    }
+                    Integer.parseInt(peer[2]);
+                    peerArguments.add(peer);
+                } else if (flag.equals("--heartbeat")){
+                    heartbeatInterval = Long.parseLong(arguments.remove());
+                } else if (flag.equals("--read-timeout")){
+                    readTimeout = Long.parseLong(arguments.remove());
+                } else if (flag.equals("--write-timeout")){
+                    writeTimeout = Long.parseLong(arguments.remove());
+                } else if (flag.equals("--session-grace")){
+                    sessionGrace = Long.parseLong(arguments.remove());
+                } else if (flag.equals("--metrics")){
+                    metricsPort = Integer.parseInt(arguments.remove());
+                    if (metricsPort < 0 || metricsPort >= MAXIMUM_PORT){
+                        throw new IllegalArgumentException();
+                    }
+                } else if (flag.equals("--admin")){
+                    adminPort = Integer.parseInt(arguments.remove());
+                    if (adminPort < 0 || adminPort >= MAXIMUM_PORT){
+                        throw new IllegalArgumentException();
+                    }
+                } else if (flag.equals("--rate-limit")){
+                    boardRate = parseRate(arguments.remove());
+                } else if (flag.equals("--edge-limit")){
+                    edgeRate = parseRate(arguments.remove());
+                } else if (flag.equals("--ball-budget")){
+                    ballBudget = parseRate(arguments.remove());
+                } else if (flag.equals("--flood-action")){
+                    floodAction = FloodAction.valueOf(arguments.remove());
                 } else{
-                    String errorMsg = "invalid arguments. Only --port allowed. Was: " + flag;
+                    String errorMsg = "invalid arguments. Only --port, --threads, --node, --peer, --heartbeat, "
+                            + "--read-timeout, --write-timeout, --session-grace, --metrics, --admin, "
+                            + "--rate-limit, --edge-limit, --ball-budget and --flood-action allowed. Was: " + flag;
                     System.out.println(errorMsg);
                     throw new UnsupportedOperationException(errorMsg);
                 }
-                
-            } else{
-                pingballServer = new PingballServer(DEFAULT_PORT);
+            } catch (NoSuchElementException nsee) {
+                String errorMsg = "missing argument for " + flag;
+                System.out.println(errorMsg);
+                throw new UnsupportedOperationException(errorMsg);
+            } catch (IllegalArgumentException iae) {
+                String errorMsg = "invalid argument for " + flag + ", --threads must be platform or virtual,"
+                        + " --peer must be PEERID=HOST:PORT, timeouts must be numbers of milliseconds"
+                        + ", --metrics and --admin must be port numbers, rates must be numbers per second"
+                        + " and --flood-action must be drop, delay or disconnect";
+                System.out.println(errorMsg);
+                throw new UnsupportedOperationException(errorMsg);
+            }
+        }
+        try {
+            PingballServer pingballServer = new PingballServer(portNum, threadMode, nodeId);
+            pingballServer.setHeartbeat(heartbeatInterval, readTimeout, writeTimeout);
+            pingballServer.setSessionGrace(sessionGrace);
+            pingballServer.setRateLimits(boardRate, edgeRate, ballBudget, floodAction);
+            String peerSecret = System.getenv("PINGBALL_PEER_SECRET");
+            if (peerSecret != null && !peerSecret.isEmpty()){
+                pingballServer.setPeerSecret(peerSecret);
+            }
+            for (String[] peer : peerArguments){
+                pingballServer.addPeer(peer[0], peer[1], Integer.parseInt(peer[2]));
+            }
+            if (metricsPort >= 0){
+                pingballServer.startMetrics(metricsPort);
+            }
+            if (adminPort >= 0){
+                pingballServer.startAdmin(adminPort);
             }
             pingballServer.serve();
         } catch (IOException e) {
@@ -146,6 +387,19 @@ public class PingballServer {
         
     }
     
+    /**
+     * @param rate a rate from the command line
+     * @return the rate, in events per second
+     * @throws NumberFormatException if rate is not a number, or is negative
+     */
+    private static double parseRate(String rate) {
+        double perSecond = Double.parseDouble(rate);
+        if (!(perSecond >= 0) || Double.isInfinite(perSecond)) {
+            throw new NumberFormatException("invalid rate: " + rate);
+        }
+        return perSecond;
+    }
+    
     /**
      * Make a PingballServer that listens for connections on port.
      * 
@@ -153,8 +407,144 @@ public class PingballServer {
      * @throws IOException if an error occurs opening the server socket
      */
     public PingballServer(int port) throws IOException {
+        this(port, ThreadMode.platform);
+    }
+    
+    /**
+     * Make a PingballServer that listens for connections on port, and handles
+     * each connection on a thread of the given kind.
+     * 
+     * @param port port number, requires 0 <= port <= 65535; 0 picks any free port
+     * @param threadMode kind of thread connections are handled on
+     * @throws IOException if an error occurs opening the server socket
+     */
+    public PingballServer(int port, ThreadMode threadMode) throws IOException {
+        this(port, threadMode, DEFAULT_NODE);
+    }
+    
+    /**
+     * Make a PingballServer that listens for connections on port, handles each
+     * connection on a thread of the given kind, and is the node nodeId of a federation.
+     * 
+     * @param port port number, requires 0 <= port <= 65535; 0 picks any free port
+     * @param threadMode kind of thread connections are handled on
+     * @param nodeId id of this server in its federation, must not contain whitespace
+     * @throws IOException if an error occurs opening the server socket
+     */
+    public PingballServer(int port, ThreadMode threadMode, String nodeId) throws IOException {
         serverSocket = new ServerSocket(port);
-        
+        this.threadMode = threadMode;
+        this.nodeId = nodeId;
+    }
+    
+    /**
+     * Sets the secret shared by the nodes of the federation. Links from peers are then
+     * accepted from any machine if they present the secret, and refused otherwise; without
+     * a secret, they are only accepted from this machine. Must be called before addPeer.
+     * 
+     * @param secret the shared secret, without whitespace, or null for none
+     * @throws IllegalArgumentException if secret is empty or contains whitespace
+     */
+    public void setPeerSecret(String secret) {
+        if (secret != null && !secret.matches("\\S+")) {
+            throw new IllegalArgumentException("peer secret must be non-empty and without whitespace");
+        }
+        peerSecret = secret;
+    }
+    
+    /**
+     * Links this node to another node of its federation. The link is kept open, and
+     * reopened whenever it breaks, until this server is closed.
+     * 
+     * @param peerId id of the other node, must differ from this node's id
+     * @param host host name of the other node
+     * @param port port the other node listens on
+     */
+    public void addPeer(String peerId, String host, int port) {
+        PeerLink link = new PeerLink(nodeId, peerId, host, port, peerSecret, this::ownedBoardAnnouncements);
+        PeerLink old = peers.put(peerId, link);
+        if (old != null) {
+            old.close();
+        }
+        link.start();
+    }
+    
+    /**
+     * Sets how boards are checked for dead connections. Must be called before serve().
+     * 
+     * @param intervalMillis milliseconds between heartbeats, or 0 to turn heartbeats
+     *                       and evictions off; requires >= 0
+     * @param readTimeoutMillis milliseconds a board may go unheard from before it is
+     *                          evicted; should be several times intervalMillis
+     * @param writeTimeoutMillis milliseconds a send to a board may block before it is evicted
+     */
+    public void setHeartbeat(long intervalMillis, long readTimeoutMillis, long writeTimeoutMillis) {
+        heartbeatInterval = intervalMillis;
+        readTimeout = readTimeoutMillis;
+        writeTimeout = writeTimeoutMillis;
+    }
+    
+    /**
+     * Sets how long a board whose connection dropped stays joined, waiting for its client
+     * to reconnect. Boards connected from now on are given sessions only if graceMillis > 0.
+     * 
+     * @param graceMillis length of the grace period in milliseconds, or 0 to disconnect
+     *                    boards as soon as their connection drops; requires >= 0
+     */
+    public void setSessionGrace(long graceMillis) {
+        sessionGrace = graceMillis;
+    }
+    
+    /**
+     * Sets the rate limits of the requests of boards (see FloodGuard). Must be called
+     * before serve().
+     * 
+     * @param boardRate messages per second a board may send, or 0 for no limit
+     * @param edgeRate balls per second a board may send to each other board, or 0 for no limit
+     * @param ballBudget balls per second a board may be sent by all boards together,
+     *                   or 0 for no limit
+     * @param action what is done with a message over a limit
+     * @throws IllegalArgumentException if a rate is negative or not a number
+     */
+    public void setRateLimits(double boardRate, double edgeRate, double ballBudget, FloodAction action) {
+        if (!(boardRate >= 0 && edgeRate >= 0 && ballBudget >= 0)) {
+            throw new IllegalArgumentException("rates must not be negative: "
+                    + boardRate + ", " + edgeRate + ", " + ballBudget);
+        }
+        this.boardRate = boardRate;
+        this.edgeRate = edgeRate;
+        this.ballBudget = ballBudget;
+        this.floodAction = action;
+        ballBudgets.clear();
+    }
+    
+    /**
+     * @return the port this server listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    /**
+     * Stops accepting connections, which makes serve() return with an IOException,
+     * and closes the links to the other nodes, the metrics endpoint and the administration
+     * port. Boards already connected stay connected.
+     * @throws IOException if an error occurs closing the server socket
+     */
+    public void close() throws IOException {
+        for (PeerLink link : peers.values()) {
+            link.close();
+        }
+        HttpServer server = metricsServer;
+        if (server != null) {
+            server.stop(0);
+        }
+        ServerSocket admin = adminSocket;
+        if (admin != null) {
+            admin.close();
+        }
+        timer.shutdownNow();
+        serverSocket.close();
     }
     
     /**
@@ -166,18 +556,23 @@ public class PingballServer {
      *                     (IOExceptions from individual clients do *not* terminate serve())
      */
     public void serve() throws IOException{
+        ExecutorService threads = newExecutor(threadMode);
         
-        Thread userInputThread = new Thread(new Runnable() {
+        threads.execute(new Runnable() {
             public void run() {
                 userInput();
             }
         });
-        userInputThread.start();
+        
+        if (heartbeatInterval > 0) {
+            timer.scheduleWithFixedDelay(this::checkHeartbeats,
+                    heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+        }
         
         while (true) {
             // block until a client connects
             Socket socket = serverSocket.accept();
-            Thread clientThread = new Thread(new Runnable() {
+            threads.execute(new Runnable() {
                 public void run() {
                     try {
                         handleConnection(socket);
@@ -193,16 +588,55 @@ public class PingballServer {
                     }
                 }
             });
-            clientThread.start();
         }
         
     }
     
+    /**
+     * Makes an executor that runs every task on a new thread of the given kind.
+     * Virtual threads are looked up reflectively so the server still builds and runs on
+     * Java versions without them; on those, platform threads are used instead.
+     * 
+     * @param threadMode kind of thread to run tasks on
+     * @return an executor starting one thread per task
+     */
+    static ExecutorService newExecutor(ThreadMode threadMode) {
+        if (threadMode.equals(ThreadMode.virtual)) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads need Java 21 or later, using platform threads");
+            }
+        }
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true); // like virtual threads, so only serve() keeps the process alive
+            return thread;
+        });
+    }
+    
     /**
      * Handle a single client connection. Returns when client disconnects.
      * When a PingballClient first connects to the server, it must send
-     * "board BOARDNAME" where BOARDNAME is the board's name
-     * Subsequent messages must be in the form described in userInput
+     * "board BOARDNAME" where BOARDNAME is the board's name, or
+     * "board BOARDNAME TOKEN" where TOKEN is the session token the server sent the board's
+     * client earlier as "session TOKEN", to resume that session (see Session)
+     * Subsequent messages must be in the form described in handleRequestFromBoardSocket, or
+     * "batch N" followed by N such messages, which are handled together (see
+     * handleBatch), or be state frames as described in BoardStateEncoder,
+     * or be "pong", the answer to a heartbeat, or be "quit", after which the board is
+     * disconnected at once rather than at the end of its session's grace period,
+     * or be "portals NAME...", the names of all the board's portals, which replace those
+     * it announced before (see routeRequest).
+     * If the board is evicted (see checkHeartbeats), its socket is closed and it is
+     * unmapped here, like any other board that disconnects.
+     * A viewer instead sends "viewer" as its first message, followed by the
+     * messages described in handleViewer
+     * Another node of the federation instead sends "node NODEID" as its first
+     * message, followed by the messages described in handlePeer
+     * A board's requests are routed where they landed in the MessageReader when they
+     * can be (see InPlaceRouter), and decoded into Strings otherwise, once they are
+     * within the board's rate limits (see FloodGuard).
      * 
      * @param socket socket where the client is connected
      * @throws IOException if the connection encounters an error or terminates unexpectedly
@@ -210,100 +644,527 @@ public class PingballServer {
      * @param socket
      */
     private void handleConnection(Socket socket) throws IOException {
-        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+        MessageReader in = new MessageReader(socket.getInputStream());
         String boardName = "";
+        BoardConnection connection = null;
+        boolean quit = false;
         try {
             String firstLine = in.readLine();
-            if((firstLine.trim().split(" ")[0].equals("board")) && (firstLine.trim().split(" ").length == 2)){
-                boardName = firstLine.trim().split(" ")[1];
-                synchronized (boardSockets) {
-                    if (boardSockets.containsKey(boardName)) {
-                        System.out
-                                .println("Sorry, client with same board name already "
-                                        + "connected, please use another board name: "
-                                        + boardName);
+            String[] splitFirstLine = firstLine.trim().split(" ");
+            if(splitFirstLine[0].equals("board") && (splitFirstLine.length == 2 || splitFirstLine.length == 3)){
+                boardName = splitFirstLine[1];
+                Session session = sessions.get(boardName);
+                BoardConnection replaced = null;
+                routingLock.lock();
+                try {
+                    if (splitFirstLine.length == 3 && session != null && routing.isConnected(boardName)
+                            && session.claim(splitFirstLine[2])) {
+                        connection = new BoardConnection(socket, metrics);
+                        replaced = routing.getConnection(boardName);
+                        routing = routing.withBoard(boardName, connection);
+                    } else if (routing.isKnown(boardName)) {
+                        log.log(Category.connection, "Sorry, client with same board name already "
+                                + "connected, please use another board name: " + boardName);
+                        boardName = ""; // so the connected board's joins are left alone
                         return;
                     } else {
-                        boardSockets.put(boardName, socket);
-                        System.out.println(boardName + " connected");
+                        connection = new BoardConnection(socket, metrics);
+                        routing = routing.withBoard(boardName, connection);
+                        session = null;
+                        if (sessionGrace > 0) {
+                            session = new Session(UUID.randomUUID().toString());
+                            sessions.put(boardName, session);
+                        }
+                        log.log(Category.connection, boardName + " connected");
+                    }
+                } finally {
+                    routingLock.unlock();
+                }
+                if (replaced != null) {
+                    replaced.close(); // in case the old connection is half-open
+                    resumeSession(boardName, session, connection);
+                } else {
+                    if (session != null) {
+                        connection.send("session " + session.getToken());
                     }
+                    broadcast("dir add " + boardName + " " + nodeId);
+                    subscriptions.refresh(boardName);
                 }
-                checkRep();
                 
-                for (String line = in.readLine(); line != null; line = in.readLine()) {
-                    System.out.println("Ball passing through");
-                    handleRequestFromBoardSocket(line);
-                    checkRep();
+                FloodGuard guard = new FloodGuard(boardRate, edgeRate, ballBudget, floodAction, ballBudgets, metrics);
+                Map<String, LongAdder> edges = metrics.edgesFrom(boardName);
+                InPlaceRouter router = new InPlaceRouter(sessions, edges, metrics, guard);
+                while (!guard.isTripped() && in.next()) {
+                    connection.touch();
+                    if (!guard.admitMessage()) {
+                        continue;
+                    }
+                    if (router.route(in, routing, true)) {
+                        continue;
+                    }
+                    String line = in.lineToString();
+                    if (line.equals("pong")) {
+                        continue;
+                    } else if (line.equals("quit")) {
+                        quit = true;
+                        break;
+                    } else if (line.startsWith("state ")) {
+                        subscriptions.publish(boardName, line);
+                    } else if (line.equals("portals") || line.startsWith("portals ")) {
+                        String names = line.substring("portals".length()).trim();
+                        connection.setPortals(names.isEmpty() ? Collections.<String>emptyList()
+                                : Arrays.asList(names.split(" +")));
+                    } else if (line.startsWith("batch ")) {
+                        handleBatch(edges, guard, line, in, router);
+                    } else {
+                        handleRequestFromBoardSocket(edges, guard, line);
+                    }
+                }
+                if (guard.isTripped()) {
+                    log.log(Category.connection, boardName + " sent too many messages, disconnecting it");
+                    quit = true;
+                }
+            } else if (firstLine.trim().equals("viewer")) {
+                handleViewer(socket, in);
+                return;
+            } else if (splitFirstLine[0].equals("node") && (splitFirstLine.length == 2 || splitFirstLine.length == 3)) {
+                String peerId = splitFirstLine[1];
+                if (!isTrustedPeer(peerId, splitFirstLine.length == 3 ? splitFirstLine[2] : null, socket)) {
+                    log.log(Category.peer, "Sorry, refused link from node " + peerId
+                            + ", which is not a peer or did not present the federation's secret");
+                    return;
                 }
+                handlePeer(peerId, socket, in);
+                return;
             } else{
-                System.out.println("Sorry, first message does not match grammar of \"board BOARDNAME\", was: " + firstLine);
+                log.log(Category.connection, "Sorry, first message does not match grammar of \"board BOARDNAME\", was: " + firstLine);
                 return;
             }
         } finally {
-            if (!boardName.isEmpty()){
-                synchronized (boardMappings) {
-                    if (boardMappings.containsKey(boardName)) {
-                        for (Direction currentDirection : boardMappings.get(
-                                boardName).keySet()) {
-                            passMessageToBoardSocket(
-                                    boardMappings.get(boardName).get(
-                                            currentDirection), "disconnect "
-                                            + currentDirection.opposite()
-                                                    .toString());
-                        }
-                        boardMappings.remove(boardName);
-                    }
-                    for (Map<Direction, String> currentMap : boardMappings
-                            .values()) {
-                        for (Direction currentDirection : Direction.values()) {
-                            if (currentMap.containsKey(currentDirection)) {
-                                if (currentMap.get(currentDirection).equals(
-                                        boardName)) {
-                                    currentMap.remove(currentDirection);
-                                }
-                            }
-                        }
+            Map<Direction, String> neighbors = Collections.emptyMap();
+            boolean disconnected = false;
+            routingLock.lock();
+            try {
+                if (!boardName.isEmpty() && routing.getConnection(boardName) == connection) {
+                    String name = boardName;
+                    Session session = sessions.get(name);
+                    if (!quit && session != null
+                            && session.suspend(timer, sessionGrace, () -> expireSession(name, session))) {
+                        log.log(Category.session, boardName + " dropped its connection, holding its joins");
+                    } else {
+                        neighbors = routing.getNeighbors(boardName);
+                        routing = routing.withoutBoard(boardName);
+                        sessions.remove(boardName);
+                        disconnected = true;
                     }
                 }
+            } finally {
+                routingLock.unlock();
             }
-            
-            synchronized (boardSockets) {
-                if (boardSockets.containsKey(boardName)) {
-                    boardSockets.remove(boardName);
-                }
+            if (disconnected) {
+                boardDisconnected(boardName, neighbors);
             }
             
             in.close();
-            checkRep();
         }
         
     }
     
+    /**
+     * Tells the other nodes, the boards joined to boardName and the viewers watching it
+     * that boardName disconnected from this node
+     * @param boardName name of the board, no longer in routing
+     * @param neighbors the boards that were joined to each wall of boardName
+     */
+    private void boardDisconnected(String boardName, Map<Direction, String> neighbors){
+        metrics.removeBoards(boardName::equals);
+        ballBudgets.remove(boardName);
+        broadcast("dir remove " + boardName + " " + nodeId);
+        for (Direction currentDirection : neighbors.keySet()) {
+            deliver(neighbors.get(currentDirection),
+                    "disconnect " + currentDirection.opposite().toString());
+        }
+        subscriptions.boardDisconnected(boardName);
+    }
+    
+    /**
+     * Attaches a claimed session to the reconnected client of boardName: sends it its
+     * token, its joins and the balls held for it, and asks it for a keyframe if a viewer
+     * watches it
+     * @param boardName name of the board
+     * @param session the board's session, claimed by the client
+     * @param connection connection to the reconnected client, already in routing
+     */
+    private void resumeSession(String boardName, Session session, BoardConnection connection){
+        List<String> preamble = new ArrayList<String>();
+        preamble.add("session " + session.getToken());
+        Map<Direction, String> neighbors = routing.getNeighbors(boardName);
+        for (Direction direction : neighbors.keySet()) {
+            preamble.add("connect " + direction + " " + neighbors.get(direction));
+        }
+        int replayed = session.resume(connection, preamble);
+        log.log(Category.session, boardName + " resumed its session, " + replayed + " balls replayed");
+        subscriptions.boardDisconnected(boardName); // the client starts a new state stream
+        subscriptions.refresh(boardName);
+    }
+    
+    /**
+     * Disconnects boardName at the end of its session's grace period, unless its client
+     * reconnected in the meantime
+     * @param boardName name of the board
+     * @param session the board's suspended session
+     */
+    private void expireSession(String boardName, Session session){
+        if (!session.expire()) {
+            return;
+        }
+        Map<Direction, String> neighbors = Collections.emptyMap();
+        boolean disconnected = false;
+        routingLock.lock();
+        try {
+            if (sessions.remove(boardName, session)) {
+                neighbors = routing.getNeighbors(boardName);
+                routing = routing.withoutBoard(boardName);
+                disconnected = true;
+            }
+        } finally {
+            routingLock.unlock();
+        }
+        if (disconnected) {
+            log.log(Category.session, boardName + " did not reconnect, disconnecting it");
+            boardDisconnected(boardName, neighbors);
+        }
+    }
+    
+    /**
+     * Handle a single viewer connection. Returns when the viewer disconnects.
+     * Messages from a viewer must be of the form:
+     * "subscribe BOARDNAME", to receive the state stream of BOARDNAME
+     * "subscribe BOARDNAME neighborhood", to also receive the state streams of the boards joined to BOARDNAME
+     * "unsubscribe BOARDNAME", to stop receiving the state stream(s) of BOARDNAME
+     * The viewer is sent every frame of the streams it subscribed to, starting with a keyframe.
+     * 
+     * @param socket socket where the viewer is connected
+     * @param in reader of the messages sent by the viewer, after its first message
+     * @throws IOException if the connection encounters an error or terminates unexpectedly
+     */
+    private void handleViewer(Socket socket, MessageReader in) throws IOException {
+        StateViewer viewer = new StateViewer(new BufferedOutputStream(socket.getOutputStream()));
+        try {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String[] splitLine = line.trim().split(" ");
+                if (splitLine[0].equals("subscribe") && splitLine.length == 2) {
+                    subscriptions.subscribe(viewer, splitLine[1], false);
+                } else if (splitLine[0].equals("subscribe") && splitLine.length == 3 && splitLine[2].equals("neighborhood")) {
+                    subscriptions.subscribe(viewer, splitLine[1], true);
+                } else if (splitLine[0].equals("unsubscribe") && splitLine.length == 2) {
+                    subscriptions.unsubscribe(viewer, splitLine[1]);
+                } else {
+                    log.log(Category.routing, "Invalid viewer request: " + line);
+                }
+            }
+        } finally {
+            subscriptions.removeViewer(viewer);
+        }
+    }
+    
+    /**
+     * Handle a single connection to the administration port (see startAdmin). Returns
+     * when the administration tool disconnects. Messages from the tool must be of the form:
+     * "join h LEFT RIGHT" or "join v TOP BOTTOM", to join two boards
+     * "topology N", followed by N lines of a topology as described in Topology, to make
+     *   every join of the topology at once
+     * "boards", to list the boards connected to this node
+     * Each message is answered with one line: "ok JOINS" with the number of walls joined,
+     * "boards BOARDNAME..." for boards, or "error MESSAGE" if nothing was done.
+     * 
+     * @param socket socket where the administration tool is connected
+     * @throws IOException if the connection encounters an error or terminates unexpectedly
+     */
+    private void handleAdmin(Socket socket) throws IOException {
+        MessageReader in = new MessageReader(socket.getInputStream());
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            String[] splitLine = line.trim().split(" ");
+            try {
+                if (splitLine[0].equals("join") && splitLine.length == 4) {
+                    Topology topology = Topology.parse(Collections.singletonList(line.trim().substring("join ".length())));
+                    out.println("ok " + applyTopology(topology));
+                } else if (splitLine[0].equals("topology") && splitLine.length == 2) {
+                    int count = Integer.parseInt(splitLine[1]);
+                    List<String> lines = new ArrayList<String>();
+                    for (int i = 0; i < count; i++) {
+                        String topologyLine = in.readLine();
+                        if (topologyLine == null) {
+                            return;
+                        }
+                        lines.add(topologyLine);
+                    }
+                    out.println("ok " + applyTopology(Topology.parse(lines)));
+                } else if (splitLine[0].equals("boards") && splitLine.length == 1) {
+                    StringBuilder boards = new StringBuilder("boards");
+                    for (String board : routing.getBoards()) {
+                        boards.append(" ").append(board);
+                    }
+                    out.println(boards);
+                } else {
+                    out.println("error invalid request: " + line);
+                }
+            } catch (IllegalArgumentException iae) {
+                out.println("error " + iae.getMessage());
+            }
+            out.flush();
+        }
+    }
+    
+    /**
+     * @param peerId id the linking node gave
+     * @param secret secret the linking node presented, or null if none
+     * @param socket socket where the linking node is connected
+     * @return true if peerId is a peer of this node, and presented the federation's
+     *         secret, or links from this machine if the federation has no secret
+     */
+    private boolean isTrustedPeer(String peerId, String secret, Socket socket) {
+        if (!peers.containsKey(peerId)) {
+            return false;
+        }
+        String expected = peerSecret;
+        if (expected == null) {
+            return secret == null && socket.getInetAddress().isLoopbackAddress();
+        }
+        return secret != null && MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                secret.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Handle the incoming link from another node of the federation. Returns when that
+     * node closes the link, after which its boards are forgotten until it links again.
+     * Messages from a node must be of the form:
+     * "dir add BOARDNAME NODEID", when BOARDNAME connects to the node NODEID
+     * "dir remove BOARDNAME NODEID", when BOARDNAME disconnects from the node NODEID
+     * "join BOARDNAME DIRECTION OTHERBOARD", to join the DIRECTION wall of BOARDNAME,
+     *   which is connected to this node, to OTHERBOARD
+     * "deliver BOARDNAME MESSAGE", to pass MESSAGE to BOARDNAME, which is connected to this node
+     * Only peers are linked (see isTrustedPeer), and a peer applies the rate limits of its
+     * own boards before it delivers their balls here; balls delivered to a board are still
+     * counted against its destination budget (see FloodGuard), and dropped when over it,
+     * whatever the flood action: delaying them would stall every message of the link, and
+     * a peer's link is never disconnected for being over a limit.
+     * 
+     * @param peerId id of the other node
+     * @param socket socket where the other node is connected
+     * @param in reader of the messages sent by the other node, after its first message
+     * @throws IOException if the connection encounters an error or terminates unexpectedly
+     */
+    private void handlePeer(String peerId, Socket socket, MessageReader in) throws IOException {
+        peerSockets.put(peerId, socket);
+        log.log(Category.peer, "node " + peerId + " linked");
+        PeerLink link = peers.get(peerId);
+        if (link != null) {
+            link.resync(); // the node may have restarted and lost our boards
+        }
+        FloodGuard guard = new FloodGuard(0, 0, ballBudget, FloodAction.drop, ballBudgets, metrics);
+        try {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String[] splitLine = line.split(" ", 3);
+                if (splitLine[0].equals("deliver") && splitLine.length == 3) {
+                    RoutingTable table = routing;
+                    if ((splitLine[2].startsWith("ball ") || splitLine[2].startsWith("portal "))
+                            && table.isConnected(splitLine[1]) && !guard.admitBall(splitLine[1], table)) {
+                        continue;
+                    }
+                    passMessageToBoardSocket(splitLine[1], splitLine[2]);
+                } else if (splitLine[0].equals("dir") && line.split(" ").length == 4) {
+                    String[] entry = line.split(" ");
+                    if (entry[1].equals("add")) {
+                        addRemoteBoard(entry[2], entry[3]);
+                    } else if (entry[1].equals("remove")) {
+                        removeRemoteBoard(entry[2], entry[3]);
+                    }
+                } else if (splitLine[0].equals("join") && line.split(" ").length == 4) {
+                    String[] join = line.split(" ");
+                    try {
+                        joinWall(join[1], Direction.valueOf(join[2]), join[3]);
+                    } catch (IllegalArgumentException iae) {
+                        log.log(Category.peer, "Invalid request from node " + peerId + ": " + line);
+                    }
+                } else {
+                    log.log(Category.peer, "Invalid request from node " + peerId + ": " + line);
+                }
+            }
+        } finally {
+            if (peerSockets.remove(peerId, socket)) {
+                nodeLost(peerId);
+            }
+        }
+    }
+    
+    /**
+     * Records that board is connected to the node node. If board is also connected to
+     * this node, or was known to be connected to a third node, the node with the smaller
+     * id keeps it, so every node reaches the same decision.
+     * @param board name of the board
+     * @param node id of the node board connected to
+     */
+    private void addRemoteBoard(String board, String node){
+        Socket duplicate = null;
+        routingLock.lock();
+        try {
+            if (routing.isConnected(board)) {
+                if (node.compareTo(nodeId) >= 0) {
+                    return;
+                }
+                duplicate = routing.getConnection(board).getSocket();
+            } else if (routing.getNode(board) != null && routing.getNode(board).compareTo(node) <= 0) {
+                return;
+            }
+            routing = routing.withRemoteBoard(board, node);
+            sessions.remove(board);
+        } finally {
+            routingLock.unlock();
+        }
+        if (duplicate != null) {
+            log.log(Category.peer, "Sorry, board " + board + " is already connected to node " + node + ", disconnecting it");
+            try {
+                duplicate.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+    
+    /**
+     * Records that board disconnected from the node node, unless it is now known to be
+     * connected elsewhere
+     * @param board name of the board
+     * @param node id of the node board disconnected from
+     */
+    private void removeRemoteBoard(String board, String node){
+        routingLock.lock();
+        try {
+            if (node.equals(routing.getNode(board))) {
+                routing = routing.withoutBoard(board);
+                metrics.removeBoards(board::equals);
+                ballBudgets.remove(board);
+            }
+        } finally {
+            routingLock.unlock();
+        }
+    }
+    
+    /**
+     * Forgets every board connected to the node node, which is no longer linked to
+     * this node, and disconnects the walls of local boards that were joined to them
+     * @param node id of the node
+     */
+    private void nodeLost(String node){
+        RoutingTable before;
+        routingLock.lock();
+        try {
+            before = routing;
+            routing = routing.withoutNode(node);
+            RoutingTable after = routing;
+            metrics.removeBoards(board -> !after.isKnown(board));
+            ballBudgets.keySet().removeIf(board -> !after.isKnown(board));
+        } finally {
+            routingLock.unlock();
+        }
+        log.log(Category.peer, "node " + node + " lost");
+        for (String board : before.getBoards()) {
+            for (Map.Entry<Direction, String> wall : before.getNeighbors(board).entrySet()) {
+                if (node.equals(before.getNode(wall.getValue()))) {
+                    passMessageToBoardSocket(board, "disconnect " + wall.getKey());
+                }
+            }
+        }
+    }
+    
     /**
      * Handles exiting ball messages. The only supported message is of the form:
-     * "ball x y xVel yVel Board Direction"
+     * "ball x y xVel yVel Board Direction [Time]"
      * Where x,y are the coordinates of the ball when it exited the map,
      * xVel,yVel is the velocity vector of the ball, Board is the name 
      * of the board to deliver to, and Direction is the direction that
      * the ball exited the board
      * 
-     * "portal THISBOARD THISPORTAL OTHERBOARD OTHERPORTAL XVEL YVEL"
+     * "portal THISBOARD THISPORTAL OTHERBOARD OTHERPORTAL XVEL YVEL [TIME]"
+     * 
+     * Time is the sender's simulation time when the ball left it (see Pingball.generateRequest),
+     * and is passed on unchanged to the board receiving the ball.
+     * The board receiving a ball is sent "ball X' Y' XVEL YVEL WALL [TIME]", where WALL is the
+     * wall it enters through, opposite the one it left by, so the receiver knows which
+     * board it came from.
      * 
+     * A ball for a board the routing table knows is dropped or delayed if it is over the
+     * rate limits of guard.
+     * 
+     * @param edges counters of the requests of the board that sent the request (see ServerMetrics.edgesFrom)
+     * @param guard rate limits of the board's requests
      * @param request string that is requested
      */
-    private void handleRequestFromBoardSocket(String request){
+    private void handleRequestFromBoardSocket(Map<String, LongAdder> edges, FloodGuard guard, String request){
+        handleRequestsFromBoardSocket(edges, guard, Collections.singletonList(request));
+    }
+    
+    /**
+     * Handles requests sent together by a board, each as described in
+     * handleRequestFromBoardSocket, using a single routing snapshot. The resulting
+     * messages are grouped by the board they are for, and each board is sent all of
+     * its messages with one flush.
+     * 
+     * @param edges counters of the requests of the board that sent the requests
+     * @param guard rate limits of the board's requests
+     * @param requests requests in the order they were sent
+     */
+    private void handleRequestsFromBoardSocket(Map<String, LongAdder> edges, FloodGuard guard, List<String> requests){
+        RoutingTable table = routing;
+        Map<String, List<String>> outbox = new LinkedHashMap<String, List<String>>();
+        for (String request : requests) {
+            routeRequest(table, edges, guard, request, outbox);
+        }
+        for (Map.Entry<String, List<String>> messages : outbox.entrySet()) {
+            deliver(table, messages.getKey(), messages.getValue());
+        }
+    }
+    
+    /**
+     * Works out the message a request from a board results in, as described in
+     * handleRequestFromBoardSocket, and adds it to the messages for its board.
+     * 
+     * The request is counted on the edge from the board that sent it to the board it is for,
+     * if the routing table knows that board.
+     * A portal request is sent back to the board it came from, as if it came from the portal
+     * it was sent to, if the board it is for is not connected, or is connected to this node
+     * and announced that it lacks that portal; a board connected to another node, or that has
+     * not announced its portals, bounces the ball itself (see Pingball.handleRequest).
+     * 
+     * @param table routing snapshot to route request with
+     * @param edges counters of the requests of the board that sent the request
+     * @param guard rate limits of the board's requests
+     * @param request string that is requested
+     * @param outbox messages to send, keyed by the board they are for
+     */
+    private void routeRequest(RoutingTable table, Map<String, LongAdder> edges, FloodGuard guard, String request,
+            Map<String, List<String>> outbox){
+        long start = System.nanoTime();
         String[] splitMessage = request.split(" ");
         if (splitMessage[0].equals("ball")){
+            String entryWall;
             if(splitMessage[6].equals("top")){
                 splitMessage[2] = "19.74";
+                entryWall = "bottom";
             } else if(splitMessage[6].equals("bottom")){
                 splitMessage[2] = "0.26";
+                entryWall = "top";
             } else if(splitMessage[6].equals("left")){
                 splitMessage[1] = "19.74";
+                entryWall = "right";
             } else if(splitMessage[6].equals("right")){
                 splitMessage[1] = "0.26";
+                entryWall = "left";
             } else{
-                System.out.println("Invalid request: " + request);
+                log.log(Category.routing, "Invalid request: " + request);
                 return;
             }
             
@@ -312,56 +1173,221 @@ public class PingballServer {
                 messageBuilder.append(splitMessage[i]);
                 messageBuilder.append(" ");
             }
-            passMessageToBoardSocket(splitMessage[5], messageBuilder.toString().trim());
+            messageBuilder.append(entryWall);
+            messageBuilder.append(" ");
+            if (splitMessage.length > 7){
+                messageBuilder.append(splitMessage[7]);
+            }
+            if (table.isKnown(splitMessage[5]) && !guard.admitBall(splitMessage[5], table)) {
+                return;
+            }
+            post(outbox, splitMessage[5], messageBuilder.toString().trim());
+            long nanos = System.nanoTime() - start;
+            metrics.routed(edges, table.isKnown(splitMessage[5]) ? splitMessage[5] : null, nanos, false);
+            FlightEvents.route("ball", splitMessage[5], false, nanos);
             
         } else if (splitMessage[0].equals("portal")){
-            synchronized (boardSockets) {
-                if (boardSockets.containsKey(splitMessage[3])) {
-                    passMessageToBoardSocket(splitMessage[3], request);
-                } else {
-                    StringBuilder messageToPass = new StringBuilder();
+            BoardConnection target = table.getConnection(splitMessage[3]);
+            if (table.isKnown(splitMessage[3]) && (target == null || !target.lacksPortal(splitMessage[4]))) {
+                if (!guard.admitBall(splitMessage[3], table)) {
+                    return;
+                }
+                post(outbox, splitMessage[3], request);
+                long nanos = System.nanoTime() - start;
+                metrics.routed(edges, splitMessage[3], nanos, false);
+                metrics.portal(false);
+                FlightEvents.route("portal", splitMessage[3], false, nanos);
+            } else {
+                StringBuilder messageToPass = new StringBuilder();
 
-                    messageToPass.append("portal ");
-                    messageToPass.append(splitMessage[3] + " "
-                            + splitMessage[4] + " ");
-                    messageToPass.append(splitMessage[1] + " "
-                            + splitMessage[2] + " ");
-                    messageToPass.append(splitMessage[5] + " "
-                            + splitMessage[6] + " ");
+                messageToPass.append("portal ");
+                messageToPass.append(splitMessage[3] + " "
+                        + splitMessage[4] + " ");
+                messageToPass.append(splitMessage[1] + " "
+                        + splitMessage[2] + " ");
+                messageToPass.append(splitMessage[5] + " "
+                        + splitMessage[6] + " ");
+                if (splitMessage.length > 7) {
+                    messageToPass.append(splitMessage[7]);
+                }
+                if (table.isKnown(splitMessage[1]) && !guard.admitBall(splitMessage[1], table)) {
+                    return;
+                }
 
-                    passMessageToBoardSocket(splitMessage[1],
-                            messageToPass.toString());
+                post(outbox, splitMessage[1],
+                        messageToPass.toString());
+                long nanos = System.nanoTime() - start;
+                metrics.routed(edges, table.isKnown(splitMessage[1]) ? splitMessage[1] : null, nanos, false);
+                metrics.portal(true);
+                FlightEvents.route("portal", splitMessage[1], false, nanos);
 
-                }
             }
             
         }
         
     }
     
+    /**
+     * Adds a message to the messages for BoardName
+     * @param outbox messages to send, keyed by the board they are for
+     * @param BoardName board to pass message to
+     * @param message to pass to BoardName
+     */
+    private static void post(Map<String, List<String>> outbox, String BoardName, String message){
+        List<String> messages = outbox.get(BoardName);
+        if (messages == null) {
+            messages = new ArrayList<String>();
+            outbox.put(BoardName, messages);
+        }
+        messages.add(message);
+    }
+    
+    /**
+     * Handles the requests of a batch frame sent by a board: a "batch N" line followed by N
+     * requests. Requests are routed in place where possible, and every board they are for
+     * is flushed once at the end; any other request is handled as a String in its turn,
+     * so each board receives its messages in the order they were sent.
+     * @param edges counters of the requests of the board that sent the batch
+     * @param guard rate limits of the board's requests; the batch ends early if they disconnect from
+     * @param header the "batch N" line
+     * @param in reader of the board's messages
+     * @param router router of the board's connection
+     * @throws IOException if the connection encounters an error
+     */
+    private void handleBatch(Map<String, LongAdder> edges, FloodGuard guard, String header, MessageReader in, InPlaceRouter router)
+            throws IOException {
+        int count;
+        try {
+            count = Integer.parseInt(header.substring("batch ".length()).trim());
+        } catch (NumberFormatException nfe) {
+            log.log(Category.routing, "Invalid request: " + header);
+            return;
+        }
+        try {
+            for (int i = 0; i < count && !guard.isTripped() && in.next(); i++) {
+                if (!guard.admitMessage()) {
+                    continue;
+                }
+                if (!router.route(in, routing, false)) {
+                    router.flush();
+                    handleRequestFromBoardSocket(edges, guard, in.lineToString());
+                }
+            }
+        } finally {
+            router.flush();
+        }
+    }
+    
     /**
      *Passes a message to the socket corresponding to BoardName of the form: "ball X Y XVEL YVEL", 
      *where this represents a new ball entering the board at X,Y with velocity vector XVEL,YVEL
      *Or a disconnect message;
-     *Thread safe: Uses a synchronizedMap object
+     *Thread safe: reads the routing snapshot once, without locking
      * @param BoardName board to pass message to
      * @param message to pass to BoardName
-     * @throws IOException 
      */
     private void passMessageToBoardSocket(String BoardName, String message){
-        Socket currentSocket = boardSockets.get(BoardName);
-        try {
-            PrintWriter out = new PrintWriter(currentSocket.getOutputStream(), true);
-            out.println(message);
-        } catch (IOException e) {
-            e.printStackTrace();
+        passMessagesToBoardSocket(BoardName, Collections.singletonList(message));
+    }
+    
+    /**
+     * Passes messages to the socket corresponding to BoardName, with one flush, or holds
+     * them in its session if its client is reconnecting
+     * @param BoardName board connected to this node to pass messages to
+     * @param messages to pass to BoardName, in order
+     */
+    private void passMessagesToBoardSocket(String BoardName, List<String> messages){
+        Session session = sessions.get(BoardName);
+        if (session != null && session.hold(messages)) {
+            return;
+        }
+        BoardConnection connection = routing.getConnection(BoardName);
+        if (connection == null || !connection.send(messages)) { // board disconnected in the meantime
+            for (int i = 0; i < messages.size(); i++) {
+                metrics.undeliverable();
+            }
+        }
+    }
+    
+    /**
+     * Passes a message to BoardName wherever it is connected: to its socket if it is
+     * connected to this node, or over the link to the node it is connected to otherwise.
+     * @param BoardName board to pass message to, or null to pass it to no board
+     * @param message to pass to BoardName
+     */
+    private void deliver(String BoardName, String message){
+        deliver(routing, BoardName, message);
+    }
+    
+    /**
+     * Passes a message to BoardName wherever it is connected according to table
+     * @param table routing snapshot to look BoardName up in
+     * @param BoardName board to pass message to, or null to pass it to no board
+     * @param message to pass to BoardName
+     */
+    private void deliver(RoutingTable table, String BoardName, String message){
+        deliver(table, BoardName, Collections.singletonList(message));
+    }
+    
+    /**
+     * Passes messages to BoardName wherever it is connected according to table; if it is
+     * connected to this node, they are written with one flush
+     * @param table routing snapshot to look BoardName up in
+     * @param BoardName board to pass messages to, or null to pass them to no board
+     * @param messages to pass to BoardName, in order
+     */
+    private void deliver(RoutingTable table, String BoardName, List<String> messages){
+        if (table.isConnected(BoardName)) {
+            passMessagesToBoardSocket(BoardName, messages);
+            return;
+        }
+        String node = table.getNode(BoardName);
+        PeerLink link = node == null ? null : peers.get(node);
+        for (String message : messages) {
+            if (link != null) {
+                link.send("deliver " + BoardName + " " + message);
+            } else if (BoardName != null) { // the board disconnected in the meantime
+                metrics.undeliverable();
+            }
+        }
+    }
+    
+    /**
+     * Queues a message for every other node of the federation
+     * @param message to send
+     */
+    private void broadcast(String message){
+        for (PeerLink link : peers.values()) {
+            link.send(message);
+        }
+    }
+    
+    /**
+     * @return the messages announcing every board connected to this node, sent to a
+     *         node whenever the link to it is (re)opened
+     */
+    private List<String> ownedBoardAnnouncements(){
+        List<String> announcements = new ArrayList<String>();
+        for (String board : routing.getBoards()) {
+            announcements.add("dir add " + board + " " + nodeId);
         }
+        return announcements;
+    }
+    
+    /**
+     * @param boardName name of a board
+     * @return the names of the boards joined to any wall of boardName
+     */
+    private Collection<String> neighborsOf(String boardName) {
+        return new ArrayList<String>(routing.getNeighbors(boardName).values());
     }
     
     /**
      * Blocks waiting for an user to type input on the console, and sends that input to handle request
      * Two boards can be joined side by side by the command: h NAME_left NAME_right
      * Two boards can be joined top to bottom by the command: v NAME_top NAME_bottom
+     * The numbers of live, idle and evicted board connections are printed by the command: connections
+     * Every join of a topology file, as described in Topology, is made at once by the command: load FILE
      * 
      * If an existing connection exists and you wish to overwrite, the existing connection is severed.
      * 
@@ -372,123 +1398,446 @@ public class PingballServer {
      * @return
      */
     private void userInput(){
+        BufferedReader inputStream = new BufferedReader(new InputStreamReader(System.in));
         while(true){
             String input = "";
             
-            BufferedReader inputStream = new BufferedReader(new InputStreamReader(System.in));
             try {
-                input = inputStream.readLine().trim();
+                input = inputStream.readLine();
             } catch (IOException e) {
                 e.printStackTrace();
             };
-            
-            String[] splitInput = input.split(" ");
-            if (!(splitInput.length == 3)){
-                System.out.println("Sorry, input not in correct format, must be: h NAME_left NAME_right "+
-                        "or v NAME_top NAME_bottom");
-                continue;
+            if (input == null) {
+                return; // console closed
             }
-            
-            String BoardA = splitInput[1];
-            String BoardB = splitInput[2];
-            
-            synchronized (boardSockets) {
-                if (!(boardSockets.containsKey(BoardA))) {
-                    System.out.println("Sorry, board not connected: " + BoardA);
-                    continue;
+            handleUserInput(input.trim());
+        }
+    }
+    
+    /**
+     * Handles one command typed on the console, as described in userInput
+     * @param input the command
+     */
+    void handleUserInput(String input){
+        if (input.equals("connections")){
+            System.out.println("live: " + getLiveConnectionCount() + " idle: " + getIdleConnectionCount()
+                    + " evicted: " + getEvictedConnectionCount());
+            return;
+        }
+        if (input.startsWith("load ")){
+            try {
+                int joins = applyTopology(Topology.parse(new File(input.substring("load ".length()).trim())));
+                System.out.println("Joined " + joins + " walls");
+            } catch (IOException ioe) {
+                System.out.println("Sorry, unable to read topology file: " + ioe.getMessage());
+            } catch (IllegalArgumentException iae) {
+                System.out.println("Sorry, invalid topology: " + iae.getMessage());
+            }
+            return;
+        }
+        String[] splitInput = input.split(" ");
+        if (!(splitInput.length == 3)){
+            System.out.println("Sorry, input not in correct format, must be: h NAME_left NAME_right, "+
+                    "v NAME_top NAME_bottom, load FILE or connections");
+            return;
+        }
+        
+        String BoardA = splitInput[1];
+        String BoardB = splitInput[2];
+        
+        RoutingTable table = routing;
+        if (!(table.isKnown(BoardA))) {
+            System.out.println("Sorry, board not connected: " + BoardA);
+            return;
+        }
+        if (!(table.isKnown(BoardB))) {
+            System.out.println("Sorry, board not connected: " + BoardB);
+            return;
+        }
+        
+        if (splitInput[0].equals("h")){
+            joinTwoBoards(Orientation.horizontal, BoardA, BoardB);
+        } else if (splitInput[0].equals("v")){
+            joinTwoBoards(Orientation.vertical, BoardA, BoardB);
+        }
+        // viewers watching either board's neighborhood now also watch the other board
+        subscriptions.refresh(BoardA);
+        subscriptions.refresh(BoardB);
+    }
+    
+    /**
+     * Pings every board connected to this node, and evicts the boards that have not
+     * been heard from for the read timeout or that a send has been blocked on for the
+     * write timeout, by closing their connections. Called every heartbeat interval.
+     */
+    void checkHeartbeats(){
+        long now = System.nanoTime();
+        long readTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(readTimeout);
+        long writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeout);
+        RoutingTable table = routing;
+        for (String board : table.getBoards()) {
+            Session session = sessions.get(board);
+            if (session != null && session.getState() != Session.State.attached) {
+                continue; // its connection already dropped
+            }
+            BoardConnection connection = table.getConnection(board);
+            if (connection.getReadIdleNanos(now) > readTimeoutNanos
+                    || connection.getWriteBlockedNanos(now) > writeTimeoutNanos) {
+                if (connection.close()) {
+                    evictedConnections.incrementAndGet();
+                    log.log(Category.connection, board + " stopped responding, disconnecting it");
                 }
-                if (!(boardSockets.containsKey(BoardB))) {
-                    System.out.println("Sorry, board not connected: " + BoardB);
-                    continue;
+            } else {
+                connection.trySend("ping");
+            }
+        }
+    }
+    
+    /**
+     * @return the number of boards connected to this node that answered their last heartbeat
+     */
+    public int getLiveConnectionCount(){
+        RoutingTable table = routing;
+        return table.size() - countIdle(table);
+    }
+    
+    /**
+     * @return the number of boards connected to this node that have not been heard from
+     *         for two heartbeat intervals, so missed a heartbeat, but are not evicted yet
+     */
+    public int getIdleConnectionCount(){
+        return countIdle(routing);
+    }
+    
+    /**
+     * @return the number of boards evicted from this node since it started
+     */
+    public long getEvictedConnectionCount(){
+        return evictedConnections.get();
+    }
+    
+    /**
+     * Accepts administration tools (see handleAdmin) on a port of their own, from this
+     * machine only, until the server is closed. Administration can join any boards, so it
+     * is never offered on the port boards connect to.
+     * 
+     * @param port port to accept administration tools on; 0 picks any free port
+     * @return the port administration tools are accepted on
+     * @throws IOException if the port cannot be listened on
+     */
+    public int startAdmin(int port) throws IOException {
+        ServerSocket admin = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        adminSocket = admin;
+        Thread acceptor = new Thread(() -> {
+            ExecutorService threads = newExecutor(threadMode);
+            try {
+                while (true) {
+                    Socket socket = admin.accept();
+                    threads.execute(() -> {
+                        try (Socket connection = socket) {
+                            handleAdmin(connection);
+                        } catch (IOException ioe) {
+                            ioe.printStackTrace();
+                        }
+                    });
                 }
+            } catch (IOException e) {
+                threads.shutdown(); // the server was closed
             }
-            
-            if (splitInput[0].equals("h")){
-                joinTwoBoards(Orientation.horizontal, BoardA, BoardB);
-            } else if (splitInput[0].equals("v")){
-                joinTwoBoards(Orientation.vertical, BoardA, BoardB);
+        }, "pingball-admin");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return admin.getLocalPort();
+    }
+    
+    /**
+     * Serves the metrics of this server (see getMetrics) over HTTP at /metrics, to
+     * clients on this machine only, until the server is closed.
+     * 
+     * @param port port to serve the metrics on; 0 picks any free port
+     * @return the port the metrics are served on
+     * @throws IOException if the port cannot be listened on
+     */
+    public int startMetrics(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = getMetrics().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        metricsServer = server;
+        return server.getAddress().getPort();
+    }
+    
+    /**
+     * @return the metrics of this server in the Prometheus text exposition format:
+     *         the boards connected and their joined walls, the requests routed along each
+     *         edge and the time taken to route them, the portals of the boards and the
+     *         balls sent through them, the messages waiting in session and
+     *         peer queues, the messages dropped, and the messages over a rate limit
+     */
+    String getMetrics(){
+        RoutingTable table = routing;
+        StringBuilder out = new StringBuilder();
+        String[] none = new String[0];
+        
+        ServerMetrics.describe(out, "pingball_connected_boards", "gauge", "Boards connected to this node");
+        ServerMetrics.sample(out, "pingball_connected_boards", none, table.size());
+        ServerMetrics.describe(out, "pingball_idle_boards", "gauge", "Connected boards that missed a heartbeat");
+        ServerMetrics.sample(out, "pingball_idle_boards", none, countIdle(table));
+        ServerMetrics.describe(out, "pingball_evicted_boards_total", "counter", "Boards evicted for not answering heartbeats");
+        ServerMetrics.sample(out, "pingball_evicted_boards_total", none, evictedConnections.get());
+        int joinedWalls = 0;
+        for (String board : table.getBoards()) {
+            joinedWalls += table.getNeighbors(board).size();
+        }
+        ServerMetrics.describe(out, "pingball_joined_walls", "gauge", "Walls of the connected boards joined to another board");
+        ServerMetrics.sample(out, "pingball_joined_walls", none, joinedWalls);
+        
+        ServerMetrics.describe(out, "pingball_routed_messages_total", "counter", "Requests routed from one board to another");
+        for (Map.Entry<String, Map<String, Long>> from : metrics.getEdgeMessages().entrySet()) {
+            for (Map.Entry<String, Long> edge : from.getValue().entrySet()) {
+                ServerMetrics.sample(out, "pingball_routed_messages_total",
+                        new String[] { "from", from.getKey(), "to", edge.getKey() }, edge.getValue());
+            }
+        }
+        ServerMetrics.describe(out, "pingball_route_latency_seconds", "histogram", "Time taken to route a request");
+        ServerMetrics.histogram(out, "pingball_route_latency_seconds", new String[] { "path", "decoded" },
+                metrics.getRouteLatency(false));
+        ServerMetrics.histogram(out, "pingball_route_latency_seconds", new String[] { "path", "in_place" },
+                metrics.getRouteLatency(true));
+        
+        ServerMetrics.describe(out, "pingball_board_portals", "gauge", "Portals announced by the connected boards");
+        for (String board : table.getBoards()) {
+            int portals = table.getConnection(board).getPortalCount();
+            if (portals >= 0) {
+                ServerMetrics.sample(out, "pingball_board_portals", new String[] { "board", board }, portals);
+            }
+        }
+        ServerMetrics.describe(out, "pingball_portal_balls_total", "counter",
+                "Balls sent through portals, sent on to the board they are for or bounced back");
+        ServerMetrics.sample(out, "pingball_portal_balls_total", new String[] { "outcome", "routed" },
+                metrics.getPortalBalls(false));
+        ServerMetrics.sample(out, "pingball_portal_balls_total", new String[] { "outcome", "bounced" },
+                metrics.getPortalBalls(true));
+        
+        ServerMetrics.describe(out, "pingball_session_held_messages", "gauge",
+                "Messages held for a board until its client reconnects");
+        long sessionDropped = 0;
+        for (Map.Entry<String, Session> session : sessions.entrySet()) {
+            ServerMetrics.sample(out, "pingball_session_held_messages", new String[] { "board", session.getKey() },
+                    session.getValue().getHeld());
+            sessionDropped += session.getValue().getDropped();
+        }
+        ServerMetrics.describe(out, "pingball_peer_queued_messages", "gauge", "Messages queued for another node");
+        long peerDropped = 0;
+        for (PeerLink link : peers.values()) {
+            ServerMetrics.sample(out, "pingball_peer_queued_messages", new String[] { "peer", link.getPeerId() },
+                    link.getQueued());
+            peerDropped += link.getDropped();
+        }
+        
+        ServerMetrics.describe(out, "pingball_dropped_messages_total", "counter",
+                "Messages dropped because there was no board to deliver them to, a queue was full or a write failed");
+        ServerMetrics.sample(out, "pingball_dropped_messages_total", new String[] { "reason", "undeliverable" },
+                metrics.getUndeliverable());
+        ServerMetrics.sample(out, "pingball_dropped_messages_total", new String[] { "reason", "write_failed" },
+                metrics.getWriteFailed());
+        ServerMetrics.sample(out, "pingball_dropped_messages_total", new String[] { "reason", "peer_queue_full" },
+                peerDropped);
+        ServerMetrics.describe(out, "pingball_rate_limited_messages_total", "counter",
+                "Messages from boards over a rate limit, dropped, delayed or making their board be disconnected");
+        for (FloodGuard.Limit limit : FloodGuard.Limit.values()) {
+            ServerMetrics.sample(out, "pingball_rate_limited_messages_total", new String[] { "limit", limit.name() },
+                    metrics.getLimited(limit));
+        }
+        ServerMetrics.describe(out, "pingball_session_dropped_messages", "gauge",
+                "Messages dropped because too many were held, by the sessions of the connected boards");
+        ServerMetrics.sample(out, "pingball_session_dropped_messages", none, sessionDropped);
+        return out.toString();
+    }
+    
+    /**
+     * @param table routing snapshot
+     * @return the number of boards of table not heard from for two heartbeat intervals
+     */
+    private int countIdle(RoutingTable table){
+        long now = System.nanoTime();
+        long intervalNanos = 2 * TimeUnit.MILLISECONDS.toNanos(heartbeatInterval);
+        int idle = 0;
+        for (String board : table.getBoards()) {
+            if (intervalNanos > 0 && table.getConnection(board).getReadIdleNanos(now) > intervalNanos) {
+                idle++;
             }
-
-            
         }
+        return idle;
+    }
+    
+    /**
+     * @return the number of boards currently connected to this node
+     */
+    int getConnectedBoardCount(){
+        return routing.size();
+    }
+    
+    /**
+     * @param boardName name of a board
+     * @return the session of boardName, or null if it has none on this node
+     */
+    Session getSession(String boardName){
+        return sessions.get(boardName);
+    }
+    
+    /**
+     * @return the current routing snapshot
+     */
+    RoutingTable getRouting(){
+        return routing;
     }
     
     /**
      * attempts to add two boards to board mappings; if a connection already exists on a side that we are 
-     * attempting to connect to, we sever that connection and send a disconnect message to required boards
+     * attempting to connect to, we sever that connection and send a disconnect message to required boards.
+     * Each wall is joined by the node its board is connected to.
      * @param orientation either horizontal or vertical, corresponding to the orientation of the joining
      * @param BoardA first board to add
      * @param BoardB second board to add
      */
     private void joinTwoBoards(Orientation orientation, String BoardA, String BoardB){
-        synchronized (boardSockets) {
-            if (boardSockets.containsKey(BoardA)
-                    && boardSockets.containsKey(BoardB)) {
-                if (orientation.equals(Orientation.horizontal)) {
-                    passMessageToBoardSocket(BoardA, "connect right " + BoardB);
-                    addToBoardMappings(Direction.right, BoardA, BoardB);
-                    passMessageToBoardSocket(BoardB, "connect left " + BoardA);
-                    addToBoardMappings(Direction.left, BoardB, BoardA);
+        Direction directionA = orientation.equals(Orientation.horizontal) ? Direction.right : Direction.bottom;
+        requestJoin(BoardA, directionA, BoardB);
+        requestJoin(BoardB, directionA.opposite(), BoardA);
+    }
+    
+    /**
+     * Makes every join of topology at once. The walls of boards connected to this node are
+     * joined in a single change of routing, so no message is routed with only part of the
+     * topology applied; walls of boards connected to other nodes are joined by those nodes.
+     * A board connected to this node whose wall was joined to a board that is now joined
+     * elsewhere on that side has that wall unjoined, unless topology joins it again. Every
+     * board is then sent all of its connect and disconnect messages with a single flush.
+     * 
+     * @param topology joins to make
+     * @return the number of walls joined
+     * @throws IllegalArgumentException if a board of topology is not connected to any
+     *         node, in which case nothing is joined
+     */
+    int applyTopology(Topology topology){
+        Map<String, List<String>> notifications = new LinkedHashMap<String, List<String>>();
+        List<Topology.Join> forwarded = new ArrayList<Topology.Join>();
+        RoutingTable table;
+        routingLock.lock();
+        try {
+            table = routing;
+            for (String board : topology.getBoards()) {
+                if (!table.isKnown(board)) {
+                    throw new IllegalArgumentException("board not connected: " + board);
+                }
+            }
+            Map<String, Map<Direction, String>> changes = new HashMap<String, Map<Direction, String>>();
+            for (Topology.Join join : topology.getJoins()) {
+                if (table.isConnected(join.getBoard())) {
+                    wallChanges(changes, join.getBoard()).put(join.getDirection(), join.getOther());
+                    notification(notifications, join.getBoard()).add("connect " + join.getDirection() + " " + join.getOther());
                 } else {
-                    passMessageToBoardSocket(BoardA, "connect bottom " + BoardB);
-                    addToBoardMappings(Direction.bottom, BoardA, BoardB);
-                    passMessageToBoardSocket(BoardB, "connect top " + BoardA);
-                    addToBoardMappings(Direction.top, BoardB, BoardA);
+                    forwarded.add(join);
                 }
             }
+            for (Topology.Join join : topology.getJoins()) {
+                String replaced = table.getNeighbor(join.getBoard(), join.getDirection());
+                Direction facing = join.getDirection().opposite();
+                if (replaced != null && !replaced.equals(join.getOther()) && table.isConnected(replaced)
+                        && join.getBoard().equals(table.getNeighbor(replaced, facing))
+                        && !(changes.containsKey(replaced) && changes.get(replaced).containsKey(facing))) {
+                    wallChanges(changes, replaced).put(facing, null);
+                    notification(notifications, replaced).add("disconnect " + facing);
+                }
+            }
+            table = table.withWalls(changes);
+            routing = table;
+        } finally {
+            routingLock.unlock();
+        }
+        for (Map.Entry<String, List<String>> notification : notifications.entrySet()) {
+            deliver(table, notification.getKey(), notification.getValue());
         }
+        for (Topology.Join join : forwarded) {
+            requestJoin(join.getBoard(), join.getDirection(), join.getOther());
+        }
+        for (String board : topology.getBoards()) {
+            subscriptions.refresh(board);
+        }
+        return topology.getJoins().size();
     }
     
     /**
-     * Joins BoardA to BoardB along direction ie: 
-     * addToBoardMappings(left, BoardA, BoardB):
-     * BoardB <-> BoardA
-     * @param direction in which the first is connected to the second
-     * @param BoardA first board to add
-     * @param BoardB second board to add
+     * @return the changes to the walls of board in changes, added if there are none yet
      */
-    private void addToBoardMappings(Direction direction, String BoardA, String BoardB){
-        synchronized (boardMappings) {
-            boardMappings
-                    .putIfAbsent(
-                            BoardA,
-                            Collections
-                                    .synchronizedMap(new HashMap<PingballServer.Direction, String>()));
-            Map<PingballServer.Direction, String> BoardAMap = boardMappings
-                    .get(BoardA);
-            if (BoardAMap.containsKey(direction)) {
-                passMessageToBoardSocket(BoardAMap.get(direction),
-                        "disconnect " + direction.toString());
-            }
-            BoardAMap.put(direction, BoardB);
+    private static Map<Direction, String> wallChanges(Map<String, Map<Direction, String>> changes, String board){
+        Map<Direction, String> walls = changes.get(board);
+        if (walls == null) {
+            walls = new EnumMap<Direction, String>(Direction.class);
+            changes.put(board, walls);
         }
+        return walls;
     }
     
     /**
-     * checks to make sure rep invariants hold true
+     * @return the messages for board in notifications, added if there are none yet
      */
-    private void checkRep(){
-        int numOfDuplicates = 0;
-        
-        synchronized (boardSockets) {
-            for (Socket currentSocket : boardSockets.values()) {
-                for (Socket socket : boardSockets.values()) {
-                    if (currentSocket.equals(socket)) {
-                        numOfDuplicates++;
-                    }
-                }
-                assert (numOfDuplicates == 1);
-                numOfDuplicates = 0;
-            }
+    private static List<String> notification(Map<String, List<String>> notifications, String board){
+        List<String> messages = notifications.get(board);
+        if (messages == null) {
+            messages = new ArrayList<String>();
+            notifications.put(board, messages);
         }
-        
-        synchronized (boardMappings) {
-            for (String currentBoard : boardMappings.keySet()) {
-                assert (boardSockets.containsKey(currentBoard));
-            }
-            for (Map<Direction, String> currentMap : boardMappings.values()) {
-                assert (currentMap.values().size() <= 4);
+        return messages;
+    }
+    
+    /**
+     * Joins the direction wall of board to other, on the node board is connected to
+     * @param board name of a board connected to any node
+     * @param direction wall of board
+     * @param other name of the board to join to that wall
+     */
+    private void requestJoin(String board, Direction direction, String other){
+        String node = routing.getNode(board);
+        PeerLink link = node == null ? null : peers.get(node);
+        if (link != null) {
+            link.send("join " + board + " " + direction + " " + other);
+        } else {
+            joinWall(board, direction, other);
+        }
+    }
+    
+    /**
+     * Joins BoardA to BoardB along direction ie: 
+     * joinWall(BoardA, left, BoardB):
+     * BoardB <-> BoardA
+     * BoardA is sent a connect message, and the board that was joined to that side of
+     * BoardA before, if any, a disconnect message.
+     * @param BoardA board connected to this node; if it is not, nothing is joined
+     * @param direction in which the first is connected to the second
+     * @param BoardB second board to add
+     */
+    private void joinWall(String BoardA, Direction direction, String BoardB){
+        String replaced;
+        routingLock.lock();
+        try {
+            if (!routing.isConnected(BoardA)) {
+                return;
             }
+            replaced = routing.getNeighbor(BoardA, direction);
+            routing = routing.withJoin(BoardA, direction, BoardB);
+        } finally {
+            routingLock.unlock();
         }
+        passMessageToBoardSocket(BoardA, "connect " + direction + " " + BoardB);
+        deliver(replaced, "disconnect " + direction);
     }
-}
\ No newline at end of file
+
+}
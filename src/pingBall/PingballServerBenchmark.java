@@ -0,0 +1,266 @@
+package pingBall;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import pingBall.PingballServer.FloodAction;
+import pingBall.PingballServer.ThreadMode;
+
+/**
+ * Loopback benchmark of PingballServer in each ThreadMode. For every mode it starts a
+ * server on a free port, connects simulated boards until the requested number is
+ * connected or the server stops accepting them, then joins pairs of boards side by side
+ * and measures the time a ball message takes from one board to its neighbor. Finally it
+ * passes several balls per simulated tick, once with each ball sent as its own line and
+ * flush, and once with all of a tick's balls sent as one batch frame (see
+ * Pingball.sendHandoffs), and compares their latency and throughput.
+ */
+public class PingballServerBenchmark {
+    /** Longest time to wait for the server to register the boards, in milliseconds */
+    private static final long CONNECT_TIMEOUT = 60000;
+
+    /** A simulated board: a connected socket that speaks the board protocol */
+    private static class SimulatedBoard {
+        final Socket socket;
+        final PrintWriter out;
+        final BufferedReader in;
+
+        SimulatedBoard(int port, String name) throws IOException {
+            socket = new Socket("localhost", port);
+            socket.setTcpNoDelay(true);
+            out = new PrintWriter(socket.getOutputStream(), true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            out.println("board " + name);
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     * Usage: PingballServerBenchmark [--boards N] [--pairs P] [--handoffs H] [--balls B] [--threads MODE]
+     * N is the number of boards to connect, 1000 by default.
+     * P is the number of pairs of boards passing balls concurrently, 16 by default.
+     * H is the number of balls each pair passes one at a time, and the number of ticks
+     * each pair passes B balls in, 2000 by default.
+     * B is the number of balls passed per tick, 8 by default.
+     * MODE restricts the run to one ThreadMode; both are run by default.
+     *
+     * @param args arguments as described
+     */
+    public static void main(String[] args) {
+        int boards = 1000;
+        int pairs = 16;
+        int handoffs = 2000;
+        int balls = 8;
+        List<ThreadMode> modes = new ArrayList<ThreadMode>(Arrays.asList(ThreadMode.values()));
+        Queue<String> arguments = new LinkedList<String>(Arrays.asList(args));
+        try {
+            while ( ! arguments.isEmpty()) {
+                String flag = arguments.remove();
+                try {
+                    if (flag.equals("--boards")) {
+                        boards = Integer.parseInt(arguments.remove());
+                    } else if (flag.equals("--pairs")) {
+                        pairs = Integer.parseInt(arguments.remove());
+                    } else if (flag.equals("--handoffs")) {
+                        handoffs = Integer.parseInt(arguments.remove());
+                    } else if (flag.equals("--balls")) {
+                        balls = Integer.parseInt(arguments.remove());
+                    } else if (flag.equals("--threads")) {
+                        modes = Arrays.asList(ThreadMode.valueOf(arguments.remove()));
+                    } else {
+                        throw new IllegalArgumentException("unknown option: \"" + flag + "\"");
+                    }
+                } catch (NoSuchElementException nsee) {
+                    throw new IllegalArgumentException("missing argument for " + flag);
+                }
+            }
+            if (boards < 2 * pairs || pairs < 1) {
+                throw new IllegalArgumentException("need at least one pair and two boards per pair");
+            }
+        } catch (IllegalArgumentException iae) {
+            System.err.println(iae.getMessage());
+            System.err.println("Usage: PingballServerBenchmark [--boards N] [--pairs P] [--handoffs H] [--balls B] [--threads MODE]");
+            return;
+        }
+        for (ThreadMode mode : modes) {
+            try {
+                run(mode, boards, pairs, handoffs, balls);
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Runs the benchmark against one server and prints the results. The server's own
+     * console output is discarded meanwhile, so printing does not dominate the timings.
+     *
+     * @param mode kind of thread the server handles connections on
+     * @param boards number of boards to connect
+     * @param pairs number of pairs of boards passing balls concurrently
+     * @param handoffs number of balls each pair passes one at a time, and number of ticks
+     *                 each pair passes balls in
+     * @param balls number of balls passed per tick
+     * @throws IOException if the server cannot be started
+     * @throws InterruptedException if interrupted while waiting for the server
+     */
+    private static void run(ThreadMode mode, int boards, int pairs, int handoffs, int balls)
+            throws IOException, InterruptedException {
+        PrintStream console = System.out;
+        PingballServer server = new PingballServer(0, mode);
+        server.setHeartbeat(0, 0, 0); // simulated boards do not answer heartbeats
+        server.setSessionGrace(0);
+        server.setRateLimits(0, 0, 0, FloodAction.drop); // measures routing, not the limits
+        List<SimulatedBoard> connected = new ArrayList<SimulatedBoard>();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            Thread serverThread = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        server.serve();
+                    } catch (IOException e) {
+                        // closed at the end of the run
+                    }
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+
+            long connectStart = System.nanoTime();
+            try {
+                for (int i = 0; i < boards; i++) {
+                    connected.add(new SimulatedBoard(server.getPort(), "bench" + i));
+                }
+            } catch (IOException e) {
+                console.println(mode + ": stopped connecting after " + connected.size() + " boards: " + e.getMessage());
+            }
+            long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT;
+            while (server.getConnectedBoardCount() < connected.size() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            long connectNanos = System.nanoTime() - connectStart;
+            int registered = server.getConnectedBoardCount();
+            int threadsDuring = ManagementFactory.getThreadMXBean().getThreadCount();
+            System.gc();
+            long heapUsed = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+
+            int activePairs = Math.min(pairs, registered / 2);
+            for (int p = 0; p < activePairs; p++) {
+                server.handleUserInput("h bench" + (2 * p) + " bench" + (2 * p + 1));
+                connected.get(2 * p).in.readLine(); // connect right
+                connected.get(2 * p + 1).in.readLine(); // connect left
+            }
+
+            console.println(mode + ": " + registered + "/" + boards + " boards connected in "
+                    + connectNanos / 1000000 + "ms, " + (threadsDuring - threadsBefore) + " platform threads, "
+                    + heapUsed / (1024 * 1024) + "MB heap");
+            console.println(mode + ": one ball per hand-off: "
+                    + passBalls(connected, activePairs, handoffs, 1, false));
+            console.println(mode + ": " + balls + " balls per tick, one line each: "
+                    + passBalls(connected, activePairs, handoffs, balls, false));
+            console.println(mode + ": " + balls + " balls per tick, one batch frame: "
+                    + passBalls(connected, activePairs, handoffs, balls, true));
+        } finally {
+            System.setOut(console);
+            server.close();
+            for (SimulatedBoard board : connected) {
+                board.socket.close();
+            }
+        }
+    }
+
+    /**
+     * Makes each of the first pairs pairs of boards pass balls through the right wall of
+     * its left board, one tick at a time, waiting for every ball of a tick to reach the
+     * right board before starting the next tick.
+     *
+     * @param connected simulated boards; boards 2p and 2p+1 are joined side by side for every p < pairs
+     * @param pairs number of pairs passing balls concurrently
+     * @param ticks number of ticks each pair passes balls in
+     * @param balls number of balls passed per tick
+     * @param batched true to send each tick's balls as one batch frame, false to send
+     *                and flush every ball on its own line
+     * @return the throughput, and the latency from the start of a tick to the arrival of its last ball
+     * @throws InterruptedException if interrupted while waiting for the pairs
+     */
+    private static String passBalls(List<SimulatedBoard> connected, int pairs, int ticks, int balls,
+            boolean batched) throws InterruptedException {
+        LatencyHistogram latency = new LatencyHistogram();
+        long start = System.nanoTime();
+        List<Thread> pairThreads = new ArrayList<Thread>();
+        for (int p = 0; p < pairs; p++) {
+            SimulatedBoard left = connected.get(2 * p);
+            SimulatedBoard right = connected.get(2 * p + 1);
+            String rightName = "bench" + (2 * p + 1);
+            Thread pairThread = new Thread(new Runnable() {
+                public void run() {
+                    passBalls(left, right, rightName, ticks, balls, batched, latency);
+                }
+            });
+            pairThreads.add(pairThread);
+            pairThread.start();
+        }
+        for (Thread pairThread : pairThreads) {
+            pairThread.join();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long ballsPassed = latency.getCount() * balls;
+        return ballsPassed + " balls over " + pairs + " pairs in " + elapsedNanos / 1000000 + "ms ("
+                + ballsPassed * 1000000000L / Math.max(1, elapsedNanos) + " balls/s), tick latency " + latency;
+    }
+
+    /**
+     * Passes balls through the right wall of left, one tick at a time, and records the
+     * time each tick took to arrive.
+     *
+     * @param left board sending the balls, joined to right on its right wall
+     * @param right board receiving the balls
+     * @param rightName name of right
+     * @param ticks number of ticks to pass balls in
+     * @param balls number of balls passed per tick
+     * @param batched true to send each tick's balls as one batch frame
+     * @param latency histogram the times are recorded in
+     */
+    private static void passBalls(SimulatedBoard left, SimulatedBoard right, String rightName,
+            int ticks, int balls, boolean batched, LatencyHistogram latency) {
+        List<String> tick = new ArrayList<String>();
+        for (int b = 0; b < balls; b++) {
+            tick.add("ball 19.75 " + (b + 1) + ".0 5.0 0.0 " + rightName + " right");
+        }
+        String frame = Pingball.encodeHandoffs(tick);
+        try {
+            for (int i = 0; i < ticks; i++) {
+                long start = System.nanoTime();
+                if (batched) {
+                    left.out.print(frame);
+                    left.out.flush();
+                } else {
+                    for (String ball : tick) {
+                        left.out.println(ball);
+                    }
+                }
+                for (int b = 0; b < balls; b++) {
+                    if (right.in.readLine() == null) {
+                        return;
+                    }
+                }
+                latency.record(System.nanoTime() - start);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
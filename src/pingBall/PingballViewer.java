@@ -0,0 +1,157 @@
+package pingBall;
+
+import java.awt.Dimension;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+
+import ClientGUI.GamePanel;
+
+/**
+ * A thin render client that displays a board running on another machine, using the
+ * state stream the PingballServer relays for it. The viewer never simulates anything:
+ * it only decodes frames (see BoardStateDecoder) and paints them.
+ */
+public class PingballViewer {
+    //AF:
+    //  Represents a viewer of the board named boardName; decoders maps the name of every
+    //  board this viewer receives frames for to the decoded state of that board.
+    //RI:
+    //  decoders contains boardName
+    //Thread Safety Argument:
+    //  decoders is only mutated by the receiver thread; each BoardStateDecoder is
+    //  thread safe, so the Swing event thread may paint one while it is being updated.
+    private static final int DEFAULT_PORT = 10987;
+    private static final int MAXIMUM_PORT = 65535;
+
+    private final String boardName;
+    private final Map<String, BoardStateDecoder> decoders = new HashMap<String, BoardStateDecoder>();
+    private final GamePanel gamePanel = new GamePanel();
+
+    /**
+     * Starts a viewer with the given arguments.
+     * Usage: PingballViewer [--host HOST] [--port PORT] [--neighborhood] --board BOARDNAME
+     *
+     * HOST is the hostname or IP address of the server, localhost by default.
+     * PORT is the port of the server, 10987 by default.
+     * If --neighborhood is given, the boards joined to BOARDNAME are streamed too, so the viewer
+     * holds their current state as well.
+     *
+     * @param args arguments as described
+     */
+    public static void main(String[] args) {
+        String host = "localhost";
+        int port = DEFAULT_PORT;
+        String board = null;
+        boolean neighborhood = false;
+        Queue<String> arguments = new LinkedList<String>(Arrays.asList(args));
+        try {
+            while ( ! arguments.isEmpty()) {
+                String flag = arguments.remove();
+                try {
+                    if (flag.equals("--host")) {
+                        host = arguments.remove();
+                    } else if (flag.equals("--port")) {
+                        port = Integer.parseInt(arguments.remove());
+                        if (port < 0 || port > MAXIMUM_PORT) {
+                            throw new IllegalArgumentException("port " + port + " out of range");
+                        }
+                    } else if (flag.equals("--board")) {
+                        board = arguments.remove();
+                    } else if (flag.equals("--neighborhood")) {
+                        neighborhood = true;
+                    } else {
+                        throw new IllegalArgumentException("unknown option: \"" + flag + "\"");
+                    }
+                } catch (NoSuchElementException nsee) {
+                    throw new IllegalArgumentException("missing argument for " + flag);
+                } catch (NumberFormatException nfe) {
+                    throw new IllegalArgumentException("unable to parse number for " + flag);
+                }
+            }
+            if (board == null) {
+                throw new IllegalArgumentException("missing --board");
+            }
+        } catch (IllegalArgumentException iae) {
+            System.err.println(iae.getMessage());
+            System.err.println("Usage: PingballViewer [--host HOST] [--port PORT] [--neighborhood] --board BOARDNAME");
+            return;
+        }
+        try {
+            new PingballViewer(board).view(host, port, neighborhood);
+        } catch (IOException ioe) {
+            throw new RuntimeException(ioe);
+        }
+    }
+
+    /**
+     * @param boardName name of the board to display
+     */
+    public PingballViewer(String boardName) {
+        this.boardName = boardName;
+        BoardStateDecoder decoder = new BoardStateDecoder();
+        decoders.put(boardName, decoder);
+        gamePanel.addStateDecoder(decoder);
+    }
+
+    /**
+     * Connects to the server, subscribes to the board and displays it until the
+     * server closes the connection.
+     * @param hostName of the server
+     * @param port of the server
+     * @param neighborhood true to also receive the state of the boards joined to the board
+     * @throws IOException if the connection fails
+     */
+    public void view(String hostName, int port, boolean neighborhood) throws IOException {
+        SwingUtilities.invokeLater(new Runnable() {
+            public void run() {
+                JFrame frame = new JFrame(boardName);
+                frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+                frame.setPreferredSize(new Dimension(420, 450));
+                frame.add(gamePanel);
+                frame.pack();
+                frame.setVisible(true);
+            }
+        });
+        try (Socket socket = new Socket(hostName, port)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            out.println("viewer");
+            out.println("subscribe " + boardName + (neighborhood ? " neighborhood" : ""));
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                handleFrame(line);
+            }
+        }
+    }
+
+    /**
+     * Applies a frame sent by the server to the decoder of the board it describes
+     * @param frame a state frame as described in BoardStateEncoder
+     */
+    void handleFrame(String frame) {
+        String[] splitFrame = frame.split(" ", 3);
+        if (splitFrame.length < 3 || !splitFrame[0].equals("state")) {
+            return;
+        }
+        BoardStateDecoder decoder = decoders.get(splitFrame[1]);
+        if (decoder == null) {
+            decoder = new BoardStateDecoder();
+            decoders.put(splitFrame[1], decoder);
+        }
+        decoder.decode(frame);
+        if (splitFrame[1].equals(boardName)) {
+            gamePanel.repaint();
+        }
+    }
+}
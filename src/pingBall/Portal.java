@@ -53,6 +53,17 @@ public class Portal implements Gadget{
         checkRep();
     }
 
+    /**
+     * @param board a board
+     * @return a portal like this one, on board instead, triggering nothing
+     */
+    Portal onBoard(Board board)
+    {
+        if (isLinkedToAnotherBoard)
+            return new Portal(name, x, y, otherPortalName, otherBoardName, board);
+        return new Portal(name, x, y, otherPortalName, board);
+    }
+
     /**
      * 
      * @return name of the portal
@@ -129,9 +140,12 @@ public class Portal implements Gadget{
      */
     @Override
     public void trigger() {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
         for (Gadget gadget: triggeredGadgets){
             gadget.doAction();
         }
+        event.commit(this, triggeredGadgets.size());
     }
 
     /**
@@ -143,6 +157,11 @@ public class Portal implements Gadget{
 
     }
 
+    @Override
+    public void clearTriggeredList() {
+        triggeredGadgets.clear();
+    }
+
     /**
      * @return String representation of a portal
      */
@@ -0,0 +1,76 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pingBall.ServerHarness.TestClient;
+
+public class PortalDirectoryTest {
+    // Testing strategy
+    //  Portal announcement, partition on:
+    //   1. portals: none, one, several
+    //  Portal request routed by the server, partition on:
+    //   1. board it is for: connected and has the portal, connected and lacks it,
+    //      connected without announcing its portals, not connected
+    //   2. portals of that board: announced once, announced again
+    //  The server is run in this process, and boards are simulated by loopback sockets.
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer server;
+
+    /** Announces the portals of board, and waits for the server to record them */
+    private void announce(TestClient board, String name, String... portals) throws InterruptedException {
+        board.out.println(Pingball.announcePortals(Arrays.asList(portals)));
+        String sample = "pingball_board_portals{board=\"" + name + "\"} " + portals.length + "\n";
+        await(() -> server.getMetrics().contains(sample));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    @Test
+    public void testAnnouncePortals() {
+        assertEquals("portals", Pingball.announcePortals(Collections.<String>emptyList()));
+        assertEquals("portals P", Pingball.announcePortals(Arrays.asList("P")));
+        assertEquals("portals P Q", Pingball.announcePortals(Arrays.asList("P", "Q")));
+    }
+
+    @Test // balls for a portal a board lacks are bounced by the server, in one hop
+    public void testDirectory() throws IOException, InterruptedException {
+        server = harness.start();
+        TestClient a = harness.board(server, "A");
+        TestClient b = harness.board(server, "B");
+        TestClient c = harness.board(server, "C");
+        await(() -> server.getConnectedBoardCount() == 3);
+        announce(a, "A", "P");
+        announce(b, "B", "Q");
+
+        a.out.println("portal A P B R 1.0 0.0 5"); // B lacks R
+        assertEquals("portal B R A P 1.0 0.0 5", a.in.readLine());
+        a.out.println("portal A P Gone Q 1.0 0.0"); // not connected
+        assertEquals("portal Gone Q A P 1.0 0.0 ", a.in.readLine());
+        a.out.println("portal A P C Z 1.0 0.0 5"); // C did not announce its portals
+        assertEquals("portal A P C Z 1.0 0.0 5", c.in.readLine());
+        a.out.println("portal A P B Q 1.0 0.0 5");
+        assertEquals("portal A P B Q 1.0 0.0 5", b.in.readLine());
+
+        announce(b, "B", "Q", "R");
+        a.out.println("portal A P B R 1.0 0.0 6");
+        assertEquals("portal A P B R 1.0 0.0 6", b.in.readLine());
+
+        // a ball is counted after it is sent, so B may read it first
+        await(() -> server.getMetrics().contains("pingball_portal_balls_total{outcome=\"routed\"} 3\n"));
+        String metrics = server.getMetrics();
+        assertTrue(metrics, metrics.contains("pingball_portal_balls_total{outcome=\"bounced\"} 2\n"));
+        assertFalse(metrics, metrics.contains("pingball_board_portals{board=\"C\"}"));
+    }
+}
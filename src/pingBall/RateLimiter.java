@@ -0,0 +1,56 @@
+package pingBall;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket: allows a number of events per second on average, and bursts
+ * of up to a second's worth of them. Kept as the time the bucket will next be full (the
+ * generic cell rate algorithm), so taking a token is a single compare-and-set.
+ */
+class RateLimiter {
+    //AF:
+    //  Represents a bucket holding (interval*burst - (full - now)) / interval tokens at
+    //  time now, where full is the System.nanoTime() at which it is next full, and a
+    //  token is added every interval nanoseconds.
+    //RI:
+    //  interval > 0, burst > 0
+    //Thread Safety Argument:
+    //  full is an AtomicLong only updated with compare-and-set; interval and burst are final.
+
+    private final long interval;
+    private final long burst;
+    private final AtomicLong full;
+
+    /**
+     * Makes a full bucket
+     * @param perSecond events allowed per second, on average; requires > 0
+     * @throws IllegalArgumentException if perSecond is not positive
+     */
+    RateLimiter(double perSecond) {
+        if (!(perSecond > 0)) {
+            throw new IllegalArgumentException("rate must be positive: " + perSecond);
+        }
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        this.burst = interval * Math.max(1, (long) perSecond);
+        this.full = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a token, if one is left
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be left
+     */
+    long tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = full.get();
+            long next = Math.max(current - now, 0) + interval;
+            if (next > burst) {
+                return next - burst;
+            }
+            if (full.compareAndSet(current, now + next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package pingBall;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Ellipse2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ClientGUI.ClientFrame;
+import physics.Vect;
+
+/**
+ * Hands the positions of a board's balls from the simulation to the thread painting
+ * them. After every update the simulation publishes an immutable snapshot of the balls
+ * (see publish); the painter draws each ball between its positions in the last two
+ * snapshots, according to how far it is into the next tick (see drawBalls), so balls
+ * move smoothly at any paint rate and painting never waits for the simulation.
+ * Painting runs one tick behind the simulation.
+ * Each snapshot also records the region of the board that changed since the one before
+ * it: where moved balls were and are, where rotating flippers turn, or the whole board if
+ * its connections or gadgets changed. Only that region needs painting again (see
+ * getDirtyRegion).
+ */
+public class RenderPipeline {
+    //AF:
+    //  Represents the balls of a board as of the last two snapshots published, frames.latest
+    //  and frames.previous; ballIds gives every ball seen by publish the id it has in snapshots.
+    //  lastBoard is the board of the latest snapshot, whose static layer was at
+    //  lastStaticLayerVersion and whose flippers ended at lastFlipperEnds (x, y of each in turn).
+    //RI:
+    //  frames.previous.nanos <= frames.latest.nanos
+    //Thread Safety Argument:
+    //  publish is only called by the simulation thread, the only user of ballIds,
+    //  nextBallId, lastBoard, lastStaticLayerVersion and lastFlipperEnds. Snapshots and
+    //  the pairs of them are immutable, and frames is volatile, so the painting thread
+    //  reads a consistent pair with one volatile read.
+
+    /** Default number of paints per second */
+    public static final int DEFAULT_RENDER_RATE = 60;
+    // a ball moving further than this in L between two snapshots jumped there, through a
+    // portal or another board, so it is drawn where it landed rather than on the way
+    private static final double MAXIMUM_INTERPOLATED_DISTANCE = 2.0;
+    private static final double BALL_RADIUS = 0.25;
+    private static final double FLIPPER_LENGTH = 2.0;
+    // pixels added around changed shapes, for the width of their outlines
+    private static final int MARGIN = 2;
+    private static final int BOARD_PIXELS = 20 * ClientFrame.L + 1;
+
+    /** The positions of the balls of a board after one update */
+    static class Snapshot {
+        private final long nanos;
+        private final int[] ids;
+        private final double[] xs;
+        private final double[] ys;
+        private final Rectangle dirty;
+
+        /**
+         * @param nanos System.nanoTime() when the update finished
+         * @param ids ids of the balls, ascending; owned by the snapshot from now on
+         * @param xs horizontal positions of the balls; owned by the snapshot from now on
+         * @param ys vertical positions of the balls; owned by the snapshot from now on
+         * @param dirty pixels changed since the snapshot before, or null if none did;
+         *              owned by the snapshot from now on
+         */
+        Snapshot(long nanos, int[] ids, double[] xs, double[] ys, Rectangle dirty) {
+            this.nanos = nanos;
+            this.ids = ids;
+            this.xs = xs;
+            this.ys = ys;
+            this.dirty = dirty;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * @param id id of a ball
+         * @return the index of the ball in this snapshot, or a negative number if it is not in it
+         */
+        int indexOf(int id) {
+            return Arrays.binarySearch(ids, id);
+        }
+    }
+
+    /** The last two snapshots, published together */
+    private static class Frames {
+        final Snapshot previous;
+        final Snapshot latest;
+
+        Frames(Snapshot previous, Snapshot latest) {
+            this.previous = previous;
+            this.latest = latest;
+        }
+    }
+
+    private static final Snapshot EMPTY = new Snapshot(0, new int[0], new double[0], new double[0], null);
+
+    private volatile Frames frames = new Frames(EMPTY, EMPTY);
+    private final Map<Ball, Integer> ballIds = new IdentityHashMap<Ball, Integer>();
+    private int nextBallId = 0;
+    private Board lastBoard = null;
+    private int lastStaticLayerVersion = 0;
+    private double[] lastFlipperEnds = new double[0];
+
+    /**
+     * Publishes a snapshot of the balls of board, as of now. Must be called by the thread
+     * updating board, after each update.
+     * @param board the board being simulated
+     */
+    public void publish(Board board) {
+        publish(board, System.nanoTime());
+    }
+
+    /**
+     * Publishes a snapshot of the balls of board
+     * @param board the board being simulated
+     * @param nanos System.nanoTime() when the update finished
+     */
+    void publish(Board board, long nanos) {
+        List<Ball> balls = board.getBalls();
+        int[] ids = new int[balls.size()];
+        double[] xs = new double[ids.length];
+        double[] ys = new double[ids.length];
+        Map<Ball, Integer> present = new IdentityHashMap<Ball, Integer>();
+        for (int i = 0; i < ids.length; i++) {
+            Ball ball = balls.get(i);
+            Integer id = ballIds.get(ball);
+            if (id == null) {
+                id = nextBallId++;
+            }
+            present.put(ball, id);
+            // insert by id, so snapshots can be matched by binary search
+            int j = i;
+            for (; j > 0 && ids[j - 1] > id; j--) {
+                ids[j] = ids[j - 1];
+                xs[j] = xs[j - 1];
+                ys[j] = ys[j - 1];
+            }
+            ids[j] = id;
+            xs[j] = ball.getPosition().x();
+            ys[j] = ball.getPosition().y();
+        }
+        ballIds.clear();
+        ballIds.putAll(present); // forget the balls that left
+        Snapshot latest = frames.latest;
+        frames = new Frames(latest, new Snapshot(nanos, ids, xs, ys, changes(board, latest, ids, xs, ys)));
+    }
+
+    /**
+     * @param board the board being simulated
+     * @param before the snapshot published before this one
+     * @param ids ids of the balls now, ascending
+     * @param xs horizontal positions of the balls now
+     * @param ys vertical positions of the balls now
+     * @return the pixels that changed since before, or null if none did
+     */
+    private Rectangle changes(Board board, Snapshot before, int[] ids, double[] xs, double[] ys) {
+        Rectangle dirty = null;
+        int staticLayerVersion = board.getStaticLayerVersion();
+        if (board != lastBoard || staticLayerVersion != lastStaticLayerVersion) {
+            dirty = new Rectangle(0, 0, BOARD_PIXELS, BOARD_PIXELS);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            int index = before.indexOf(ids[i]);
+            if (index < 0) {
+                dirty = union(dirty, xs[i], ys[i], BALL_RADIUS);
+            } else if (xs[i] != before.xs[index] || ys[i] != before.ys[index]) {
+                dirty = union(dirty, xs[i], ys[i], BALL_RADIUS);
+                dirty = union(dirty, before.xs[index], before.ys[index], BALL_RADIUS);
+            }
+        }
+        for (int i = 0; i < before.size(); i++) {
+            if (Arrays.binarySearch(ids, before.ids[i]) < 0) {
+                dirty = union(dirty, before.xs[i], before.ys[i], BALL_RADIUS);
+            }
+        }
+        List<Gadget> flippers = new ArrayList<Gadget>();
+        for (Gadget gadget : board.getGadgets()) {
+            if (gadget instanceof LeftFlipper || gadget instanceof RightFlipper) {
+                flippers.add(gadget);
+            }
+        }
+        double[] flipperEnds = new double[2 * flippers.size()];
+        for (int i = 0; i < flippers.size(); i++) {
+            Gadget flipper = flippers.get(i);
+            Vect end = flipper instanceof LeftFlipper ? ((LeftFlipper) flipper).getLineSegment().p2()
+                    : ((RightFlipper) flipper).getLineSegment().p2();
+            flipperEnds[2 * i] = end.x();
+            flipperEnds[2 * i + 1] = end.y();
+            if (flipperEnds.length != lastFlipperEnds.length || end.x() != lastFlipperEnds[2 * i]
+                    || end.y() != lastFlipperEnds[2 * i + 1]) {
+                // a flipper turns within the square its length spans from its position
+                dirty = union(dirty, flipper.getPosition().x(), flipper.getPosition().y(), FLIPPER_LENGTH);
+            }
+        }
+        lastBoard = board;
+        lastStaticLayerVersion = staticLayerVersion;
+        lastFlipperEnds = flipperEnds;
+        return dirty;
+    }
+
+    /**
+     * @param dirty pixels changed so far, or null if none
+     * @param x left of a shape in L
+     * @param y top of the shape in L
+     * @param size width and height of the shape in L
+     * @return dirty grown to cover the pixels of the shape, and its outline
+     */
+    private static Rectangle union(Rectangle dirty, double x, double y, double size) {
+        int c = ClientFrame.L; // multiplier for pixels
+        Rectangle shape = new Rectangle((int) Math.floor(c * x) - MARGIN, (int) Math.floor(c * y) - MARGIN,
+                (int) Math.ceil(c * size) + 2 * MARGIN + 1, (int) Math.ceil(c * size) + 2 * MARGIN + 1);
+        if (dirty == null) {
+            return shape;
+        }
+        dirty.add(shape);
+        return dirty;
+    }
+
+    /**
+     * The region to paint again: the balls are drawn somewhere between their positions
+     * in the last two snapshots, and were drawn last time between those, or between the
+     * two before, so it is what changed with either of the last two snapshots.
+     * @return the pixels that may be drawn differently than in the last paint, or null
+     *         if nothing changed in the last two snapshots
+     */
+    public Rectangle getDirtyRegion() {
+        Frames current = frames;
+        Rectangle latest = current.latest.dirty;
+        Rectangle previous = current.previous.dirty;
+        if (latest == null) {
+            return previous == null ? null : new Rectangle(previous);
+        }
+        Rectangle dirty = new Rectangle(latest);
+        if (previous != null) {
+            dirty.add(previous);
+        }
+        return dirty;
+    }
+
+    /**
+     * Draws the balls where they are at time now, one tick behind the simulation
+     * @param g2 the graphics to draw on
+     * @param now System.nanoTime() of the paint
+     */
+    public void drawBalls(Graphics2D g2, long now) {
+        Frames current = frames;
+        double alpha = interpolationFactor(current.previous, current.latest, now);
+        double[] position = new double[2];
+        int c = ClientFrame.L; // multiplier for pixels
+        g2.setColor(Color.RED);
+        for (int i = 0; i < current.latest.size(); i++) {
+            interpolate(current, i, alpha, position);
+            g2.draw(new Ellipse2D.Double(c * position[0], c * position[1], c * BALL_RADIUS, c * BALL_RADIUS));
+        }
+    }
+
+    /**
+     * @param now System.nanoTime() of a paint
+     * @return the positions the balls are drawn at at time now, keyed by ball id
+     */
+    Map<Integer, Vect> getBallPositions(long now) {
+        Frames current = frames;
+        double alpha = interpolationFactor(current.previous, current.latest, now);
+        double[] position = new double[2];
+        Map<Integer, Vect> positions = new HashMap<Integer, Vect>();
+        for (int i = 0; i < current.latest.size(); i++) {
+            interpolate(current, i, alpha, position);
+            positions.put(current.latest.ids[i], new Vect(position[0], position[1]));
+        }
+        return positions;
+    }
+
+    /**
+     * Works out where the ball at index i of frames.latest is drawn
+     * @param alpha interpolation factor, as returned by interpolationFactor
+     * @param position set to the x and y the ball is drawn at
+     */
+    private static void interpolate(Frames frames, int i, double alpha, double[] position) {
+        Snapshot previous = frames.previous;
+        Snapshot latest = frames.latest;
+        double x = latest.xs[i];
+        double y = latest.ys[i];
+        int before = previous.indexOf(latest.ids[i]);
+        if (before >= 0 && Math.hypot(x - previous.xs[before], y - previous.ys[before])
+                <= MAXIMUM_INTERPOLATED_DISTANCE) {
+            x = previous.xs[before] + alpha * (x - previous.xs[before]);
+            y = previous.ys[before] + alpha * (y - previous.ys[before]);
+        }
+        position[0] = x;
+        position[1] = y;
+    }
+
+    /**
+     * @param previous snapshot before latest
+     * @param latest last snapshot published
+     * @param now System.nanoTime() of the paint
+     * @return how far from previous to latest balls are drawn at time now: 0 at latest's
+     *         time, 1 one tick later, and never outside 0 to 1
+     */
+    static double interpolationFactor(Snapshot previous, Snapshot latest, long now) {
+        long tick = latest.getNanos() - previous.getNanos();
+        if (tick <= 0) {
+            return 1;
+        }
+        return Math.min(1, Math.max(0, (now - latest.getNanos()) / (double) tick));
+    }
+}
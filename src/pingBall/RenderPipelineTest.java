@@ -0,0 +1,133 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import ClientGUI.ClientFrame;
+import physics.Vect;
+
+public class RenderPipelineTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. time of the paint: at the latest snapshot, between it and one tick later,
+    //      more than one tick later
+    //   2. balls: in both snapshots, only in the latest, moved further than the
+    //      interpolation limit
+    //   3. snapshots published: none, one, several
+    //  Dirty region, partition on:
+    //   1. change: first snapshot or new board, ball moved, flipper turning, nothing
+    //   2. snapshot that changed: latest, previous, older
+    //  Snapshots are published with explicit times, 50ms apart.
+
+    private static final long TICK = 50_000_000;
+    private static final double EPSILON = 1e-9;
+
+    @Test // no snapshot, no balls
+    public void testEmpty() {
+        assertTrue(new RenderPipeline().getBallPositions(System.nanoTime()).isEmpty());
+    }
+
+    @Test // a ball is drawn between its last two positions, one tick behind
+    public void testInterpolation() {
+        Ball ball = new Ball(1, 1, new Vect(0, 0));
+        Board board = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(Arrays.asList(ball)), 0, 0, 0);
+        RenderPipeline pipeline = new RenderPipeline();
+        pipeline.publish(board, TICK);
+        ball.setPosition(2, 2.5);
+        pipeline.publish(board, 2 * TICK);
+
+        assertEquals(new Vect(1, 1), only(pipeline.getBallPositions(2 * TICK)));
+        Vect halfway = only(pipeline.getBallPositions(2 * TICK + TICK / 2));
+        assertEquals(1.5, halfway.x(), EPSILON);
+        assertEquals(1.75, halfway.y(), EPSILON);
+        assertEquals(new Vect(2, 2.5), only(pipeline.getBallPositions(10 * TICK)));
+    }
+
+    @Test // new balls, and balls that jumped, are drawn where they are
+    public void testNoInterpolation() {
+        Ball ball = new Ball(1, 1, new Vect(0, 0));
+        Board board = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(Arrays.asList(ball)), 0, 0, 0);
+        RenderPipeline pipeline = new RenderPipeline();
+        pipeline.publish(board, TICK);
+        assertEquals(new Vect(1, 1), only(pipeline.getBallPositions(TICK)));
+
+        ball.setPosition(15, 15);
+        pipeline.publish(board, 2 * TICK);
+        assertEquals(new Vect(15, 15), only(pipeline.getBallPositions(2 * TICK)));
+
+        Ball other = new Ball(5, 5, new Vect(0, 0));
+        board.addBall(other);
+        pipeline.publish(board, 3 * TICK);
+        Map<Integer, Vect> positions = pipeline.getBallPositions(3 * TICK);
+        assertEquals(2, positions.size());
+        assertTrue(positions.containsValue(new Vect(5, 5)));
+        assertTrue(positions.containsValue(new Vect(15, 15)));
+    }
+
+    @Test // the interpolation factor is clamped to one tick
+    public void testFactor() {
+        RenderPipeline.Snapshot previous = new RenderPipeline.Snapshot(TICK, new int[0], new double[0], new double[0], null);
+        RenderPipeline.Snapshot latest = new RenderPipeline.Snapshot(2 * TICK, new int[0], new double[0], new double[0], null);
+        assertEquals(0, RenderPipeline.interpolationFactor(previous, latest, TICK), EPSILON);
+        assertEquals(0.25, RenderPipeline.interpolationFactor(previous, latest, 2 * TICK + TICK / 4), EPSILON);
+        assertEquals(1, RenderPipeline.interpolationFactor(previous, latest, 5 * TICK), EPSILON);
+        assertEquals(1, RenderPipeline.interpolationFactor(latest, latest, 5 * TICK), EPSILON);
+    }
+
+    @Test // the whole board is dirty at first, then only where balls moved
+    public void testDirtyBalls() {
+        Ball ball = new Ball(1, 1, new Vect(0, 0));
+        Board board = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(Arrays.asList(ball)), 0, 0, 0);
+        RenderPipeline pipeline = new RenderPipeline();
+        assertNull(pipeline.getDirtyRegion());
+        pipeline.publish(board, TICK);
+        Rectangle whole = pipeline.getDirtyRegion();
+        assertTrue(whole.contains(new Rectangle(0, 0, 20 * ClientFrame.L + 1, 20 * ClientFrame.L + 1)));
+
+        ball.setPosition(2, 1);
+        pipeline.publish(board, 2 * TICK);
+        assertEquals(whole, pipeline.getDirtyRegion()); // still drawing from the first snapshot
+        pipeline.publish(board, 3 * TICK);
+        Rectangle moved = pipeline.getDirtyRegion();
+        int c = ClientFrame.L;
+        assertTrue(moved.contains(c * 1, c * 1) && moved.contains(c * 2.25, c * 1.25));
+        assertFalse(moved.contains(c * 5, c * 5));
+
+        pipeline.publish(board, 4 * TICK);
+        assertNull(pipeline.getDirtyRegion());
+    }
+
+    @Test // a turning flipper dirties its square, and a new board all of it
+    public void testDirtyFlippersAndBoard() {
+        LeftFlipper flipper = new LeftFlipper(10, 10);
+        Board board = new Board(new ArrayList<Gadget>(Arrays.asList((Gadget) flipper)), new ArrayList<Ball>(), 0, 0, 0);
+        RenderPipeline pipeline = new RenderPipeline();
+        pipeline.publish(board, TICK);
+        pipeline.publish(board, 2 * TICK);
+        pipeline.publish(board, 3 * TICK);
+        assertNull(pipeline.getDirtyRegion());
+
+        flipper.doAction();
+        flipper.updatePosition(0.02);
+        pipeline.publish(board, 4 * TICK);
+        Rectangle turned = pipeline.getDirtyRegion();
+        int c = ClientFrame.L;
+        assertTrue(turned.contains(new Rectangle(10 * c, 10 * c, 2 * c, 2 * c)));
+        assertFalse(turned.contains(c * 5, c * 5));
+
+        Board other = new Board(new ArrayList<Gadget>(), new ArrayList<Ball>(), 0, 0, 0);
+        pipeline.publish(other, 5 * TICK);
+        assertTrue(pipeline.getDirtyRegion().contains(c * 5, c * 5));
+    }
+
+    private static Vect only(Map<Integer, Vect> positions) {
+        assertEquals(1, positions.size());
+        return positions.values().iterator().next();
+    }
+}
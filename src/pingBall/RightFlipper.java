@@ -17,7 +17,8 @@ import physics.*;
  * Action: Rotates 90 degrees within the 2L by 2L bounding box
  */
 public class RightFlipper implements Gadget{
-    private LineSegment lineSegment;
+    //Volatile so the thread painting the board draws the latest position (see Board.drawGadgets)
+    private volatile LineSegment lineSegment;
     private Double angularVelocity = 0.0;
     private Double orientation = 0.0;
     private final List<Gadget> triggeredGadgets = new ArrayList<>();
@@ -262,6 +263,13 @@ public class RightFlipper implements Gadget{
         return position;
     }
 
+    /**
+     * @return the segment currently covered by the flipper, where p1() is the pivot
+     */
+    LineSegment getLineSegment() {
+        return lineSegment;
+    }
+
     /**
      * when it is triggered it will set angular velocity of flipper, to - 1080 degrees per second (from positive y axis to positive x axis) if it was vertical.
      * 1080 degrees per second if it was horizontal (positive x axis to positive y axis)
@@ -308,9 +316,12 @@ public class RightFlipper implements Gadget{
      */
     @Override
     public void trigger() {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
         for (Gadget gadget: this.triggeredGadgets){
             gadget.doAction();
         }
+        event.commit(this, this.triggeredGadgets.size());
     }
 
     /**
@@ -431,6 +442,10 @@ public class RightFlipper implements Gadget{
         triggeredGadgets.add(gadget);
     }
     @Override
+    public void clearTriggeredList() {
+        triggeredGadgets.clear();
+    }
+    @Override
     /**
      * @return false. Not a portal
      */
@@ -451,7 +466,8 @@ public class RightFlipper implements Gadget{
         
         int c = ClientFrame.L; // multiplier for pixels
         
-        g.draw(new Line2D.Double(c*this.lineSegment.p1().x(), c*this.lineSegment.p1().y(), c*this.lineSegment.p2().x(), c*this.lineSegment.p2().y()));
+        LineSegment segment = this.lineSegment;
+        g.draw(new Line2D.Double(c*segment.p1().x(), c*segment.p1().y(), c*segment.p2().x(), c*segment.p2().y()));
         
     }
 }
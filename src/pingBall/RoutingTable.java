@@ -0,0 +1,333 @@
+package pingBall;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import pingBall.PingballServer.Direction;
+
+/**
+ * An immutable snapshot of the PingballServer's routing state: the connection of every
+ * board connected to this server, the node owning every board connected to a peer server,
+ * and the board joined to each wall of the local boards. Changes produce a new snapshot,
+ * so the server can publish one with a single volatile write and route messages with a
+ * single volatile read. The names of the connected boards are also indexed by their
+ * bytes, so a message can be routed without decoding its destination into a String.
+ */
+class RoutingTable {
+    //AF:
+    //  connections maps the name of every connected board to the connection between the
+    //  server and that board's client; neighbors maps a board name and direction to the
+    //  name of the board joined to that wall of the board, ie. <board1, <left, board2>> is
+    //  joined as: board2 <-> board1; remoteBoards maps the name of every board connected to
+    //  another node of the federation to the id of that node; index holds the names
+    //  of the boards in connections, by their UTF-8 bytes
+    //RI:
+    //  every key of neighbors is a key of connections, each connection appears in connections
+    //  at most once, no inner map of neighbors is empty, and no board is a key of both
+    //  connections and remoteBoards
+    //  index holds exactly the keys of connections
+    //Thread Safety Argument:
+    //  Immutable: the maps and index are private, built in the constructor and never mutated or
+    //  exposed except through unmodifiable views.
+
+    /** The routing state of a server with no connected boards */
+    static final RoutingTable EMPTY = new RoutingTable(new HashMap<String, BoardConnection>(),
+            new HashMap<String, Map<Direction, String>>(), new HashMap<String, String>());
+
+    private final Map<String, BoardConnection> connections;
+    private final Map<String, Map<Direction, String>> neighbors;
+    private final Map<String, String> remoteBoards;
+    private final NameIndex index;
+
+    /**
+     * An open addressing hash table of board names, looked up by the bytes of a message
+     */
+    private static class NameIndex {
+        private final String[] names;
+        private final byte[][] bytes;
+        private final int mask;
+
+        /**
+         * @param boards names of the boards to index
+         */
+        NameIndex(Set<String> boards) {
+            int size = 2;
+            while (size < 2 * boards.size()) {
+                size *= 2;
+            }
+            names = new String[size];
+            bytes = new byte[size][];
+            mask = size - 1;
+            for (String board : boards) {
+                byte[] boardBytes = board.getBytes(StandardCharsets.UTF_8);
+                int slot = MessageReader.hash(boardBytes) & mask;
+                while (names[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                names[slot] = board;
+                bytes[slot] = boardBytes;
+            }
+        }
+
+        /**
+         * @return the name made of the bytes from from to to of in's current message, or
+         *         null if it is not indexed
+         */
+        String find(MessageReader in, int from, int to) {
+            for (int slot = in.hash(from, to) & mask; names[slot] != null; slot = (slot + 1) & mask) {
+                if (in.regionEquals(from, to, bytes[slot])) {
+                    return names[slot];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param connections connected boards; owned by the new table from now on
+     * @param neighbors joined walls; owned by the new table from now on
+     * @param remoteBoards boards connected to other nodes; owned by the new table from now on
+     */
+    private RoutingTable(Map<String, BoardConnection> connections, Map<String, Map<Direction, String>> neighbors,
+            Map<String, String> remoteBoards) {
+        this(connections, neighbors, remoteBoards, new NameIndex(connections.keySet()));
+    }
+
+    /**
+     * @param connections connected boards; owned by the new table from now on
+     * @param neighbors joined walls; owned by the new table from now on
+     * @param remoteBoards boards connected to other nodes; owned by the new table from now on
+     * @param index index of the keys of connections
+     */
+    private RoutingTable(Map<String, BoardConnection> connections, Map<String, Map<Direction, String>> neighbors,
+            Map<String, String> remoteBoards, NameIndex index) {
+        this.connections = connections;
+        this.neighbors = neighbors;
+        this.remoteBoards = remoteBoards;
+        this.index = index;
+        checkRep();
+    }
+
+    /**
+     * @param board name of a board
+     * @return the connection of board, or null if board is not connected to this node
+     */
+    BoardConnection getConnection(String board) {
+        return connections.get(board);
+    }
+
+    /**
+     * @param in reader whose current message holds a board name
+     * @param from index of the first byte of the name in the current message
+     * @param to index after the last byte of the name
+     * @return the name of the board connected to this node the bytes spell, or null if
+     *         they do not spell one
+     */
+    String findConnected(MessageReader in, int from, int to) {
+        return index.find(in, from, to);
+    }
+
+    /**
+     * @param board name of a board
+     * @return true if board is connected
+     */
+    boolean isConnected(String board) {
+        return connections.containsKey(board);
+    }
+
+    /**
+     * @param board name of a board
+     * @return true if board is connected to this node or to another node of the federation
+     */
+    boolean isKnown(String board) {
+        return connections.containsKey(board) || remoteBoards.containsKey(board);
+    }
+
+    /**
+     * @param board name of a board
+     * @return the id of the other node board is connected to, or null if it is not
+     *         connected to another node
+     */
+    String getNode(String board) {
+        return remoteBoards.get(board);
+    }
+
+    /**
+     * @return the number of boards connected to this node
+     */
+    int size() {
+        return connections.size();
+    }
+
+    /**
+     * @return the names of the boards connected to this node
+     */
+    Set<String> getBoards() {
+        return Collections.unmodifiableSet(connections.keySet());
+    }
+
+    /**
+     * @param board name of a board
+     * @param direction a wall of board
+     * @return the name of the board joined to that wall, or null if there is none
+     */
+    String getNeighbor(String board, Direction direction) {
+        Map<Direction, String> walls = neighbors.get(board);
+        return walls == null ? null : walls.get(direction);
+    }
+
+    /**
+     * @param board name of a board
+     * @return the boards joined to the walls of board, keyed by wall
+     */
+    Map<Direction, String> getNeighbors(String board) {
+        Map<Direction, String> walls = neighbors.get(board);
+        if (walls == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(walls);
+    }
+
+    /**
+     * @param board name of a board
+     * @param connection connection between the server and board's client
+     * @return this table with board connected over connection; if board was already
+     *         connected to this node, its connection is replaced and its joins are kept
+     */
+    RoutingTable withBoard(String board, BoardConnection connection) {
+        Map<String, BoardConnection> newConnections = new HashMap<String, BoardConnection>(connections);
+        newConnections.put(board, connection);
+        Map<String, String> newRemoteBoards = remoteBoards;
+        if (remoteBoards.containsKey(board)) {
+            newRemoteBoards = new HashMap<String, String>(remoteBoards);
+            newRemoteBoards.remove(board);
+        }
+        return new RoutingTable(newConnections, neighbors, newRemoteBoards);
+    }
+
+    /**
+     * @param board name of a board
+     * @param node id of the other node board is connected to
+     * @return this table with board connected to node instead of to any other node, or to this node
+     */
+    RoutingTable withRemoteBoard(String board, String node) {
+        RoutingTable table = connections.containsKey(board) ? withoutBoards(Collections.singleton(board)) : this;
+        Map<String, String> newRemoteBoards = new HashMap<String, String>(table.remoteBoards);
+        newRemoteBoards.put(board, node);
+        return new RoutingTable(table.connections, table.neighbors, newRemoteBoards, table.index);
+    }
+
+    /**
+     * @param board name of a board
+     * @return this table with board disconnected, from this node or any other, and every join to board removed
+     */
+    RoutingTable withoutBoard(String board) {
+        if (!isKnown(board)) {
+            return this;
+        }
+        return withoutBoards(Collections.singleton(board));
+    }
+
+    /**
+     * @param node id of another node
+     * @return this table with every board connected to node disconnected, and every join to those boards removed
+     */
+    RoutingTable withoutNode(String node) {
+        Set<String> boards = new HashSet<String>();
+        for (Map.Entry<String, String> entry : remoteBoards.entrySet()) {
+            if (entry.getValue().equals(node)) {
+                boards.add(entry.getKey());
+            }
+        }
+        if (boards.isEmpty()) {
+            return this;
+        }
+        return withoutBoards(boards);
+    }
+
+    /**
+     * @param boards names of boards
+     * @return this table with boards disconnected, from this node or any other, and every join to them removed
+     */
+    private RoutingTable withoutBoards(Set<String> boards) {
+        Map<String, BoardConnection> newConnections = new HashMap<String, BoardConnection>(connections);
+        newConnections.keySet().removeAll(boards);
+        Map<String, String> newRemoteBoards = new HashMap<String, String>(remoteBoards);
+        newRemoteBoards.keySet().removeAll(boards);
+        Map<String, Map<Direction, String>> newNeighbors = new HashMap<String, Map<Direction, String>>();
+        for (Map.Entry<String, Map<Direction, String>> entry : neighbors.entrySet()) {
+            if (boards.contains(entry.getKey())) {
+                continue;
+            }
+            if (!Collections.disjoint(entry.getValue().values(), boards)) {
+                Map<Direction, String> walls = new EnumMap<Direction, String>(entry.getValue());
+                walls.values().removeAll(boards);
+                if (!walls.isEmpty()) {
+                    newNeighbors.put(entry.getKey(), walls);
+                }
+            } else {
+                newNeighbors.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new RoutingTable(newConnections, newNeighbors, newRemoteBoards);
+    }
+
+    /**
+     * Joins the direction wall of boardA to boardB, replacing any board joined there before.
+     * Only boardA's wall is changed; boardB's walls are left alone.
+     * @param boardA name of a board connected to this node
+     * @param direction wall of boardA
+     * @param boardB name of the board to join to that wall
+     * @return this table with the join made
+     */
+    RoutingTable withJoin(String boardA, Direction direction, String boardB) {
+        Map<String, Map<Direction, String>> newNeighbors = new HashMap<String, Map<Direction, String>>(neighbors);
+        Map<Direction, String> walls = new EnumMap<Direction, String>(Direction.class);
+        walls.putAll(getNeighbors(boardA));
+        walls.put(direction, boardB);
+        newNeighbors.put(boardA, walls);
+        return new RoutingTable(connections, newNeighbors, remoteBoards, index);
+    }
+
+    /**
+     * Joins and unjoins many walls at once, copying the table only once.
+     * @param changes maps the name of a board connected to this node and one of its walls
+     *                to the name of the board to join to that wall, or to null to unjoin it
+     * @return this table with every change made
+     */
+    RoutingTable withWalls(Map<String, Map<Direction, String>> changes) {
+        Map<String, Map<Direction, String>> newNeighbors = new HashMap<String, Map<Direction, String>>(neighbors);
+        for (Map.Entry<String, Map<Direction, String>> change : changes.entrySet()) {
+            Map<Direction, String> walls = new EnumMap<Direction, String>(Direction.class);
+            walls.putAll(getNeighbors(change.getKey()));
+            for (Map.Entry<Direction, String> wall : change.getValue().entrySet()) {
+                if (wall.getValue() == null) {
+                    walls.remove(wall.getKey());
+                } else {
+                    walls.put(wall.getKey(), wall.getValue());
+                }
+            }
+            if (walls.isEmpty()) {
+                newNeighbors.remove(change.getKey());
+            } else {
+                newNeighbors.put(change.getKey(), walls);
+            }
+        }
+        return new RoutingTable(connections, newNeighbors, remoteBoards, index);
+    }
+
+    /**
+     * checks to make sure rep invariants hold true
+     */
+    private void checkRep() {
+        assert connections.keySet().containsAll(neighbors.keySet());
+        assert !neighbors.values().contains(Collections.<Direction, String>emptyMap());
+        assert new HashSet<BoardConnection>(connections.values()).size() == connections.size();
+        assert Collections.disjoint(connections.keySet(), remoteBoards.keySet());
+    }
+}
@@ -0,0 +1,103 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.net.Socket;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import pingBall.PingballServer.Direction;
+
+public class RoutingTableTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. change: connect, join, join over an existing join, many joins at once, reconnect, disconnect
+    //   2. disconnected board: has no joins, is joined to others, others are joined to it
+    //  Every change must leave the table it was made on unchanged.
+
+    private final BoardConnection connectionA = new BoardConnection(new Socket(), new ByteArrayOutputStream());
+    private final BoardConnection connectionB = new BoardConnection(new Socket(), new ByteArrayOutputStream());
+    private final BoardConnection connectionC = new BoardConnection(new Socket(), new ByteArrayOutputStream());
+
+    @Test // connecting boards leaves the old snapshot alone
+    public void testConnect() {
+        RoutingTable empty = RoutingTable.EMPTY;
+        RoutingTable table = empty.withBoard("A", connectionA).withBoard("B", connectionB);
+        assertEquals(0, empty.size());
+        assertFalse(empty.isConnected("A"));
+        assertEquals(2, table.size());
+        assertSame(connectionA, table.getConnection("A"));
+        assertNull(table.getConnection("C"));
+    }
+
+    @Test // joining replaces the board on that wall only
+    public void testJoin() {
+        RoutingTable connected = RoutingTable.EMPTY.withBoard("A", connectionA).withBoard("B", connectionB)
+                .withBoard("C", connectionC);
+        RoutingTable joined = connected.withJoin("A", Direction.right, "B").withJoin("B", Direction.left, "A");
+        assertEquals("B", joined.getNeighbor("A", Direction.right));
+        assertEquals("A", joined.getNeighbor("B", Direction.left));
+        assertNull(connected.getNeighbor("A", Direction.right));
+
+        RoutingTable rejoined = joined.withJoin("A", Direction.right, "C");
+        assertEquals("C", rejoined.getNeighbor("A", Direction.right));
+        assertEquals("B", joined.getNeighbor("A", Direction.right));
+        assertEquals(1, rejoined.getNeighbors("A").size());
+    }
+
+    @Test // reconnecting a board replaces its connection and keeps its joins
+    public void testReconnect() {
+        RoutingTable joined = RoutingTable.EMPTY.withBoard("A", connectionA).withBoard("B", connectionB)
+                .withJoin("A", Direction.right, "B").withJoin("B", Direction.left, "A");
+        RoutingTable reconnected = joined.withBoard("A", connectionC);
+        assertSame(connectionC, reconnected.getConnection("A"));
+        assertSame(connectionA, joined.getConnection("A"));
+        assertEquals("B", reconnected.getNeighbor("A", Direction.right));
+        assertEquals("A", reconnected.getNeighbor("B", Direction.left));
+        assertEquals(2, reconnected.size());
+    }
+
+    @Test // many walls are joined and unjoined at once
+    public void testWalls() {
+        RoutingTable joined = RoutingTable.EMPTY.withBoard("A", connectionA).withBoard("B", connectionB)
+                .withJoin("A", Direction.right, "B");
+        Map<String, Map<Direction, String>> changes = new HashMap<String, Map<Direction, String>>();
+        changes.put("A", new EnumMap<Direction, String>(Direction.class));
+        changes.get("A").put(Direction.right, null);
+        changes.get("A").put(Direction.left, "B");
+        changes.put("B", new EnumMap<Direction, String>(Direction.class));
+        changes.get("B").put(Direction.right, "A");
+        RoutingTable changed = joined.withWalls(changes);
+        assertNull(changed.getNeighbor("A", Direction.right));
+        assertEquals("B", changed.getNeighbor("A", Direction.left));
+        assertEquals("A", changed.getNeighbor("B", Direction.right));
+        assertEquals("B", joined.getNeighbor("A", Direction.right));
+
+        changes.clear();
+        changes.put("A", new EnumMap<Direction, String>(Direction.class));
+        changes.get("A").put(Direction.left, null);
+        assertTrue(changed.withWalls(changes).getNeighbors("A").isEmpty());
+    }
+
+    @Test // disconnecting removes the board's joins and the joins to it
+    public void testDisconnect() {
+        RoutingTable joined = RoutingTable.EMPTY.withBoard("A", connectionA).withBoard("B", connectionB)
+                .withBoard("C", connectionC)
+                .withJoin("A", Direction.right, "B").withJoin("B", Direction.left, "A")
+                .withJoin("B", Direction.bottom, "C").withJoin("C", Direction.top, "B");
+        RoutingTable withoutA = joined.withoutBoard("A");
+        assertFalse(withoutA.isConnected("A"));
+        assertTrue(withoutA.getNeighbors("A").isEmpty());
+        assertNull(withoutA.getNeighbor("B", Direction.left));
+        assertEquals("C", withoutA.getNeighbor("B", Direction.bottom));
+        assertEquals("A", joined.getNeighbor("B", Direction.left));
+
+        RoutingTable withoutC = withoutA.withoutBoard("C");
+        assertTrue(withoutC.getNeighbors("B").isEmpty());
+        assertSame(withoutC, withoutC.withoutBoard("C"));
+    }
+}
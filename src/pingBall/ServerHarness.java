@@ -0,0 +1,175 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import pingBall.PingballServer.ThreadMode;
+
+/**
+ * Runs PingballServers in the process of a test, and simulates their boards, peers and
+ * administration tools by loopback sockets. A test keeps one harness and closes it after
+ * each test case, which closes every server it started and every socket it opened.
+ */
+class ServerHarness {
+    //AF:
+    //  Represents the servers started and the sockets opened for one test case
+    //RI:
+    //  true
+    //Thread Safety Argument:
+    //  Not thread safe: a harness is only used by the thread running its test.
+
+    /** Milliseconds a test waits for a message or a condition before failing */
+    static final int TIMEOUT = 5000;
+
+    private final List<PingballServer> servers = new ArrayList<PingballServer>();
+    private final List<Socket> sockets = new ArrayList<Socket>();
+
+    /** A board, peer node or administration tool simulated by a socket */
+    class TestClient {
+        final Socket socket;
+        final PrintWriter out;
+        final BufferedReader in;
+
+        private TestClient(int port) throws IOException {
+            socket = new Socket("localhost", port);
+            socket.setSoTimeout(TIMEOUT);
+            sockets.add(socket);
+            out = new PrintWriter(socket.getOutputStream(), true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @return the next message that is not a heartbeat or session token, answering
+         *         heartbeats until then, or null if the server closed the connection
+         */
+        String readMessage() throws IOException {
+            String line = in.readLine();
+            while (line != null && (line.equals("ping") || line.startsWith("session "))) {
+                if (line.equals("ping")) {
+                    out.println("pong");
+                }
+                line = in.readLine();
+            }
+            return line;
+        }
+
+        /** @return the next count messages, in any order */
+        Set<String> readLines(int count) throws IOException {
+            Set<String> lines = new HashSet<String>();
+            for (int i = 0; i < count; i++) {
+                lines.add(in.readLine());
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * @param nodeId id of the server's node in a federation
+     * @return a server on any free port, with heartbeats and sessions off, not serving
+     *         yet, so a test can configure it before calling serve
+     */
+    PingballServer newServer(String nodeId) throws IOException {
+        return configure(new PingballServer(0, ThreadMode.platform, nodeId));
+    }
+
+    /** @return a server as newServer(nodeId) makes it, for the default node */
+    PingballServer newServer() throws IOException {
+        return configure(new PingballServer(0, ThreadMode.platform));
+    }
+
+    private PingballServer configure(PingballServer server) {
+        servers.add(server);
+        server.setHeartbeat(0, 0, 0);
+        server.setSessionGrace(0);
+        return server;
+    }
+
+    /**
+     * Serves server on a daemon thread, until the harness is closed
+     * @param server a server made by newServer
+     * @return server
+     */
+    PingballServer serve(PingballServer server) {
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                // closed after the test
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+        return server;
+    }
+
+    /** @return a server as newServer makes it, already serving */
+    PingballServer start() throws IOException {
+        return serve(newServer());
+    }
+
+    /**
+     * @param port a port of a server on this machine
+     * @return a client connected to port, which has sent nothing yet
+     */
+    TestClient connect(int port) throws IOException {
+        return new TestClient(port);
+    }
+
+    /**
+     * @param server a server
+     * @param firstLine the first message to send to the board port of server
+     * @return a client connected to server, which has sent firstLine
+     */
+    TestClient connect(PingballServer server, String firstLine) throws IOException {
+        TestClient client = new TestClient(server.getPort());
+        client.out.println(firstLine);
+        return client;
+    }
+
+    /**
+     * @param server a server
+     * @param name name of the board
+     * @return a board connected to server, which has sent "board name"
+     */
+    TestClient board(PingballServer server, String name) throws IOException {
+        return connect(server, "board " + name);
+    }
+
+    /**
+     * Waits until condition holds, failing the test after TIMEOUT milliseconds
+     * @param condition condition to wait for
+     */
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Closes every server started and every socket opened since the harness was made
+     * or last closed
+     */
+    void close() throws IOException {
+        for (PingballServer server : servers) {
+            server.close();
+        }
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        servers.clear();
+        sockets.clear();
+    }
+}
@@ -0,0 +1,251 @@
+package pingBall;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Counters the PingballServer keeps as it routes, in place of printing a line per
+ * message: the messages routed along each edge between two boards, the time taken to
+ * route them, the balls sent through portals, the messages that could not be
+ * delivered, and the messages over a rate limit (see FloodGuard). Also writes metrics in
+ * the Prometheus text exposition format (see PingballServer.getMetrics).
+ */
+class ServerMetrics {
+    //AF:
+    //  edgeMessages maps FROMBOARD to a map from TOBOARD to the number of requests from
+    //  FROMBOARD routed to TOBOARD, for boards known to the server; routeLatencies are the times taken to route them, decoded into
+    //  Strings or in place; portalRouted and portalBounced are the numbers of portal
+    //  balls sent on to their board and bounced back to the board they left; undeliverable is the number of messages dropped for want
+    //  of a board or node to deliver them to; writeFailed is the number of writes to a
+    //  board's connection that failed; limited[l.ordinal()] is the number of
+    //  messages over limit l.
+    //RI:
+    //  true
+    //Thread Safety Argument:
+    //  edgeMessages is a ConcurrentHashMap of ConcurrentHashMaps of LongAdders, the histograms are lock-free
+    //  (see LatencyHistogram) and the other counters are LongAdders, so any thread can record.
+
+    /** Upper bounds of the buckets of the routing latency histograms, in nanoseconds */
+    static final long[] LATENCY_BUCKETS = { 1000, 2500, 5000, 10000, 25000, 50000, 100000,
+            250000, 500000, 1000000, 2500000, 5000000, 10000000, 100000000 };
+
+    private final Map<String, Map<String, LongAdder>> edgeMessages =
+            new ConcurrentHashMap<String, Map<String, LongAdder>>();
+    private final LatencyHistogram decodedLatency = new LatencyHistogram();
+    private final LatencyHistogram inPlaceLatency = new LatencyHistogram();
+    private final LongAdder portalRouted = new LongAdder();
+    private final LongAdder portalBounced = new LongAdder();
+    private final LongAdder undeliverable = new LongAdder();
+    private final LongAdder writeFailed = new LongAdder();
+    private final LongAdder[] limited = new LongAdder[FloodGuard.Limit.values().length];
+
+    ServerMetrics() {
+        for (int i = 0; i < limited.length; i++) {
+            limited[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Looks up the counters of the edges from a board, for its connection to keep and
+     * pass to routed, so routing a request does not build a key
+     * @param from a board connected to the server, or null if not known
+     * @return the counters of the requests from routed to each board, or null if from is null
+     */
+    Map<String, LongAdder> edgesFrom(String from) {
+        if (from == null) {
+            return null;
+        }
+        return edgeMessages.computeIfAbsent(from, board -> new ConcurrentHashMap<String, LongAdder>());
+    }
+
+    /**
+     * Records a request routed from one board to another
+     * @param edges the counters of the board that sent the request (see edgesFrom), or null if not known
+     * @param to the board the request was routed to, or null if it is not known to the server,
+     *           so the edges counted are bounded by the boards there are
+     * @param nanos time taken to route it, in nanoseconds
+     * @param inPlace true if it was routed in place (see InPlaceRouter), false if decoded
+     */
+    void routed(Map<String, LongAdder> edges, String to, long nanos, boolean inPlace) {
+        if (edges != null && to != null) {
+            LongAdder count = edges.get(to);
+            if (count == null) {
+                count = edges.computeIfAbsent(to, board -> new LongAdder());
+            }
+            count.increment();
+        }
+        (inPlace ? inPlaceLatency : decodedLatency).record(nanos);
+    }
+
+    /**
+     * Forgets the edges from and to the boards no longer known to the server
+     * @param removed true of the names of the boards to forget
+     */
+    void removeBoards(Predicate<String> removed) {
+        edgeMessages.keySet().removeIf(removed);
+        for (Map<String, LongAdder> edges : edgeMessages.values()) {
+            edges.keySet().removeIf(removed);
+        }
+    }
+
+    /**
+     * Records a ball sent through a portal
+     * @param bounced true if it was bounced back to the board it left, because the board
+     *                it was sent to is not connected or lacks the portal; false if it was
+     *                sent on to that board
+     */
+    void portal(boolean bounced) {
+        (bounced ? portalBounced : portalRouted).increment();
+    }
+
+    /**
+     * @param bounced true for the balls bounced back, false for those sent on
+     * @return the number of balls sent through portals that were bounced back, or sent on
+     */
+    long getPortalBalls(boolean bounced) {
+        return (bounced ? portalBounced : portalRouted).sum();
+    }
+
+    /**
+     * Records a message dropped because there was no board or node to deliver it to
+     */
+    void undeliverable() {
+        undeliverable.increment();
+    }
+
+    /**
+     * Records a write to a board's connection that failed, dropping the messages it held
+     */
+    void writeFailed() {
+        writeFailed.increment();
+    }
+
+    /**
+     * Records a message over a rate limit, whether it was dropped, delayed or made its
+     * board be disconnected
+     * @param limit the limit it was over
+     */
+    void limited(FloodGuard.Limit limit) {
+        limited[limit.ordinal()].increment();
+    }
+
+    /**
+     * @return the number of requests routed along each edge, keyed by the board that sent
+     *         them and then by the board they were routed to
+     */
+    Map<String, Map<String, Long>> getEdgeMessages() {
+        Map<String, Map<String, Long>> counts = new TreeMap<String, Map<String, Long>>();
+        for (Map.Entry<String, Map<String, LongAdder>> from : edgeMessages.entrySet()) {
+            Map<String, Long> to = new TreeMap<String, Long>();
+            for (Map.Entry<String, LongAdder> edge : from.getValue().entrySet()) {
+                to.put(edge.getKey(), edge.getValue().sum());
+            }
+            if (!to.isEmpty()) {
+                counts.put(from.getKey(), to);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @param inPlace true for requests routed in place, false for decoded requests
+     * @return the time taken to route those requests
+     */
+    LatencyHistogram getRouteLatency(boolean inPlace) {
+        return inPlace ? inPlaceLatency : decodedLatency;
+    }
+
+    /**
+     * @return the number of messages dropped because there was no board or node to deliver them to
+     */
+    long getUndeliverable() {
+        return undeliverable.sum();
+    }
+
+    /**
+     * @return the number of writes to a board's connection that failed
+     */
+    long getWriteFailed() {
+        return writeFailed.sum();
+    }
+
+    /**
+     * @param limit a rate limit
+     * @return the number of messages over limit
+     */
+    long getLimited(FloodGuard.Limit limit) {
+        return limited[limit.ordinal()].sum();
+    }
+
+    /**
+     * Writes the HELP and TYPE lines of a metric
+     * @param out text to append to
+     * @param name name of the metric
+     * @param type counter, gauge or histogram
+     * @param help description of the metric
+     */
+    static void describe(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes a sample of a metric
+     * @param out text to append to
+     * @param name name of the metric
+     * @param labels the sample's labels as name, value pairs
+     * @param value the sample's value
+     */
+    static void sample(StringBuilder out, String name, String[] labels, double value) {
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Writes the samples of a histogram of latencies, in seconds, with the buckets of LATENCY_BUCKETS
+     * @param out text to append to
+     * @param name name of the metric
+     * @param labels labels of every sample, as name, value pairs
+     * @param histogram the latencies
+     */
+    static void histogram(StringBuilder out, String name, String[] labels, LatencyHistogram histogram) {
+        String[] bucketLabels = new String[labels.length + 2];
+        System.arraycopy(labels, 0, bucketLabels, 0, labels.length);
+        bucketLabels[labels.length] = "le";
+        for (long bound : LATENCY_BUCKETS) {
+            bucketLabels[labels.length + 1] = Double.toString(bound / 1e9);
+            sample(out, name + "_bucket", bucketLabels, histogram.getCountAtOrBelow(bound));
+        }
+        bucketLabels[labels.length + 1] = "+Inf";
+        sample(out, name + "_bucket", bucketLabels, histogram.getCount());
+        sample(out, name + "_sum", labels, histogram.getSum() / 1e9);
+        sample(out, name + "_count", labels, histogram.getCount());
+    }
+
+    /**
+     * @param value a label value
+     * @return value with backslashes, quotes and newlines escaped
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
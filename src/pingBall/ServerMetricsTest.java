@@ -0,0 +1,153 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pingBall.ServerHarness.TestClient;
+
+public class ServerMetricsTest {
+    // Testing strategy
+    //  ServerMetrics, partition on:
+    //   1. edges: none, one, several, to a board not known, from or to a board removed
+    //   2. latency: within the first bucket, between buckets, above the last bucket
+    //   3. label value: plain, needs escaping
+    //   4. writes to a board's connection: succeed, fail
+    //  Metrics endpoint, partition on:
+    //   1. requests routed: in place, decoded, to a board that is not connected
+    //   2. boards: connected and joined, disconnected
+    //  The server is run in this process, and boards are simulated by loopback sockets.
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer server;
+
+    private static String get(int port) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://127.0.0.1:" + port + "/metrics").toURL()
+                .openConnection();
+        try {
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain"));
+            StringBuilder body = new StringBuilder();
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    body.append(line).append('\n');
+                }
+            }
+            return body.toString();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    @Test // counts by edge, cumulative buckets in seconds, escaped labels
+    public void testFormat() {
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.routed(metrics.edgesFrom("A"), "B", 500, false);
+        metrics.routed(metrics.edgesFrom("A"), "B", 3000, false);
+        metrics.routed(metrics.edgesFrom("B"), "A", 1000000000L, false);
+        metrics.undeliverable();
+        assertEquals(Long.valueOf(2), metrics.getEdgeMessages().get("A").get("B"));
+        assertEquals(Long.valueOf(1), metrics.getEdgeMessages().get("B").get("A"));
+        assertEquals(1, metrics.getUndeliverable());
+
+        StringBuilder out = new StringBuilder();
+        ServerMetrics.histogram(out, "latency", new String[] { "path", "decoded" }, metrics.getRouteLatency(false));
+        String text = out.toString();
+        assertTrue(text, text.contains("latency_bucket{path=\"decoded\",le=\"1.0E-6\"} 1\n"));
+        assertTrue(text, text.contains("latency_bucket{path=\"decoded\",le=\"0.005\"} 2\n"));
+        assertTrue(text, text.contains("latency_bucket{path=\"decoded\",le=\"+Inf\"} 3\n"));
+        assertTrue(text, text.contains("latency_count{path=\"decoded\"} 3\n"));
+        assertEquals(0, metrics.getRouteLatency(true).getCount());
+
+        out = new StringBuilder();
+        ServerMetrics.sample(out, "boards", new String[] { "board", "a\"b" }, 1.5);
+        assertEquals("boards{board=\"a\\\"b\"} 1.5\n", out.toString());
+
+        metrics.routed(metrics.edgesFrom("B"), null, 1000, true); // not a known board
+        assertEquals(1, metrics.getEdgeMessages().get("B").size());
+        assertEquals(1, metrics.getRouteLatency(true).getCount());
+        metrics.removeBoards("A"::equals);
+        assertEquals(Collections.emptyMap(), metrics.getEdgeMessages());
+    }
+
+    @Test // the endpoint reports boards, joins, routed requests and undeliverable messages
+    public void testEndpoint() throws IOException, InterruptedException {
+        server = harness.newServer();
+        server.setHeartbeat(0, ServerHarness.TIMEOUT, ServerHarness.TIMEOUT);
+        int port = server.startMetrics(0);
+        harness.serve(server);
+
+        TestClient a = harness.board(server, "A");
+        TestClient b = harness.board(server, "B");
+        await(() -> server.getConnectedBoardCount() == 2);
+        server.handleUserInput("h A B");
+        assertEquals("connect right B", a.readMessage());
+        assertEquals("connect left A", b.readMessage());
+
+        a.out.println("ball 19.8 5.0 1.0 0.0 B right 0"); // routed in place
+        assertTrue(b.readMessage().startsWith("ball "));
+        a.out.println("ball 19.8 6.0 1.0 0.0 B right");
+        assertTrue(b.readMessage().startsWith("ball "));
+        a.out.println("portal A P Gone Q 1.0 0.0"); // Gone is not connected: decoded, and sent back to A
+        assertTrue(a.readMessage().startsWith("portal "));
+
+        String metrics = get(port);
+        assertTrue(metrics, metrics.contains("# TYPE pingball_connected_boards gauge\n"));
+        assertTrue(metrics, metrics.contains("pingball_connected_boards 2\n"));
+        assertTrue(metrics, metrics.contains("pingball_joined_walls 2\n"));
+        assertTrue(metrics, metrics.contains("pingball_routed_messages_total{from=\"A\",to=\"B\"} 2\n"));
+        assertTrue(metrics, metrics.contains("pingball_routed_messages_total{from=\"A\",to=\"A\"} 1\n"));
+        assertTrue(metrics, metrics.contains("pingball_route_latency_seconds_count{path=\"in_place\"} 2\n"));
+        assertTrue(metrics, metrics.contains("pingball_route_latency_seconds_count{path=\"decoded\"} 1\n"));
+        assertTrue(metrics, metrics.contains("pingball_dropped_messages_total{reason=\"undeliverable\"} 0\n"));
+
+        a.out.println("ball 19.8 7.0 1.0 0.0 Nobody right"); // not known: timed, but no edge
+        await(() -> server.getMetrics().contains("pingball_route_latency_seconds_count{path=\"decoded\"} 2\n"));
+        assertFalse(get(port).contains("to=\"Nobody\""));
+        b.socket.close();
+        await(() -> server.getConnectedBoardCount() == 1);
+        // the board's edges are removed just after it leaves the routing table
+        await(() -> !server.getMetrics().contains("to=\"B\""));
+        metrics = get(port);
+        assertTrue(metrics, metrics.contains("pingball_routed_messages_total{from=\"A\",to=\"A\"} 1\n"));
+    }
+
+    @Test // a write that fails is counted, and the connection reports it broken
+    public void testWriteFailed() throws IOException {
+        ServerMetrics metrics = new ServerMetrics();
+        BoardConnection connection = new BoardConnection(new Socket(), new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("broken pipe");
+            }
+        }, metrics);
+        assertFalse(connection.send(Arrays.asList("ball 0.26 5.0 1.0 0.0 left")));
+        assertFalse(connection.send(Arrays.asList("ping")));
+        assertEquals(2, metrics.getWriteFailed());
+        assertEquals(0, metrics.getUndeliverable());
+
+        BoardConnection working = new BoardConnection(new Socket(), new ByteArrayOutputStream(), metrics);
+        assertTrue(working.send(Arrays.asList("ping")));
+        assertEquals(2, metrics.getWriteFailed());
+    }
+}
@@ -0,0 +1,228 @@
+package pingBall;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The PingballServer's session with one board's client. The session outlives the
+ * client's connection: when the connection drops, the session is suspended for a grace
+ * period, during which the board stays joined and the balls sent to it are held. A
+ * client reconnecting with the session's token resumes it, and is sent what was held;
+ * otherwise the session expires at the end of the grace period.
+ */
+class Session {
+    //AF:
+    //  Represents the session identified by token, in the given state; held are the ball
+    //  and portal messages sent to the board while it was not attached, in order, of which
+    //  the dropped latest ones did not fit.
+    //RI:
+    //  held is empty when state is attached or expired
+    //  held.size() <= CAPACITY
+    //  expiry is non-null only when state is suspended
+    //Thread Safety Argument:
+    //  state, held, dropped and expiry are only changed while holding lock. state is also
+    //  volatile, so isAttached() can be read without lock by the routing fast path. resume() sends
+    //  what was held while holding lock, so messages sent after the session is attached
+    //  again are never sent before the held ones. lock is a ReentrantLock rather than a
+    //  monitor so a virtual thread replaying to a slow client does not pin its carrier thread.
+
+    /** Most messages held for a suspended board */
+    static final int CAPACITY = 1024;
+
+    /**
+     * The states of a session:
+     * attached: the board's client is connected
+     * suspended: the client's connection dropped, and the grace period is running
+     * resuming: a client reconnected with the token, and is being sent what was held
+     * expired: the grace period ended, and the board was disconnected
+     */
+    enum State{attached, suspended, resuming, expired};
+
+    private final String token;
+    private final Lock lock = new ReentrantLock();
+    private volatile State state = State.attached;
+    private final List<String> held = new ArrayList<String>();
+    private int dropped = 0;
+    private ScheduledFuture<?> expiry = null;
+
+    /**
+     * Make an attached session
+     * @param token secret identifying the session, must not contain whitespace
+     */
+    Session(String token) {
+        this.token = token;
+    }
+
+    /**
+     * @return the secret identifying this session
+     */
+    String getToken() {
+        return token;
+    }
+
+    /**
+     * @return the state of this session
+     */
+    State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of messages held until the board's client reconnects
+     */
+    int getHeld() {
+        lock.lock();
+        try {
+            return held.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of messages dropped because too many were held
+     */
+    int getDropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if the board's client is connected, read without locking, so the
+     *         answer may be out of date as soon as it is returned
+     */
+    boolean isAttached() {
+        return state == State.attached;
+    }
+
+    /**
+     * Holds messages sent to the board if it is not attached. Ball and portal messages
+     * are held, up to CAPACITY of them; the others describe joins and subscriptions,
+     * which are sent again when the session resumes, so they are dropped.
+     * @param messages messages sent to the board, in order
+     * @return false if the board is attached, so messages should be sent to it now
+     */
+    boolean hold(List<String> messages) {
+        lock.lock();
+        try {
+            if (state == State.attached) {
+                return false;
+            }
+            if (state == State.expired) {
+                return true;
+            }
+            for (String message : messages) {
+                if (!message.startsWith("ball ") && !message.startsWith("portal ")) {
+                    continue;
+                }
+                if (held.size() < CAPACITY) {
+                    held.add(message);
+                } else {
+                    dropped++;
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Suspends this session, if it is attached, until it is resumed or the grace period ends
+     * @param timer runs onExpiry
+     * @param graceMillis length of the grace period in milliseconds
+     * @param onExpiry run at the end of the grace period, unless the session was claimed
+     * @return true if this session was suspended
+     */
+    boolean suspend(ScheduledExecutorService timer, long graceMillis, Runnable onExpiry) {
+        lock.lock();
+        try {
+            if (state != State.attached) {
+                return false;
+            }
+            state = State.suspended;
+            expiry = timer.schedule(onExpiry, graceMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Claims this session for a reconnecting client, which stops the grace period. Messages
+     * sent to the board are held until the session is resumed.
+     * @param token token sent by the client
+     * @return true if token is this session's and the session has not expired
+     */
+    boolean claim(String token) {
+        lock.lock();
+        try {
+            if (!this.token.equals(token) || state == State.expired || state == State.resuming) {
+                return false;
+            }
+            if (expiry != null) {
+                expiry.cancel(false);
+                expiry = null;
+            }
+            state = State.resuming;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attaches a claimed session to the reconnected client, sending it preamble followed
+     * by every message held, with a single flush
+     * @param connection connection to the reconnected client
+     * @param preamble messages to send before the held ones
+     * @return the number of held messages sent
+     */
+    int resume(BoardConnection connection, List<String> preamble) {
+        lock.lock();
+        try {
+            List<String> messages = new ArrayList<String>(preamble);
+            messages.addAll(held);
+            connection.send(messages);
+            int replayed = held.size();
+            held.clear();
+            state = State.attached;
+            return replayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Expires this session if it is still suspended
+     * @return true if the session expired, so the board should be disconnected
+     */
+    boolean expire() {
+        lock.lock();
+        try {
+            if (state != State.suspended) {
+                return false;
+            }
+            state = State.expired;
+            expiry = null;
+            held.clear();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pingBall.ServerHarness.TestClient;
+
+public class SessionTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. how the connection ends: dropped, quit, replaced by a reconnecting client
+    //   2. reconnection: within the grace period, after it, with a wrong token, none
+    //   3. messages sent while suspended: none, balls, joins, more than CAPACITY
+    //  The server is run in this process with heartbeats off, and boards are simulated
+    //  by loopback sockets.
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer server;
+
+    private void startServer(long grace) throws IOException {
+        server = harness.newServer();
+        server.setSessionGrace(grace);
+        harness.serve(server);
+    }
+
+    /** @return the token sent in the next message of board, which must be a session message */
+    private static String readToken(TestClient board) throws IOException {
+        String[] session = board.in.readLine().split(" ");
+        assertEquals("session", session[0]);
+        return session[1];
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    /** Connects A and B, joins A left of B, and returns them with A's token */
+    private Object[] joinedBoards() throws IOException, InterruptedException {
+        TestClient a = harness.board(server, "A");
+        String token = readToken(a);
+        TestClient b = harness.board(server, "B");
+        readToken(b);
+        await(() -> server.getConnectedBoardCount() == 2);
+        server.handleUserInput("h A B");
+        assertEquals("connect right B", a.in.readLine());
+        assertEquals("connect left A", b.in.readLine());
+        return new Object[] { a, b, token };
+    }
+
+    @Test // a board reconnecting within the grace period gets its joins and the balls held for it
+    public void testResumeWithinGrace() throws IOException, InterruptedException {
+        startServer(ServerHarness.TIMEOUT * 2);
+        Object[] boards = joinedBoards();
+        TestClient a = (TestClient) boards[0];
+        TestClient b = (TestClient) boards[1];
+        a.socket.close();
+        await(() -> server.getSession("A").getState() == Session.State.suspended);
+
+        b.out.println("ball 0.1 5.0 -3.0 0.0 A left 1234");
+        b.out.println("ball 0.1 6.0 -3.0 0.0 A left 1234");
+        TestClient resumed = harness.board(server, "A " + boards[2]);
+        assertEquals(boards[2], readToken(resumed));
+        assertEquals("connect right B", resumed.in.readLine());
+        assertEquals("ball 19.74 5.0 -3.0 0.0 right 1234", resumed.in.readLine());
+        assertEquals("ball 19.74 6.0 -3.0 0.0 right 1234", resumed.in.readLine());
+
+        // B was never told A disconnected
+        resumed.out.println("ball 19.9 1.0 1.0 0.0 B right");
+        assertEquals("ball 0.26 1.0 1.0 0.0 left", b.in.readLine());
+    }
+
+    @Test // a board not reconnecting within the grace period is disconnected, and its token forgotten
+    public void testGraceExpires() throws IOException, InterruptedException {
+        startServer(100);
+        Object[] boards = joinedBoards();
+        ((TestClient) boards[0]).socket.close();
+        assertEquals("disconnect left", ((TestClient) boards[1]).in.readLine());
+        await(() -> !server.getRouting().isKnown("A"));
+
+        TestClient late = harness.board(server, "A " + boards[2]);
+        assertNotEquals(boards[2], readToken(late));
+        await(() -> server.getRouting().isConnected("A"));
+        assertNull(server.getRouting().getNeighbor("A", PingballServer.Direction.right));
+    }
+
+    @Test // a board that quits is disconnected at once
+    public void testQuit() throws IOException, InterruptedException {
+        startServer(60000);
+        Object[] boards = joinedBoards();
+        ((TestClient) boards[0]).out.println("quit");
+        assertEquals("disconnect left", ((TestClient) boards[1]).in.readLine());
+        await(() -> !server.getRouting().isKnown("A"));
+    }
+
+    @Test // a client reconnecting before the server saw the old connection drop replaces it
+    public void testReplaceHalfOpenConnection() throws IOException, InterruptedException {
+        startServer(60000);
+        Object[] boards = joinedBoards();
+        TestClient a = (TestClient) boards[0];
+        TestClient resumed = harness.board(server, "A " + boards[2]);
+        assertEquals(boards[2], readToken(resumed));
+        assertEquals("connect right B", resumed.in.readLine());
+        assertNull(a.in.readLine());
+        assertEquals("A", server.getRouting().getNeighbor("B", PingballServer.Direction.left));
+    }
+
+    @Test // a wrong token does not take over a connected board
+    public void testWrongToken() throws IOException, InterruptedException {
+        startServer(60000);
+        joinedBoards();
+        TestClient impostor = harness.board(server, "A not-the-token");
+        assertNull(impostor.in.readLine());
+        assertTrue(server.getRouting().isConnected("A"));
+    }
+
+    @Test // a suspended session holds balls and portals only, up to CAPACITY
+    public void testHold() {
+        Session session = new Session("t");
+        assertFalse(session.hold(Arrays.asList("ball 1 2 3 4")));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        assertTrue(session.suspend(timer, 60000, () -> {}));
+        timer.shutdownNow();
+        assertFalse(session.claim("u"));
+        for (int i = 0; i < Session.CAPACITY + 3; i++) {
+            assertTrue(session.hold(Arrays.asList("ball " + i + " 0 0 0", "connect left B", "keyframe")));
+        }
+        assertEquals(3, session.getDropped());
+        assertTrue(session.claim("t"));
+        assertFalse(session.expire());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(Session.CAPACITY, session.resume(new BoardConnection(new Socket(), out),
+                Collections.singletonList("session t")));
+        assertTrue(out.toString().startsWith("session t\nball 0 0 0 0\nball 1 0 0 0\n"));
+        assertEquals(Session.State.attached, session.getState());
+        assertFalse(session.hold(Arrays.asList("ball 1 2 3 4")));
+    }
+}
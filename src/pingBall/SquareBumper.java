@@ -117,9 +117,12 @@ public class SquareBumper implements Gadget{
 
     @Override
     public void trigger() {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
         for (Gadget gadget: this.triggeredGadgets){
             gadget.doAction();
         }
+        event.commit(this, this.triggeredGadgets.size());
 
     }
 
@@ -150,6 +153,11 @@ public class SquareBumper implements Gadget{
 
     }
 
+    @Override
+    public void clearTriggeredList() {
+        triggeredGadgets.clear();
+    }
+
 
     @Override
     /**
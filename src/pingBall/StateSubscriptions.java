@@ -0,0 +1,245 @@
+package pingBall;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Keeps track of which viewers are interested in which boards' state streams, and fans
+ * each state frame out to only those viewers.
+ *
+ * A viewer subscribes to a board either directly, in which case it receives that board's
+ * frames, or in neighborhood mode, in which case it also receives the frames of every board
+ * directly joined to it, so it can switch to or render them without waiting.
+ *
+ * Boards only stream while someone is watching them: a board is sent "keyframe" when a viewer
+ * needs a fresh keyframe of it, and "unwatched" when it publishes a frame nobody is interested in.
+ * Each frame is encoded once and the same bytes are written to every interested viewer.
+ */
+class StateSubscriptions {
+    //AF:
+    //  direct maps a board name to the viewers subscribed to that board alone, and
+    //  neighborhood maps a board name to the viewers subscribed to that board and its
+    //  neighbors. requested is the set of boards that have been asked for a keyframe that
+    //  has not arrived yet, and unwatched is the set of boards that have been told to stop streaming.
+    //RI:
+    //  no set in direct or neighborhood is empty
+    //  requested and unwatched are disjoint
+    //Thread Safety Argument:
+    //  Every method that touches the maps is synchronized on this object. Frames are written
+    //  to viewers outside of that lock, so a slow viewer never blocks other boards' publishers.
+
+    private final Map<String, Set<StateViewer>> direct = new HashMap<String, Set<StateViewer>>();
+    private final Map<String, Set<StateViewer>> neighborhood = new HashMap<String, Set<StateViewer>>();
+    private final Set<String> requested = new HashSet<String>();
+    private final Set<String> unwatched = new HashSet<String>();
+    private final BiConsumer<String, String> sendToBoard;
+    private final Function<String, Collection<String>> neighbors;
+
+    /**
+     * @param sendToBoard sends a message (its second argument) to the board named by its first argument
+     * @param neighbors gives the names of the boards currently joined to a board
+     */
+    StateSubscriptions(BiConsumer<String, String> sendToBoard, Function<String, Collection<String>> neighbors) {
+        this.sendToBoard = sendToBoard;
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Subscribes viewer to board, and asks every board it now watches for a keyframe
+     * @param viewer the viewer subscribing
+     * @param board name of the board to watch
+     * @param withNeighborhood true to also receive the frames of the boards joined to board
+     */
+    void subscribe(StateViewer viewer, String board, boolean withNeighborhood) {
+        List<String> toRequest = new ArrayList<String>();
+        synchronized (this) {
+            Map<String, Set<StateViewer>> subscriptions = withNeighborhood ? neighborhood : direct;
+            subscriptions.computeIfAbsent(board, k -> Collections.newSetFromMap(new IdentityHashMap<StateViewer, Boolean>()))
+                    .add(viewer);
+            List<String> watched = new ArrayList<String>();
+            watched.add(board);
+            if (withNeighborhood) {
+                watched.addAll(neighbors.apply(board));
+            }
+            for (String watchedBoard : watched) {
+                if (!viewer.isSynced(watchedBoard) && requested.add(watchedBoard)) {
+                    unwatched.remove(watchedBoard);
+                    toRequest.add(watchedBoard);
+                }
+            }
+            checkRep();
+        }
+        for (String watchedBoard : toRequest) {
+            sendToBoard.accept(watchedBoard, "keyframe");
+        }
+    }
+
+    /**
+     * Removes both kinds of subscription of viewer to board
+     * @param viewer the viewer unsubscribing
+     * @param board name of the board
+     */
+    synchronized void unsubscribe(StateViewer viewer, String board) {
+        removeFrom(direct, board, viewer);
+        removeFrom(neighborhood, board, viewer);
+        viewer.setSynced(board, false);
+        checkRep();
+    }
+
+    /**
+     * Removes every subscription of viewer, for example when it disconnects
+     * @param viewer the viewer to remove
+     */
+    synchronized void removeViewer(StateViewer viewer) {
+        for (String board : new ArrayList<String>(direct.keySet())) {
+            removeFrom(direct, board, viewer);
+        }
+        for (String board : new ArrayList<String>(neighborhood.keySet())) {
+            removeFrom(neighborhood, board, viewer);
+        }
+        checkRep();
+    }
+
+    /**
+     * Forgets the stream state of a board that disconnected; viewers will need a new
+     * keyframe once a board with that name connects again.
+     * @param board name of the board
+     */
+    synchronized void boardDisconnected(String board) {
+        requested.remove(board);
+        unwatched.remove(board);
+        for (StateViewer viewer : interestedViewers(board)) {
+            viewer.setSynced(board, false);
+        }
+        checkRep();
+    }
+
+    /**
+     * Asks board for a keyframe if some viewer watches it, for example because it just
+     * connected or was just joined to a board watched in neighborhood mode.
+     * @param board name of the board
+     */
+    void refresh(String board) {
+        synchronized (this) {
+            if (interestedViewers(board).isEmpty() || !requested.add(board)) {
+                return;
+            }
+            unwatched.remove(board);
+        }
+        sendToBoard.accept(board, "keyframe");
+    }
+
+    /**
+     * Fans a frame published by board out to the viewers interested in it. Deltas are
+     * withheld from viewers that have not received a keyframe of board yet.
+     * @param board name of the board that published the frame
+     * @param frame a state frame as described in BoardStateEncoder
+     * @return the number of viewers the frame was sent to
+     */
+    int publish(String board, String frame) {
+        boolean isKeyframe = frame.startsWith("state " + board + " key ");
+        List<StateViewer> targets;
+        boolean needKeyframe = false;
+        boolean stopStreaming = false;
+        synchronized (this) {
+            targets = interestedViewers(board);
+            if (targets.isEmpty()) {
+                requested.remove(board);
+                stopStreaming = unwatched.add(board);
+            } else if (isKeyframe) {
+                requested.remove(board);
+                for (StateViewer viewer : targets) {
+                    viewer.setSynced(board, true);
+                }
+            } else {
+                List<StateViewer> synced = new ArrayList<StateViewer>(targets.size());
+                for (StateViewer viewer : targets) {
+                    if (viewer.isSynced(board)) {
+                        synced.add(viewer);
+                    }
+                }
+                needKeyframe = synced.size() < targets.size() && requested.add(board);
+                targets = synced;
+            }
+            checkRep();
+        }
+        if (stopStreaming) {
+            sendToBoard.accept(board, "unwatched");
+        }
+        if (needKeyframe) {
+            sendToBoard.accept(board, "keyframe");
+        }
+        byte[] encoded = (frame + "\n").getBytes(StandardCharsets.UTF_8);
+        int sent = 0;
+        for (StateViewer viewer : targets) {
+            if (viewer.send(encoded)) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * @param board name of a board
+     * @return every viewer subscribed to board directly or in neighborhood mode, or
+     *         subscribed in neighborhood mode to a board joined to board
+     */
+    private List<StateViewer> interestedViewers(String board) {
+        Set<StateViewer> viewers = Collections.newSetFromMap(new IdentityHashMap<StateViewer, Boolean>());
+        Set<StateViewer> subscribers = direct.get(board);
+        if (subscribers != null) {
+            viewers.addAll(subscribers);
+        }
+        subscribers = neighborhood.get(board);
+        if (subscribers != null) {
+            viewers.addAll(subscribers);
+        }
+        if (!neighborhood.isEmpty()) {
+            for (String neighbor : neighbors.apply(board)) {
+                subscribers = neighborhood.get(neighbor);
+                if (subscribers != null) {
+                    viewers.addAll(subscribers);
+                }
+            }
+        }
+        return new ArrayList<StateViewer>(viewers);
+    }
+
+    /**
+     * Removes viewer from the subscribers of board in subscriptions
+     */
+    private static void removeFrom(Map<String, Set<StateViewer>> subscriptions, String board, StateViewer viewer) {
+        Set<StateViewer> subscribers = subscriptions.get(board);
+        if (subscribers != null) {
+            subscribers.remove(viewer);
+            if (subscribers.isEmpty()) {
+                subscriptions.remove(board);
+            }
+        }
+    }
+
+    /**
+     * Checks to make sure rep invariant holds true
+     */
+    private void checkRep() {
+        for (Set<StateViewer> subscribers : direct.values()) {
+            assert(!subscribers.isEmpty());
+        }
+        for (Set<StateViewer> subscribers : neighborhood.values()) {
+            assert(!subscribers.isEmpty());
+        }
+        for (String board : requested) {
+            assert(!unwatched.contains(board));
+        }
+    }
+}
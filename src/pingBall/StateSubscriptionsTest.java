@@ -0,0 +1,109 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class StateSubscriptionsTest {
+    // Testing strategy
+    //  Partition on:
+    //   1. subscription kind: direct, neighborhood, none
+    //   2. frame kind published: keyframe, delta before viewer is synced, delta after
+    //   3. number of interested viewers: 0, 1, >1
+    //  Messages sent to boards and bytes written to viewers are recorded and checked.
+
+    /** Records every array written to it, so tests can check that buffers are shared */
+    private static class RecordingStream extends OutputStream {
+        final List<byte[]> writes = new ArrayList<byte[]>();
+        @Override
+        public void write(int b) {
+            writes.add(new byte[] { (byte) b });
+        }
+        @Override
+        public void write(byte[] b, int off, int len) {
+            writes.add(b);
+        }
+        int frames() {
+            return writes.size();
+        }
+    }
+
+    private final List<String> boardMessages = new ArrayList<String>();
+    private final Map<String, Collection<String>> neighbors = new HashMap<String, Collection<String>>();
+    private final StateSubscriptions subscriptions = new StateSubscriptions(
+            (board, message) -> boardMessages.add(board + ":" + message),
+            board -> neighbors.getOrDefault(board, Collections.<String>emptyList()));
+
+    @Test // direct subscription: keyframe requested once, deltas withheld until it arrives
+    public void testDirectSubscription() {
+        RecordingStream out = new RecordingStream();
+        StateViewer viewer = new StateViewer(out);
+        subscriptions.subscribe(viewer, "A", false);
+        assertEquals(Arrays.asList("A:keyframe"), boardMessages);
+
+        assertEquals(0, subscriptions.publish("A", "state A delta 3"));
+        assertEquals(1, boardMessages.size()); // already requested, not asked again
+        assertEquals(1, subscriptions.publish("A", "state A key 4 0.01 1.0"));
+        assertEquals(1, subscriptions.publish("A", "state A delta 5"));
+        assertEquals(2, out.frames());
+    }
+
+    @Test // a board nobody watches is told to stop streaming, once
+    public void testUnwatchedBoard() {
+        assertEquals(0, subscriptions.publish("B", "state B key 1 0.01 1.0"));
+        assertEquals(0, subscriptions.publish("B", "state B delta 2"));
+        assertEquals(Arrays.asList("B:unwatched"), boardMessages);
+    }
+
+    @Test // neighborhood subscription also streams the boards joined to the subscribed board
+    public void testNeighborhoodSubscription() {
+        neighbors.put("A", Arrays.asList("B"));
+        neighbors.put("B", Arrays.asList("A"));
+        RecordingStream out = new RecordingStream();
+        StateViewer viewer = new StateViewer(out);
+        subscriptions.subscribe(viewer, "A", true);
+        assertTrue(boardMessages.contains("A:keyframe"));
+        assertTrue(boardMessages.contains("B:keyframe"));
+
+        assertEquals(1, subscriptions.publish("B", "state B key 1 0.01 1.0"));
+        assertEquals(0, subscriptions.publish("C", "state C key 1 0.01 1.0"));
+        assertEquals(1, out.frames());
+    }
+
+    @Test // every viewer is written the same encoded buffer
+    public void testSharedBuffer() {
+        RecordingStream out1 = new RecordingStream();
+        RecordingStream out2 = new RecordingStream();
+        subscriptions.subscribe(new StateViewer(out1), "A", false);
+        subscriptions.subscribe(new StateViewer(out2), "A", true);
+        assertEquals(1, boardMessages.size());
+
+        assertEquals(2, subscriptions.publish("A", "state A key 1 0.01 1.0"));
+        assertSame(out1.writes.get(0), out2.writes.get(0));
+    }
+
+    @Test // unsubscribing and disconnecting stop the stream
+    public void testUnsubscribe() {
+        RecordingStream out = new RecordingStream();
+        StateViewer viewer = new StateViewer(out);
+        subscriptions.subscribe(viewer, "A", false);
+        subscriptions.publish("A", "state A key 1 0.01 1.0");
+        subscriptions.unsubscribe(viewer, "A");
+        assertEquals(0, subscriptions.publish("A", "state A delta 2"));
+        assertTrue(boardMessages.contains("A:unwatched"));
+
+        subscriptions.subscribe(viewer, "A", false);
+        subscriptions.removeViewer(viewer);
+        assertEquals(0, subscriptions.publish("A", "state A key 3 0.01 1.0"));
+        assertEquals(1, out.frames());
+    }
+}
@@ -0,0 +1,81 @@
+package pingBall;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A viewer connected to the PingballServer that receives the state streams of the
+ * boards it subscribes to (see StateSubscriptions).
+ */
+class StateViewer {
+    //AF:
+    //  Represents a connected viewer; synced is the set of boards whose current
+    //  keyframe this viewer has received, so deltas of those boards can be applied.
+    //RI:
+    //  out is not null
+    //Thread Safety Argument:
+    //  send() holds sendLock while writing, so frames published by different board
+    //  threads are never interleaved on out; it is a ReentrantLock rather than a monitor
+    //  so a virtual thread blocked on a slow viewer does not pin its carrier thread.
+    //  The observers of synced are synchronized on this viewer and never block.
+
+    private final OutputStream out;
+    private final Set<String> synced = new HashSet<String>();
+    private final Lock sendLock = new ReentrantLock();
+    private volatile boolean closed = false;
+
+    /**
+     * @param out the stream frames are written to
+     */
+    StateViewer(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes an already encoded frame to this viewer. The same array may be shared by
+     * every viewer the frame is fanned out to, so it is never modified.
+     * @param frame the bytes of a frame, including its line terminator
+     * @return false if the viewer's connection is broken
+     */
+    boolean send(byte[] frame) {
+        sendLock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            out.write(frame);
+            out.flush();
+            return true;
+        } catch (IOException e) {
+            closed = true;
+            return false;
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * @param board name of a board
+     * @return true if this viewer has received the current keyframe of board
+     */
+    synchronized boolean isSynced(String board) {
+        return synced.contains(board);
+    }
+
+    /**
+     * Records whether this viewer holds the current keyframe of board
+     * @param board name of a board
+     * @param isSynced true if a keyframe of board was sent to this viewer
+     */
+    synchronized void setSynced(String board, boolean isSynced) {
+        if (isSynced) {
+            synced.add(board);
+        } else {
+            synced.remove(board);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package pingBall;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import pingBall.PingballServer.Direction;
+
+/**
+ * An immutable set of joins between boards, applied by the PingballServer all at once.
+ * A topology is written one command per line:
+ * "h LEFT RIGHT", to join the right wall of LEFT to the left wall of RIGHT
+ * "v TOP BOTTOM", to join the bottom wall of TOP to the top wall of BOTTOM
+ * "grid COLUMNS BOARD...", to lay the BOARDs out row by row in COLUMNS columns, and join
+ *   each to the boards next to it
+ * "torus COLUMNS BOARD...", to do the same as grid, and also join the boards at the end
+ *   of each row and column to the boards at its start
+ * Blank lines and lines starting with # are ignored. Each wall may be joined once.
+ */
+class Topology {
+    //AF:
+    //  Represents joining, for each join in joins, the given wall of its board to its
+    //  other board
+    //RI:
+    //  no two joins are on the same wall of the same board
+    //Thread Safety Argument:
+    //  Immutable: joins and every Join are never mutated, and only exposed as an
+    //  unmodifiable view.
+
+    /** A wall of a board and the board joined to it */
+    static class Join {
+        private final String board;
+        private final Direction direction;
+        private final String other;
+
+        /**
+         * @param board name of the board
+         * @param direction wall of board
+         * @param other name of the board joined to that wall
+         */
+        Join(String board, Direction direction, String other) {
+            this.board = board;
+            this.direction = direction;
+            this.other = other;
+        }
+
+        String getBoard() {
+            return board;
+        }
+
+        Direction getDirection() {
+            return direction;
+        }
+
+        String getOther() {
+            return other;
+        }
+
+        @Override
+        public String toString() {
+            return board + " " + direction + " " + other;
+        }
+    }
+
+    private final List<Join> joins;
+
+    private Topology(List<Join> joins) {
+        this.joins = Collections.unmodifiableList(joins);
+        checkRep();
+    }
+
+    /**
+     * @param file file containing a topology, as described above
+     * @return the topology in file
+     * @throws IOException if file cannot be read
+     * @throws IllegalArgumentException if file is not a valid topology
+     */
+    static Topology parse(File file) throws IOException {
+        return parse(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param lines lines of a topology, as described above
+     * @return the topology in lines
+     * @throws IllegalArgumentException if lines are not a valid topology, with a message
+     *         giving the number of the first invalid line
+     */
+    static Topology parse(List<String> lines) {
+        List<Join> joins = new ArrayList<Join>();
+        Set<String> walls = new HashSet<String>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            List<Join> lineJoins;
+            try {
+                lineJoins = parseLine(line.split("\\s+"));
+            } catch (IllegalArgumentException iae) {
+                throw new IllegalArgumentException("line " + (i + 1) + ": " + iae.getMessage());
+            }
+            for (Join join : lineJoins) {
+                if (!walls.add(join.getBoard() + " " + join.getDirection())) {
+                    throw new IllegalArgumentException("line " + (i + 1) + ": " + join.getDirection()
+                            + " wall of " + join.getBoard() + " is joined twice");
+                }
+                joins.add(join);
+            }
+        }
+        return new Topology(joins);
+    }
+
+    /**
+     * @param command one command of a topology, split into words
+     * @return the joins command makes, both walls of each pair of boards
+     * @throws IllegalArgumentException if command is not valid
+     */
+    private static List<Join> parseLine(String[] command) {
+        List<Join> joins = new ArrayList<Join>();
+        if ((command[0].equals("h") || command[0].equals("v")) && command.length == 3) {
+            pair(joins, command[0].equals("h") ? Direction.right : Direction.bottom, command[1], command[2]);
+        } else if ((command[0].equals("grid") || command[0].equals("torus")) && command.length >= 3) {
+            int columns;
+            try {
+                columns = Integer.parseInt(command[1]);
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException("number of columns is not a number: " + command[1]);
+            }
+            int boards = command.length - 2;
+            if (columns <= 0 || boards % columns != 0) {
+                throw new IllegalArgumentException(boards + " boards do not fill " + columns + " columns");
+            }
+            int rows = boards / columns;
+            boolean torus = command[0].equals("torus");
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    String board = command[2 + row * columns + column];
+                    if (column + 1 < columns || torus) {
+                        pair(joins, Direction.right, board, command[2 + row * columns + (column + 1) % columns]);
+                    }
+                    if (row + 1 < rows || torus) {
+                        pair(joins, Direction.bottom, board, command[2 + ((row + 1) % rows) * columns + column]);
+                    }
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("not h LEFT RIGHT, v TOP BOTTOM, grid COLUMNS BOARD..."
+                    + " or torus COLUMNS BOARD...: " + String.join(" ", command));
+        }
+        return joins;
+    }
+
+    /**
+     * Adds the joins of the direction wall of board to other, and of the opposite wall of other to board
+     */
+    private static void pair(List<Join> joins, Direction direction, String board, String other) {
+        joins.add(new Join(board, direction, other));
+        joins.add(new Join(other, direction.opposite(), board));
+    }
+
+    /**
+     * @return the joins of this topology, in the order they were written
+     */
+    List<Join> getJoins() {
+        return joins;
+    }
+
+    /**
+     * @return the names of every board joined by this topology
+     */
+    Set<String> getBoards() {
+        Set<String> boards = new LinkedHashSet<String>();
+        for (Join join : joins) {
+            boards.add(join.getBoard());
+            boards.add(join.getOther());
+        }
+        return boards;
+    }
+
+    private void checkRep() {
+        Set<String> walls = new HashSet<String>();
+        for (Join join : joins) {
+            assert walls.add(join.getBoard() + " " + join.getDirection());
+        }
+    }
+}
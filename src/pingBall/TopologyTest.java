@@ -0,0 +1,134 @@
+package pingBall;
+
+import static org.junit.Assert.*;
+import static pingBall.ServerHarness.await;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+import pingBall.PingballServer.Direction;
+import pingBall.ServerHarness.TestClient;
+
+public class TopologyTest {
+    // Testing strategy
+    //  Topology.parse, partition on:
+    //   1. command: h, v, grid, torus, comment or blank, invalid
+    //   2. grid size: one row, one column, several of both
+    //   3. walls: each joined once, one joined twice
+    //  applyTopology through the administration port, partition on:
+    //   1. boards: all connected, one not connected
+    //   2. walls joined before: none, joined to a board now joined elsewhere
+    //  The server is run in this process, with boards simulated by loopback sockets.
+
+    private final ServerHarness harness = new ServerHarness();
+    private PingballServer server;
+
+    /** Starts the server and connects the boards named */
+    private List<TestClient> startServer(String... boards) throws IOException, InterruptedException {
+        server = harness.start();
+        List<TestClient> clients = new ArrayList<TestClient>();
+        for (String board : boards) {
+            clients.add(harness.board(server, board));
+        }
+        await(() -> server.getConnectedBoardCount() == boards.length);
+        return clients;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        harness.close();
+    }
+
+    private static Set<String> joins(Topology topology) {
+        Set<String> joins = new HashSet<String>();
+        for (Topology.Join join : topology.getJoins()) {
+            joins.add(join.toString());
+        }
+        return joins;
+    }
+
+    @Test // h and v join both walls, comments and blank lines are ignored
+    public void testPairs() {
+        Topology topology = Topology.parse(Arrays.asList("# two pairs", "h A B", "", "  v A C"));
+        assertEquals(new HashSet<String>(Arrays.asList("A right B", "B left A", "A bottom C", "C top A")),
+                joins(topology));
+        assertEquals(new HashSet<String>(Arrays.asList("A", "B", "C")), topology.getBoards());
+    }
+
+    @Test // a grid joins neighbors only, a torus also wraps around
+    public void testGridAndTorus() {
+        assertEquals(new HashSet<String>(Arrays.asList("A right B", "B left A", "B right C", "C left B")),
+                joins(Topology.parse(Arrays.asList("grid 3 A B C"))));
+        assertEquals(new HashSet<String>(Arrays.asList("A bottom B", "B top A")),
+                joins(Topology.parse(Arrays.asList("grid 1 A B"))));
+        assertEquals(2 * (2 * 2 + 1 * 3), Topology.parse(Arrays.asList("grid 3 A B C D E F")).getJoins().size());
+        assertEquals(2 * 2 * 6, Topology.parse(Arrays.asList("torus 3 A B C D E F")).getJoins().size());
+    }
+
+    @Test // invalid topologies are refused with the number of the line at fault
+    public void testInvalid() {
+        for (List<String> lines : Arrays.asList(Arrays.asList("h A B", "x A B"),
+                Arrays.asList("h A B", "grid 2 A B C"), Arrays.asList("h A B", "grid two A B"),
+                Arrays.asList("h A B", "h A C"))) {
+            try {
+                Topology.parse(lines);
+                fail("parsed " + lines);
+            } catch (IllegalArgumentException iae) {
+                assertTrue(iae.getMessage(), iae.getMessage().startsWith("line 2: "));
+            }
+        }
+    }
+
+    @Test // a torus is applied at once, and each board told all of its joins
+    public void testApplyTorus() throws IOException, InterruptedException {
+        List<TestClient> boards = startServer("A", "B", "C", "D");
+        TestClient admin = harness.connect(server.startAdmin(0));
+        admin.out.println("topology 2");
+        admin.out.println("# 2x2");
+        admin.out.println("torus 2 A B C D");
+        assertEquals("ok 16", admin.in.readLine());
+        assertEquals(new HashSet<String>(Arrays.asList("connect right B", "connect left B", "connect bottom C",
+                "connect top C")), boards.get(0).readLines(4));
+        assertEquals(new HashSet<String>(Arrays.asList("connect right C", "connect left C", "connect bottom B",
+                "connect top B")), boards.get(3).readLines(4));
+        assertEquals("D", server.getRouting().getNeighbor("C", Direction.left));
+    }
+
+    @Test // nothing is joined if a board is not connected
+    public void testApplyUnknownBoard() throws IOException, InterruptedException {
+        startServer("A", "B");
+        TestClient admin = harness.connect(server.startAdmin(0));
+        admin.out.println("topology 1");
+        admin.out.println("grid 3 A B Z");
+        assertEquals("error board not connected: Z", admin.in.readLine());
+        assertNull(server.getRouting().getNeighbor("A", Direction.right));
+        admin.out.println("boards");
+        String[] boards = admin.in.readLine().split(" ");
+        assertEquals("boards", boards[0]);
+        assertEquals(new HashSet<String>(Arrays.asList("A", "B")), new HashSet<String>(Arrays.asList(boards).subList(1, 3)));
+    }
+
+    @Test // a board whose neighbor is joined elsewhere has its wall unjoined
+    public void testApplyReplacesJoin() throws IOException, InterruptedException {
+        List<TestClient> boards = startServer("A", "B", "C");
+        TestClient admin = harness.connect(server.startAdmin(0));
+        admin.out.println("join h A B");
+        assertEquals("ok 2", admin.in.readLine());
+        assertEquals("connect right B", boards.get(0).in.readLine());
+        assertEquals("connect left A", boards.get(1).in.readLine());
+
+        admin.out.println("join h A C");
+        assertEquals("ok 2", admin.in.readLine());
+        assertEquals("connect right C", boards.get(0).in.readLine());
+        assertEquals("disconnect left", boards.get(1).in.readLine());
+        assertEquals("connect left A", boards.get(2).in.readLine());
+        assertNull(server.getRouting().getNeighbor("B", Direction.left));
+    }
+}
@@ -98,6 +98,13 @@ public class TriangleBumper implements Gadget{
         return new Vect(this.x, this.y);
     }
 
+    /**
+     * @return the orientation of the bumper, one of 0, 90, 180 or 270
+     */
+    double getOrientation() {
+        return this.orientation;
+    }
+
     @Override
     public void doAction() {
         // do nothing
@@ -120,9 +127,12 @@ public class TriangleBumper implements Gadget{
 
     @Override
     public void trigger() {
+        FlightEvents.Trigger event = new FlightEvents.Trigger();
+        event.begin();
         for (Gadget gadget: this.triggeredGadgets){
             gadget.doAction();
         }
+        event.commit(this, this.triggeredGadgets.size());
     }
 
     @Override
@@ -154,6 +164,11 @@ public class TriangleBumper implements Gadget{
         triggeredGadgets.add(gadget);
 
     }
+
+    @Override
+    public void clearTriggeredList() {
+        triggeredGadgets.clear();
+    }
     @Override
     /**
      * @return false. Not a portal
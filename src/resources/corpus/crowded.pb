@@ -0,0 +1,200 @@
+# generated by BoardGenerator: crowded, 1 board, density 0.05, 150 balls, 2 flippers, fan-out 1, 0 portals
+board name=crowded gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=14 y=9 orientation=270
+rightFlipper name=Flip1 x=10 y=7 orientation=90
+circleBumper name=Bumper0 x=8 y=19
+triangleBumper name=Bumper1 x=12 y=12 orientation=270
+triangleBumper name=Bumper2 x=14 y=7 orientation=180
+circleBumper name=Bumper3 x=8 y=18
+triangleBumper name=Bumper4 x=2 y=16 orientation=180
+squareBumper name=Bumper5 x=1 y=12
+triangleBumper name=Bumper6 x=4 y=18 orientation=0
+squareBumper name=Bumper7 x=16 y=12
+squareBumper name=Bumper8 x=13 y=0
+circleBumper name=Bumper9 x=16 y=15
+squareBumper name=Bumper10 x=19 y=3
+squareBumper name=Bumper11 x=4 y=3
+circleBumper name=Bumper12 x=10 y=3
+triangleBumper name=Bumper13 x=14 y=16 orientation=90
+squareBumper name=Bumper14 x=5 y=15
+triangleBumper name=Bumper15 x=4 y=10 orientation=90
+squareBumper name=Bumper16 x=8 y=13
+circleBumper name=Bumper17 x=7 y=1
+triangleBumper name=Bumper18 x=0 y=18 orientation=270
+triangleBumper name=Bumper19 x=15 y=6 orientation=180
+ball name=Ball0 x=15.5 y=11.5 xVelocity=13 yVelocity=15
+ball name=Ball1 x=14.5 y=13.5 xVelocity=-2 yVelocity=11
+ball name=Ball2 x=11.5 y=17.5 xVelocity=-2 yVelocity=-11
+ball name=Ball3 x=1.5 y=3.5 xVelocity=13 yVelocity=8
+ball name=Ball4 x=10.5 y=6.5 xVelocity=2 yVelocity=3
+ball name=Ball5 x=6.5 y=15.5 xVelocity=14 yVelocity=0
+ball name=Ball6 x=5.5 y=13.5 xVelocity=-8 yVelocity=8
+ball name=Ball7 x=17.5 y=19.5 xVelocity=14 yVelocity=-11
+ball name=Ball8 x=5.5 y=8.5 xVelocity=-6 yVelocity=5
+ball name=Ball9 x=0.5 y=17.5 xVelocity=10 yVelocity=9
+ball name=Ball10 x=2.5 y=8.5 xVelocity=3 yVelocity=10
+ball name=Ball11 x=16.5 y=8.5 xVelocity=5 yVelocity=2
+ball name=Ball12 x=6.5 y=12.5 xVelocity=-7 yVelocity=7
+ball name=Ball13 x=2.5 y=17.5 xVelocity=12 yVelocity=11
+ball name=Ball14 x=7.5 y=8.5 xVelocity=0 yVelocity=-2
+ball name=Ball15 x=5.5 y=9.5 xVelocity=12 yVelocity=8
+ball name=Ball16 x=18.5 y=18.5 xVelocity=14 yVelocity=9
+ball name=Ball17 x=16.5 y=5.5 xVelocity=-14 yVelocity=11
+ball name=Ball18 x=17.5 y=15.5 xVelocity=4 yVelocity=-12
+ball name=Ball19 x=7.5 y=9.5 xVelocity=13 yVelocity=-5
+ball name=Ball20 x=8.5 y=2.5 xVelocity=9 yVelocity=-14
+ball name=Ball21 x=9.5 y=1.5 xVelocity=1 yVelocity=10
+ball name=Ball22 x=15.5 y=1.5 xVelocity=3 yVelocity=4
+ball name=Ball23 x=3.5 y=11.5 xVelocity=4 yVelocity=-6
+ball name=Ball24 x=13.5 y=19.5 xVelocity=9 yVelocity=-1
+ball name=Ball25 x=8.5 y=4.5 xVelocity=-14 yVelocity=-15
+ball name=Ball26 x=0.5 y=4.5 xVelocity=-7 yVelocity=2
+ball name=Ball27 x=12.5 y=15.5 xVelocity=10 yVelocity=2
+ball name=Ball28 x=0.5 y=15.5 xVelocity=0 yVelocity=13
+ball name=Ball29 x=11.5 y=3.5 xVelocity=3 yVelocity=13
+ball name=Ball30 x=2.5 y=5.5 xVelocity=13 yVelocity=3
+ball name=Ball31 x=19.5 y=14.5 xVelocity=-8 yVelocity=-11
+ball name=Ball32 x=19.5 y=8.5 xVelocity=-10 yVelocity=10
+ball name=Ball33 x=17.5 y=14.5 xVelocity=-15 yVelocity=13
+ball name=Ball34 x=2.5 y=15.5 xVelocity=-2 yVelocity=3
+ball name=Ball35 x=6.5 y=4.5 xVelocity=-6 yVelocity=-8
+ball name=Ball36 x=11.5 y=6.5 xVelocity=-12 yVelocity=-11
+ball name=Ball37 x=18.5 y=8.5 xVelocity=1 yVelocity=4
+ball name=Ball38 x=19.5 y=4.5 xVelocity=11 yVelocity=-8
+ball name=Ball39 x=18.5 y=14.5 xVelocity=2 yVelocity=11
+ball name=Ball40 x=12.5 y=5.5 xVelocity=-11 yVelocity=-8
+ball name=Ball41 x=15.5 y=19.5 xVelocity=-2 yVelocity=-9
+ball name=Ball42 x=2.5 y=4.5 xVelocity=-15 yVelocity=8
+ball name=Ball43 x=18.5 y=13.5 xVelocity=4 yVelocity=-7
+ball name=Ball44 x=4.5 y=13.5 xVelocity=7 yVelocity=2
+ball name=Ball45 x=10.5 y=0.5 xVelocity=-1 yVelocity=3
+ball name=Ball46 x=17.5 y=7.5 xVelocity=8 yVelocity=0
+ball name=Ball47 x=0.5 y=1.5 xVelocity=-13 yVelocity=-7
+ball name=Ball48 x=2.5 y=10.5 xVelocity=10 yVelocity=7
+ball name=Ball49 x=4.5 y=15.5 xVelocity=12 yVelocity=-4
+ball name=Ball50 x=1.5 y=11.5 xVelocity=-5 yVelocity=-13
+ball name=Ball51 x=5.5 y=2.5 xVelocity=4 yVelocity=6
+ball name=Ball52 x=11.5 y=18.5 xVelocity=-7 yVelocity=-3
+ball name=Ball53 x=2.5 y=11.5 xVelocity=-2 yVelocity=-14
+ball name=Ball54 x=6.5 y=5.5 xVelocity=-6 yVelocity=-6
+ball name=Ball55 x=14.5 y=12.5 xVelocity=-7 yVelocity=7
+ball name=Ball56 x=18.5 y=15.5 xVelocity=-9 yVelocity=10
+ball name=Ball57 x=4.5 y=11.5 xVelocity=10 yVelocity=1
+ball name=Ball58 x=13.5 y=12.5 xVelocity=15 yVelocity=-6
+ball name=Ball59 x=12.5 y=2.5 xVelocity=9 yVelocity=5
+ball name=Ball60 x=8.5 y=10.5 xVelocity=-10 yVelocity=14
+ball name=Ball61 x=12.5 y=4.5 xVelocity=-6 yVelocity=-13
+ball name=Ball62 x=5.5 y=1.5 xVelocity=1 yVelocity=-13
+ball name=Ball63 x=11.5 y=1.5 xVelocity=-14 yVelocity=10
+ball name=Ball64 x=12.5 y=18.5 xVelocity=5 yVelocity=0
+ball name=Ball65 x=2.5 y=13.5 xVelocity=6 yVelocity=-9
+ball name=Ball66 x=16.5 y=11.5 xVelocity=3 yVelocity=-14
+ball name=Ball67 x=9.5 y=5.5 xVelocity=-9 yVelocity=-11
+ball name=Ball68 x=5.5 y=5.5 xVelocity=2 yVelocity=-13
+ball name=Ball69 x=5.5 y=12.5 xVelocity=-8 yVelocity=-8
+ball name=Ball70 x=0.5 y=7.5 xVelocity=-7 yVelocity=-5
+ball name=Ball71 x=1.5 y=1.5 xVelocity=10 yVelocity=14
+ball name=Ball72 x=9.5 y=7.5 xVelocity=3 yVelocity=4
+ball name=Ball73 x=3.5 y=15.5 xVelocity=-14 yVelocity=0
+ball name=Ball74 x=17.5 y=8.5 xVelocity=15 yVelocity=4
+ball name=Ball75 x=3.5 y=6.5 xVelocity=-15 yVelocity=14
+ball name=Ball76 x=16.5 y=10.5 xVelocity=13 yVelocity=-8
+ball name=Ball77 x=2.5 y=12.5 xVelocity=4 yVelocity=10
+ball name=Ball78 x=7.5 y=10.5 xVelocity=14 yVelocity=11
+ball name=Ball79 x=5.5 y=16.5 xVelocity=-11 yVelocity=0
+ball name=Ball80 x=17.5 y=0.5 xVelocity=-7 yVelocity=10
+ball name=Ball81 x=3.5 y=1.5 xVelocity=-6 yVelocity=-8
+ball name=Ball82 x=13.5 y=5.5 xVelocity=13 yVelocity=3
+ball name=Ball83 x=18.5 y=1.5 xVelocity=3 yVelocity=-6
+ball name=Ball84 x=12.5 y=11.5 xVelocity=14 yVelocity=2
+ball name=Ball85 x=6.5 y=6.5 xVelocity=-12 yVelocity=5
+ball name=Ball86 x=4.5 y=14.5 xVelocity=6 yVelocity=4
+ball name=Ball87 x=17.5 y=3.5 xVelocity=15 yVelocity=-13
+ball name=Ball88 x=16.5 y=19.5 xVelocity=-11 yVelocity=2
+ball name=Ball89 x=2.5 y=1.5 xVelocity=1 yVelocity=-11
+ball name=Ball90 x=19.5 y=1.5 xVelocity=6 yVelocity=4
+ball name=Ball91 x=4.5 y=0.5 xVelocity=15 yVelocity=-13
+ball name=Ball92 x=17.5 y=13.5 xVelocity=-6 yVelocity=15
+ball name=Ball93 x=0.5 y=8.5 xVelocity=-13 yVelocity=-1
+ball name=Ball94 x=14.5 y=8.5 xVelocity=13 yVelocity=8
+ball name=Ball95 x=2.5 y=3.5 xVelocity=10 yVelocity=-10
+ball name=Ball96 x=8.5 y=3.5 xVelocity=8 yVelocity=-10
+ball name=Ball97 x=17.5 y=10.5 xVelocity=-5 yVelocity=-14
+ball name=Ball98 x=7.5 y=5.5 xVelocity=6 yVelocity=12
+ball name=Ball99 x=9.5 y=2.5 xVelocity=-8 yVelocity=-7
+ball name=Ball100 x=18.5 y=17.5 xVelocity=7 yVelocity=1
+ball name=Ball101 x=6.5 y=2.5 xVelocity=-6 yVelocity=10
+ball name=Ball102 x=17.5 y=9.5 xVelocity=-10 yVelocity=-2
+ball name=Ball103 x=17.5 y=6.5 xVelocity=-9 yVelocity=-1
+ball name=Ball104 x=3.5 y=7.5 xVelocity=-6 yVelocity=-1
+ball name=Ball105 x=16.5 y=18.5 xVelocity=-3 yVelocity=6
+ball name=Ball106 x=5.5 y=17.5 xVelocity=11 yVelocity=15
+ball name=Ball107 x=1.5 y=14.5 xVelocity=-6 yVelocity=15
+ball name=Ball108 x=9.5 y=6.5 xVelocity=-13 yVelocity=-8
+ball name=Ball109 x=9.5 y=11.5 xVelocity=-4 yVelocity=0
+ball name=Ball110 x=0.5 y=0.5 xVelocity=-11 yVelocity=-7
+ball name=Ball111 x=15.5 y=12.5 xVelocity=11 yVelocity=-1
+ball name=Ball112 x=14.5 y=15.5 xVelocity=10 yVelocity=-3
+ball name=Ball113 x=18.5 y=2.5 xVelocity=10 yVelocity=-8
+ball name=Ball114 x=10.5 y=19.5 xVelocity=-6 yVelocity=-10
+ball name=Ball115 x=11.5 y=9.5 xVelocity=14 yVelocity=7
+ball name=Ball116 x=7.5 y=2.5 xVelocity=-11 yVelocity=13
+ball name=Ball117 x=7.5 y=16.5 xVelocity=4 yVelocity=14
+ball name=Ball118 x=0.5 y=2.5 xVelocity=1 yVelocity=0
+ball name=Ball119 x=1.5 y=16.5 xVelocity=11 yVelocity=14
+ball name=Ball120 x=14.5 y=4.5 xVelocity=8 yVelocity=11
+ball name=Ball121 x=2.5 y=7.5 xVelocity=-10 yVelocity=4
+ball name=Ball122 x=10.5 y=2.5 xVelocity=4 yVelocity=11
+ball name=Ball123 x=9.5 y=18.5 xVelocity=14 yVelocity=7
+ball name=Ball124 x=3.5 y=10.5 xVelocity=15 yVelocity=-7
+ball name=Ball125 x=0.5 y=6.5 xVelocity=13 yVelocity=-8
+ball name=Ball126 x=17.5 y=4.5 xVelocity=-4 yVelocity=-3
+ball name=Ball127 x=11.5 y=4.5 xVelocity=12 yVelocity=1
+ball name=Ball128 x=7.5 y=0.5 xVelocity=-5 yVelocity=-7
+ball name=Ball129 x=11.5 y=13.5 xVelocity=-9 yVelocity=-8
+ball name=Ball130 x=1.5 y=6.5 xVelocity=4 yVelocity=13
+ball name=Ball131 x=6.5 y=8.5 xVelocity=11 yVelocity=-6
+ball name=Ball132 x=0.5 y=12.5 xVelocity=-10 yVelocity=1
+ball name=Ball133 x=1.5 y=0.5 xVelocity=-1 yVelocity=4
+ball name=Ball134 x=12.5 y=3.5 xVelocity=-2 yVelocity=4
+ball name=Ball135 x=6.5 y=17.5 xVelocity=-6 yVelocity=-12
+ball name=Ball136 x=15.5 y=17.5 xVelocity=3 yVelocity=-3
+ball name=Ball137 x=9.5 y=13.5 xVelocity=12 yVelocity=8
+ball name=Ball138 x=11.5 y=0.5 xVelocity=-10 yVelocity=9
+ball name=Ball139 x=18.5 y=4.5 xVelocity=-14 yVelocity=-4
+ball name=Ball140 x=8.5 y=9.5 xVelocity=15 yVelocity=1
+ball name=Ball141 x=12.5 y=19.5 xVelocity=-1 yVelocity=-10
+ball name=Ball142 x=3.5 y=0.5 xVelocity=-11 yVelocity=-1
+ball name=Ball143 x=2.5 y=0.5 xVelocity=0 yVelocity=-4
+ball name=Ball144 x=13.5 y=6.5 xVelocity=-15 yVelocity=4
+ball name=Ball145 x=12.5 y=1.5 xVelocity=-2 yVelocity=3
+ball name=Ball146 x=8.5 y=5.5 xVelocity=1 yVelocity=4
+ball name=Ball147 x=4.5 y=17.5 xVelocity=-9 yVelocity=7
+ball name=Ball148 x=19.5 y=13.5 xVelocity=-4 yVelocity=-3
+ball name=Ball149 x=10.5 y=17.5 xVelocity=-11 yVelocity=0
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Abs
+fire trigger=Bumper2 action=Abs
+fire trigger=Bumper3 action=Flip1
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Flip0
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,548 @@
+# generated by BoardGenerator: dense, 1 board, density 0.3, 40 balls, 8 flippers, fan-out 3, 0 portals
+board name=dense gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=0 y=17 orientation=180
+rightFlipper name=Flip1 x=4 y=16 orientation=270
+leftFlipper name=Flip2 x=9 y=14 orientation=90
+rightFlipper name=Flip3 x=0 y=2 orientation=0
+leftFlipper name=Flip4 x=12 y=2 orientation=270
+rightFlipper name=Flip5 x=10 y=6 orientation=270
+leftFlipper name=Flip6 x=6 y=17 orientation=270
+rightFlipper name=Flip7 x=0 y=11 orientation=0
+triangleBumper name=Bumper0 x=5 y=2 orientation=0
+squareBumper name=Bumper1 x=15 y=9
+squareBumper name=Bumper2 x=5 y=9
+triangleBumper name=Bumper3 x=2 y=15 orientation=270
+squareBumper name=Bumper4 x=3 y=10
+triangleBumper name=Bumper5 x=5 y=18 orientation=90
+triangleBumper name=Bumper6 x=10 y=12 orientation=270
+triangleBumper name=Bumper7 x=8 y=14 orientation=0
+squareBumper name=Bumper8 x=4 y=11
+squareBumper name=Bumper9 x=11 y=14
+triangleBumper name=Bumper10 x=8 y=16 orientation=0
+squareBumper name=Bumper11 x=16 y=14
+circleBumper name=Bumper12 x=3 y=17
+circleBumper name=Bumper13 x=5 y=6
+circleBumper name=Bumper14 x=9 y=5
+squareBumper name=Bumper15 x=17 y=1
+circleBumper name=Bumper16 x=12 y=7
+circleBumper name=Bumper17 x=5 y=8
+circleBumper name=Bumper18 x=11 y=13
+circleBumper name=Bumper19 x=1 y=16
+circleBumper name=Bumper20 x=2 y=4
+squareBumper name=Bumper21 x=10 y=19
+squareBumper name=Bumper22 x=3 y=2
+circleBumper name=Bumper23 x=8 y=2
+squareBumper name=Bumper24 x=4 y=12
+triangleBumper name=Bumper25 x=3 y=5 orientation=0
+squareBumper name=Bumper26 x=10 y=0
+squareBumper name=Bumper27 x=17 y=11
+circleBumper name=Bumper28 x=0 y=8
+triangleBumper name=Bumper29 x=3 y=6 orientation=270
+triangleBumper name=Bumper30 x=18 y=8 orientation=180
+circleBumper name=Bumper31 x=12 y=19
+squareBumper name=Bumper32 x=16 y=11
+circleBumper name=Bumper33 x=13 y=6
+circleBumper name=Bumper34 x=17 y=2
+circleBumper name=Bumper35 x=19 y=17
+squareBumper name=Bumper36 x=10 y=8
+squareBumper name=Bumper37 x=8 y=7
+squareBumper name=Bumper38 x=15 y=7
+squareBumper name=Bumper39 x=6 y=12
+circleBumper name=Bumper40 x=15 y=13
+squareBumper name=Bumper41 x=17 y=15
+squareBumper name=Bumper42 x=19 y=14
+triangleBumper name=Bumper43 x=15 y=12 orientation=270
+squareBumper name=Bumper44 x=14 y=13
+squareBumper name=Bumper45 x=18 y=17
+circleBumper name=Bumper46 x=11 y=0
+squareBumper name=Bumper47 x=1 y=9
+circleBumper name=Bumper48 x=15 y=1
+circleBumper name=Bumper49 x=18 y=12
+squareBumper name=Bumper50 x=9 y=4
+circleBumper name=Bumper51 x=13 y=14
+circleBumper name=Bumper52 x=7 y=12
+triangleBumper name=Bumper53 x=15 y=16 orientation=0
+triangleBumper name=Bumper54 x=6 y=19 orientation=180
+triangleBumper name=Bumper55 x=16 y=10 orientation=0
+triangleBumper name=Bumper56 x=4 y=9 orientation=180
+circleBumper name=Bumper57 x=2 y=16
+circleBumper name=Bumper58 x=2 y=12
+triangleBumper name=Bumper59 x=19 y=16 orientation=180
+squareBumper name=Bumper60 x=13 y=5
+squareBumper name=Bumper61 x=16 y=18
+squareBumper name=Bumper62 x=18 y=9
+squareBumper name=Bumper63 x=15 y=8
+circleBumper name=Bumper64 x=19 y=4
+squareBumper name=Bumper65 x=14 y=6
+squareBumper name=Bumper66 x=7 y=8
+squareBumper name=Bumper67 x=3 y=7
+triangleBumper name=Bumper68 x=1 y=14 orientation=90
+squareBumper name=Bumper69 x=14 y=3
+triangleBumper name=Bumper70 x=13 y=17 orientation=0
+triangleBumper name=Bumper71 x=18 y=4 orientation=270
+circleBumper name=Bumper72 x=18 y=5
+triangleBumper name=Bumper73 x=2 y=3 orientation=90
+circleBumper name=Bumper74 x=19 y=8
+squareBumper name=Bumper75 x=15 y=5
+squareBumper name=Bumper76 x=4 y=19
+squareBumper name=Bumper77 x=15 y=11
+squareBumper name=Bumper78 x=6 y=7
+triangleBumper name=Bumper79 x=14 y=0 orientation=180
+circleBumper name=Bumper80 x=9 y=10
+circleBumper name=Bumper81 x=11 y=12
+squareBumper name=Bumper82 x=13 y=11
+circleBumper name=Bumper83 x=11 y=18
+triangleBumper name=Bumper84 x=16 y=12 orientation=0
+triangleBumper name=Bumper85 x=2 y=7 orientation=90
+squareBumper name=Bumper86 x=19 y=18
+circleBumper name=Bumper87 x=3 y=13
+squareBumper name=Bumper88 x=16 y=9
+circleBumper name=Bumper89 x=7 y=14
+triangleBumper name=Bumper90 x=17 y=8 orientation=90
+triangleBumper name=Bumper91 x=18 y=19 orientation=270
+triangleBumper name=Bumper92 x=11 y=10 orientation=90
+circleBumper name=Bumper93 x=2 y=13
+triangleBumper name=Bumper94 x=12 y=12 orientation=0
+circleBumper name=Bumper95 x=5 y=7
+circleBumper name=Bumper96 x=11 y=3
+circleBumper name=Bumper97 x=8 y=19
+triangleBumper name=Bumper98 x=7 y=4 orientation=270
+triangleBumper name=Bumper99 x=7 y=16 orientation=90
+circleBumper name=Bumper100 x=15 y=6
+triangleBumper name=Bumper101 x=19 y=9 orientation=180
+circleBumper name=Bumper102 x=8 y=17
+triangleBumper name=Bumper103 x=5 y=12 orientation=180
+triangleBumper name=Bumper104 x=12 y=4 orientation=90
+circleBumper name=Bumper105 x=17 y=3
+circleBumper name=Bumper106 x=13 y=9
+circleBumper name=Bumper107 x=6 y=10
+squareBumper name=Bumper108 x=5 y=13
+triangleBumper name=Bumper109 x=6 y=9 orientation=270
+triangleBumper name=Bumper110 x=5 y=4 orientation=90
+squareBumper name=Bumper111 x=7 y=2
+squareBumper name=Bumper112 x=18 y=6
+squareBumper name=Bumper113 x=19 y=15
+squareBumper name=Bumper114 x=17 y=9
+circleBumper name=Bumper115 x=14 y=17
+triangleBumper name=Bumper116 x=13 y=15 orientation=90
+triangleBumper name=Bumper117 x=9 y=3 orientation=0
+triangleBumper name=Bumper118 x=2 y=17 orientation=0
+triangleBumper name=Bumper119 x=16 y=19 orientation=0
+ball name=Ball0 x=7.5 y=9.5 xVelocity=-7 yVelocity=10
+ball name=Ball1 x=14.5 y=12.5 xVelocity=-9 yVelocity=-3
+ball name=Ball2 x=1.5 y=1.5 xVelocity=12 yVelocity=12
+ball name=Ball3 x=12.5 y=10.5 xVelocity=-3 yVelocity=10
+ball name=Ball4 x=18.5 y=15.5 xVelocity=9 yVelocity=4
+ball name=Ball5 x=9.5 y=2.5 xVelocity=-8 yVelocity=-12
+ball name=Ball6 x=11.5 y=9.5 xVelocity=-4 yVelocity=-15
+ball name=Ball7 x=0.5 y=15.5 xVelocity=11 yVelocity=-3
+ball name=Ball8 x=17.5 y=5.5 xVelocity=-8 yVelocity=2
+ball name=Ball9 x=6.5 y=1.5 xVelocity=3 yVelocity=7
+ball name=Ball10 x=5.5 y=1.5 xVelocity=4 yVelocity=-15
+ball name=Ball11 x=3.5 y=15.5 xVelocity=-1 yVelocity=2
+ball name=Ball12 x=0.5 y=16.5 xVelocity=7 yVelocity=15
+ball name=Ball13 x=1.5 y=13.5 xVelocity=-2 yVelocity=-10
+ball name=Ball14 x=17.5 y=17.5 xVelocity=10 yVelocity=13
+ball name=Ball15 x=16.5 y=1.5 xVelocity=15 yVelocity=-10
+ball name=Ball16 x=18.5 y=7.5 xVelocity=-15 yVelocity=8
+ball name=Ball17 x=4.5 y=1.5 xVelocity=4 yVelocity=6
+ball name=Ball18 x=11.5 y=1.5 xVelocity=-15 yVelocity=0
+ball name=Ball19 x=10.5 y=5.5 xVelocity=13 yVelocity=7
+ball name=Ball20 x=8.5 y=8.5 xVelocity=13 yVelocity=-13
+ball name=Ball21 x=12.5 y=9.5 xVelocity=-3 yVelocity=-11
+ball name=Ball22 x=3.5 y=4.5 xVelocity=2 yVelocity=4
+ball name=Ball23 x=12.5 y=17.5 xVelocity=8 yVelocity=2
+ball name=Ball24 x=3.5 y=9.5 xVelocity=-11 yVelocity=6
+ball name=Ball25 x=19.5 y=19.5 xVelocity=-7 yVelocity=2
+ball name=Ball26 x=4.5 y=13.5 xVelocity=1 yVelocity=13
+ball name=Ball27 x=13.5 y=7.5 xVelocity=-10 yVelocity=-10
+ball name=Ball28 x=1.5 y=0.5 xVelocity=3 yVelocity=8
+ball name=Ball29 x=16.5 y=17.5 xVelocity=8 yVelocity=-11
+ball name=Ball30 x=6.5 y=5.5 xVelocity=-12 yVelocity=-15
+ball name=Ball31 x=4.5 y=10.5 xVelocity=6 yVelocity=-11
+ball name=Ball32 x=14.5 y=9.5 xVelocity=12 yVelocity=-12
+ball name=Ball33 x=14.5 y=2.5 xVelocity=-2 yVelocity=-12
+ball name=Ball34 x=18.5 y=11.5 xVelocity=-4 yVelocity=6
+ball name=Ball35 x=4.5 y=15.5 xVelocity=-7 yVelocity=13
+ball name=Ball36 x=1.5 y=6.5 xVelocity=10 yVelocity=-2
+ball name=Ball37 x=10.5 y=1.5 xVelocity=7 yVelocity=-10
+ball name=Ball38 x=8.5 y=6.5 xVelocity=-3 yVelocity=13
+ball name=Ball39 x=14.5 y=18.5 xVelocity=15 yVelocity=-6
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip2
+fire trigger=Bumper0 action=Flip7
+fire trigger=Bumper0 action=Flip5
+fire trigger=Bumper1 action=Flip3
+fire trigger=Bumper1 action=Flip4
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip4
+fire trigger=Bumper2 action=Abs
+fire trigger=Bumper2 action=Flip7
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper3 action=Flip5
+fire trigger=Bumper3 action=Flip1
+fire trigger=Bumper4 action=Flip6
+fire trigger=Bumper4 action=Flip4
+fire trigger=Bumper4 action=Flip7
+fire trigger=Bumper5 action=Flip3
+fire trigger=Bumper5 action=Flip5
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper6 action=Flip6
+fire trigger=Bumper6 action=Flip4
+fire trigger=Bumper7 action=Flip4
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper7 action=Flip6
+fire trigger=Bumper8 action=Flip6
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Flip5
+fire trigger=Bumper9 action=Flip4
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Flip2
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper10 action=Flip5
+fire trigger=Bumper11 action=Flip6
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper11 action=Flip7
+fire trigger=Bumper12 action=Flip4
+fire trigger=Bumper12 action=Flip0
+fire trigger=Bumper12 action=Flip3
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper13 action=Flip3
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper14 action=Flip2
+fire trigger=Bumper14 action=Flip7
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper15 action=Flip7
+fire trigger=Bumper15 action=Flip4
+fire trigger=Bumper16 action=Flip5
+fire trigger=Bumper16 action=Flip0
+fire trigger=Bumper16 action=Flip4
+fire trigger=Bumper17 action=Flip3
+fire trigger=Bumper17 action=Flip2
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper18 action=Flip3
+fire trigger=Bumper18 action=Flip7
+fire trigger=Bumper19 action=Flip2
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper20 action=Abs
+fire trigger=Bumper20 action=Flip2
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip7
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper21 action=Flip4
+fire trigger=Bumper22 action=Flip7
+fire trigger=Bumper22 action=Flip3
+fire trigger=Bumper22 action=Flip4
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper23 action=Flip5
+fire trigger=Bumper23 action=Flip4
+fire trigger=Bumper24 action=Flip3
+fire trigger=Bumper24 action=Flip0
+fire trigger=Bumper24 action=Flip7
+fire trigger=Bumper25 action=Flip4
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper25 action=Flip2
+fire trigger=Bumper26 action=Flip3
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip5
+fire trigger=Bumper27 action=Flip4
+fire trigger=Bumper27 action=Flip2
+fire trigger=Bumper28 action=Flip6
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper29 action=Flip4
+fire trigger=Bumper29 action=Flip6
+fire trigger=Bumper29 action=Flip2
+fire trigger=Bumper30 action=Abs
+fire trigger=Bumper30 action=Flip3
+fire trigger=Bumper30 action=Flip4
+fire trigger=Bumper31 action=Flip4
+fire trigger=Bumper31 action=Flip5
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip3
+fire trigger=Bumper32 action=Flip7
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Flip4
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper33 action=Flip5
+fire trigger=Bumper34 action=Flip2
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper34 action=Flip6
+fire trigger=Bumper35 action=Flip7
+fire trigger=Bumper35 action=Flip4
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper36 action=Flip4
+fire trigger=Bumper36 action=Flip7
+fire trigger=Bumper36 action=Flip3
+fire trigger=Bumper37 action=Flip4
+fire trigger=Bumper37 action=Flip7
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Flip4
+fire trigger=Bumper38 action=Flip5
+fire trigger=Bumper38 action=Abs
+fire trigger=Bumper39 action=Flip3
+fire trigger=Bumper39 action=Abs
+fire trigger=Bumper39 action=Flip5
+fire trigger=Bumper40 action=Flip1
+fire trigger=Bumper40 action=Flip4
+fire trigger=Bumper40 action=Flip5
+fire trigger=Bumper41 action=Flip3
+fire trigger=Bumper41 action=Flip1
+fire trigger=Bumper41 action=Flip0
+fire trigger=Bumper42 action=Flip5
+fire trigger=Bumper42 action=Abs
+fire trigger=Bumper42 action=Flip7
+fire trigger=Bumper43 action=Flip1
+fire trigger=Bumper43 action=Flip7
+fire trigger=Bumper43 action=Abs
+fire trigger=Bumper44 action=Flip0
+fire trigger=Bumper44 action=Flip3
+fire trigger=Bumper44 action=Flip5
+fire trigger=Bumper45 action=Flip2
+fire trigger=Bumper45 action=Flip3
+fire trigger=Bumper45 action=Flip5
+fire trigger=Bumper46 action=Flip4
+fire trigger=Bumper46 action=Flip6
+fire trigger=Bumper46 action=Abs
+fire trigger=Bumper47 action=Flip2
+fire trigger=Bumper47 action=Flip6
+fire trigger=Bumper47 action=Flip3
+fire trigger=Bumper48 action=Abs
+fire trigger=Bumper48 action=Flip4
+fire trigger=Bumper48 action=Flip7
+fire trigger=Bumper49 action=Flip2
+fire trigger=Bumper49 action=Flip6
+fire trigger=Bumper49 action=Flip1
+fire trigger=Bumper50 action=Flip0
+fire trigger=Bumper50 action=Flip4
+fire trigger=Bumper50 action=Flip2
+fire trigger=Bumper51 action=Flip6
+fire trigger=Bumper51 action=Flip2
+fire trigger=Bumper51 action=Flip3
+fire trigger=Bumper52 action=Flip0
+fire trigger=Bumper52 action=Flip4
+fire trigger=Bumper52 action=Abs
+fire trigger=Bumper53 action=Flip2
+fire trigger=Bumper53 action=Flip6
+fire trigger=Bumper53 action=Flip5
+fire trigger=Bumper54 action=Flip2
+fire trigger=Bumper54 action=Flip3
+fire trigger=Bumper54 action=Flip4
+fire trigger=Bumper55 action=Flip1
+fire trigger=Bumper55 action=Flip0
+fire trigger=Bumper55 action=Flip6
+fire trigger=Bumper56 action=Flip5
+fire trigger=Bumper56 action=Flip3
+fire trigger=Bumper56 action=Flip6
+fire trigger=Bumper57 action=Flip7
+fire trigger=Bumper57 action=Flip3
+fire trigger=Bumper57 action=Flip5
+fire trigger=Bumper58 action=Flip4
+fire trigger=Bumper58 action=Flip3
+fire trigger=Bumper58 action=Flip5
+fire trigger=Bumper59 action=Flip2
+fire trigger=Bumper59 action=Flip0
+fire trigger=Bumper59 action=Flip7
+fire trigger=Bumper60 action=Flip1
+fire trigger=Bumper60 action=Flip3
+fire trigger=Bumper60 action=Flip5
+fire trigger=Bumper61 action=Flip5
+fire trigger=Bumper61 action=Flip3
+fire trigger=Bumper61 action=Flip0
+fire trigger=Bumper62 action=Flip2
+fire trigger=Bumper62 action=Flip4
+fire trigger=Bumper62 action=Flip6
+fire trigger=Bumper63 action=Flip5
+fire trigger=Bumper63 action=Flip2
+fire trigger=Bumper63 action=Flip1
+fire trigger=Bumper64 action=Flip1
+fire trigger=Bumper64 action=Flip7
+fire trigger=Bumper64 action=Flip2
+fire trigger=Bumper65 action=Flip2
+fire trigger=Bumper65 action=Flip1
+fire trigger=Bumper65 action=Flip6
+fire trigger=Bumper66 action=Flip3
+fire trigger=Bumper66 action=Flip5
+fire trigger=Bumper66 action=Flip1
+fire trigger=Bumper67 action=Abs
+fire trigger=Bumper67 action=Flip2
+fire trigger=Bumper67 action=Flip3
+fire trigger=Bumper68 action=Flip1
+fire trigger=Bumper68 action=Abs
+fire trigger=Bumper68 action=Flip3
+fire trigger=Bumper69 action=Flip1
+fire trigger=Bumper69 action=Flip2
+fire trigger=Bumper69 action=Abs
+fire trigger=Bumper70 action=Flip2
+fire trigger=Bumper70 action=Flip3
+fire trigger=Bumper70 action=Flip1
+fire trigger=Bumper71 action=Flip3
+fire trigger=Bumper71 action=Flip6
+fire trigger=Bumper71 action=Abs
+fire trigger=Bumper72 action=Flip7
+fire trigger=Bumper72 action=Flip4
+fire trigger=Bumper72 action=Flip6
+fire trigger=Bumper73 action=Flip3
+fire trigger=Bumper73 action=Abs
+fire trigger=Bumper73 action=Flip1
+fire trigger=Bumper74 action=Flip5
+fire trigger=Bumper74 action=Flip1
+fire trigger=Bumper74 action=Flip4
+fire trigger=Bumper75 action=Flip5
+fire trigger=Bumper75 action=Flip0
+fire trigger=Bumper75 action=Flip2
+fire trigger=Bumper76 action=Flip6
+fire trigger=Bumper76 action=Flip7
+fire trigger=Bumper76 action=Flip2
+fire trigger=Bumper77 action=Flip5
+fire trigger=Bumper77 action=Flip0
+fire trigger=Bumper77 action=Flip4
+fire trigger=Bumper78 action=Flip1
+fire trigger=Bumper78 action=Flip3
+fire trigger=Bumper78 action=Flip4
+fire trigger=Bumper79 action=Flip7
+fire trigger=Bumper79 action=Flip4
+fire trigger=Bumper79 action=Flip2
+fire trigger=Bumper80 action=Flip0
+fire trigger=Bumper80 action=Flip4
+fire trigger=Bumper80 action=Flip7
+fire trigger=Bumper81 action=Flip6
+fire trigger=Bumper81 action=Flip2
+fire trigger=Bumper81 action=Flip4
+fire trigger=Bumper82 action=Flip6
+fire trigger=Bumper82 action=Abs
+fire trigger=Bumper82 action=Flip3
+fire trigger=Bumper83 action=Flip1
+fire trigger=Bumper83 action=Flip0
+fire trigger=Bumper83 action=Flip6
+fire trigger=Bumper84 action=Flip1
+fire trigger=Bumper84 action=Flip7
+fire trigger=Bumper84 action=Abs
+fire trigger=Bumper85 action=Flip4
+fire trigger=Bumper85 action=Flip6
+fire trigger=Bumper85 action=Flip2
+fire trigger=Bumper86 action=Flip6
+fire trigger=Bumper86 action=Flip3
+fire trigger=Bumper86 action=Abs
+fire trigger=Bumper87 action=Flip7
+fire trigger=Bumper87 action=Flip4
+fire trigger=Bumper87 action=Flip2
+fire trigger=Bumper88 action=Flip4
+fire trigger=Bumper88 action=Flip5
+fire trigger=Bumper88 action=Flip1
+fire trigger=Bumper89 action=Flip0
+fire trigger=Bumper89 action=Flip5
+fire trigger=Bumper89 action=Flip4
+fire trigger=Bumper90 action=Flip6
+fire trigger=Bumper90 action=Flip2
+fire trigger=Bumper90 action=Flip0
+fire trigger=Bumper91 action=Flip0
+fire trigger=Bumper91 action=Flip1
+fire trigger=Bumper91 action=Flip6
+fire trigger=Bumper92 action=Abs
+fire trigger=Bumper92 action=Flip6
+fire trigger=Bumper92 action=Flip3
+fire trigger=Bumper93 action=Flip7
+fire trigger=Bumper93 action=Flip0
+fire trigger=Bumper93 action=Flip4
+fire trigger=Bumper94 action=Flip2
+fire trigger=Bumper94 action=Flip0
+fire trigger=Bumper94 action=Flip4
+fire trigger=Bumper95 action=Flip2
+fire trigger=Bumper95 action=Flip1
+fire trigger=Bumper95 action=Abs
+fire trigger=Bumper96 action=Flip6
+fire trigger=Bumper96 action=Flip7
+fire trigger=Bumper96 action=Abs
+fire trigger=Bumper97 action=Flip5
+fire trigger=Bumper97 action=Flip3
+fire trigger=Bumper97 action=Flip1
+fire trigger=Bumper98 action=Flip7
+fire trigger=Bumper98 action=Abs
+fire trigger=Bumper98 action=Flip5
+fire trigger=Bumper99 action=Flip1
+fire trigger=Bumper99 action=Flip7
+fire trigger=Bumper99 action=Flip4
+fire trigger=Bumper100 action=Flip2
+fire trigger=Bumper100 action=Flip1
+fire trigger=Bumper100 action=Flip6
+fire trigger=Bumper101 action=Flip3
+fire trigger=Bumper101 action=Flip6
+fire trigger=Bumper101 action=Flip4
+fire trigger=Bumper102 action=Flip3
+fire trigger=Bumper102 action=Flip1
+fire trigger=Bumper102 action=Flip2
+fire trigger=Bumper103 action=Flip0
+fire trigger=Bumper103 action=Abs
+fire trigger=Bumper103 action=Flip2
+fire trigger=Bumper104 action=Flip4
+fire trigger=Bumper104 action=Flip6
+fire trigger=Bumper104 action=Flip0
+fire trigger=Bumper105 action=Flip5
+fire trigger=Bumper105 action=Flip2
+fire trigger=Bumper105 action=Flip7
+fire trigger=Bumper106 action=Flip6
+fire trigger=Bumper106 action=Flip1
+fire trigger=Bumper106 action=Abs
+fire trigger=Bumper107 action=Flip7
+fire trigger=Bumper107 action=Flip5
+fire trigger=Bumper107 action=Abs
+fire trigger=Bumper108 action=Flip7
+fire trigger=Bumper108 action=Flip6
+fire trigger=Bumper108 action=Flip4
+fire trigger=Bumper109 action=Abs
+fire trigger=Bumper109 action=Flip0
+fire trigger=Bumper109 action=Flip5
+fire trigger=Bumper110 action=Flip2
+fire trigger=Bumper110 action=Flip5
+fire trigger=Bumper110 action=Flip6
+fire trigger=Bumper111 action=Flip5
+fire trigger=Bumper111 action=Flip1
+fire trigger=Bumper111 action=Abs
+fire trigger=Bumper112 action=Flip6
+fire trigger=Bumper112 action=Flip3
+fire trigger=Bumper112 action=Flip4
+fire trigger=Bumper113 action=Flip7
+fire trigger=Bumper113 action=Flip3
+fire trigger=Bumper113 action=Flip5
+fire trigger=Bumper114 action=Flip0
+fire trigger=Bumper114 action=Flip4
+fire trigger=Bumper114 action=Flip7
+fire trigger=Bumper115 action=Flip2
+fire trigger=Bumper115 action=Flip7
+fire trigger=Bumper115 action=Abs
+fire trigger=Bumper116 action=Flip6
+fire trigger=Bumper116 action=Flip0
+fire trigger=Bumper116 action=Flip7
+fire trigger=Bumper117 action=Abs
+fire trigger=Bumper117 action=Flip0
+fire trigger=Bumper117 action=Flip5
+fire trigger=Bumper118 action=Flip7
+fire trigger=Bumper118 action=Flip3
+fire trigger=Bumper118 action=Flip1
+fire trigger=Bumper119 action=Flip1
+fire trigger=Bumper119 action=Flip5
+fire trigger=Bumper119 action=Flip2
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
+keydown key=g action=Flip4
+keyup key=g action=Flip4
+keydown key=h action=Flip5
+keyup key=h action=Flip5
+keydown key=j action=Flip6
+keyup key=j action=Flip6
+keydown key=k action=Flip7
+keyup key=k action=Flip7
@@ -0,0 +1,376 @@
+# generated by BoardGenerator: flippers, 1 board, density 0.1, 20 balls, 24 flippers, fan-out 6, 0 portals
+board name=flippers gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=0 y=17 orientation=270
+rightFlipper name=Flip1 x=10 y=9 orientation=180
+leftFlipper name=Flip2 x=0 y=4 orientation=180
+rightFlipper name=Flip3 x=8 y=10 orientation=270
+leftFlipper name=Flip4 x=0 y=0 orientation=180
+rightFlipper name=Flip5 x=2 y=16 orientation=0
+leftFlipper name=Flip6 x=8 y=4 orientation=90
+rightFlipper name=Flip7 x=3 y=11 orientation=180
+leftFlipper name=Flip8 x=12 y=4 orientation=180
+rightFlipper name=Flip9 x=6 y=7 orientation=270
+leftFlipper name=Flip10 x=8 y=18 orientation=0
+rightFlipper name=Flip11 x=16 y=5 orientation=180
+leftFlipper name=Flip12 x=2 y=0 orientation=0
+rightFlipper name=Flip13 x=4 y=1 orientation=0
+leftFlipper name=Flip14 x=2 y=2 orientation=180
+rightFlipper name=Flip15 x=10 y=17 orientation=180
+leftFlipper name=Flip16 x=4 y=8 orientation=0
+rightFlipper name=Flip17 x=14 y=14 orientation=270
+leftFlipper name=Flip18 x=3 y=6 orientation=90
+rightFlipper name=Flip19 x=2 y=9 orientation=180
+leftFlipper name=Flip20 x=9 y=13 orientation=90
+rightFlipper name=Flip21 x=18 y=5 orientation=0
+leftFlipper name=Flip22 x=0 y=13 orientation=0
+rightFlipper name=Flip23 x=17 y=11 orientation=90
+squareBumper name=Bumper0 x=1 y=11
+circleBumper name=Bumper1 x=7 y=0
+triangleBumper name=Bumper2 x=11 y=12 orientation=90
+triangleBumper name=Bumper3 x=15 y=10 orientation=90
+circleBumper name=Bumper4 x=14 y=18
+triangleBumper name=Bumper5 x=2 y=12 orientation=270
+circleBumper name=Bumper6 x=2 y=13
+triangleBumper name=Bumper7 x=18 y=7 orientation=0
+triangleBumper name=Bumper8 x=11 y=5 orientation=90
+triangleBumper name=Bumper9 x=3 y=8 orientation=0
+circleBumper name=Bumper10 x=1 y=6
+triangleBumper name=Bumper11 x=16 y=12 orientation=0
+squareBumper name=Bumper12 x=16 y=19
+triangleBumper name=Bumper13 x=10 y=19 orientation=0
+triangleBumper name=Bumper14 x=1 y=2 orientation=90
+circleBumper name=Bumper15 x=16 y=16
+circleBumper name=Bumper16 x=13 y=14
+circleBumper name=Bumper17 x=19 y=3
+squareBumper name=Bumper18 x=2 y=8
+circleBumper name=Bumper19 x=6 y=4
+triangleBumper name=Bumper20 x=18 y=19 orientation=180
+circleBumper name=Bumper21 x=7 y=10
+triangleBumper name=Bumper22 x=7 y=5 orientation=180
+triangleBumper name=Bumper23 x=18 y=2 orientation=90
+triangleBumper name=Bumper24 x=13 y=17 orientation=90
+squareBumper name=Bumper25 x=12 y=1
+circleBumper name=Bumper26 x=19 y=14
+triangleBumper name=Bumper27 x=5 y=15 orientation=0
+triangleBumper name=Bumper28 x=8 y=7 orientation=0
+circleBumper name=Bumper29 x=1 y=10
+circleBumper name=Bumper30 x=7 y=4
+squareBumper name=Bumper31 x=5 y=3
+squareBumper name=Bumper32 x=19 y=10
+squareBumper name=Bumper33 x=2 y=5
+triangleBumper name=Bumper34 x=3 y=4 orientation=90
+triangleBumper name=Bumper35 x=14 y=13 orientation=270
+squareBumper name=Bumper36 x=18 y=9
+squareBumper name=Bumper37 x=4 y=19
+squareBumper name=Bumper38 x=6 y=18
+triangleBumper name=Bumper39 x=11 y=19 orientation=0
+ball name=Ball0 x=18.5 y=14.5 xVelocity=-11 yVelocity=-10
+ball name=Ball1 x=11.5 y=3.5 xVelocity=4 yVelocity=-6
+ball name=Ball2 x=11.5 y=2.5 xVelocity=13 yVelocity=-3
+ball name=Ball3 x=16.5 y=10.5 xVelocity=-7 yVelocity=-14
+ball name=Ball4 x=13.5 y=13.5 xVelocity=-14 yVelocity=3
+ball name=Ball5 x=7.5 y=12.5 xVelocity=-3 yVelocity=-3
+ball name=Ball6 x=19.5 y=7.5 xVelocity=-10 yVelocity=10
+ball name=Ball7 x=16.5 y=14.5 xVelocity=-8 yVelocity=-5
+ball name=Ball8 x=2.5 y=18.5 xVelocity=11 yVelocity=4
+ball name=Ball9 x=4.5 y=3.5 xVelocity=-13 yVelocity=15
+ball name=Ball10 x=9.5 y=8.5 xVelocity=-15 yVelocity=13
+ball name=Ball11 x=13.5 y=2.5 xVelocity=2 yVelocity=14
+ball name=Ball12 x=2.5 y=11.5 xVelocity=13 yVelocity=7
+ball name=Ball13 x=14.5 y=5.5 xVelocity=12 yVelocity=4
+ball name=Ball14 x=12.5 y=9.5 xVelocity=8 yVelocity=8
+ball name=Ball15 x=10.5 y=12.5 xVelocity=-1 yVelocity=-14
+ball name=Ball16 x=11.5 y=11.5 xVelocity=4 yVelocity=-14
+ball name=Ball17 x=2.5 y=15.5 xVelocity=-15 yVelocity=-7
+ball name=Ball18 x=12.5 y=3.5 xVelocity=-13 yVelocity=3
+ball name=Ball19 x=5.5 y=4.5 xVelocity=-13 yVelocity=-8
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip2
+fire trigger=Bumper0 action=Flip3
+fire trigger=Bumper0 action=Flip4
+fire trigger=Bumper0 action=Flip22
+fire trigger=Bumper0 action=Flip8
+fire trigger=Bumper0 action=Flip12
+fire trigger=Bumper1 action=Flip22
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper1 action=Flip20
+fire trigger=Bumper1 action=Flip13
+fire trigger=Bumper1 action=Flip17
+fire trigger=Bumper1 action=Flip14
+fire trigger=Bumper2 action=Flip18
+fire trigger=Bumper2 action=Flip22
+fire trigger=Bumper2 action=Flip3
+fire trigger=Bumper2 action=Flip16
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper2 action=Flip12
+fire trigger=Bumper3 action=Flip3
+fire trigger=Bumper3 action=Flip14
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper3 action=Flip21
+fire trigger=Bumper3 action=Flip2
+fire trigger=Bumper3 action=Flip9
+fire trigger=Bumper4 action=Flip15
+fire trigger=Bumper4 action=Flip14
+fire trigger=Bumper4 action=Abs
+fire trigger=Bumper4 action=Flip2
+fire trigger=Bumper4 action=Flip19
+fire trigger=Bumper4 action=Flip6
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper5 action=Flip22
+fire trigger=Bumper5 action=Flip20
+fire trigger=Bumper5 action=Flip14
+fire trigger=Bumper5 action=Flip21
+fire trigger=Bumper5 action=Flip19
+fire trigger=Bumper6 action=Flip22
+fire trigger=Bumper6 action=Flip3
+fire trigger=Bumper6 action=Flip9
+fire trigger=Bumper6 action=Flip13
+fire trigger=Bumper6 action=Flip20
+fire trigger=Bumper6 action=Flip11
+fire trigger=Bumper7 action=Flip11
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper7 action=Flip23
+fire trigger=Bumper7 action=Flip16
+fire trigger=Bumper7 action=Flip9
+fire trigger=Bumper7 action=Flip13
+fire trigger=Bumper8 action=Flip16
+fire trigger=Bumper8 action=Flip4
+fire trigger=Bumper8 action=Flip10
+fire trigger=Bumper8 action=Flip19
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper8 action=Flip20
+fire trigger=Bumper9 action=Flip16
+fire trigger=Bumper9 action=Flip19
+fire trigger=Bumper9 action=Flip6
+fire trigger=Bumper9 action=Flip15
+fire trigger=Bumper9 action=Flip10
+fire trigger=Bumper9 action=Flip5
+fire trigger=Bumper10 action=Flip6
+fire trigger=Bumper10 action=Flip13
+fire trigger=Bumper10 action=Flip2
+fire trigger=Bumper10 action=Flip23
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper10 action=Flip7
+fire trigger=Bumper11 action=Flip10
+fire trigger=Bumper11 action=Flip6
+fire trigger=Bumper11 action=Flip8
+fire trigger=Bumper11 action=Flip3
+fire trigger=Bumper11 action=Flip9
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper12 action=Flip12
+fire trigger=Bumper12 action=Flip11
+fire trigger=Bumper12 action=Flip23
+fire trigger=Bumper12 action=Flip9
+fire trigger=Bumper12 action=Flip17
+fire trigger=Bumper12 action=Flip4
+fire trigger=Bumper13 action=Flip5
+fire trigger=Bumper13 action=Flip12
+fire trigger=Bumper13 action=Flip21
+fire trigger=Bumper13 action=Flip13
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip5
+fire trigger=Bumper14 action=Flip4
+fire trigger=Bumper14 action=Flip9
+fire trigger=Bumper14 action=Flip19
+fire trigger=Bumper14 action=Flip17
+fire trigger=Bumper14 action=Flip14
+fire trigger=Bumper15 action=Flip18
+fire trigger=Bumper15 action=Flip20
+fire trigger=Bumper15 action=Flip12
+fire trigger=Bumper15 action=Flip19
+fire trigger=Bumper15 action=Flip2
+fire trigger=Bumper15 action=Flip8
+fire trigger=Bumper16 action=Flip11
+fire trigger=Bumper16 action=Flip22
+fire trigger=Bumper16 action=Flip10
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper16 action=Flip9
+fire trigger=Bumper16 action=Flip7
+fire trigger=Bumper17 action=Flip9
+fire trigger=Bumper17 action=Flip22
+fire trigger=Bumper17 action=Flip7
+fire trigger=Bumper17 action=Flip21
+fire trigger=Bumper17 action=Flip8
+fire trigger=Bumper17 action=Flip2
+fire trigger=Bumper18 action=Flip3
+fire trigger=Bumper18 action=Flip20
+fire trigger=Bumper18 action=Flip8
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper18 action=Flip23
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper19 action=Flip7
+fire trigger=Bumper19 action=Flip2
+fire trigger=Bumper19 action=Flip8
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper19 action=Flip15
+fire trigger=Bumper19 action=Flip16
+fire trigger=Bumper20 action=Flip2
+fire trigger=Bumper20 action=Flip21
+fire trigger=Bumper20 action=Flip18
+fire trigger=Bumper20 action=Flip14
+fire trigger=Bumper20 action=Flip4
+fire trigger=Bumper20 action=Flip15
+fire trigger=Bumper21 action=Flip22
+fire trigger=Bumper21 action=Flip4
+fire trigger=Bumper21 action=Flip21
+fire trigger=Bumper21 action=Flip7
+fire trigger=Bumper21 action=Flip23
+fire trigger=Bumper21 action=Flip5
+fire trigger=Bumper22 action=Flip12
+fire trigger=Bumper22 action=Flip18
+fire trigger=Bumper22 action=Flip11
+fire trigger=Bumper22 action=Flip22
+fire trigger=Bumper22 action=Flip4
+fire trigger=Bumper22 action=Flip14
+fire trigger=Bumper23 action=Flip20
+fire trigger=Bumper23 action=Flip2
+fire trigger=Bumper23 action=Flip3
+fire trigger=Bumper23 action=Flip13
+fire trigger=Bumper23 action=Flip17
+fire trigger=Bumper23 action=Flip8
+fire trigger=Bumper24 action=Flip18
+fire trigger=Bumper24 action=Flip14
+fire trigger=Bumper24 action=Flip12
+fire trigger=Bumper24 action=Flip17
+fire trigger=Bumper24 action=Flip15
+fire trigger=Bumper24 action=Flip21
+fire trigger=Bumper25 action=Flip20
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper25 action=Flip5
+fire trigger=Bumper25 action=Flip16
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper25 action=Flip9
+fire trigger=Bumper26 action=Flip21
+fire trigger=Bumper26 action=Flip22
+fire trigger=Bumper26 action=Abs
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper26 action=Flip2
+fire trigger=Bumper26 action=Flip13
+fire trigger=Bumper27 action=Flip16
+fire trigger=Bumper27 action=Flip11
+fire trigger=Bumper27 action=Flip18
+fire trigger=Bumper27 action=Flip22
+fire trigger=Bumper27 action=Flip12
+fire trigger=Bumper27 action=Flip2
+fire trigger=Bumper28 action=Flip3
+fire trigger=Bumper28 action=Flip21
+fire trigger=Bumper28 action=Flip5
+fire trigger=Bumper28 action=Flip7
+fire trigger=Bumper28 action=Flip10
+fire trigger=Bumper28 action=Flip19
+fire trigger=Bumper29 action=Flip21
+fire trigger=Bumper29 action=Flip2
+fire trigger=Bumper29 action=Flip5
+fire trigger=Bumper29 action=Flip13
+fire trigger=Bumper29 action=Flip11
+fire trigger=Bumper29 action=Flip12
+fire trigger=Bumper30 action=Flip14
+fire trigger=Bumper30 action=Flip21
+fire trigger=Bumper30 action=Flip4
+fire trigger=Bumper30 action=Flip15
+fire trigger=Bumper30 action=Flip16
+fire trigger=Bumper30 action=Flip19
+fire trigger=Bumper31 action=Flip20
+fire trigger=Bumper31 action=Flip3
+fire trigger=Bumper31 action=Flip21
+fire trigger=Bumper31 action=Flip8
+fire trigger=Bumper31 action=Flip16
+fire trigger=Bumper31 action=Flip13
+fire trigger=Bumper32 action=Flip23
+fire trigger=Bumper32 action=Flip2
+fire trigger=Bumper32 action=Flip3
+fire trigger=Bumper32 action=Flip22
+fire trigger=Bumper32 action=Flip18
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Flip15
+fire trigger=Bumper33 action=Flip18
+fire trigger=Bumper33 action=Flip4
+fire trigger=Bumper33 action=Flip3
+fire trigger=Bumper33 action=Flip5
+fire trigger=Bumper33 action=Flip2
+fire trigger=Bumper34 action=Flip13
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper34 action=Flip10
+fire trigger=Bumper34 action=Flip15
+fire trigger=Bumper34 action=Flip22
+fire trigger=Bumper34 action=Flip19
+fire trigger=Bumper35 action=Flip14
+fire trigger=Bumper35 action=Flip22
+fire trigger=Bumper35 action=Flip16
+fire trigger=Bumper35 action=Flip10
+fire trigger=Bumper35 action=Flip3
+fire trigger=Bumper35 action=Flip7
+fire trigger=Bumper36 action=Flip17
+fire trigger=Bumper36 action=Flip2
+fire trigger=Bumper36 action=Flip14
+fire trigger=Bumper36 action=Flip22
+fire trigger=Bumper36 action=Flip5
+fire trigger=Bumper36 action=Flip18
+fire trigger=Bumper37 action=Flip14
+fire trigger=Bumper37 action=Flip23
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper37 action=Flip4
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper37 action=Flip16
+fire trigger=Bumper38 action=Flip10
+fire trigger=Bumper38 action=Flip9
+fire trigger=Bumper38 action=Flip17
+fire trigger=Bumper38 action=Flip13
+fire trigger=Bumper38 action=Flip8
+fire trigger=Bumper38 action=Flip2
+fire trigger=Bumper39 action=Flip15
+fire trigger=Bumper39 action=Flip9
+fire trigger=Bumper39 action=Flip4
+fire trigger=Bumper39 action=Flip17
+fire trigger=Bumper39 action=Flip2
+fire trigger=Bumper39 action=Flip14
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
+keydown key=g action=Flip4
+keyup key=g action=Flip4
+keydown key=h action=Flip5
+keyup key=h action=Flip5
+keydown key=j action=Flip6
+keyup key=j action=Flip6
+keydown key=k action=Flip7
+keyup key=k action=Flip7
+keydown key=l action=Flip8
+keyup key=l action=Flip8
+keydown key=q action=Flip9
+keyup key=q action=Flip9
+keydown key=w action=Flip10
+keyup key=w action=Flip10
+keydown key=e action=Flip11
+keyup key=e action=Flip11
+keydown key=r action=Flip12
+keyup key=r action=Flip12
+keydown key=t action=Flip13
+keyup key=t action=Flip13
+keydown key=y action=Flip14
+keyup key=y action=Flip14
+keydown key=u action=Flip15
+keyup key=u action=Flip15
+keydown key=i action=Flip16
+keyup key=i action=Flip16
+keydown key=o action=Flip17
+keyup key=o action=Flip17
+keydown key=p action=Flip18
+keyup key=p action=Flip18
+keydown key=z action=Flip19
+keyup key=z action=Flip19
+keydown key=x action=Flip20
+keyup key=x action=Flip20
+keydown key=c action=Flip21
+keyup key=c action=Flip21
+keydown key=v action=Flip22
+keyup key=v action=Flip22
+keydown key=b action=Flip23
+keyup key=b action=Flip23
@@ -0,0 +1,208 @@
+# generated by BoardGenerator: grid3x3, 9 boards, density 0.15, 10 balls, 4 flippers, fan-out 2, 2 portals
+board name=grid3x3-0 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=6 y=8 orientation=180
+rightFlipper name=Flip1 x=3 y=10 orientation=180
+leftFlipper name=Flip2 x=4 y=7 orientation=270
+rightFlipper name=Flip3 x=4 y=12 orientation=180
+portal name=Portal0 x=13 y=12 otherBoard=grid3x3-1 otherPortal=Portal0
+portal name=Portal1 x=2 y=9 otherBoard=grid3x3-1 otherPortal=Portal1
+circleBumper name=Bumper0 x=15 y=12
+triangleBumper name=Bumper1 x=1 y=14 orientation=0
+squareBumper name=Bumper2 x=0 y=8
+circleBumper name=Bumper3 x=11 y=5
+circleBumper name=Bumper4 x=2 y=15
+squareBumper name=Bumper5 x=17 y=4
+triangleBumper name=Bumper6 x=6 y=1 orientation=270
+circleBumper name=Bumper7 x=15 y=18
+circleBumper name=Bumper8 x=4 y=5
+circleBumper name=Bumper9 x=12 y=5
+circleBumper name=Bumper10 x=2 y=0
+triangleBumper name=Bumper11 x=12 y=7 orientation=270
+circleBumper name=Bumper12 x=5 y=9
+circleBumper name=Bumper13 x=12 y=8
+triangleBumper name=Bumper14 x=14 y=2 orientation=0
+squareBumper name=Bumper15 x=3 y=14
+circleBumper name=Bumper16 x=9 y=12
+circleBumper name=Bumper17 x=9 y=18
+squareBumper name=Bumper18 x=18 y=15
+triangleBumper name=Bumper19 x=13 y=8 orientation=180
+squareBumper name=Bumper20 x=12 y=6
+circleBumper name=Bumper21 x=18 y=17
+triangleBumper name=Bumper22 x=3 y=12 orientation=270
+triangleBumper name=Bumper23 x=13 y=14 orientation=180
+circleBumper name=Bumper24 x=8 y=10
+squareBumper name=Bumper25 x=17 y=8
+circleBumper name=Bumper26 x=15 y=14
+squareBumper name=Bumper27 x=2 y=7
+circleBumper name=Bumper28 x=17 y=7
+triangleBumper name=Bumper29 x=1 y=18 orientation=90
+circleBumper name=Bumper30 x=1 y=13
+triangleBumper name=Bumper31 x=16 y=13 orientation=270
+triangleBumper name=Bumper32 x=0 y=16 orientation=90
+squareBumper name=Bumper33 x=1 y=4
+circleBumper name=Bumper34 x=3 y=7
+circleBumper name=Bumper35 x=14 y=3
+squareBumper name=Bumper36 x=9 y=15
+circleBumper name=Bumper37 x=8 y=8
+triangleBumper name=Bumper38 x=7 y=3 orientation=180
+squareBumper name=Bumper39 x=4 y=9
+squareBumper name=Bumper40 x=5 y=18
+triangleBumper name=Bumper41 x=5 y=1 orientation=0
+squareBumper name=Bumper42 x=3 y=6
+circleBumper name=Bumper43 x=3 y=1
+triangleBumper name=Bumper44 x=8 y=15 orientation=90
+triangleBumper name=Bumper45 x=1 y=17 orientation=0
+triangleBumper name=Bumper46 x=10 y=12 orientation=0
+circleBumper name=Bumper47 x=5 y=11
+circleBumper name=Bumper48 x=19 y=11
+squareBumper name=Bumper49 x=8 y=9
+triangleBumper name=Bumper50 x=4 y=6 orientation=270
+squareBumper name=Bumper51 x=7 y=2
+squareBumper name=Bumper52 x=13 y=7
+squareBumper name=Bumper53 x=15 y=19
+triangleBumper name=Bumper54 x=17 y=10 orientation=180
+circleBumper name=Bumper55 x=12 y=10
+triangleBumper name=Bumper56 x=17 y=17 orientation=270
+squareBumper name=Bumper57 x=0 y=11
+circleBumper name=Bumper58 x=10 y=2
+circleBumper name=Bumper59 x=6 y=7
+ball name=Ball0 x=9.5 y=13.5 xVelocity=-5 yVelocity=-15
+ball name=Ball1 x=19.5 y=2.5 xVelocity=-10 yVelocity=-2
+ball name=Ball2 x=9.5 y=11.5 xVelocity=-7 yVelocity=-6
+ball name=Ball3 x=18.5 y=16.5 xVelocity=-8 yVelocity=11
+ball name=Ball4 x=17.5 y=2.5 xVelocity=5 yVelocity=-6
+ball name=Ball5 x=8.5 y=0.5 xVelocity=12 yVelocity=11
+ball name=Ball6 x=19.5 y=18.5 xVelocity=0 yVelocity=-1
+ball name=Ball7 x=8.5 y=13.5 xVelocity=-7 yVelocity=-2
+ball name=Ball8 x=13.5 y=10.5 xVelocity=9 yVelocity=13
+ball name=Ball9 x=13.5 y=11.5 xVelocity=-8 yVelocity=4
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip0
+fire trigger=Bumper0 action=Flip3
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip3
+fire trigger=Bumper2 action=Abs
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper3 action=Flip3
+fire trigger=Bumper4 action=Abs
+fire trigger=Bumper4 action=Flip2
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper5 action=Flip3
+fire trigger=Bumper6 action=Flip3
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper7 action=Flip3
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper9 action=Flip3
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper12 action=Flip3
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Flip2
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip2
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper15 action=Flip2
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper16 action=Flip2
+fire trigger=Bumper17 action=Flip2
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Flip1
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Flip2
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip3
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper22 action=Flip2
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Flip2
+fire trigger=Bumper24 action=Flip3
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper25 action=Flip2
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip1
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper28 action=Flip2
+fire trigger=Bumper29 action=Flip1
+fire trigger=Bumper29 action=Flip2
+fire trigger=Bumper30 action=Abs
+fire trigger=Bumper30 action=Flip3
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Flip0
+fire trigger=Bumper33 action=Flip3
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper34 action=Flip3
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper35 action=Flip2
+fire trigger=Bumper36 action=Flip2
+fire trigger=Bumper36 action=Flip3
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper37 action=Flip2
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper38 action=Flip2
+fire trigger=Bumper39 action=Flip3
+fire trigger=Bumper39 action=Flip1
+fire trigger=Bumper40 action=Abs
+fire trigger=Bumper40 action=Flip0
+fire trigger=Bumper41 action=Flip1
+fire trigger=Bumper41 action=Flip3
+fire trigger=Bumper42 action=Flip1
+fire trigger=Bumper42 action=Flip0
+fire trigger=Bumper43 action=Abs
+fire trigger=Bumper43 action=Flip1
+fire trigger=Bumper44 action=Flip0
+fire trigger=Bumper44 action=Flip3
+fire trigger=Bumper45 action=Abs
+fire trigger=Bumper45 action=Flip2
+fire trigger=Bumper46 action=Flip1
+fire trigger=Bumper46 action=Flip0
+fire trigger=Bumper47 action=Flip1
+fire trigger=Bumper47 action=Flip3
+fire trigger=Bumper48 action=Flip0
+fire trigger=Bumper48 action=Abs
+fire trigger=Bumper49 action=Flip3
+fire trigger=Bumper49 action=Abs
+fire trigger=Bumper50 action=Flip0
+fire trigger=Bumper50 action=Flip1
+fire trigger=Bumper51 action=Flip1
+fire trigger=Bumper51 action=Abs
+fire trigger=Bumper52 action=Flip3
+fire trigger=Bumper52 action=Flip2
+fire trigger=Bumper53 action=Flip3
+fire trigger=Bumper53 action=Abs
+fire trigger=Bumper54 action=Flip1
+fire trigger=Bumper54 action=Flip0
+fire trigger=Bumper55 action=Flip3
+fire trigger=Bumper55 action=Abs
+fire trigger=Bumper56 action=Flip0
+fire trigger=Bumper56 action=Abs
+fire trigger=Bumper57 action=Flip2
+fire trigger=Bumper57 action=Flip1
+fire trigger=Bumper58 action=Abs
+fire trigger=Bumper58 action=Flip2
+fire trigger=Bumper59 action=Flip3
+fire trigger=Bumper59 action=Flip2
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
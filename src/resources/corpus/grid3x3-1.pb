@@ -0,0 +1,208 @@
+# generated by BoardGenerator: grid3x3, 9 boards, density 0.15, 10 balls, 4 flippers, fan-out 2, 2 portals
+board name=grid3x3-1 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=9 y=9 orientation=90
+rightFlipper name=Flip1 x=17 y=5 orientation=0
+leftFlipper name=Flip2 x=12 y=5 orientation=180
+rightFlipper name=Flip3 x=4 y=16 orientation=0
+portal name=Portal0 x=7 y=10 otherBoard=grid3x3-2 otherPortal=Portal0
+portal name=Portal1 x=15 y=15 otherBoard=grid3x3-2 otherPortal=Portal1
+circleBumper name=Bumper0 x=17 y=3
+circleBumper name=Bumper1 x=17 y=10
+triangleBumper name=Bumper2 x=12 y=8 orientation=90
+circleBumper name=Bumper3 x=10 y=19
+squareBumper name=Bumper4 x=0 y=17
+circleBumper name=Bumper5 x=13 y=15
+squareBumper name=Bumper6 x=1 y=18
+circleBumper name=Bumper7 x=1 y=7
+circleBumper name=Bumper8 x=1 y=14
+squareBumper name=Bumper9 x=19 y=17
+triangleBumper name=Bumper10 x=11 y=18 orientation=270
+circleBumper name=Bumper11 x=16 y=17
+triangleBumper name=Bumper12 x=0 y=1 orientation=270
+triangleBumper name=Bumper13 x=2 y=16 orientation=270
+triangleBumper name=Bumper14 x=5 y=15 orientation=0
+circleBumper name=Bumper15 x=2 y=4
+triangleBumper name=Bumper16 x=6 y=10 orientation=90
+circleBumper name=Bumper17 x=15 y=16
+circleBumper name=Bumper18 x=17 y=7
+squareBumper name=Bumper19 x=12 y=16
+triangleBumper name=Bumper20 x=15 y=13 orientation=180
+triangleBumper name=Bumper21 x=14 y=10 orientation=0
+triangleBumper name=Bumper22 x=2 y=8 orientation=270
+squareBumper name=Bumper23 x=17 y=15
+triangleBumper name=Bumper24 x=18 y=14 orientation=90
+circleBumper name=Bumper25 x=8 y=14
+circleBumper name=Bumper26 x=7 y=6
+triangleBumper name=Bumper27 x=14 y=18 orientation=90
+squareBumper name=Bumper28 x=10 y=11
+squareBumper name=Bumper29 x=9 y=11
+squareBumper name=Bumper30 x=7 y=14
+squareBumper name=Bumper31 x=13 y=4
+squareBumper name=Bumper32 x=18 y=12
+squareBumper name=Bumper33 x=8 y=16
+triangleBumper name=Bumper34 x=18 y=2 orientation=0
+triangleBumper name=Bumper35 x=2 y=5 orientation=180
+squareBumper name=Bumper36 x=17 y=14
+circleBumper name=Bumper37 x=6 y=14
+squareBumper name=Bumper38 x=16 y=5
+squareBumper name=Bumper39 x=0 y=13
+squareBumper name=Bumper40 x=19 y=11
+squareBumper name=Bumper41 x=13 y=1
+circleBumper name=Bumper42 x=1 y=0
+squareBumper name=Bumper43 x=19 y=5
+squareBumper name=Bumper44 x=2 y=15
+circleBumper name=Bumper45 x=8 y=7
+triangleBumper name=Bumper46 x=1 y=1 orientation=270
+triangleBumper name=Bumper47 x=4 y=9 orientation=270
+circleBumper name=Bumper48 x=18 y=8
+squareBumper name=Bumper49 x=17 y=2
+circleBumper name=Bumper50 x=8 y=6
+squareBumper name=Bumper51 x=5 y=12
+squareBumper name=Bumper52 x=9 y=16
+circleBumper name=Bumper53 x=3 y=2
+squareBumper name=Bumper54 x=14 y=11
+triangleBumper name=Bumper55 x=10 y=5 orientation=180
+circleBumper name=Bumper56 x=19 y=12
+triangleBumper name=Bumper57 x=1 y=15 orientation=0
+squareBumper name=Bumper58 x=18 y=16
+circleBumper name=Bumper59 x=5 y=6
+ball name=Ball0 x=12.5 y=9.5 xVelocity=4 yVelocity=6
+ball name=Ball1 x=12.5 y=0.5 xVelocity=4 yVelocity=4
+ball name=Ball2 x=7.5 y=19.5 xVelocity=-7 yVelocity=-7
+ball name=Ball3 x=16.5 y=10.5 xVelocity=-9 yVelocity=-3
+ball name=Ball4 x=9.5 y=12.5 xVelocity=11 yVelocity=15
+ball name=Ball5 x=11.5 y=7.5 xVelocity=-5 yVelocity=1
+ball name=Ball6 x=3.5 y=6.5 xVelocity=-3 yVelocity=-10
+ball name=Ball7 x=15.5 y=19.5 xVelocity=-12 yVelocity=-7
+ball name=Ball8 x=5.5 y=4.5 xVelocity=9 yVelocity=2
+ball name=Ball9 x=10.5 y=13.5 xVelocity=0 yVelocity=5
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip0
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper1 action=Flip3
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper3 action=Flip2
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper4 action=Flip2
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper5 action=Flip2
+fire trigger=Bumper6 action=Flip2
+fire trigger=Bumper6 action=Flip3
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper10 action=Flip3
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Flip3
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper12 action=Flip3
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper13 action=Flip2
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Flip2
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Flip2
+fire trigger=Bumper16 action=Flip1
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Flip3
+fire trigger=Bumper18 action=Flip2
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper20 action=Flip3
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip2
+fire trigger=Bumper21 action=Flip3
+fire trigger=Bumper22 action=Flip1
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper23 action=Flip3
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Flip3
+fire trigger=Bumper24 action=Abs
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper25 action=Flip2
+fire trigger=Bumper26 action=Flip2
+fire trigger=Bumper26 action=Flip3
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper27 action=Flip3
+fire trigger=Bumper28 action=Flip3
+fire trigger=Bumper28 action=Flip2
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Flip2
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip3
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper32 action=Flip3
+fire trigger=Bumper32 action=Flip2
+fire trigger=Bumper33 action=Flip1
+fire trigger=Bumper33 action=Flip3
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper34 action=Flip2
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip2
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Flip3
+fire trigger=Bumper37 action=Flip0
+fire trigger=Bumper38 action=Abs
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper39 action=Flip3
+fire trigger=Bumper39 action=Flip1
+fire trigger=Bumper40 action=Flip3
+fire trigger=Bumper40 action=Flip2
+fire trigger=Bumper41 action=Flip3
+fire trigger=Bumper41 action=Flip2
+fire trigger=Bumper42 action=Flip1
+fire trigger=Bumper42 action=Abs
+fire trigger=Bumper43 action=Flip1
+fire trigger=Bumper43 action=Flip3
+fire trigger=Bumper44 action=Flip3
+fire trigger=Bumper44 action=Abs
+fire trigger=Bumper45 action=Flip1
+fire trigger=Bumper45 action=Flip2
+fire trigger=Bumper46 action=Abs
+fire trigger=Bumper46 action=Flip1
+fire trigger=Bumper47 action=Flip0
+fire trigger=Bumper47 action=Abs
+fire trigger=Bumper48 action=Flip1
+fire trigger=Bumper48 action=Abs
+fire trigger=Bumper49 action=Flip0
+fire trigger=Bumper49 action=Flip1
+fire trigger=Bumper50 action=Flip0
+fire trigger=Bumper50 action=Flip3
+fire trigger=Bumper51 action=Flip2
+fire trigger=Bumper51 action=Flip1
+fire trigger=Bumper52 action=Flip0
+fire trigger=Bumper52 action=Abs
+fire trigger=Bumper53 action=Flip3
+fire trigger=Bumper53 action=Flip2
+fire trigger=Bumper54 action=Flip3
+fire trigger=Bumper54 action=Abs
+fire trigger=Bumper55 action=Abs
+fire trigger=Bumper55 action=Flip2
+fire trigger=Bumper56 action=Flip1
+fire trigger=Bumper56 action=Flip0
+fire trigger=Bumper57 action=Flip0
+fire trigger=Bumper57 action=Abs
+fire trigger=Bumper58 action=Flip3
+fire trigger=Bumper58 action=Abs
+fire trigger=Bumper59 action=Flip1
+fire trigger=Bumper59 action=Abs
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
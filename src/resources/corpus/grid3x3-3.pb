@@ -0,0 +1,208 @@
+# generated by BoardGenerator: grid3x3, 9 boards, density 0.15, 10 balls, 4 flippers, fan-out 2, 2 portals
+board name=grid3x3-3 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=7 y=15 orientation=0
+rightFlipper name=Flip1 x=13 y=2 orientation=180
+leftFlipper name=Flip2 x=0 y=9 orientation=270
+rightFlipper name=Flip3 x=12 y=0 orientation=0
+portal name=Portal0 x=8 y=1 otherBoard=grid3x3-4 otherPortal=Portal0
+portal name=Portal1 x=2 y=7 otherBoard=grid3x3-4 otherPortal=Portal1
+circleBumper name=Bumper0 x=0 y=7
+triangleBumper name=Bumper1 x=19 y=4 orientation=270
+triangleBumper name=Bumper2 x=4 y=6 orientation=270
+circleBumper name=Bumper3 x=15 y=11
+squareBumper name=Bumper4 x=18 y=1
+squareBumper name=Bumper5 x=17 y=14
+squareBumper name=Bumper6 x=7 y=13
+squareBumper name=Bumper7 x=16 y=3
+triangleBumper name=Bumper8 x=7 y=10 orientation=180
+circleBumper name=Bumper9 x=10 y=2
+triangleBumper name=Bumper10 x=19 y=0 orientation=90
+triangleBumper name=Bumper11 x=9 y=7 orientation=90
+squareBumper name=Bumper12 x=16 y=15
+triangleBumper name=Bumper13 x=12 y=18 orientation=180
+squareBumper name=Bumper14 x=12 y=4
+triangleBumper name=Bumper15 x=12 y=10 orientation=180
+squareBumper name=Bumper16 x=5 y=1
+triangleBumper name=Bumper17 x=9 y=6 orientation=0
+circleBumper name=Bumper18 x=19 y=10
+squareBumper name=Bumper19 x=5 y=15
+circleBumper name=Bumper20 x=9 y=14
+squareBumper name=Bumper21 x=5 y=2
+squareBumper name=Bumper22 x=2 y=10
+squareBumper name=Bumper23 x=3 y=3
+circleBumper name=Bumper24 x=2 y=2
+circleBumper name=Bumper25 x=9 y=1
+triangleBumper name=Bumper26 x=3 y=5 orientation=180
+squareBumper name=Bumper27 x=1 y=5
+triangleBumper name=Bumper28 x=15 y=16 orientation=180
+triangleBumper name=Bumper29 x=14 y=9 orientation=0
+triangleBumper name=Bumper30 x=0 y=13 orientation=270
+squareBumper name=Bumper31 x=3 y=8
+triangleBumper name=Bumper32 x=3 y=12 orientation=90
+circleBumper name=Bumper33 x=1 y=16
+circleBumper name=Bumper34 x=1 y=17
+circleBumper name=Bumper35 x=17 y=7
+squareBumper name=Bumper36 x=2 y=11
+triangleBumper name=Bumper37 x=3 y=0 orientation=0
+triangleBumper name=Bumper38 x=15 y=19 orientation=180
+circleBumper name=Bumper39 x=18 y=9
+triangleBumper name=Bumper40 x=15 y=4 orientation=180
+triangleBumper name=Bumper41 x=9 y=4 orientation=0
+squareBumper name=Bumper42 x=17 y=10
+squareBumper name=Bumper43 x=14 y=7
+squareBumper name=Bumper44 x=6 y=16
+squareBumper name=Bumper45 x=4 y=10
+circleBumper name=Bumper46 x=5 y=5
+triangleBumper name=Bumper47 x=15 y=14 orientation=0
+circleBumper name=Bumper48 x=1 y=4
+squareBumper name=Bumper49 x=10 y=9
+circleBumper name=Bumper50 x=14 y=12
+squareBumper name=Bumper51 x=0 y=4
+triangleBumper name=Bumper52 x=16 y=8 orientation=270
+triangleBumper name=Bumper53 x=6 y=9 orientation=270
+squareBumper name=Bumper54 x=7 y=8
+squareBumper name=Bumper55 x=6 y=13
+squareBumper name=Bumper56 x=6 y=11
+squareBumper name=Bumper57 x=3 y=2
+circleBumper name=Bumper58 x=17 y=19
+triangleBumper name=Bumper59 x=13 y=4 orientation=0
+ball name=Ball0 x=7.5 y=18.5 xVelocity=4 yVelocity=9
+ball name=Ball1 x=4.5 y=12.5 xVelocity=2 yVelocity=7
+ball name=Ball2 x=13.5 y=8.5 xVelocity=13 yVelocity=5
+ball name=Ball3 x=2.5 y=9.5 xVelocity=-5 yVelocity=11
+ball name=Ball4 x=13.5 y=6.5 xVelocity=-6 yVelocity=-13
+ball name=Ball5 x=8.5 y=13.5 xVelocity=-14 yVelocity=-15
+ball name=Ball6 x=12.5 y=16.5 xVelocity=2 yVelocity=-11
+ball name=Ball7 x=5.5 y=7.5 xVelocity=9 yVelocity=-3
+ball name=Ball8 x=12.5 y=19.5 xVelocity=15 yVelocity=4
+ball name=Ball9 x=19.5 y=16.5 xVelocity=-1 yVelocity=-6
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip2
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Flip2
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Abs
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper6 action=Flip2
+fire trigger=Bumper6 action=Flip3
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Flip3
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper11 action=Flip3
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper12 action=Flip2
+fire trigger=Bumper12 action=Flip1
+fire trigger=Bumper13 action=Flip3
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Flip2
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper16 action=Flip3
+fire trigger=Bumper16 action=Flip0
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper17 action=Flip3
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper18 action=Flip2
+fire trigger=Bumper19 action=Flip3
+fire trigger=Bumper19 action=Flip2
+fire trigger=Bumper20 action=Abs
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper21 action=Flip3
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper22 action=Flip1
+fire trigger=Bumper23 action=Flip2
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Flip3
+fire trigger=Bumper24 action=Flip2
+fire trigger=Bumper25 action=Flip3
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper26 action=Abs
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip2
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip2
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper30 action=Flip1
+fire trigger=Bumper30 action=Flip2
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper31 action=Flip2
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper32 action=Flip3
+fire trigger=Bumper33 action=Flip0
+fire trigger=Bumper33 action=Flip2
+fire trigger=Bumper34 action=Flip2
+fire trigger=Bumper34 action=Flip3
+fire trigger=Bumper35 action=Flip3
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper36 action=Flip2
+fire trigger=Bumper37 action=Flip2
+fire trigger=Bumper37 action=Flip3
+fire trigger=Bumper38 action=Flip3
+fire trigger=Bumper38 action=Flip2
+fire trigger=Bumper39 action=Abs
+fire trigger=Bumper39 action=Flip1
+fire trigger=Bumper40 action=Flip2
+fire trigger=Bumper40 action=Flip3
+fire trigger=Bumper41 action=Flip3
+fire trigger=Bumper41 action=Abs
+fire trigger=Bumper42 action=Flip1
+fire trigger=Bumper42 action=Abs
+fire trigger=Bumper43 action=Flip0
+fire trigger=Bumper43 action=Flip3
+fire trigger=Bumper44 action=Flip0
+fire trigger=Bumper44 action=Flip3
+fire trigger=Bumper45 action=Flip1
+fire trigger=Bumper45 action=Flip0
+fire trigger=Bumper46 action=Flip1
+fire trigger=Bumper46 action=Abs
+fire trigger=Bumper47 action=Flip0
+fire trigger=Bumper47 action=Flip2
+fire trigger=Bumper48 action=Flip0
+fire trigger=Bumper48 action=Flip1
+fire trigger=Bumper49 action=Flip2
+fire trigger=Bumper49 action=Flip0
+fire trigger=Bumper50 action=Abs
+fire trigger=Bumper50 action=Flip0
+fire trigger=Bumper51 action=Flip2
+fire trigger=Bumper51 action=Flip1
+fire trigger=Bumper52 action=Abs
+fire trigger=Bumper52 action=Flip0
+fire trigger=Bumper53 action=Flip2
+fire trigger=Bumper53 action=Flip0
+fire trigger=Bumper54 action=Abs
+fire trigger=Bumper54 action=Flip2
+fire trigger=Bumper55 action=Flip2
+fire trigger=Bumper55 action=Flip3
+fire trigger=Bumper56 action=Flip0
+fire trigger=Bumper56 action=Flip3
+fire trigger=Bumper57 action=Abs
+fire trigger=Bumper57 action=Flip0
+fire trigger=Bumper58 action=Flip3
+fire trigger=Bumper58 action=Flip1
+fire trigger=Bumper59 action=Flip1
+fire trigger=Bumper59 action=Flip3
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
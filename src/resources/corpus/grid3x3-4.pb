@@ -0,0 +1,208 @@
+# generated by BoardGenerator: grid3x3, 9 boards, density 0.15, 10 balls, 4 flippers, fan-out 2, 2 portals
+board name=grid3x3-4 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=8 y=12 orientation=0
+rightFlipper name=Flip1 x=12 y=7 orientation=270
+leftFlipper name=Flip2 x=2 y=8 orientation=90
+rightFlipper name=Flip3 x=13 y=15 orientation=0
+portal name=Portal0 x=8 y=17 otherBoard=grid3x3-5 otherPortal=Portal0
+portal name=Portal1 x=9 y=5 otherBoard=grid3x3-5 otherPortal=Portal1
+circleBumper name=Bumper0 x=9 y=8
+squareBumper name=Bumper1 x=1 y=6
+triangleBumper name=Bumper2 x=13 y=6 orientation=0
+circleBumper name=Bumper3 x=12 y=10
+squareBumper name=Bumper4 x=0 y=3
+triangleBumper name=Bumper5 x=18 y=2 orientation=0
+circleBumper name=Bumper6 x=6 y=2
+circleBumper name=Bumper7 x=6 y=7
+triangleBumper name=Bumper8 x=18 y=10 orientation=90
+squareBumper name=Bumper9 x=19 y=2
+circleBumper name=Bumper10 x=18 y=8
+triangleBumper name=Bumper11 x=19 y=12 orientation=270
+circleBumper name=Bumper12 x=13 y=3
+circleBumper name=Bumper13 x=19 y=14
+triangleBumper name=Bumper14 x=4 y=12 orientation=180
+triangleBumper name=Bumper15 x=6 y=19 orientation=90
+triangleBumper name=Bumper16 x=4 y=10 orientation=90
+circleBumper name=Bumper17 x=4 y=8
+circleBumper name=Bumper18 x=2 y=5
+triangleBumper name=Bumper19 x=6 y=4 orientation=180
+squareBumper name=Bumper20 x=7 y=12
+triangleBumper name=Bumper21 x=19 y=6 orientation=0
+circleBumper name=Bumper22 x=2 y=0
+squareBumper name=Bumper23 x=17 y=4
+triangleBumper name=Bumper24 x=14 y=19 orientation=180
+squareBumper name=Bumper25 x=17 y=1
+triangleBumper name=Bumper26 x=14 y=5 orientation=180
+triangleBumper name=Bumper27 x=7 y=3 orientation=180
+circleBumper name=Bumper28 x=6 y=0
+triangleBumper name=Bumper29 x=15 y=17 orientation=90
+triangleBumper name=Bumper30 x=16 y=11 orientation=90
+squareBumper name=Bumper31 x=12 y=15
+triangleBumper name=Bumper32 x=16 y=10 orientation=0
+squareBumper name=Bumper33 x=8 y=5
+triangleBumper name=Bumper34 x=9 y=17 orientation=180
+squareBumper name=Bumper35 x=7 y=16
+circleBumper name=Bumper36 x=2 y=13
+squareBumper name=Bumper37 x=7 y=7
+triangleBumper name=Bumper38 x=17 y=16 orientation=90
+squareBumper name=Bumper39 x=10 y=5
+squareBumper name=Bumper40 x=16 y=0
+squareBumper name=Bumper41 x=11 y=3
+circleBumper name=Bumper42 x=18 y=1
+triangleBumper name=Bumper43 x=8 y=14 orientation=90
+squareBumper name=Bumper44 x=8 y=11
+triangleBumper name=Bumper45 x=17 y=6 orientation=180
+squareBumper name=Bumper46 x=6 y=14
+circleBumper name=Bumper47 x=4 y=11
+squareBumper name=Bumper48 x=1 y=15
+squareBumper name=Bumper49 x=9 y=11
+circleBumper name=Bumper50 x=17 y=19
+circleBumper name=Bumper51 x=5 y=6
+circleBumper name=Bumper52 x=5 y=19
+circleBumper name=Bumper53 x=12 y=16
+squareBumper name=Bumper54 x=11 y=13
+triangleBumper name=Bumper55 x=3 y=6 orientation=180
+circleBumper name=Bumper56 x=6 y=17
+circleBumper name=Bumper57 x=2 y=2
+circleBumper name=Bumper58 x=5 y=1
+triangleBumper name=Bumper59 x=1 y=14 orientation=270
+ball name=Ball0 x=12.5 y=12.5 xVelocity=3 yVelocity=-14
+ball name=Ball1 x=18.5 y=14.5 xVelocity=-8 yVelocity=-15
+ball name=Ball2 x=14.5 y=14.5 xVelocity=14 yVelocity=12
+ball name=Ball3 x=15.5 y=5.5 xVelocity=15 yVelocity=-11
+ball name=Ball4 x=6.5 y=18.5 xVelocity=1 yVelocity=8
+ball name=Ball5 x=7.5 y=10.5 xVelocity=-1 yVelocity=11
+ball name=Ball6 x=4.5 y=7.5 xVelocity=8 yVelocity=6
+ball name=Ball7 x=12.5 y=17.5 xVelocity=-14 yVelocity=5
+ball name=Ball8 x=11.5 y=2.5 xVelocity=9 yVelocity=14
+ball name=Ball9 x=5.5 y=4.5 xVelocity=-4 yVelocity=8
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip3
+fire trigger=Bumper0 action=Flip2
+fire trigger=Bumper1 action=Flip2
+fire trigger=Bumper1 action=Abs
+fire trigger=Bumper2 action=Flip3
+fire trigger=Bumper2 action=Flip2
+fire trigger=Bumper3 action=Flip2
+fire trigger=Bumper3 action=Flip3
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper4 action=Flip2
+fire trigger=Bumper5 action=Flip3
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper6 action=Flip3
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper7 action=Flip3
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper8 action=Flip2
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper9 action=Flip3
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Flip3
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper12 action=Flip2
+fire trigger=Bumper13 action=Flip2
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper16 action=Flip0
+fire trigger=Bumper16 action=Flip3
+fire trigger=Bumper17 action=Flip3
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Flip1
+fire trigger=Bumper18 action=Flip3
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper20 action=Flip2
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper21 action=Flip1
+fire trigger=Bumper22 action=Flip2
+fire trigger=Bumper22 action=Flip1
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper24 action=Flip2
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper25 action=Flip2
+fire trigger=Bumper26 action=Flip3
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Flip1
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Flip3
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip3
+fire trigger=Bumper29 action=Flip1
+fire trigger=Bumper30 action=Flip2
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip3
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Abs
+fire trigger=Bumper32 action=Flip2
+fire trigger=Bumper33 action=Flip3
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Flip3
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper35 action=Flip3
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper36 action=Abs
+fire trigger=Bumper37 action=Flip2
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper38 action=Flip3
+fire trigger=Bumper39 action=Flip2
+fire trigger=Bumper39 action=Abs
+fire trigger=Bumper40 action=Flip1
+fire trigger=Bumper40 action=Flip0
+fire trigger=Bumper41 action=Flip2
+fire trigger=Bumper41 action=Flip0
+fire trigger=Bumper42 action=Flip0
+fire trigger=Bumper42 action=Flip1
+fire trigger=Bumper43 action=Flip1
+fire trigger=Bumper43 action=Flip3
+fire trigger=Bumper44 action=Flip1
+fire trigger=Bumper44 action=Flip0
+fire trigger=Bumper45 action=Flip2
+fire trigger=Bumper45 action=Abs
+fire trigger=Bumper46 action=Flip2
+fire trigger=Bumper46 action=Flip0
+fire trigger=Bumper47 action=Flip1
+fire trigger=Bumper47 action=Flip2
+fire trigger=Bumper48 action=Flip1
+fire trigger=Bumper48 action=Flip3
+fire trigger=Bumper49 action=Flip0
+fire trigger=Bumper49 action=Abs
+fire trigger=Bumper50 action=Flip2
+fire trigger=Bumper50 action=Abs
+fire trigger=Bumper51 action=Flip0
+fire trigger=Bumper51 action=Flip3
+fire trigger=Bumper52 action=Flip0
+fire trigger=Bumper52 action=Flip2
+fire trigger=Bumper53 action=Flip3
+fire trigger=Bumper53 action=Flip0
+fire trigger=Bumper54 action=Flip2
+fire trigger=Bumper54 action=Flip0
+fire trigger=Bumper55 action=Flip2
+fire trigger=Bumper55 action=Flip1
+fire trigger=Bumper56 action=Flip3
+fire trigger=Bumper56 action=Abs
+fire trigger=Bumper57 action=Flip1
+fire trigger=Bumper57 action=Flip3
+fire trigger=Bumper58 action=Flip3
+fire trigger=Bumper58 action=Flip1
+fire trigger=Bumper59 action=Flip2
+fire trigger=Bumper59 action=Flip0
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
@@ -0,0 +1,208 @@
+# generated by BoardGenerator: grid3x3, 9 boards, density 0.15, 10 balls, 4 flippers, fan-out 2, 2 portals
+board name=grid3x3-5 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=11 y=13 orientation=0
+rightFlipper name=Flip1 x=2 y=6 orientation=0
+leftFlipper name=Flip2 x=16 y=17 orientation=0
+rightFlipper name=Flip3 x=17 y=3 orientation=270
+portal name=Portal0 x=10 y=11 otherBoard=grid3x3-6 otherPortal=Portal0
+portal name=Portal1 x=10 y=4 otherBoard=grid3x3-6 otherPortal=Portal1
+triangleBumper name=Bumper0 x=5 y=16 orientation=0
+triangleBumper name=Bumper1 x=10 y=5 orientation=270
+circleBumper name=Bumper2 x=9 y=3
+triangleBumper name=Bumper3 x=17 y=16 orientation=0
+squareBumper name=Bumper4 x=1 y=16
+squareBumper name=Bumper5 x=19 y=13
+triangleBumper name=Bumper6 x=19 y=10 orientation=180
+triangleBumper name=Bumper7 x=13 y=18 orientation=180
+circleBumper name=Bumper8 x=2 y=18
+triangleBumper name=Bumper9 x=3 y=2 orientation=180
+circleBumper name=Bumper10 x=10 y=2
+triangleBumper name=Bumper11 x=19 y=3 orientation=90
+squareBumper name=Bumper12 x=16 y=3
+squareBumper name=Bumper13 x=6 y=12
+circleBumper name=Bumper14 x=11 y=8
+circleBumper name=Bumper15 x=15 y=16
+circleBumper name=Bumper16 x=16 y=15
+squareBumper name=Bumper17 x=7 y=15
+triangleBumper name=Bumper18 x=18 y=13 orientation=0
+circleBumper name=Bumper19 x=2 y=10
+circleBumper name=Bumper20 x=5 y=7
+triangleBumper name=Bumper21 x=0 y=4 orientation=90
+circleBumper name=Bumper22 x=13 y=16
+circleBumper name=Bumper23 x=9 y=11
+circleBumper name=Bumper24 x=16 y=6
+triangleBumper name=Bumper25 x=7 y=13 orientation=90
+squareBumper name=Bumper26 x=7 y=12
+circleBumper name=Bumper27 x=12 y=17
+squareBumper name=Bumper28 x=6 y=1
+triangleBumper name=Bumper29 x=2 y=3 orientation=90
+circleBumper name=Bumper30 x=9 y=4
+squareBumper name=Bumper31 x=10 y=18
+circleBumper name=Bumper32 x=8 y=15
+circleBumper name=Bumper33 x=1 y=17
+circleBumper name=Bumper34 x=8 y=4
+triangleBumper name=Bumper35 x=19 y=11 orientation=270
+squareBumper name=Bumper36 x=3 y=4
+squareBumper name=Bumper37 x=0 y=1
+circleBumper name=Bumper38 x=12 y=8
+triangleBumper name=Bumper39 x=0 y=0 orientation=270
+triangleBumper name=Bumper40 x=8 y=13 orientation=0
+circleBumper name=Bumper41 x=1 y=5
+circleBumper name=Bumper42 x=14 y=7
+triangleBumper name=Bumper43 x=2 y=0 orientation=0
+squareBumper name=Bumper44 x=6 y=5
+triangleBumper name=Bumper45 x=3 y=12 orientation=180
+squareBumper name=Bumper46 x=8 y=16
+circleBumper name=Bumper47 x=6 y=8
+circleBumper name=Bumper48 x=18 y=7
+triangleBumper name=Bumper49 x=4 y=17 orientation=180
+squareBumper name=Bumper50 x=4 y=13
+triangleBumper name=Bumper51 x=3 y=9 orientation=90
+squareBumper name=Bumper52 x=1 y=3
+triangleBumper name=Bumper53 x=12 y=11 orientation=90
+circleBumper name=Bumper54 x=19 y=2
+triangleBumper name=Bumper55 x=15 y=4 orientation=180
+circleBumper name=Bumper56 x=17 y=8
+circleBumper name=Bumper57 x=5 y=4
+circleBumper name=Bumper58 x=0 y=15
+circleBumper name=Bumper59 x=5 y=1
+ball name=Ball0 x=13.5 y=8.5 xVelocity=-11 yVelocity=5
+ball name=Ball1 x=17.5 y=10.5 xVelocity=9 yVelocity=-3
+ball name=Ball2 x=10.5 y=12.5 xVelocity=11 yVelocity=-13
+ball name=Ball3 x=10.5 y=10.5 xVelocity=13 yVelocity=-8
+ball name=Ball4 x=9.5 y=8.5 xVelocity=8 yVelocity=-4
+ball name=Ball5 x=8.5 y=5.5 xVelocity=-2 yVelocity=-3
+ball name=Ball6 x=4.5 y=11.5 xVelocity=4 yVelocity=-12
+ball name=Ball7 x=2.5 y=16.5 xVelocity=12 yVelocity=7
+ball name=Ball8 x=1.5 y=18.5 xVelocity=-8 yVelocity=8
+ball name=Ball9 x=6.5 y=15.5 xVelocity=9 yVelocity=-15
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip2
+fire trigger=Bumper0 action=Flip0
+fire trigger=Bumper1 action=Flip2
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper2 action=Flip3
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper3 action=Flip2
+fire trigger=Bumper4 action=Flip2
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper5 action=Flip2
+fire trigger=Bumper6 action=Abs
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper7 action=Flip3
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper9 action=Flip3
+fire trigger=Bumper10 action=Flip2
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Flip3
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Flip2
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper13 action=Flip3
+fire trigger=Bumper14 action=Flip3
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper16 action=Flip3
+fire trigger=Bumper16 action=Flip2
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper18 action=Flip1
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper19 action=Flip3
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip3
+fire trigger=Bumper21 action=Flip2
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper22 action=Flip2
+fire trigger=Bumper23 action=Flip1
+fire trigger=Bumper23 action=Flip3
+fire trigger=Bumper24 action=Abs
+fire trigger=Bumper24 action=Flip0
+fire trigger=Bumper25 action=Flip2
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Flip3
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Abs
+fire trigger=Bumper28 action=Flip2
+fire trigger=Bumper29 action=Flip2
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper30 action=Flip2
+fire trigger=Bumper31 action=Flip2
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper32 action=Flip2
+fire trigger=Bumper33 action=Flip2
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Flip0
+fire trigger=Bumper34 action=Flip2
+fire trigger=Bumper35 action=Flip3
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper36 action=Flip2
+fire trigger=Bumper37 action=Flip2
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Flip2
+fire trigger=Bumper38 action=Abs
+fire trigger=Bumper39 action=Flip2
+fire trigger=Bumper39 action=Flip3
+fire trigger=Bumper40 action=Flip2
+fire trigger=Bumper40 action=Flip3
+fire trigger=Bumper41 action=Flip2
+fire trigger=Bumper41 action=Flip1
+fire trigger=Bumper42 action=Abs
+fire trigger=Bumper42 action=Flip3
+fire trigger=Bumper43 action=Flip2
+fire trigger=Bumper43 action=Flip0
+fire trigger=Bumper44 action=Flip2
+fire trigger=Bumper44 action=Flip3
+fire trigger=Bumper45 action=Abs
+fire trigger=Bumper45 action=Flip0
+fire trigger=Bumper46 action=Flip1
+fire trigger=Bumper46 action=Flip3
+fire trigger=Bumper47 action=Flip3
+fire trigger=Bumper47 action=Flip1
+fire trigger=Bumper48 action=Abs
+fire trigger=Bumper48 action=Flip3
+fire trigger=Bumper49 action=Flip0
+fire trigger=Bumper49 action=Flip1
+fire trigger=Bumper50 action=Flip2
+fire trigger=Bumper50 action=Flip0
+fire trigger=Bumper51 action=Flip3
+fire trigger=Bumper51 action=Abs
+fire trigger=Bumper52 action=Flip2
+fire trigger=Bumper52 action=Abs
+fire trigger=Bumper53 action=Flip0
+fire trigger=Bumper53 action=Abs
+fire trigger=Bumper54 action=Flip2
+fire trigger=Bumper54 action=Flip3
+fire trigger=Bumper55 action=Flip2
+fire trigger=Bumper55 action=Flip0
+fire trigger=Bumper56 action=Flip3
+fire trigger=Bumper56 action=Flip2
+fire trigger=Bumper57 action=Flip1
+fire trigger=Bumper57 action=Abs
+fire trigger=Bumper58 action=Abs
+fire trigger=Bumper58 action=Flip2
+fire trigger=Bumper59 action=Flip2
+fire trigger=Bumper59 action=Flip3
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
@@ -0,0 +1,208 @@
+# generated by BoardGenerator: grid3x3, 9 boards, density 0.15, 10 balls, 4 flippers, fan-out 2, 2 portals
+board name=grid3x3-6 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=11 y=10 orientation=90
+rightFlipper name=Flip1 x=12 y=18 orientation=270
+leftFlipper name=Flip2 x=2 y=4 orientation=90
+rightFlipper name=Flip3 x=8 y=3 orientation=180
+portal name=Portal0 x=2 y=8 otherBoard=grid3x3-7 otherPortal=Portal0
+portal name=Portal1 x=16 y=1 otherBoard=grid3x3-7 otherPortal=Portal1
+triangleBumper name=Bumper0 x=19 y=2 orientation=90
+squareBumper name=Bumper1 x=14 y=2
+squareBumper name=Bumper2 x=17 y=11
+circleBumper name=Bumper3 x=16 y=7
+circleBumper name=Bumper4 x=7 y=3
+squareBumper name=Bumper5 x=8 y=8
+triangleBumper name=Bumper6 x=15 y=3 orientation=180
+circleBumper name=Bumper7 x=19 y=13
+squareBumper name=Bumper8 x=5 y=8
+circleBumper name=Bumper9 x=3 y=7
+circleBumper name=Bumper10 x=4 y=18
+squareBumper name=Bumper11 x=10 y=8
+circleBumper name=Bumper12 x=16 y=5
+circleBumper name=Bumper13 x=2 y=7
+squareBumper name=Bumper14 x=16 y=4
+circleBumper name=Bumper15 x=0 y=3
+circleBumper name=Bumper16 x=11 y=2
+circleBumper name=Bumper17 x=4 y=9
+circleBumper name=Bumper18 x=2 y=15
+circleBumper name=Bumper19 x=1 y=2
+triangleBumper name=Bumper20 x=15 y=8 orientation=270
+squareBumper name=Bumper21 x=18 y=3
+squareBumper name=Bumper22 x=17 y=7
+circleBumper name=Bumper23 x=12 y=3
+circleBumper name=Bumper24 x=18 y=16
+triangleBumper name=Bumper25 x=1 y=13 orientation=270
+squareBumper name=Bumper26 x=0 y=1
+triangleBumper name=Bumper27 x=17 y=15 orientation=270
+triangleBumper name=Bumper28 x=13 y=13 orientation=0
+circleBumper name=Bumper29 x=18 y=6
+triangleBumper name=Bumper30 x=14 y=10 orientation=180
+circleBumper name=Bumper31 x=7 y=1
+circleBumper name=Bumper32 x=15 y=12
+squareBumper name=Bumper33 x=18 y=5
+squareBumper name=Bumper34 x=14 y=15
+triangleBumper name=Bumper35 x=6 y=9 orientation=270
+squareBumper name=Bumper36 x=15 y=18
+triangleBumper name=Bumper37 x=18 y=4 orientation=0
+circleBumper name=Bumper38 x=9 y=14
+circleBumper name=Bumper39 x=9 y=17
+squareBumper name=Bumper40 x=0 y=17
+squareBumper name=Bumper41 x=1 y=8
+squareBumper name=Bumper42 x=10 y=14
+triangleBumper name=Bumper43 x=5 y=9 orientation=0
+squareBumper name=Bumper44 x=15 y=13
+squareBumper name=Bumper45 x=16 y=18
+triangleBumper name=Bumper46 x=12 y=8 orientation=180
+triangleBumper name=Bumper47 x=16 y=15 orientation=180
+circleBumper name=Bumper48 x=7 y=11
+triangleBumper name=Bumper49 x=17 y=3 orientation=180
+triangleBumper name=Bumper50 x=9 y=18 orientation=270
+circleBumper name=Bumper51 x=6 y=10
+squareBumper name=Bumper52 x=6 y=13
+circleBumper name=Bumper53 x=0 y=4
+circleBumper name=Bumper54 x=2 y=1
+circleBumper name=Bumper55 x=4 y=19
+circleBumper name=Bumper56 x=11 y=0
+triangleBumper name=Bumper57 x=17 y=1 orientation=180
+triangleBumper name=Bumper58 x=14 y=17 orientation=0
+squareBumper name=Bumper59 x=14 y=7
+ball name=Ball0 x=19.5 y=12.5 xVelocity=10 yVelocity=2
+ball name=Ball1 x=1.5 y=4.5 xVelocity=9 yVelocity=5
+ball name=Ball2 x=14.5 y=19.5 xVelocity=8 yVelocity=-11
+ball name=Ball3 x=1.5 y=17.5 xVelocity=3 yVelocity=7
+ball name=Ball4 x=10.5 y=13.5 xVelocity=-13 yVelocity=5
+ball name=Ball5 x=10.5 y=15.5 xVelocity=-13 yVelocity=2
+ball name=Ball6 x=2.5 y=13.5 xVelocity=-3 yVelocity=1
+ball name=Ball7 x=10.5 y=18.5 xVelocity=-1 yVelocity=-2
+ball name=Ball8 x=3.5 y=13.5 xVelocity=3 yVelocity=-15
+ball name=Ball9 x=17.5 y=17.5 xVelocity=-6 yVelocity=-15
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip3
+fire trigger=Bumper0 action=Flip2
+fire trigger=Bumper1 action=Flip3
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper2 action=Flip3
+fire trigger=Bumper3 action=Flip2
+fire trigger=Bumper3 action=Flip3
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper4 action=Flip2
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper5 action=Flip2
+fire trigger=Bumper6 action=Flip3
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper7 action=Flip3
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper10 action=Flip3
+fire trigger=Bumper11 action=Flip3
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper12 action=Flip0
+fire trigger=Bumper12 action=Flip2
+fire trigger=Bumper13 action=Flip2
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper15 action=Flip3
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper16 action=Flip2
+fire trigger=Bumper17 action=Flip2
+fire trigger=Bumper17 action=Flip3
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper19 action=Flip2
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip2
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Flip3
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper23 action=Flip2
+fire trigger=Bumper24 action=Abs
+fire trigger=Bumper24 action=Flip3
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper25 action=Flip3
+fire trigger=Bumper26 action=Flip2
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper27 action=Flip2
+fire trigger=Bumper28 action=Flip3
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper30 action=Flip3
+fire trigger=Bumper30 action=Abs
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip3
+fire trigger=Bumper32 action=Abs
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper33 action=Flip1
+fire trigger=Bumper34 action=Flip3
+fire trigger=Bumper34 action=Flip0
+fire trigger=Bumper35 action=Flip2
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper36 action=Flip2
+fire trigger=Bumper36 action=Flip3
+fire trigger=Bumper37 action=Flip2
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper38 action=Flip3
+fire trigger=Bumper39 action=Flip2
+fire trigger=Bumper39 action=Flip3
+fire trigger=Bumper40 action=Flip2
+fire trigger=Bumper40 action=Flip3
+fire trigger=Bumper41 action=Flip0
+fire trigger=Bumper41 action=Flip2
+fire trigger=Bumper42 action=Abs
+fire trigger=Bumper42 action=Flip2
+fire trigger=Bumper43 action=Flip0
+fire trigger=Bumper43 action=Flip3
+fire trigger=Bumper44 action=Flip1
+fire trigger=Bumper44 action=Flip0
+fire trigger=Bumper45 action=Flip0
+fire trigger=Bumper45 action=Flip2
+fire trigger=Bumper46 action=Flip1
+fire trigger=Bumper46 action=Flip2
+fire trigger=Bumper47 action=Flip0
+fire trigger=Bumper47 action=Flip3
+fire trigger=Bumper48 action=Flip1
+fire trigger=Bumper48 action=Flip2
+fire trigger=Bumper49 action=Flip1
+fire trigger=Bumper49 action=Flip2
+fire trigger=Bumper50 action=Flip3
+fire trigger=Bumper50 action=Flip0
+fire trigger=Bumper51 action=Flip1
+fire trigger=Bumper51 action=Flip3
+fire trigger=Bumper52 action=Flip3
+fire trigger=Bumper52 action=Abs
+fire trigger=Bumper53 action=Flip2
+fire trigger=Bumper53 action=Flip3
+fire trigger=Bumper54 action=Flip0
+fire trigger=Bumper54 action=Flip1
+fire trigger=Bumper55 action=Flip2
+fire trigger=Bumper55 action=Flip0
+fire trigger=Bumper56 action=Flip1
+fire trigger=Bumper56 action=Flip3
+fire trigger=Bumper57 action=Flip0
+fire trigger=Bumper57 action=Abs
+fire trigger=Bumper58 action=Flip1
+fire trigger=Bumper58 action=Flip3
+fire trigger=Bumper59 action=Flip3
+fire trigger=Bumper59 action=Flip0
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
@@ -0,0 +1,208 @@
+# generated by BoardGenerator: grid3x3, 9 boards, density 0.15, 10 balls, 4 flippers, fan-out 2, 2 portals
+board name=grid3x3-8 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=10 y=16 orientation=270
+rightFlipper name=Flip1 x=8 y=16 orientation=90
+leftFlipper name=Flip2 x=8 y=8 orientation=270
+rightFlipper name=Flip3 x=15 y=3 orientation=180
+portal name=Portal0 x=15 y=13 otherBoard=grid3x3-0 otherPortal=Portal0
+portal name=Portal1 x=2 y=6 otherBoard=grid3x3-0 otherPortal=Portal1
+triangleBumper name=Bumper0 x=10 y=15 orientation=180
+triangleBumper name=Bumper1 x=11 y=13 orientation=90
+circleBumper name=Bumper2 x=15 y=0
+triangleBumper name=Bumper3 x=18 y=17 orientation=90
+triangleBumper name=Bumper4 x=3 y=6 orientation=0
+circleBumper name=Bumper5 x=14 y=6
+squareBumper name=Bumper6 x=18 y=18
+triangleBumper name=Bumper7 x=5 y=5 orientation=0
+triangleBumper name=Bumper8 x=8 y=3 orientation=90
+triangleBumper name=Bumper9 x=16 y=1 orientation=270
+circleBumper name=Bumper10 x=7 y=2
+triangleBumper name=Bumper11 x=9 y=1 orientation=270
+squareBumper name=Bumper12 x=1 y=12
+circleBumper name=Bumper13 x=4 y=14
+circleBumper name=Bumper14 x=19 y=1
+circleBumper name=Bumper15 x=6 y=7
+squareBumper name=Bumper16 x=13 y=16
+triangleBumper name=Bumper17 x=3 y=10 orientation=180
+squareBumper name=Bumper18 x=14 y=19
+circleBumper name=Bumper19 x=9 y=11
+circleBumper name=Bumper20 x=13 y=14
+triangleBumper name=Bumper21 x=12 y=5 orientation=180
+circleBumper name=Bumper22 x=2 y=9
+triangleBumper name=Bumper23 x=17 y=2 orientation=180
+squareBumper name=Bumper24 x=2 y=11
+circleBumper name=Bumper25 x=9 y=14
+circleBumper name=Bumper26 x=0 y=12
+squareBumper name=Bumper27 x=6 y=9
+circleBumper name=Bumper28 x=3 y=11
+circleBumper name=Bumper29 x=16 y=14
+triangleBumper name=Bumper30 x=17 y=7 orientation=180
+squareBumper name=Bumper31 x=10 y=19
+triangleBumper name=Bumper32 x=5 y=14 orientation=180
+circleBumper name=Bumper33 x=0 y=4
+squareBumper name=Bumper34 x=11 y=14
+circleBumper name=Bumper35 x=18 y=12
+squareBumper name=Bumper36 x=19 y=8
+squareBumper name=Bumper37 x=2 y=5
+squareBumper name=Bumper38 x=7 y=15
+squareBumper name=Bumper39 x=19 y=17
+circleBumper name=Bumper40 x=6 y=19
+squareBumper name=Bumper41 x=7 y=9
+circleBumper name=Bumper42 x=18 y=16
+squareBumper name=Bumper43 x=10 y=6
+triangleBumper name=Bumper44 x=4 y=12 orientation=270
+squareBumper name=Bumper45 x=0 y=3
+circleBumper name=Bumper46 x=19 y=13
+circleBumper name=Bumper47 x=6 y=5
+triangleBumper name=Bumper48 x=15 y=9 orientation=90
+squareBumper name=Bumper49 x=7 y=14
+circleBumper name=Bumper50 x=19 y=4
+triangleBumper name=Bumper51 x=10 y=3 orientation=90
+squareBumper name=Bumper52 x=13 y=6
+triangleBumper name=Bumper53 x=3 y=17 orientation=180
+squareBumper name=Bumper54 x=13 y=7
+squareBumper name=Bumper55 x=2 y=3
+squareBumper name=Bumper56 x=2 y=14
+triangleBumper name=Bumper57 x=16 y=9 orientation=270
+triangleBumper name=Bumper58 x=19 y=10 orientation=180
+squareBumper name=Bumper59 x=7 y=8
+ball name=Ball0 x=7.5 y=3.5 xVelocity=3 yVelocity=13
+ball name=Ball1 x=11.5 y=3.5 xVelocity=-15 yVelocity=12
+ball name=Ball2 x=11.5 y=4.5 xVelocity=-11 yVelocity=-12
+ball name=Ball3 x=6.5 y=3.5 xVelocity=6 yVelocity=0
+ball name=Ball4 x=1.5 y=6.5 xVelocity=2 yVelocity=12
+ball name=Ball5 x=14.5 y=5.5 xVelocity=3 yVelocity=-4
+ball name=Ball6 x=8.5 y=5.5 xVelocity=6 yVelocity=-8
+ball name=Ball7 x=13.5 y=10.5 xVelocity=-10 yVelocity=10
+ball name=Ball8 x=13.5 y=11.5 xVelocity=-9 yVelocity=12
+ball name=Ball9 x=17.5 y=6.5 xVelocity=2 yVelocity=-1
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper0 action=Flip3
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper1 action=Flip3
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper2 action=Flip3
+fire trigger=Bumper3 action=Flip1
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper4 action=Flip2
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper5 action=Flip2
+fire trigger=Bumper6 action=Abs
+fire trigger=Bumper6 action=Flip3
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper8 action=Flip3
+fire trigger=Bumper9 action=Flip3
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Flip2
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Flip3
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper14 action=Flip3
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper16 action=Flip1
+fire trigger=Bumper16 action=Flip3
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Flip2
+fire trigger=Bumper18 action=Flip3
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper20 action=Flip3
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper21 action=Flip3
+fire trigger=Bumper22 action=Flip1
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Flip3
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper24 action=Flip0
+fire trigger=Bumper24 action=Flip3
+fire trigger=Bumper25 action=Flip2
+fire trigger=Bumper25 action=Flip3
+fire trigger=Bumper26 action=Flip3
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Flip3
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper28 action=Flip2
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper29 action=Flip2
+fire trigger=Bumper30 action=Flip2
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper31 action=Flip3
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper32 action=Flip3
+fire trigger=Bumper33 action=Flip2
+fire trigger=Bumper33 action=Flip1
+fire trigger=Bumper34 action=Flip2
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip3
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper37 action=Flip0
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper38 action=Flip2
+fire trigger=Bumper39 action=Flip3
+fire trigger=Bumper39 action=Flip1
+fire trigger=Bumper40 action=Flip3
+fire trigger=Bumper40 action=Flip0
+fire trigger=Bumper41 action=Flip2
+fire trigger=Bumper41 action=Flip1
+fire trigger=Bumper42 action=Flip1
+fire trigger=Bumper42 action=Abs
+fire trigger=Bumper43 action=Flip1
+fire trigger=Bumper43 action=Flip2
+fire trigger=Bumper44 action=Flip2
+fire trigger=Bumper44 action=Flip0
+fire trigger=Bumper45 action=Flip2
+fire trigger=Bumper45 action=Flip0
+fire trigger=Bumper46 action=Flip3
+fire trigger=Bumper46 action=Flip2
+fire trigger=Bumper47 action=Flip0
+fire trigger=Bumper47 action=Flip3
+fire trigger=Bumper48 action=Flip2
+fire trigger=Bumper48 action=Flip1
+fire trigger=Bumper49 action=Flip0
+fire trigger=Bumper49 action=Flip2
+fire trigger=Bumper50 action=Flip2
+fire trigger=Bumper50 action=Flip1
+fire trigger=Bumper51 action=Flip3
+fire trigger=Bumper51 action=Flip1
+fire trigger=Bumper52 action=Flip2
+fire trigger=Bumper52 action=Flip0
+fire trigger=Bumper53 action=Abs
+fire trigger=Bumper53 action=Flip2
+fire trigger=Bumper54 action=Flip3
+fire trigger=Bumper54 action=Flip0
+fire trigger=Bumper55 action=Abs
+fire trigger=Bumper55 action=Flip3
+fire trigger=Bumper56 action=Flip2
+fire trigger=Bumper56 action=Flip1
+fire trigger=Bumper57 action=Flip2
+fire trigger=Bumper57 action=Flip1
+fire trigger=Bumper58 action=Flip0
+fire trigger=Bumper58 action=Flip1
+fire trigger=Bumper59 action=Abs
+fire trigger=Bumper59 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
+keydown key=d action=Flip2
+keyup key=d action=Flip2
+keydown key=f action=Flip3
+keyup key=f action=Flip3
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-0 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=3 y=13 orientation=270
+rightFlipper name=Flip1 x=15 y=12 orientation=180
+portal name=Portal0 x=15 y=10 otherBoard=torus4x4-1 otherPortal=Portal0
+portal name=Portal1 x=3 y=2 otherBoard=torus4x4-1 otherPortal=Portal1
+portal name=Portal2 x=15 y=17 otherBoard=torus4x4-1 otherPortal=Portal2
+portal name=Portal3 x=0 y=2 otherBoard=torus4x4-1 otherPortal=Portal3
+triangleBumper name=Bumper0 x=2 y=0 orientation=270
+circleBumper name=Bumper1 x=3 y=3
+triangleBumper name=Bumper2 x=11 y=15 orientation=0
+triangleBumper name=Bumper3 x=1 y=16 orientation=180
+squareBumper name=Bumper4 x=6 y=16
+circleBumper name=Bumper5 x=2 y=3
+squareBumper name=Bumper6 x=15 y=4
+circleBumper name=Bumper7 x=8 y=6
+squareBumper name=Bumper8 x=7 y=8
+triangleBumper name=Bumper9 x=13 y=17 orientation=180
+triangleBumper name=Bumper10 x=5 y=0 orientation=270
+circleBumper name=Bumper11 x=10 y=13
+triangleBumper name=Bumper12 x=18 y=16 orientation=270
+circleBumper name=Bumper13 x=4 y=19
+circleBumper name=Bumper14 x=19 y=2
+squareBumper name=Bumper15 x=8 y=14
+circleBumper name=Bumper16 x=5 y=14
+squareBumper name=Bumper17 x=11 y=6
+triangleBumper name=Bumper18 x=6 y=19 orientation=270
+circleBumper name=Bumper19 x=19 y=5
+squareBumper name=Bumper20 x=9 y=8
+squareBumper name=Bumper21 x=14 y=13
+circleBumper name=Bumper22 x=4 y=8
+triangleBumper name=Bumper23 x=7 y=7 orientation=270
+squareBumper name=Bumper24 x=9 y=11
+circleBumper name=Bumper25 x=12 y=1
+squareBumper name=Bumper26 x=18 y=9
+circleBumper name=Bumper27 x=9 y=12
+circleBumper name=Bumper28 x=8 y=9
+squareBumper name=Bumper29 x=4 y=3
+circleBumper name=Bumper30 x=7 y=10
+circleBumper name=Bumper31 x=9 y=2
+squareBumper name=Bumper32 x=13 y=4
+circleBumper name=Bumper33 x=5 y=18
+triangleBumper name=Bumper34 x=7 y=4 orientation=0
+circleBumper name=Bumper35 x=5 y=17
+circleBumper name=Bumper36 x=13 y=15
+squareBumper name=Bumper37 x=9 y=17
+triangleBumper name=Bumper38 x=14 y=15 orientation=270
+triangleBumper name=Bumper39 x=1 y=14 orientation=270
+ball name=Ball0 x=15.5 y=5.5 xVelocity=-3 yVelocity=4
+ball name=Ball1 x=6.5 y=4.5 xVelocity=-1 yVelocity=7
+ball name=Ball2 x=19.5 y=9.5 xVelocity=-11 yVelocity=4
+ball name=Ball3 x=10.5 y=8.5 xVelocity=-13 yVelocity=4
+ball name=Ball4 x=18.5 y=10.5 xVelocity=0 yVelocity=-4
+ball name=Ball5 x=7.5 y=13.5 xVelocity=1 yVelocity=-4
+ball name=Ball6 x=5.5 y=10.5 xVelocity=-3 yVelocity=-15
+ball name=Ball7 x=8.5 y=3.5 xVelocity=12 yVelocity=-15
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip0
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper3 action=Flip1
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Flip1
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Abs
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip1
+fire trigger=Bumper28 action=Abs
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Abs
+fire trigger=Bumper39 action=Abs
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-1 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=3 y=10 orientation=0
+rightFlipper name=Flip1 x=5 y=2 orientation=90
+portal name=Portal0 x=18 y=7 otherBoard=torus4x4-2 otherPortal=Portal0
+portal name=Portal1 x=3 y=15 otherBoard=torus4x4-2 otherPortal=Portal1
+portal name=Portal2 x=15 y=13 otherBoard=torus4x4-2 otherPortal=Portal2
+portal name=Portal3 x=15 y=3 otherBoard=torus4x4-2 otherPortal=Portal3
+circleBumper name=Bumper0 x=9 y=10
+squareBumper name=Bumper1 x=1 y=18
+squareBumper name=Bumper2 x=13 y=7
+triangleBumper name=Bumper3 x=8 y=9 orientation=180
+triangleBumper name=Bumper4 x=15 y=9 orientation=0
+squareBumper name=Bumper5 x=15 y=17
+squareBumper name=Bumper6 x=8 y=8
+squareBumper name=Bumper7 x=4 y=5
+squareBumper name=Bumper8 x=1 y=13
+triangleBumper name=Bumper9 x=5 y=1 orientation=180
+squareBumper name=Bumper10 x=7 y=13
+circleBumper name=Bumper11 x=1 y=2
+squareBumper name=Bumper12 x=11 y=0
+circleBumper name=Bumper13 x=17 y=7
+squareBumper name=Bumper14 x=13 y=0
+circleBumper name=Bumper15 x=1 y=15
+triangleBumper name=Bumper16 x=18 y=10 orientation=90
+circleBumper name=Bumper17 x=4 y=9
+triangleBumper name=Bumper18 x=16 y=2 orientation=90
+triangleBumper name=Bumper19 x=3 y=14 orientation=270
+triangleBumper name=Bumper20 x=8 y=18 orientation=0
+circleBumper name=Bumper21 x=13 y=11
+triangleBumper name=Bumper22 x=16 y=5 orientation=90
+squareBumper name=Bumper23 x=0 y=6
+squareBumper name=Bumper24 x=4 y=0
+squareBumper name=Bumper25 x=19 y=18
+squareBumper name=Bumper26 x=1 y=4
+circleBumper name=Bumper27 x=6 y=4
+triangleBumper name=Bumper28 x=19 y=17 orientation=270
+squareBumper name=Bumper29 x=5 y=17
+triangleBumper name=Bumper30 x=9 y=6 orientation=0
+squareBumper name=Bumper31 x=7 y=7
+triangleBumper name=Bumper32 x=13 y=15 orientation=0
+squareBumper name=Bumper33 x=9 y=4
+triangleBumper name=Bumper34 x=9 y=7 orientation=180
+triangleBumper name=Bumper35 x=15 y=0 orientation=90
+circleBumper name=Bumper36 x=19 y=19
+squareBumper name=Bumper37 x=1 y=3
+triangleBumper name=Bumper38 x=10 y=13 orientation=90
+triangleBumper name=Bumper39 x=6 y=18 orientation=90
+ball name=Ball0 x=5.5 y=0.5 xVelocity=5 yVelocity=-9
+ball name=Ball1 x=8.5 y=7.5 xVelocity=8 yVelocity=9
+ball name=Ball2 x=15.5 y=15.5 xVelocity=-13 yVelocity=13
+ball name=Ball3 x=1.5 y=1.5 xVelocity=0 yVelocity=-11
+ball name=Ball4 x=0.5 y=4.5 xVelocity=5 yVelocity=6
+ball name=Ball5 x=17.5 y=6.5 xVelocity=14 yVelocity=-12
+ball name=Ball6 x=1.5 y=11.5 xVelocity=-13 yVelocity=-8
+ball name=Ball7 x=7.5 y=15.5 xVelocity=4 yVelocity=-9
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Abs
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Flip0
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper16 action=Flip0
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper23 action=Flip1
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper26 action=Abs
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper29 action=Flip1
+fire trigger=Bumper30 action=Flip1
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Flip1
+fire trigger=Bumper34 action=Flip0
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper36 action=Abs
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Flip0
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-10 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=6 y=11 orientation=270
+rightFlipper name=Flip1 x=0 y=0 orientation=0
+portal name=Portal0 x=0 y=9 otherBoard=torus4x4-11 otherPortal=Portal0
+portal name=Portal1 x=6 y=1 otherBoard=torus4x4-11 otherPortal=Portal1
+portal name=Portal2 x=1 y=11 otherBoard=torus4x4-11 otherPortal=Portal2
+portal name=Portal3 x=10 y=8 otherBoard=torus4x4-11 otherPortal=Portal3
+triangleBumper name=Bumper0 x=2 y=16 orientation=0
+circleBumper name=Bumper1 x=15 y=0
+triangleBumper name=Bumper2 x=4 y=18 orientation=0
+squareBumper name=Bumper3 x=10 y=19
+triangleBumper name=Bumper4 x=12 y=4 orientation=180
+squareBumper name=Bumper5 x=9 y=4
+circleBumper name=Bumper6 x=8 y=10
+triangleBumper name=Bumper7 x=16 y=4 orientation=180
+circleBumper name=Bumper8 x=4 y=13
+squareBumper name=Bumper9 x=13 y=14
+triangleBumper name=Bumper10 x=15 y=1 orientation=180
+triangleBumper name=Bumper11 x=5 y=11 orientation=90
+circleBumper name=Bumper12 x=11 y=17
+squareBumper name=Bumper13 x=3 y=13
+squareBumper name=Bumper14 x=12 y=15
+circleBumper name=Bumper15 x=4 y=12
+triangleBumper name=Bumper16 x=18 y=14 orientation=90
+circleBumper name=Bumper17 x=14 y=12
+triangleBumper name=Bumper18 x=9 y=14 orientation=180
+triangleBumper name=Bumper19 x=11 y=16 orientation=0
+circleBumper name=Bumper20 x=0 y=14
+squareBumper name=Bumper21 x=1 y=16
+circleBumper name=Bumper22 x=7 y=10
+triangleBumper name=Bumper23 x=14 y=15 orientation=270
+circleBumper name=Bumper24 x=17 y=13
+circleBumper name=Bumper25 x=11 y=10
+triangleBumper name=Bumper26 x=16 y=8 orientation=90
+triangleBumper name=Bumper27 x=1 y=14 orientation=270
+triangleBumper name=Bumper28 x=13 y=17 orientation=270
+circleBumper name=Bumper29 x=0 y=16
+squareBumper name=Bumper30 x=6 y=14
+triangleBumper name=Bumper31 x=7 y=4 orientation=0
+triangleBumper name=Bumper32 x=9 y=6 orientation=270
+squareBumper name=Bumper33 x=11 y=18
+squareBumper name=Bumper34 x=4 y=1
+triangleBumper name=Bumper35 x=17 y=0 orientation=180
+circleBumper name=Bumper36 x=4 y=17
+squareBumper name=Bumper37 x=15 y=12
+circleBumper name=Bumper38 x=0 y=11
+squareBumper name=Bumper39 x=13 y=13
+ball name=Ball0 x=7.5 y=0.5 xVelocity=-5 yVelocity=-15
+ball name=Ball1 x=1.5 y=3.5 xVelocity=-11 yVelocity=-11
+ball name=Ball2 x=10.5 y=5.5 xVelocity=4 yVelocity=-2
+ball name=Ball3 x=2.5 y=1.5 xVelocity=9 yVelocity=1
+ball name=Ball4 x=4.5 y=14.5 xVelocity=-12 yVelocity=-9
+ball name=Ball5 x=11.5 y=19.5 xVelocity=5 yVelocity=-12
+ball name=Ball6 x=9.5 y=17.5 xVelocity=10 yVelocity=-5
+ball name=Ball7 x=9.5 y=1.5 xVelocity=-13 yVelocity=15
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Abs
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Flip1
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper16 action=Flip1
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper20 action=Abs
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Abs
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper30 action=Flip1
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Flip1
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper37 action=Flip0
+fire trigger=Bumper38 action=Flip0
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-11 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=6 y=5 orientation=0
+rightFlipper name=Flip1 x=13 y=9 orientation=270
+portal name=Portal0 x=3 y=15 otherBoard=torus4x4-12 otherPortal=Portal0
+portal name=Portal1 x=17 y=14 otherBoard=torus4x4-12 otherPortal=Portal1
+portal name=Portal2 x=0 y=14 otherBoard=torus4x4-12 otherPortal=Portal2
+portal name=Portal3 x=9 y=14 otherBoard=torus4x4-12 otherPortal=Portal3
+circleBumper name=Bumper0 x=6 y=11
+triangleBumper name=Bumper1 x=9 y=2 orientation=90
+triangleBumper name=Bumper2 x=9 y=12 orientation=180
+triangleBumper name=Bumper3 x=3 y=5 orientation=270
+circleBumper name=Bumper4 x=12 y=13
+circleBumper name=Bumper5 x=3 y=1
+squareBumper name=Bumper6 x=14 y=2
+triangleBumper name=Bumper7 x=19 y=16 orientation=270
+squareBumper name=Bumper8 x=12 y=15
+circleBumper name=Bumper9 x=9 y=7
+squareBumper name=Bumper10 x=4 y=11
+squareBumper name=Bumper11 x=1 y=9
+squareBumper name=Bumper12 x=12 y=14
+squareBumper name=Bumper13 x=15 y=10
+triangleBumper name=Bumper14 x=9 y=11 orientation=0
+circleBumper name=Bumper15 x=13 y=3
+triangleBumper name=Bumper16 x=17 y=9 orientation=90
+squareBumper name=Bumper17 x=14 y=14
+squareBumper name=Bumper18 x=0 y=10
+triangleBumper name=Bumper19 x=0 y=4 orientation=270
+triangleBumper name=Bumper20 x=13 y=16 orientation=180
+triangleBumper name=Bumper21 x=13 y=14 orientation=180
+triangleBumper name=Bumper22 x=7 y=15 orientation=0
+squareBumper name=Bumper23 x=15 y=5
+triangleBumper name=Bumper24 x=11 y=4 orientation=180
+circleBumper name=Bumper25 x=10 y=4
+squareBumper name=Bumper26 x=18 y=12
+squareBumper name=Bumper27 x=13 y=0
+triangleBumper name=Bumper28 x=16 y=13 orientation=0
+squareBumper name=Bumper29 x=14 y=17
+triangleBumper name=Bumper30 x=12 y=10 orientation=90
+triangleBumper name=Bumper31 x=0 y=12 orientation=180
+triangleBumper name=Bumper32 x=7 y=0 orientation=180
+circleBumper name=Bumper33 x=2 y=1
+triangleBumper name=Bumper34 x=0 y=8 orientation=0
+triangleBumper name=Bumper35 x=10 y=8 orientation=90
+triangleBumper name=Bumper36 x=0 y=15 orientation=180
+triangleBumper name=Bumper37 x=16 y=9 orientation=0
+triangleBumper name=Bumper38 x=8 y=8 orientation=270
+squareBumper name=Bumper39 x=11 y=11
+ball name=Ball0 x=4.5 y=2.5 xVelocity=-1 yVelocity=-10
+ball name=Ball1 x=8.5 y=7.5 xVelocity=-14 yVelocity=-8
+ball name=Ball2 x=10.5 y=17.5 xVelocity=11 yVelocity=14
+ball name=Ball3 x=2.5 y=13.5 xVelocity=-4 yVelocity=13
+ball name=Ball4 x=4.5 y=12.5 xVelocity=12 yVelocity=2
+ball name=Ball5 x=9.5 y=6.5 xVelocity=-13 yVelocity=4
+ball name=Ball6 x=15.5 y=15.5 xVelocity=-12 yVelocity=-9
+ball name=Ball7 x=2.5 y=0.5 xVelocity=-8 yVelocity=1
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip0
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper16 action=Flip0
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper24 action=Flip0
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Abs
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper30 action=Abs
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Flip0
+fire trigger=Bumper34 action=Flip0
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-12 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=9 y=6 orientation=270
+rightFlipper name=Flip1 x=8 y=4 orientation=90
+portal name=Portal0 x=6 y=17 otherBoard=torus4x4-13 otherPortal=Portal0
+portal name=Portal1 x=8 y=0 otherBoard=torus4x4-13 otherPortal=Portal1
+portal name=Portal2 x=6 y=12 otherBoard=torus4x4-13 otherPortal=Portal2
+portal name=Portal3 x=8 y=6 otherBoard=torus4x4-13 otherPortal=Portal3
+circleBumper name=Bumper0 x=2 y=0
+circleBumper name=Bumper1 x=17 y=6
+circleBumper name=Bumper2 x=8 y=18
+triangleBumper name=Bumper3 x=19 y=9 orientation=90
+triangleBumper name=Bumper4 x=11 y=10 orientation=90
+triangleBumper name=Bumper5 x=5 y=16 orientation=270
+squareBumper name=Bumper6 x=5 y=13
+squareBumper name=Bumper7 x=10 y=12
+squareBumper name=Bumper8 x=4 y=3
+triangleBumper name=Bumper9 x=7 y=12 orientation=270
+squareBumper name=Bumper10 x=0 y=5
+triangleBumper name=Bumper11 x=11 y=19 orientation=90
+triangleBumper name=Bumper12 x=5 y=8 orientation=270
+triangleBumper name=Bumper13 x=11 y=2 orientation=0
+squareBumper name=Bumper14 x=5 y=11
+circleBumper name=Bumper15 x=16 y=6
+circleBumper name=Bumper16 x=9 y=16
+triangleBumper name=Bumper17 x=17 y=13 orientation=270
+squareBumper name=Bumper18 x=7 y=4
+triangleBumper name=Bumper19 x=11 y=4 orientation=180
+squareBumper name=Bumper20 x=0 y=18
+triangleBumper name=Bumper21 x=7 y=9 orientation=90
+squareBumper name=Bumper22 x=14 y=19
+circleBumper name=Bumper23 x=19 y=13
+circleBumper name=Bumper24 x=17 y=15
+circleBumper name=Bumper25 x=0 y=3
+squareBumper name=Bumper26 x=3 y=11
+squareBumper name=Bumper27 x=14 y=16
+triangleBumper name=Bumper28 x=6 y=4 orientation=0
+triangleBumper name=Bumper29 x=7 y=13 orientation=90
+triangleBumper name=Bumper30 x=12 y=1 orientation=90
+triangleBumper name=Bumper31 x=12 y=12 orientation=180
+squareBumper name=Bumper32 x=10 y=15
+triangleBumper name=Bumper33 x=2 y=3 orientation=270
+circleBumper name=Bumper34 x=0 y=11
+squareBumper name=Bumper35 x=4 y=17
+circleBumper name=Bumper36 x=1 y=16
+triangleBumper name=Bumper37 x=8 y=17 orientation=0
+triangleBumper name=Bumper38 x=13 y=10 orientation=90
+circleBumper name=Bumper39 x=13 y=18
+ball name=Ball0 x=18.5 y=4.5 xVelocity=-11 yVelocity=-4
+ball name=Ball1 x=13.5 y=12.5 xVelocity=15 yVelocity=5
+ball name=Ball2 x=19.5 y=14.5 xVelocity=14 yVelocity=-14
+ball name=Ball3 x=2.5 y=2.5 xVelocity=4 yVelocity=-13
+ball name=Ball4 x=17.5 y=16.5 xVelocity=-11 yVelocity=7
+ball name=Ball5 x=8.5 y=15.5 xVelocity=-9 yVelocity=-11
+ball name=Ball6 x=4.5 y=1.5 xVelocity=4 yVelocity=-10
+ball name=Ball7 x=5.5 y=6.5 xVelocity=-14 yVelocity=10
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Abs
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper2 action=Abs
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip0
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Flip1
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper36 action=Abs
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Abs
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
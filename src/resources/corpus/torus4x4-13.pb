@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-13 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=10 y=3 orientation=0
+rightFlipper name=Flip1 x=18 y=16 orientation=0
+portal name=Portal0 x=8 y=14 otherBoard=torus4x4-14 otherPortal=Portal0
+portal name=Portal1 x=0 y=1 otherBoard=torus4x4-14 otherPortal=Portal1
+portal name=Portal2 x=6 y=8 otherBoard=torus4x4-14 otherPortal=Portal2
+portal name=Portal3 x=3 y=15 otherBoard=torus4x4-14 otherPortal=Portal3
+triangleBumper name=Bumper0 x=9 y=10 orientation=90
+circleBumper name=Bumper1 x=2 y=6
+circleBumper name=Bumper2 x=2 y=15
+circleBumper name=Bumper3 x=15 y=6
+triangleBumper name=Bumper4 x=11 y=14 orientation=180
+circleBumper name=Bumper5 x=9 y=0
+circleBumper name=Bumper6 x=18 y=14
+squareBumper name=Bumper7 x=12 y=18
+triangleBumper name=Bumper8 x=5 y=6 orientation=180
+triangleBumper name=Bumper9 x=3 y=11 orientation=90
+circleBumper name=Bumper10 x=19 y=10
+triangleBumper name=Bumper11 x=0 y=18 orientation=270
+triangleBumper name=Bumper12 x=2 y=9 orientation=90
+circleBumper name=Bumper13 x=7 y=5
+circleBumper name=Bumper14 x=12 y=16
+triangleBumper name=Bumper15 x=4 y=8 orientation=270
+triangleBumper name=Bumper16 x=15 y=17 orientation=90
+circleBumper name=Bumper17 x=16 y=12
+squareBumper name=Bumper18 x=7 y=9
+squareBumper name=Bumper19 x=18 y=8
+squareBumper name=Bumper20 x=11 y=2
+circleBumper name=Bumper21 x=9 y=14
+squareBumper name=Bumper22 x=10 y=19
+circleBumper name=Bumper23 x=18 y=15
+squareBumper name=Bumper24 x=11 y=8
+triangleBumper name=Bumper25 x=7 y=1 orientation=180
+triangleBumper name=Bumper26 x=3 y=14 orientation=90
+circleBumper name=Bumper27 x=4 y=12
+squareBumper name=Bumper28 x=15 y=4
+squareBumper name=Bumper29 x=13 y=18
+circleBumper name=Bumper30 x=2 y=4
+circleBumper name=Bumper31 x=4 y=13
+squareBumper name=Bumper32 x=10 y=6
+triangleBumper name=Bumper33 x=5 y=12 orientation=180
+squareBumper name=Bumper34 x=11 y=19
+squareBumper name=Bumper35 x=9 y=4
+squareBumper name=Bumper36 x=19 y=14
+circleBumper name=Bumper37 x=7 y=13
+squareBumper name=Bumper38 x=4 y=7
+circleBumper name=Bumper39 x=13 y=9
+ball name=Ball0 x=9.5 y=12.5 xVelocity=3 yVelocity=-6
+ball name=Ball1 x=14.5 y=1.5 xVelocity=-3 yVelocity=11
+ball name=Ball2 x=18.5 y=2.5 xVelocity=-10 yVelocity=12
+ball name=Ball3 x=0.5 y=13.5 xVelocity=-7 yVelocity=-2
+ball name=Ball4 x=1.5 y=2.5 xVelocity=6 yVelocity=12
+ball name=Ball5 x=1.5 y=15.5 xVelocity=-7 yVelocity=10
+ball name=Ball6 x=17.5 y=15.5 xVelocity=6 yVelocity=10
+ball name=Ball7 x=13.5 y=4.5 xVelocity=-3 yVelocity=-3
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Abs
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Abs
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper20 action=Abs
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Abs
+fire trigger=Bumper25 action=Abs
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper37 action=Flip0
+fire trigger=Bumper38 action=Flip0
+fire trigger=Bumper39 action=Abs
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-14 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=8 y=15 orientation=180
+rightFlipper name=Flip1 x=5 y=2 orientation=0
+portal name=Portal0 x=0 y=14 otherBoard=torus4x4-15 otherPortal=Portal0
+portal name=Portal1 x=9 y=14 otherBoard=torus4x4-15 otherPortal=Portal1
+portal name=Portal2 x=3 y=1 otherBoard=torus4x4-15 otherPortal=Portal2
+portal name=Portal3 x=8 y=6 otherBoard=torus4x4-15 otherPortal=Portal3
+circleBumper name=Bumper0 x=9 y=12
+circleBumper name=Bumper1 x=14 y=16
+squareBumper name=Bumper2 x=1 y=17
+circleBumper name=Bumper3 x=14 y=18
+triangleBumper name=Bumper4 x=0 y=13 orientation=90
+circleBumper name=Bumper5 x=3 y=0
+squareBumper name=Bumper6 x=7 y=4
+circleBumper name=Bumper7 x=6 y=19
+triangleBumper name=Bumper8 x=10 y=12 orientation=270
+circleBumper name=Bumper9 x=14 y=8
+triangleBumper name=Bumper10 x=15 y=19 orientation=90
+triangleBumper name=Bumper11 x=8 y=13 orientation=0
+triangleBumper name=Bumper12 x=0 y=5 orientation=270
+triangleBumper name=Bumper13 x=6 y=5 orientation=270
+triangleBumper name=Bumper14 x=12 y=6 orientation=0
+squareBumper name=Bumper15 x=18 y=18
+circleBumper name=Bumper16 x=14 y=1
+triangleBumper name=Bumper17 x=0 y=7 orientation=270
+squareBumper name=Bumper18 x=12 y=1
+squareBumper name=Bumper19 x=12 y=11
+squareBumper name=Bumper20 x=1 y=6
+circleBumper name=Bumper21 x=4 y=3
+triangleBumper name=Bumper22 x=14 y=2 orientation=90
+circleBumper name=Bumper23 x=11 y=16
+squareBumper name=Bumper24 x=7 y=0
+triangleBumper name=Bumper25 x=1 y=11 orientation=270
+squareBumper name=Bumper26 x=9 y=3
+squareBumper name=Bumper27 x=15 y=10
+triangleBumper name=Bumper28 x=9 y=4 orientation=90
+triangleBumper name=Bumper29 x=9 y=18 orientation=90
+squareBumper name=Bumper30 x=6 y=11
+squareBumper name=Bumper31 x=8 y=14
+squareBumper name=Bumper32 x=0 y=2
+circleBumper name=Bumper33 x=13 y=17
+triangleBumper name=Bumper34 x=6 y=0 orientation=180
+circleBumper name=Bumper35 x=5 y=1
+triangleBumper name=Bumper36 x=12 y=5 orientation=0
+circleBumper name=Bumper37 x=8 y=10
+circleBumper name=Bumper38 x=13 y=9
+squareBumper name=Bumper39 x=3 y=13
+ball name=Ball0 x=4.5 y=8.5 xVelocity=-12 yVelocity=-13
+ball name=Ball1 x=16.5 y=5.5 xVelocity=7 yVelocity=-8
+ball name=Ball2 x=19.5 y=10.5 xVelocity=8 yVelocity=14
+ball name=Ball3 x=3.5 y=6.5 xVelocity=-2 yVelocity=4
+ball name=Ball4 x=3.5 y=12.5 xVelocity=-7 yVelocity=12
+ball name=Ball5 x=17.5 y=16.5 xVelocity=-12 yVelocity=0
+ball name=Ball6 x=11.5 y=10.5 xVelocity=3 yVelocity=-9
+ball name=Ball7 x=14.5 y=13.5 xVelocity=4 yVelocity=5
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Flip1
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper6 action=Abs
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Flip0
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Flip1
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Flip1
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Abs
+fire trigger=Bumper29 action=Abs
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-15 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=9 y=9 orientation=180
+rightFlipper name=Flip1 x=15 y=14 orientation=180
+portal name=Portal0 x=9 y=7 otherBoard=torus4x4-0 otherPortal=Portal0
+portal name=Portal1 x=15 y=17 otherBoard=torus4x4-0 otherPortal=Portal1
+portal name=Portal2 x=12 y=6 otherBoard=torus4x4-0 otherPortal=Portal2
+portal name=Portal3 x=15 y=10 otherBoard=torus4x4-0 otherPortal=Portal3
+circleBumper name=Bumper0 x=0 y=12
+squareBumper name=Bumper1 x=8 y=14
+circleBumper name=Bumper2 x=2 y=6
+squareBumper name=Bumper3 x=1 y=15
+circleBumper name=Bumper4 x=3 y=1
+squareBumper name=Bumper5 x=6 y=6
+triangleBumper name=Bumper6 x=18 y=6 orientation=180
+circleBumper name=Bumper7 x=15 y=7
+circleBumper name=Bumper8 x=9 y=15
+triangleBumper name=Bumper9 x=3 y=7 orientation=90
+triangleBumper name=Bumper10 x=0 y=13 orientation=180
+triangleBumper name=Bumper11 x=18 y=13 orientation=270
+triangleBumper name=Bumper12 x=12 y=8 orientation=180
+circleBumper name=Bumper13 x=11 y=15
+circleBumper name=Bumper14 x=6 y=12
+circleBumper name=Bumper15 x=3 y=2
+triangleBumper name=Bumper16 x=14 y=0 orientation=270
+squareBumper name=Bumper17 x=16 y=19
+triangleBumper name=Bumper18 x=14 y=5 orientation=0
+triangleBumper name=Bumper19 x=13 y=4 orientation=0
+squareBumper name=Bumper20 x=9 y=14
+circleBumper name=Bumper21 x=1 y=4
+squareBumper name=Bumper22 x=0 y=17
+squareBumper name=Bumper23 x=12 y=12
+squareBumper name=Bumper24 x=7 y=0
+circleBumper name=Bumper25 x=8 y=6
+circleBumper name=Bumper26 x=10 y=19
+triangleBumper name=Bumper27 x=5 y=17 orientation=90
+squareBumper name=Bumper28 x=6 y=19
+triangleBumper name=Bumper29 x=7 y=1 orientation=0
+circleBumper name=Bumper30 x=15 y=4
+triangleBumper name=Bumper31 x=8 y=4 orientation=0
+triangleBumper name=Bumper32 x=18 y=11 orientation=270
+circleBumper name=Bumper33 x=5 y=13
+triangleBumper name=Bumper34 x=14 y=8 orientation=0
+triangleBumper name=Bumper35 x=8 y=16 orientation=180
+triangleBumper name=Bumper36 x=18 y=0 orientation=0
+triangleBumper name=Bumper37 x=4 y=13 orientation=90
+triangleBumper name=Bumper38 x=17 y=17 orientation=90
+squareBumper name=Bumper39 x=3 y=15
+ball name=Ball0 x=18.5 y=5.5 xVelocity=8 yVelocity=-2
+ball name=Ball1 x=8.5 y=13.5 xVelocity=10 yVelocity=-4
+ball name=Ball2 x=10.5 y=15.5 xVelocity=-2 yVelocity=-3
+ball name=Ball3 x=11.5 y=7.5 xVelocity=6 yVelocity=5
+ball name=Ball4 x=2.5 y=15.5 xVelocity=14 yVelocity=12
+ball name=Ball5 x=17.5 y=9.5 xVelocity=14 yVelocity=-5
+ball name=Ball6 x=2.5 y=9.5 xVelocity=-15 yVelocity=-14
+ball name=Ball7 x=18.5 y=18.5 xVelocity=-1 yVelocity=-9
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Abs
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Abs
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper6 action=Abs
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Abs
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Abs
+fire trigger=Bumper21 action=Flip1
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Abs
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Abs
+fire trigger=Bumper31 action=Flip1
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Flip0
+fire trigger=Bumper39 action=Flip0
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-2 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=1 y=3 orientation=180
+rightFlipper name=Flip1 x=14 y=10 orientation=90
+portal name=Portal0 x=1 y=8 otherBoard=torus4x4-3 otherPortal=Portal0
+portal name=Portal1 x=11 y=15 otherBoard=torus4x4-3 otherPortal=Portal1
+portal name=Portal2 x=12 y=6 otherBoard=torus4x4-3 otherPortal=Portal2
+portal name=Portal3 x=0 y=14 otherBoard=torus4x4-3 otherPortal=Portal3
+squareBumper name=Bumper0 x=1 y=12
+triangleBumper name=Bumper1 x=18 y=12 orientation=0
+triangleBumper name=Bumper2 x=11 y=2 orientation=270
+circleBumper name=Bumper3 x=3 y=15
+triangleBumper name=Bumper4 x=4 y=17 orientation=90
+squareBumper name=Bumper5 x=4 y=6
+circleBumper name=Bumper6 x=17 y=16
+squareBumper name=Bumper7 x=17 y=7
+squareBumper name=Bumper8 x=8 y=4
+circleBumper name=Bumper9 x=18 y=15
+triangleBumper name=Bumper10 x=2 y=9 orientation=90
+triangleBumper name=Bumper11 x=6 y=12 orientation=0
+circleBumper name=Bumper12 x=11 y=18
+triangleBumper name=Bumper13 x=13 y=10 orientation=90
+squareBumper name=Bumper14 x=9 y=4
+triangleBumper name=Bumper15 x=19 y=1 orientation=0
+triangleBumper name=Bumper16 x=15 y=1 orientation=180
+circleBumper name=Bumper17 x=5 y=13
+squareBumper name=Bumper18 x=19 y=10
+squareBumper name=Bumper19 x=1 y=14
+triangleBumper name=Bumper20 x=3 y=18 orientation=0
+squareBumper name=Bumper21 x=10 y=14
+squareBumper name=Bumper22 x=3 y=7
+squareBumper name=Bumper23 x=9 y=6
+squareBumper name=Bumper24 x=6 y=19
+circleBumper name=Bumper25 x=2 y=17
+squareBumper name=Bumper26 x=8 y=6
+squareBumper name=Bumper27 x=3 y=1
+circleBumper name=Bumper28 x=1 y=13
+squareBumper name=Bumper29 x=19 y=19
+circleBumper name=Bumper30 x=13 y=3
+triangleBumper name=Bumper31 x=3 y=10 orientation=270
+circleBumper name=Bumper32 x=2 y=5
+squareBumper name=Bumper33 x=18 y=7
+squareBumper name=Bumper34 x=3 y=4
+circleBumper name=Bumper35 x=11 y=5
+squareBumper name=Bumper36 x=5 y=10
+circleBumper name=Bumper37 x=4 y=18
+squareBumper name=Bumper38 x=15 y=18
+triangleBumper name=Bumper39 x=14 y=15 orientation=270
+ball name=Ball0 x=9.5 y=8.5 xVelocity=-5 yVelocity=-6
+ball name=Ball1 x=6.5 y=16.5 xVelocity=-4 yVelocity=2
+ball name=Ball2 x=13.5 y=7.5 xVelocity=3 yVelocity=-12
+ball name=Ball3 x=5.5 y=14.5 xVelocity=-4 yVelocity=-14
+ball name=Ball4 x=17.5 y=1.5 xVelocity=-3 yVelocity=14
+ball name=Ball5 x=15.5 y=12.5 xVelocity=0 yVelocity=-14
+ball name=Ball6 x=17.5 y=17.5 xVelocity=-11 yVelocity=-7
+ball name=Ball7 x=19.5 y=0.5 xVelocity=9 yVelocity=6
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Flip1
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Flip1
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Flip1
+fire trigger=Bumper23 action=Flip1
+fire trigger=Bumper24 action=Abs
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper29 action=Flip1
+fire trigger=Bumper30 action=Flip1
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Flip0
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Abs
+fire trigger=Bumper39 action=Abs
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
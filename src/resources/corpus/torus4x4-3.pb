@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-3 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=2 y=0 orientation=180
+rightFlipper name=Flip1 x=5 y=0 orientation=0
+portal name=Portal0 x=4 y=5 otherBoard=torus4x4-4 otherPortal=Portal0
+portal name=Portal1 x=3 y=8 otherBoard=torus4x4-4 otherPortal=Portal1
+portal name=Portal2 x=4 y=2 otherBoard=torus4x4-4 otherPortal=Portal2
+portal name=Portal3 x=16 y=2 otherBoard=torus4x4-4 otherPortal=Portal3
+squareBumper name=Bumper0 x=8 y=5
+squareBumper name=Bumper1 x=14 y=7
+squareBumper name=Bumper2 x=8 y=4
+triangleBumper name=Bumper3 x=2 y=9 orientation=0
+squareBumper name=Bumper4 x=7 y=16
+circleBumper name=Bumper5 x=19 y=5
+triangleBumper name=Bumper6 x=10 y=0 orientation=180
+circleBumper name=Bumper7 x=6 y=3
+squareBumper name=Bumper8 x=6 y=16
+triangleBumper name=Bumper9 x=15 y=17 orientation=180
+triangleBumper name=Bumper10 x=2 y=11 orientation=180
+circleBumper name=Bumper11 x=1 y=7
+squareBumper name=Bumper12 x=6 y=17
+triangleBumper name=Bumper13 x=17 y=8 orientation=0
+squareBumper name=Bumper14 x=12 y=17
+squareBumper name=Bumper15 x=14 y=19
+squareBumper name=Bumper16 x=0 y=9
+squareBumper name=Bumper17 x=14 y=4
+squareBumper name=Bumper18 x=8 y=19
+squareBumper name=Bumper19 x=15 y=0
+squareBumper name=Bumper20 x=16 y=13
+triangleBumper name=Bumper21 x=19 y=8 orientation=180
+triangleBumper name=Bumper22 x=7 y=15 orientation=0
+circleBumper name=Bumper23 x=5 y=2
+squareBumper name=Bumper24 x=14 y=3
+triangleBumper name=Bumper25 x=4 y=8 orientation=90
+triangleBumper name=Bumper26 x=17 y=15 orientation=90
+squareBumper name=Bumper27 x=11 y=3
+triangleBumper name=Bumper28 x=3 y=3 orientation=180
+triangleBumper name=Bumper29 x=6 y=14 orientation=270
+squareBumper name=Bumper30 x=7 y=14
+circleBumper name=Bumper31 x=13 y=13
+triangleBumper name=Bumper32 x=15 y=16 orientation=180
+circleBumper name=Bumper33 x=3 y=4
+circleBumper name=Bumper34 x=4 y=4
+squareBumper name=Bumper35 x=19 y=4
+triangleBumper name=Bumper36 x=11 y=10 orientation=270
+squareBumper name=Bumper37 x=3 y=18
+squareBumper name=Bumper38 x=13 y=4
+squareBumper name=Bumper39 x=5 y=18
+ball name=Ball0 x=4.5 y=11.5 xVelocity=7 yVelocity=5
+ball name=Ball1 x=19.5 y=1.5 xVelocity=11 yVelocity=15
+ball name=Ball2 x=2.5 y=17.5 xVelocity=-6 yVelocity=-5
+ball name=Ball3 x=15.5 y=8.5 xVelocity=-9 yVelocity=3
+ball name=Ball4 x=10.5 y=19.5 xVelocity=10 yVelocity=-11
+ball name=Ball5 x=6.5 y=6.5 xVelocity=14 yVelocity=-13
+ball name=Ball6 x=2.5 y=7.5 xVelocity=8 yVelocity=13
+ball name=Ball7 x=4.5 y=13.5 xVelocity=12 yVelocity=12
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Abs
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Flip0
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Flip1
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Flip0
+fire trigger=Bumper34 action=Flip0
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Abs
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
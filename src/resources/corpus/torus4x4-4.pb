@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-4 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=5 y=17 orientation=180
+rightFlipper name=Flip1 x=0 y=17 orientation=180
+portal name=Portal0 x=6 y=7 otherBoard=torus4x4-5 otherPortal=Portal0
+portal name=Portal1 x=14 y=14 otherBoard=torus4x4-5 otherPortal=Portal1
+portal name=Portal2 x=18 y=0 otherBoard=torus4x4-5 otherPortal=Portal2
+portal name=Portal3 x=9 y=16 otherBoard=torus4x4-5 otherPortal=Portal3
+squareBumper name=Bumper0 x=10 y=16
+triangleBumper name=Bumper1 x=2 y=12 orientation=180
+circleBumper name=Bumper2 x=13 y=15
+circleBumper name=Bumper3 x=18 y=5
+circleBumper name=Bumper4 x=15 y=0
+triangleBumper name=Bumper5 x=11 y=7 orientation=0
+triangleBumper name=Bumper6 x=1 y=9 orientation=90
+circleBumper name=Bumper7 x=6 y=10
+triangleBumper name=Bumper8 x=11 y=17 orientation=270
+triangleBumper name=Bumper9 x=18 y=14 orientation=90
+squareBumper name=Bumper10 x=7 y=5
+squareBumper name=Bumper11 x=17 y=15
+squareBumper name=Bumper12 x=3 y=6
+triangleBumper name=Bumper13 x=0 y=5 orientation=90
+circleBumper name=Bumper14 x=0 y=3
+triangleBumper name=Bumper15 x=4 y=5 orientation=0
+circleBumper name=Bumper16 x=12 y=18
+triangleBumper name=Bumper17 x=6 y=2 orientation=0
+triangleBumper name=Bumper18 x=5 y=19 orientation=0
+triangleBumper name=Bumper19 x=4 y=15 orientation=180
+circleBumper name=Bumper20 x=8 y=4
+triangleBumper name=Bumper21 x=4 y=12 orientation=0
+circleBumper name=Bumper22 x=17 y=14
+squareBumper name=Bumper23 x=1 y=15
+squareBumper name=Bumper24 x=8 y=5
+circleBumper name=Bumper25 x=15 y=13
+triangleBumper name=Bumper26 x=10 y=12 orientation=180
+circleBumper name=Bumper27 x=16 y=19
+squareBumper name=Bumper28 x=7 y=9
+triangleBumper name=Bumper29 x=17 y=6 orientation=90
+circleBumper name=Bumper30 x=4 y=4
+squareBumper name=Bumper31 x=9 y=1
+circleBumper name=Bumper32 x=19 y=7
+triangleBumper name=Bumper33 x=15 y=7 orientation=180
+triangleBumper name=Bumper34 x=3 y=7 orientation=270
+squareBumper name=Bumper35 x=13 y=0
+triangleBumper name=Bumper36 x=7 y=19 orientation=0
+triangleBumper name=Bumper37 x=1 y=1 orientation=180
+circleBumper name=Bumper38 x=9 y=15
+circleBumper name=Bumper39 x=8 y=14
+ball name=Ball0 x=19.5 y=1.5 xVelocity=-11 yVelocity=-7
+ball name=Ball1 x=12.5 y=8.5 xVelocity=5 yVelocity=-3
+ball name=Ball2 x=13.5 y=9.5 xVelocity=8 yVelocity=8
+ball name=Ball3 x=5.5 y=12.5 xVelocity=1 yVelocity=-7
+ball name=Ball4 x=6.5 y=16.5 xVelocity=10 yVelocity=-3
+ball name=Ball5 x=18.5 y=8.5 xVelocity=9 yVelocity=-15
+ball name=Ball6 x=4.5 y=2.5 xVelocity=-5 yVelocity=10
+ball name=Ball7 x=10.5 y=6.5 xVelocity=-6 yVelocity=15
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Flip1
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Flip1
+fire trigger=Bumper6 action=Flip0
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Flip1
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Abs
+fire trigger=Bumper21 action=Flip1
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Flip1
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Abs
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip1
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper32 action=Abs
+fire trigger=Bumper33 action=Flip1
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Flip0
+fire trigger=Bumper39 action=Flip0
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-5 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=5 y=14 orientation=180
+rightFlipper name=Flip1 x=10 y=7 orientation=90
+portal name=Portal0 x=17 y=12 otherBoard=torus4x4-6 otherPortal=Portal0
+portal name=Portal1 x=6 y=8 otherBoard=torus4x4-6 otherPortal=Portal1
+portal name=Portal2 x=9 y=15 otherBoard=torus4x4-6 otherPortal=Portal2
+portal name=Portal3 x=14 y=0 otherBoard=torus4x4-6 otherPortal=Portal3
+squareBumper name=Bumper0 x=16 y=6
+triangleBumper name=Bumper1 x=11 y=4 orientation=270
+circleBumper name=Bumper2 x=5 y=16
+circleBumper name=Bumper3 x=12 y=8
+squareBumper name=Bumper4 x=13 y=14
+squareBumper name=Bumper5 x=11 y=3
+circleBumper name=Bumper6 x=16 y=19
+circleBumper name=Bumper7 x=9 y=4
+triangleBumper name=Bumper8 x=6 y=5 orientation=270
+circleBumper name=Bumper9 x=1 y=6
+squareBumper name=Bumper10 x=14 y=6
+circleBumper name=Bumper11 x=6 y=10
+triangleBumper name=Bumper12 x=19 y=3 orientation=270
+circleBumper name=Bumper13 x=15 y=16
+triangleBumper name=Bumper14 x=19 y=11 orientation=90
+triangleBumper name=Bumper15 x=7 y=19 orientation=90
+triangleBumper name=Bumper16 x=16 y=0 orientation=180
+triangleBumper name=Bumper17 x=12 y=5 orientation=0
+squareBumper name=Bumper18 x=12 y=16
+squareBumper name=Bumper19 x=3 y=8
+circleBumper name=Bumper20 x=14 y=7
+squareBumper name=Bumper21 x=18 y=9
+circleBumper name=Bumper22 x=5 y=10
+triangleBumper name=Bumper23 x=13 y=2 orientation=90
+triangleBumper name=Bumper24 x=8 y=17 orientation=90
+circleBumper name=Bumper25 x=18 y=2
+triangleBumper name=Bumper26 x=8 y=12 orientation=270
+triangleBumper name=Bumper27 x=11 y=13 orientation=90
+circleBumper name=Bumper28 x=1 y=0
+squareBumper name=Bumper29 x=12 y=18
+circleBumper name=Bumper30 x=9 y=17
+squareBumper name=Bumper31 x=17 y=9
+triangleBumper name=Bumper32 x=18 y=17 orientation=270
+circleBumper name=Bumper33 x=19 y=0
+triangleBumper name=Bumper34 x=14 y=15 orientation=180
+triangleBumper name=Bumper35 x=19 y=19 orientation=0
+triangleBumper name=Bumper36 x=8 y=11 orientation=90
+circleBumper name=Bumper37 x=12 y=10
+circleBumper name=Bumper38 x=2 y=9
+squareBumper name=Bumper39 x=3 y=16
+ball name=Ball0 x=12.5 y=17.5 xVelocity=-6 yVelocity=7
+ball name=Ball1 x=2.5 y=10.5 xVelocity=-7 yVelocity=-2
+ball name=Ball2 x=13.5 y=15.5 xVelocity=8 yVelocity=11
+ball name=Ball3 x=0.5 y=5.5 xVelocity=14 yVelocity=14
+ball name=Ball4 x=13.5 y=13.5 xVelocity=-5 yVelocity=-1
+ball name=Ball5 x=12.5 y=13.5 xVelocity=-5 yVelocity=12
+ball name=Ball6 x=10.5 y=9.5 xVelocity=10 yVelocity=12
+ball name=Ball7 x=6.5 y=18.5 xVelocity=13 yVelocity=3
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Abs
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Flip1
+fire trigger=Bumper4 action=Abs
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Abs
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Flip1
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Flip0
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper18 action=Flip1
+fire trigger=Bumper19 action=Flip0
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Flip1
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Abs
+fire trigger=Bumper26 action=Abs
+fire trigger=Bumper27 action=Flip1
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip1
+fire trigger=Bumper30 action=Abs
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper35 action=Flip0
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper39 action=Abs
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
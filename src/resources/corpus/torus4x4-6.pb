@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-6 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=4 y=7 orientation=0
+rightFlipper name=Flip1 x=18 y=15 orientation=0
+portal name=Portal0 x=1 y=5 otherBoard=torus4x4-7 otherPortal=Portal0
+portal name=Portal1 x=14 y=8 otherBoard=torus4x4-7 otherPortal=Portal1
+portal name=Portal2 x=6 y=8 otherBoard=torus4x4-7 otherPortal=Portal2
+portal name=Portal3 x=19 y=11 otherBoard=torus4x4-7 otherPortal=Portal3
+triangleBumper name=Bumper0 x=16 y=8 orientation=180
+squareBumper name=Bumper1 x=14 y=13
+triangleBumper name=Bumper2 x=4 y=0 orientation=90
+squareBumper name=Bumper3 x=7 y=17
+squareBumper name=Bumper4 x=2 y=6
+triangleBumper name=Bumper5 x=5 y=1 orientation=180
+circleBumper name=Bumper6 x=12 y=13
+circleBumper name=Bumper7 x=10 y=5
+triangleBumper name=Bumper8 x=19 y=5 orientation=0
+circleBumper name=Bumper9 x=0 y=11
+squareBumper name=Bumper10 x=1 y=3
+circleBumper name=Bumper11 x=18 y=8
+triangleBumper name=Bumper12 x=18 y=5 orientation=180
+triangleBumper name=Bumper13 x=8 y=10 orientation=270
+circleBumper name=Bumper14 x=10 y=7
+circleBumper name=Bumper15 x=9 y=7
+squareBumper name=Bumper16 x=0 y=13
+circleBumper name=Bumper17 x=7 y=7
+squareBumper name=Bumper18 x=6 y=1
+triangleBumper name=Bumper19 x=3 y=1 orientation=270
+circleBumper name=Bumper20 x=8 y=5
+triangleBumper name=Bumper21 x=5 y=0 orientation=180
+circleBumper name=Bumper22 x=2 y=5
+triangleBumper name=Bumper23 x=11 y=19 orientation=0
+circleBumper name=Bumper24 x=12 y=16
+triangleBumper name=Bumper25 x=19 y=12 orientation=90
+circleBumper name=Bumper26 x=15 y=9
+squareBumper name=Bumper27 x=11 y=18
+squareBumper name=Bumper28 x=4 y=19
+squareBumper name=Bumper29 x=5 y=4
+triangleBumper name=Bumper30 x=0 y=7 orientation=90
+squareBumper name=Bumper31 x=5 y=2
+circleBumper name=Bumper32 x=12 y=9
+squareBumper name=Bumper33 x=0 y=3
+squareBumper name=Bumper34 x=10 y=0
+triangleBumper name=Bumper35 x=10 y=12 orientation=90
+triangleBumper name=Bumper36 x=1 y=11 orientation=270
+triangleBumper name=Bumper37 x=19 y=9 orientation=180
+circleBumper name=Bumper38 x=2 y=10
+squareBumper name=Bumper39 x=16 y=15
+ball name=Ball0 x=11.5 y=6.5 xVelocity=11 yVelocity=6
+ball name=Ball1 x=14.5 y=1.5 xVelocity=-14 yVelocity=11
+ball name=Ball2 x=16.5 y=12.5 xVelocity=-13 yVelocity=-15
+ball name=Ball3 x=13.5 y=4.5 xVelocity=10 yVelocity=-6
+ball name=Ball4 x=0.5 y=0.5 xVelocity=9 yVelocity=-1
+ball name=Ball5 x=3.5 y=6.5 xVelocity=14 yVelocity=-3
+ball name=Ball6 x=2.5 y=15.5 xVelocity=-6 yVelocity=3
+ball name=Ball7 x=16.5 y=6.5 xVelocity=0 yVelocity=-10
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper2 action=Abs
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Abs
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Flip0
+fire trigger=Bumper8 action=Abs
+fire trigger=Bumper9 action=Abs
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Flip0
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Flip0
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Flip0
+fire trigger=Bumper22 action=Abs
+fire trigger=Bumper23 action=Abs
+fire trigger=Bumper24 action=Flip0
+fire trigger=Bumper25 action=Abs
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Abs
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Abs
+fire trigger=Bumper31 action=Abs
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Flip1
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
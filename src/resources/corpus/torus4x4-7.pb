@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-7 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=4 y=4 orientation=90
+rightFlipper name=Flip1 x=9 y=5 orientation=270
+portal name=Portal0 x=4 y=10 otherBoard=torus4x4-8 otherPortal=Portal0
+portal name=Portal1 x=14 y=1 otherBoard=torus4x4-8 otherPortal=Portal1
+portal name=Portal2 x=18 y=4 otherBoard=torus4x4-8 otherPortal=Portal2
+portal name=Portal3 x=15 y=11 otherBoard=torus4x4-8 otherPortal=Portal3
+squareBumper name=Bumper0 x=2 y=18
+squareBumper name=Bumper1 x=18 y=9
+triangleBumper name=Bumper2 x=19 y=8 orientation=270
+squareBumper name=Bumper3 x=13 y=6
+triangleBumper name=Bumper4 x=2 y=8 orientation=180
+squareBumper name=Bumper5 x=14 y=16
+squareBumper name=Bumper6 x=19 y=5
+triangleBumper name=Bumper7 x=10 y=8 orientation=90
+triangleBumper name=Bumper8 x=5 y=7 orientation=90
+triangleBumper name=Bumper9 x=1 y=17 orientation=90
+triangleBumper name=Bumper10 x=11 y=2 orientation=180
+squareBumper name=Bumper11 x=18 y=8
+triangleBumper name=Bumper12 x=8 y=3 orientation=90
+triangleBumper name=Bumper13 x=5 y=17 orientation=0
+squareBumper name=Bumper14 x=9 y=7
+triangleBumper name=Bumper15 x=7 y=15 orientation=90
+triangleBumper name=Bumper16 x=11 y=18 orientation=180
+triangleBumper name=Bumper17 x=7 y=11 orientation=0
+circleBumper name=Bumper18 x=11 y=17
+squareBumper name=Bumper19 x=17 y=15
+circleBumper name=Bumper20 x=18 y=3
+circleBumper name=Bumper21 x=11 y=15
+squareBumper name=Bumper22 x=17 y=5
+triangleBumper name=Bumper23 x=0 y=9 orientation=90
+circleBumper name=Bumper24 x=4 y=16
+squareBumper name=Bumper25 x=19 y=11
+triangleBumper name=Bumper26 x=14 y=9 orientation=270
+circleBumper name=Bumper27 x=10 y=13
+circleBumper name=Bumper28 x=18 y=10
+circleBumper name=Bumper29 x=12 y=8
+squareBumper name=Bumper30 x=12 y=7
+triangleBumper name=Bumper31 x=9 y=1 orientation=180
+squareBumper name=Bumper32 x=15 y=14
+squareBumper name=Bumper33 x=7 y=14
+squareBumper name=Bumper34 x=9 y=4
+circleBumper name=Bumper35 x=8 y=13
+squareBumper name=Bumper36 x=8 y=18
+squareBumper name=Bumper37 x=9 y=13
+squareBumper name=Bumper38 x=18 y=13
+squareBumper name=Bumper39 x=16 y=9
+ball name=Ball0 x=15.5 y=4.5 xVelocity=-13 yVelocity=15
+ball name=Ball1 x=12.5 y=2.5 xVelocity=1 yVelocity=3
+ball name=Ball2 x=16.5 y=3.5 xVelocity=0 yVelocity=2
+ball name=Ball3 x=13.5 y=3.5 xVelocity=14 yVelocity=2
+ball name=Ball4 x=3.5 y=17.5 xVelocity=-10 yVelocity=-13
+ball name=Ball5 x=7.5 y=8.5 xVelocity=-4 yVelocity=-5
+ball name=Ball6 x=2.5 y=13.5 xVelocity=1 yVelocity=1
+ball name=Ball7 x=14.5 y=18.5 xVelocity=-15 yVelocity=0
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip0
+fire trigger=Bumper1 action=Flip0
+fire trigger=Bumper2 action=Abs
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Flip1
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper10 action=Flip1
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Abs
+fire trigger=Bumper13 action=Abs
+fire trigger=Bumper14 action=Flip0
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Flip1
+fire trigger=Bumper17 action=Abs
+fire trigger=Bumper18 action=Flip1
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper20 action=Flip1
+fire trigger=Bumper21 action=Flip1
+fire trigger=Bumper22 action=Flip1
+fire trigger=Bumper23 action=Flip1
+fire trigger=Bumper24 action=Flip0
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper26 action=Flip0
+fire trigger=Bumper27 action=Flip1
+fire trigger=Bumper28 action=Flip0
+fire trigger=Bumper29 action=Flip1
+fire trigger=Bumper30 action=Flip1
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Flip0
+fire trigger=Bumper34 action=Flip1
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper36 action=Flip0
+fire trigger=Bumper37 action=Flip0
+fire trigger=Bumper38 action=Flip0
+fire trigger=Bumper39 action=Flip0
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
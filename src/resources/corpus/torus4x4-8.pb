@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-8 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=7 y=2 orientation=0
+rightFlipper name=Flip1 x=4 y=18 orientation=180
+portal name=Portal0 x=6 y=12 otherBoard=torus4x4-9 otherPortal=Portal0
+portal name=Portal1 x=17 y=7 otherBoard=torus4x4-9 otherPortal=Portal1
+portal name=Portal2 x=12 y=10 otherBoard=torus4x4-9 otherPortal=Portal2
+portal name=Portal3 x=9 y=17 otherBoard=torus4x4-9 otherPortal=Portal3
+triangleBumper name=Bumper0 x=16 y=4 orientation=270
+squareBumper name=Bumper1 x=6 y=10
+circleBumper name=Bumper2 x=5 y=11
+triangleBumper name=Bumper3 x=14 y=16 orientation=180
+squareBumper name=Bumper4 x=11 y=13
+triangleBumper name=Bumper5 x=2 y=8 orientation=270
+circleBumper name=Bumper6 x=6 y=18
+triangleBumper name=Bumper7 x=2 y=1 orientation=270
+triangleBumper name=Bumper8 x=0 y=16 orientation=0
+squareBumper name=Bumper9 x=10 y=16
+squareBumper name=Bumper10 x=1 y=3
+squareBumper name=Bumper11 x=12 y=18
+circleBumper name=Bumper12 x=6 y=13
+squareBumper name=Bumper13 x=5 y=12
+squareBumper name=Bumper14 x=8 y=7
+circleBumper name=Bumper15 x=5 y=7
+squareBumper name=Bumper16 x=15 y=6
+circleBumper name=Bumper17 x=19 y=4
+circleBumper name=Bumper18 x=4 y=3
+triangleBumper name=Bumper19 x=13 y=10 orientation=0
+triangleBumper name=Bumper20 x=4 y=8 orientation=0
+circleBumper name=Bumper21 x=2 y=6
+circleBumper name=Bumper22 x=3 y=10
+circleBumper name=Bumper23 x=18 y=11
+circleBumper name=Bumper24 x=3 y=1
+squareBumper name=Bumper25 x=12 y=5
+triangleBumper name=Bumper26 x=19 y=0 orientation=180
+circleBumper name=Bumper27 x=12 y=3
+triangleBumper name=Bumper28 x=6 y=8 orientation=0
+squareBumper name=Bumper29 x=3 y=5
+circleBumper name=Bumper30 x=16 y=17
+squareBumper name=Bumper31 x=12 y=12
+squareBumper name=Bumper32 x=3 y=13
+triangleBumper name=Bumper33 x=8 y=8 orientation=270
+squareBumper name=Bumper34 x=5 y=3
+triangleBumper name=Bumper35 x=9 y=12 orientation=0
+squareBumper name=Bumper36 x=1 y=1
+squareBumper name=Bumper37 x=9 y=18
+circleBumper name=Bumper38 x=3 y=8
+triangleBumper name=Bumper39 x=2 y=4 orientation=180
+ball name=Ball0 x=15.5 y=1.5 xVelocity=8 yVelocity=-13
+ball name=Ball1 x=0.5 y=7.5 xVelocity=10 yVelocity=-9
+ball name=Ball2 x=18.5 y=2.5 xVelocity=14 yVelocity=-4
+ball name=Ball3 x=11.5 y=2.5 xVelocity=6 yVelocity=1
+ball name=Ball4 x=18.5 y=10.5 xVelocity=10 yVelocity=-11
+ball name=Ball5 x=15.5 y=12.5 xVelocity=3 yVelocity=12
+ball name=Ball6 x=9.5 y=0.5 xVelocity=-10 yVelocity=8
+ball name=Ball7 x=15.5 y=8.5 xVelocity=-12 yVelocity=3
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip1
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip1
+fire trigger=Bumper3 action=Flip0
+fire trigger=Bumper4 action=Abs
+fire trigger=Bumper5 action=Flip0
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Flip1
+fire trigger=Bumper8 action=Flip1
+fire trigger=Bumper9 action=Flip1
+fire trigger=Bumper10 action=Abs
+fire trigger=Bumper11 action=Abs
+fire trigger=Bumper12 action=Flip0
+fire trigger=Bumper13 action=Flip1
+fire trigger=Bumper14 action=Abs
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Flip0
+fire trigger=Bumper17 action=Flip0
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Flip1
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper23 action=Flip0
+fire trigger=Bumper24 action=Flip1
+fire trigger=Bumper25 action=Flip1
+fire trigger=Bumper26 action=Abs
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper32 action=Flip0
+fire trigger=Bumper33 action=Abs
+fire trigger=Bumper34 action=Abs
+fire trigger=Bumper35 action=Flip1
+fire trigger=Bumper36 action=Abs
+fire trigger=Bumper37 action=Flip1
+fire trigger=Bumper38 action=Flip1
+fire trigger=Bumper39 action=Abs
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1
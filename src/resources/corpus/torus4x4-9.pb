@@ -0,0 +1,102 @@
+# generated by BoardGenerator: torus4x4, 16 boards, density 0.1, 8 balls, 2 flippers, fan-out 1, 4 portals
+board name=torus4x4-9 gravity=25.0 friction1=0.025 friction2=0.025
+absorber name=Abs x=0 y=19 width=4 height=1
+leftFlipper name=Flip0 x=8 y=18 orientation=90
+rightFlipper name=Flip1 x=14 y=11 orientation=90
+portal name=Portal0 x=9 y=17 otherBoard=torus4x4-10 otherPortal=Portal0
+portal name=Portal1 x=17 y=1 otherBoard=torus4x4-10 otherPortal=Portal1
+portal name=Portal2 x=4 y=6 otherBoard=torus4x4-10 otherPortal=Portal2
+portal name=Portal3 x=13 y=17 otherBoard=torus4x4-10 otherPortal=Portal3
+squareBumper name=Bumper0 x=2 y=2
+circleBumper name=Bumper1 x=15 y=1
+squareBumper name=Bumper2 x=8 y=1
+circleBumper name=Bumper3 x=2 y=16
+circleBumper name=Bumper4 x=14 y=10
+circleBumper name=Bumper5 x=12 y=4
+triangleBumper name=Bumper6 x=11 y=8 orientation=180
+squareBumper name=Bumper7 x=2 y=0
+squareBumper name=Bumper8 x=10 y=17
+squareBumper name=Bumper9 x=4 y=18
+triangleBumper name=Bumper10 x=17 y=9 orientation=270
+squareBumper name=Bumper11 x=12 y=7
+triangleBumper name=Bumper12 x=2 y=6 orientation=90
+circleBumper name=Bumper13 x=5 y=8
+squareBumper name=Bumper14 x=13 y=16
+squareBumper name=Bumper15 x=9 y=4
+triangleBumper name=Bumper16 x=18 y=9 orientation=0
+triangleBumper name=Bumper17 x=18 y=17 orientation=0
+triangleBumper name=Bumper18 x=15 y=3 orientation=180
+triangleBumper name=Bumper19 x=7 y=7 orientation=180
+triangleBumper name=Bumper20 x=19 y=17 orientation=270
+squareBumper name=Bumper21 x=7 y=4
+circleBumper name=Bumper22 x=8 y=5
+squareBumper name=Bumper23 x=12 y=11
+triangleBumper name=Bumper24 x=10 y=6 orientation=180
+triangleBumper name=Bumper25 x=18 y=18 orientation=90
+triangleBumper name=Bumper26 x=1 y=0 orientation=270
+squareBumper name=Bumper27 x=16 y=5
+squareBumper name=Bumper28 x=6 y=16
+squareBumper name=Bumper29 x=13 y=10
+circleBumper name=Bumper30 x=11 y=0
+triangleBumper name=Bumper31 x=11 y=1 orientation=0
+squareBumper name=Bumper32 x=4 y=11
+circleBumper name=Bumper33 x=0 y=4
+squareBumper name=Bumper34 x=5 y=18
+squareBumper name=Bumper35 x=15 y=13
+circleBumper name=Bumper36 x=14 y=18
+squareBumper name=Bumper37 x=8 y=8
+squareBumper name=Bumper38 x=3 y=10
+squareBumper name=Bumper39 x=5 y=4
+ball name=Ball0 x=18.5 y=4.5 xVelocity=-12 yVelocity=-1
+ball name=Ball1 x=10.5 y=15.5 xVelocity=-6 yVelocity=7
+ball name=Ball2 x=8.5 y=6.5 xVelocity=14 yVelocity=-5
+ball name=Ball3 x=13.5 y=8.5 xVelocity=13 yVelocity=-9
+ball name=Ball4 x=10.5 y=1.5 xVelocity=12 yVelocity=15
+ball name=Ball5 x=1.5 y=14.5 xVelocity=-3 yVelocity=4
+ball name=Ball6 x=6.5 y=2.5 xVelocity=9 yVelocity=0
+ball name=Ball7 x=8.5 y=14.5 xVelocity=3 yVelocity=8
+fire trigger=Abs action=Abs
+fire trigger=Bumper0 action=Flip0
+fire trigger=Bumper1 action=Flip1
+fire trigger=Bumper2 action=Flip0
+fire trigger=Bumper3 action=Abs
+fire trigger=Bumper4 action=Flip0
+fire trigger=Bumper5 action=Abs
+fire trigger=Bumper6 action=Flip1
+fire trigger=Bumper7 action=Abs
+fire trigger=Bumper8 action=Flip0
+fire trigger=Bumper9 action=Flip0
+fire trigger=Bumper10 action=Flip0
+fire trigger=Bumper11 action=Flip1
+fire trigger=Bumper12 action=Flip1
+fire trigger=Bumper13 action=Flip0
+fire trigger=Bumper14 action=Flip1
+fire trigger=Bumper15 action=Flip1
+fire trigger=Bumper16 action=Abs
+fire trigger=Bumper17 action=Flip1
+fire trigger=Bumper18 action=Abs
+fire trigger=Bumper19 action=Abs
+fire trigger=Bumper20 action=Flip0
+fire trigger=Bumper21 action=Abs
+fire trigger=Bumper22 action=Flip0
+fire trigger=Bumper23 action=Flip1
+fire trigger=Bumper24 action=Abs
+fire trigger=Bumper25 action=Flip0
+fire trigger=Bumper26 action=Flip1
+fire trigger=Bumper27 action=Flip0
+fire trigger=Bumper28 action=Flip1
+fire trigger=Bumper29 action=Flip0
+fire trigger=Bumper30 action=Flip0
+fire trigger=Bumper31 action=Flip0
+fire trigger=Bumper32 action=Flip1
+fire trigger=Bumper33 action=Flip0
+fire trigger=Bumper34 action=Flip0
+fire trigger=Bumper35 action=Abs
+fire trigger=Bumper36 action=Flip1
+fire trigger=Bumper37 action=Abs
+fire trigger=Bumper38 action=Abs
+fire trigger=Bumper39 action=Flip1
+keydown key=a action=Flip0
+keyup key=a action=Flip0
+keydown key=s action=Flip1
+keyup key=s action=Flip1